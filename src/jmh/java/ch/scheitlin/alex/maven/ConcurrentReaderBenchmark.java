@@ -0,0 +1,92 @@
+package ch.scheitlin.alex.maven;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks the throughput of a single {@link LocalMavenRepositoryReader} shared by many threads.</p>
+ * <p>
+ * All threads query random versions of a {@link SyntheticRepository} through the same reader. With a {@code warm}
+ * cache, all listings are cached before measuring. With a {@code small} cache, the cache only holds a tenth of the
+ * repository, so threads keep evicting and loading listings concurrently.
+ * </p>
+ * <p>
+ * Example: {@code java -jar target/local-maven-repository-reader-1.1.0-benchmarks.jar ConcurrentReader -t 1} and the
+ * same with {@code -t 2}, {@code -t 4}, ..., {@code -t 64}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConcurrentReaderBenchmark {
+    @Param({"10"})
+    public int groups;
+
+    @Param({"20"})
+    public int artifactsPerGroup;
+
+    @Param({"20"})
+    public int versionsPerArtifact;
+
+    @Param({"warm", "small"})
+    public String cache;
+
+    private SyntheticRepository repository;
+    private LocalMavenRepositoryReader reader;
+
+    /**
+     * Generates the repository and creates the shared reader.
+     *
+     * @throws IOException if the repository could not be generated
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.repository = SyntheticRepository.generate(this.groups, this.artifactsPerGroup, this.versionsPerArtifact,
+                0.1);
+
+        // check whether the whole repository should be cached
+        long directories = (long) this.groups * this.artifactsPerGroup * (this.versionsPerArtifact + 1);
+        long weight = "warm".equals(this.cache) ? Long.MAX_VALUE : directories / 10 * 3;
+        this.reader = new LocalMavenRepositoryReader(this.repository.getRoot(), weight, 0, TimeUnit.SECONDS);
+        for (int group = 0; group < this.groups; group++) {
+            this.reader.getArtifactsOfGroup(SyntheticRepository.getGroupId(group));
+        }
+    }
+
+    /**
+     * Closes the reader and deletes the repository.
+     *
+     * @throws IOException if the repository could not be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.reader.close();
+        this.repository.delete();
+    }
+
+    @Benchmark
+    public boolean doesVersionExist() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return this.reader.doesVersionExist(SyntheticRepository.getGroupId(random.nextInt(this.groups)),
+                SyntheticRepository.getArtifactId(random.nextInt(this.artifactsPerGroup)),
+                SyntheticRepository.getVersion(random.nextInt(this.versionsPerArtifact)));
+    }
+}
@@ -0,0 +1,145 @@
+package ch.scheitlin.alex.maven;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Benchmarks the queries of the {@link LocalMavenRepositoryReader} against a {@link SyntheticRepository}.</p>
+ * <p>
+ * With a {@code cold} cache, the reader does not cache any directory listings and every query lists its directories
+ * from the disk (the file system cache of the operating system is not dropped though). With a {@code warm} cache, the
+ * listings of the whole repository are cached before measuring and never expire. Every invocation queries the next
+ * group, artifact and version, so all of them get queried evenly. The ids are built before measuring and rotated by a
+ * counter within the benchmark methods, as a setup per invocation would distort queries taking a few microseconds.
+ * </p>
+ * <p>
+ * Example: {@code java -jar target/local-maven-repository-reader-1.1.0-benchmarks.jar LocalMavenRepositoryReader
+ * -p groups=100 -p cache=cold -prof gc}
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocalMavenRepositoryReaderBenchmark {
+    private static final int QUERY_COUNT = 1 << 12;
+    private static final int QUERY_MASK = QUERY_COUNT - 1;
+
+    @Param({"10"})
+    public int groups;
+
+    @Param({"20"})
+    public int artifactsPerGroup;
+
+    @Param({"20"})
+    public int versionsPerArtifact;
+
+    @Param({"0.1"})
+    public double lastUpdatedFraction;
+
+    @Param({"cold", "warm"})
+    public String cache;
+
+    private SyntheticRepository repository;
+    private LocalMavenRepositoryReader reader;
+    private final String[] groupIds = new String[QUERY_COUNT];
+    private final String[] artifactIds = new String[QUERY_COUNT];
+    private final String[] versions = new String[QUERY_COUNT];
+    private final String[] nonExistingSubGroups = new String[QUERY_COUNT];
+    private int query;
+
+    /**
+     * Generates the repository, creates the reader and builds the ids to query.
+     *
+     * @throws IOException if the repository could not be generated
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.repository = SyntheticRepository.generate(this.groups, this.artifactsPerGroup, this.versionsPerArtifact,
+                this.lastUpdatedFraction);
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            this.groupIds[i] = SyntheticRepository.getGroupId(i % this.groups);
+            this.artifactIds[i] = SyntheticRepository.getArtifactId(i % this.artifactsPerGroup);
+            this.versions[i] = SyntheticRepository.getVersion(i % this.versionsPerArtifact);
+            this.nonExistingSubGroups[i] = this.groupIds[i] + ".missing.sub";
+        }
+
+        // check whether the listings should be cached
+        if ("warm".equals(this.cache)) {
+            this.reader = new LocalMavenRepositoryReader(this.repository.getRoot(), Long.MAX_VALUE, 0,
+                    TimeUnit.SECONDS);
+            for (int group = 0; group < this.groups; group++) {
+                this.reader.getArtifactsOfGroup(SyntheticRepository.getGroupId(group));
+                for (int artifact = 0; artifact < this.artifactsPerGroup; artifact++) {
+                    this.reader.getArtifactVersions(SyntheticRepository.getGroupId(group),
+                            SyntheticRepository.getArtifactId(artifact));
+                }
+            }
+        } else {
+            this.reader = new LocalMavenRepositoryReader(this.repository.getRoot(), 0, 0, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Closes the reader and deletes the repository.
+     *
+     * @throws IOException if the repository could not be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        this.reader.close();
+        this.repository.delete();
+    }
+
+    /**
+     * Moves on to the next group, artifact and version to query.
+     *
+     * @return the index of the ids to query
+     */
+    private int next() {
+        return this.query++ & QUERY_MASK;
+    }
+
+    @Benchmark
+    public boolean doesGroupExist() {
+        return this.reader.doesGroupExist(this.groupIds[next()]);
+    }
+
+    @Benchmark
+    public String getNonExistingSubGroup() {
+        return this.reader.getNonExistingSubGroup(this.nonExistingSubGroups[next()]);
+    }
+
+    @Benchmark
+    public String[] getArtifactsOfGroup() {
+        return this.reader.getArtifactsOfGroup(this.groupIds[next()]);
+    }
+
+    @Benchmark
+    public String[] getArtifactVersions() {
+        int query = next();
+        return this.reader.getArtifactVersions(this.groupIds[query], this.artifactIds[query]);
+    }
+
+    @Benchmark
+    public boolean doesVersionExist() {
+        int query = next();
+        return this.reader.doesVersionExist(this.groupIds[query], this.artifactIds[query], this.versions[query]);
+    }
+}
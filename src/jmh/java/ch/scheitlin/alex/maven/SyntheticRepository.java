@@ -0,0 +1,150 @@
+package ch.scheitlin.alex.maven;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Random;
+
+/**
+ * <p>Generates a local maven repository of a configurable shape in a temporary directory for benchmarking purposes.</p>
+ * <p>
+ * The repository contains the artifacts {@code artifact<a>} of the groups {@code org.synthetic.group<g>}, each with the
+ * versions {@code 1.<v>}. A version folder either contains a jar and a pom file or, if it is picked by a random
+ * generator with a fixed seed, only the '.lastUpdated' files of a failed download. Hence repositories of the same shape
+ * always have the same content.
+ * </p>
+ */
+class SyntheticRepository {
+    static final String GROUP_PREFIX = "org.synthetic.group";
+    static final String ARTIFACT_PREFIX = "artifact";
+    static final String VERSION_PREFIX = "1.";
+
+    private static final long SEED = 42;
+
+    private final Path root;
+
+    /**
+     * Creates a new synthetic repository.
+     *
+     * @param root the path to the root directory of the repository
+     */
+    private SyntheticRepository(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Generates a new synthetic repository in a temporary directory.
+     *
+     * @param groups              the number of groups
+     * @param artifactsPerGroup   the number of artifacts per group
+     * @param versionsPerArtifact the number of versions per artifact
+     * @param lastUpdatedFraction the fraction of versions which only contain '.lastUpdated' files, between {@code 0}
+     *                            and {@code 1}
+     * @return the generated repository
+     * @throws IOException if the folders or files could not be created
+     */
+    static SyntheticRepository generate(int groups, int artifactsPerGroup, int versionsPerArtifact,
+                                        double lastUpdatedFraction) throws IOException {
+        SyntheticRepository repository = new SyntheticRepository(Files.createTempDirectory("synthetic-repository"));
+        Random random = new Random(SEED);
+        for (int group = 0; group < groups; group++) {
+            for (int artifact = 0; artifact < artifactsPerGroup; artifact++) {
+                for (int version = 0; version < versionsPerArtifact; version++) {
+                    if (random.nextDouble() < lastUpdatedFraction) {
+                        repository.addVersion(getGroupId(group), getArtifactId(artifact), getVersion(version),
+                                "jar.lastUpdated", "pom.lastUpdated");
+                    } else {
+                        repository.addVersion(getGroupId(group), getArtifactId(artifact), getVersion(version),
+                                "jar", "pom");
+                    }
+                }
+            }
+        }
+
+        return repository;
+    }
+
+    /**
+     * Gets the id of a specific group.
+     *
+     * @param group the index of the group
+     * @return the id of the group
+     */
+    static String getGroupId(int group) {
+        return GROUP_PREFIX + group;
+    }
+
+    /**
+     * Gets the id of a specific artifact.
+     *
+     * @param artifact the index of the artifact within its group
+     * @return the id of the artifact
+     */
+    static String getArtifactId(int artifact) {
+        return ARTIFACT_PREFIX + artifact;
+    }
+
+    /**
+     * Gets a specific version.
+     *
+     * @param version the index of the version within its artifact
+     * @return the version
+     */
+    static String getVersion(int version) {
+        return VERSION_PREFIX + version;
+    }
+
+    /**
+     * Gets the path to the root directory of the repository.
+     *
+     * @return the path to the root directory
+     */
+    Path getRoot() {
+        return this.root;
+    }
+
+    /**
+     * Deletes all folders and files of the repository.
+     *
+     * @throws IOException if the folders or files could not be deleted
+     */
+    void delete() throws IOException {
+        Files.walkFileTree(this.root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path directory, IOException exception) throws IOException {
+                Files.delete(directory);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Creates the folder of a specific version with a file for each of the given extensions.
+     *
+     * @param groupId    the id of the group
+     * @param artifactId the id of the artifact
+     * @param version    the version of the artifact
+     * @param extensions the extensions of the files to create in the version folder
+     * @throws IOException if the folder or the files could not be created
+     */
+    private void addVersion(String groupId, String artifactId, String version, String... extensions)
+            throws IOException {
+        Path versionPath = this.root;
+        for (String subGroup : groupId.split("\\.")) {
+            versionPath = versionPath.resolve(subGroup);
+        }
+        versionPath = Files.createDirectories(versionPath.resolve(artifactId).resolve(version));
+        for (String extension : extensions) {
+            Files.write(versionPath.resolve(artifactId + "-" + version + "." + extension), new byte[]{});
+        }
+    }
+}
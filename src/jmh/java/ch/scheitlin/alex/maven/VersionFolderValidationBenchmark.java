@@ -0,0 +1,57 @@
+package ch.scheitlin.alex.maven;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * Benchmarks the validation of the content of version folders regarding the '.lastUpdated' files without touching the
+ * disk.
+ * </p>
+ * <p>
+ * Run with {@code -prof gc} to see the allocation rate per operation, e.g. {@code java -jar
+ * target/local-maven-repository-reader-1.1.0-benchmarks.jar VersionFolderValidation -prof gc}.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionFolderValidationBenchmark {
+    private final String[] valid = new String[]{
+            "junit-4.12.jar", "junit-4.12.jar.sha1", "junit-4.12.pom", "junit-4.12.pom.sha1", "_remote.repositories"
+    };
+    private final String[] obsoleteLastUpdated = new String[]{
+            "maven-clean-plugin-2.6.1.jar", "maven-clean-plugin-2.6.1.jar.lastUpdated", "maven-clean-plugin-2.6.1.pom",
+            "_remote.repositories"
+    };
+    private final String[] onlyLastUpdated = new String[]{
+            "maven-jar-plugin-2.4.jar.lastUpdated", "maven-jar-plugin-2.4.pom.lastUpdated"
+    };
+
+    @Benchmark
+    public boolean valid() {
+        return LocalMavenRepositoryReader.isVersionFolderContentValid(this.valid);
+    }
+
+    @Benchmark
+    public boolean obsoleteLastUpdated() {
+        return LocalMavenRepositoryReader.isVersionFolderContentValid(this.obsoleteLastUpdated);
+    }
+
+    @Benchmark
+    public boolean onlyLastUpdated() {
+        return LocalMavenRepositoryReader.isVersionFolderContentValid(this.onlyLastUpdated);
+    }
+}
@@ -1,14 +1,54 @@
+import ch.scheitlin.alex.maven.ArtifactCoordinate;
 import ch.scheitlin.alex.maven.LocalMavenRepositoryReader;
+import ch.scheitlin.alex.maven.RepositoryDaemon;
+import ch.scheitlin.alex.maven.RepositoryIndex;
+import ch.scheitlin.alex.maven.Resolution;
+import ch.scheitlin.alex.maven.ResolutionWriter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 public class Main {
-    public static void main(String[] args) {
+    private static final long DAEMON_REFRESH_INTERVAL_SECONDS = 60;
+    private static final int RESOLVE_BATCH_SIZE = 10000;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    private static final String RESOLVE_USAGE = "Usage: resolve [--repository <path>] [--format ndjson|csv] "
+            + "[--parallelism <n>] [--index] [--snapshot <file>] [<input file>|-]";
+
+    public static void main(String[] args) throws IOException {
+        // check whether to resolve coordinates in bulk: resolve [<options>] [<input file>]
+        if (args.length >= 1 && args[0].equals("resolve")) {
+            System.exit(runResolve(Arrays.copyOfRange(args, 1, args.length)));
+        }
+
+        // check whether to run as a daemon: daemon <socket> [<repository>] [<snapshot>]
+        if (args.length >= 2 && args[0].equals("daemon")) {
+            runDaemon(Paths.get(args[1]), args.length >= 3 ? Paths.get(args[2])
+                    : LocalMavenRepositoryReader.getDefaultRepository(), args.length >= 4 ? Paths.get(args[3]) : null);
+            return;
+        }
+
         String groupId = "org.apache.maven.plugins";
         String artifactId = "maven-clean-plugin";
         String version = "2.6.1";
+        LocalMavenRepositoryReader reader = new LocalMavenRepositoryReader();
 
         // search existing group
         System.out.println("Searching group: " + groupId);
-        if (LocalMavenRepositoryReader.doesGroupExist(groupId)) {
+        if (reader.doesGroupExist(groupId)) {
             System.out.println("\tgroup found");
         } else {
             System.out.println("\tgroup not found");
@@ -16,16 +56,16 @@ public class Main {
 
         // search non-existing group
         System.out.println("Searching group: " + groupId + ".p");
-        if (LocalMavenRepositoryReader.doesGroupExist(groupId + ".p")) {
+        if (reader.doesGroupExist(groupId + ".p")) {
             System.out.println("\tgroup found");
         } else {
             System.out.println("\tgroup not found");
-            System.out.println("\tsub grop not found: " + LocalMavenRepositoryReader.getNonExistingSubGroup(groupId + ".p"));
+            System.out.println("\tsub grop not found: " + reader.getNonExistingSubGroup(groupId + ".p"));
         }
 
         // search artifact
         System.out.println("Searching artifact: " + artifactId);
-        if (LocalMavenRepositoryReader.doesArtifactExist(groupId, artifactId)) {
+        if (reader.doesArtifactExist(groupId, artifactId)) {
             System.out.println("\tartifact found");
         } else {
             System.out.println("\tartifact not found");
@@ -33,13 +73,13 @@ public class Main {
 
         // list artifacts
         System.out.println("Artifacts of: " + groupId);
-        for (String artifact : LocalMavenRepositoryReader.getArtifactsOfGroup(groupId)) {
+        for (String artifact : reader.getArtifactsOfGroup(groupId)) {
             System.out.println("\t" + artifact);
         }
 
         // search version
         System.out.println("Searching version: " + version);
-        if (LocalMavenRepositoryReader.doesVersionExist(groupId, artifactId, version)) {
+        if (reader.doesVersionExist(groupId, artifactId, version)) {
             System.out.println("\tversion found");
         } else {
             System.out.println("\tversion not found");
@@ -47,8 +87,148 @@ public class Main {
 
         // list versions
         System.out.println("Versions of: " + groupId + "." + artifactId);
-        for (String v : LocalMavenRepositoryReader.getArtifactVersions(groupId, artifactId)) {
+        for (String v : reader.getArtifactVersions(groupId, artifactId)) {
             System.out.println("\t" + v);
         }
     }
+
+    /**
+     * Serves queries of a local maven repository over a Unix domain socket until the process is terminated.
+     *
+     * @param socket     the path to the socket file
+     * @param repository the path to the root directory of the local maven repository
+     * @param snapshot   the path to the snapshot file of the index or {@code null} to not keep a snapshot
+     * @throws IOException if the index could not be built or the socket could not be bound
+     */
+    private static void runDaemon(Path socket, Path repository, Path snapshot) throws IOException {
+        final RepositoryDaemon daemon = new RepositoryDaemon(new LocalMavenRepositoryReader(repository),
+                RepositoryDaemon.getUnixAddress(socket), snapshot, DAEMON_REFRESH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+
+        // remove the socket file when the process is terminated
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    daemon.close();
+                } catch (IOException e) {
+                    // -> process is terminating anyway
+                }
+            }
+        }));
+
+        daemon.start();
+        System.out.println("Serving " + repository + " on " + socket);
+    }
+
+    /**
+     * <p>Resolves the coordinates read line by line from a file or the standard input and writes a line per
+     * coordinate to the standard output.</p>
+     * <p>
+     * The coordinates are resolved in batches of {@value #RESOLVE_BATCH_SIZE} by a single reader, so the listings
+     * cached while resolving a batch are reused by all later batches. With {@code --index}, the whole repository is
+     * indexed once (or loaded from the snapshot file) and all coordinates are resolved from memory instead. Empty lines
+     * and lines starting with '#' are skipped, invalid coordinates are reported to the standard error.
+     * </p>
+     *
+     * @param args the options followed by the path to the input file, {@code -} or nothing to read the standard input
+     * @return {@code 0} if all lines have been resolved, {@code 1} if some lines are invalid coordinates and {@code 2}
+     * if the options are invalid
+     * @throws IOException if the input could not be read, the output could not be written or the repository could not
+     *                     be indexed
+     */
+    private static int runResolve(String[] args) throws IOException {
+        Path repository = LocalMavenRepositoryReader.getDefaultRepository();
+        ResolutionWriter.Format format = ResolutionWriter.Format.NDJSON;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        boolean useIndex = false;
+        Path snapshot = null;
+        Path input = null;
+
+        // parse the options
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--repository") && i + 1 < args.length) {
+                    repository = Paths.get(args[++i]);
+                } else if (args[i].equals("--format") && i + 1 < args.length) {
+                    format = ResolutionWriter.Format.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                } else if (args[i].equals("--parallelism") && i + 1 < args.length) {
+                    parallelism = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("--index")) {
+                    useIndex = true;
+                } else if (args[i].equals("--snapshot") && i + 1 < args.length) {
+                    useIndex = true;
+                    snapshot = Paths.get(args[++i]);
+                } else if (i == args.length - 1 && (args[i].equals("-") || !args[i].startsWith("--"))) {
+                    input = args[i].equals("-") ? null : Paths.get(args[i]);
+                } else {
+                    throw new IllegalArgumentException("Invalid option '" + args[i] + "'.");
+                }
+            }
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("The parallelism must be at least 1.");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(RESOLVE_USAGE);
+            return 2;
+        }
+
+        LocalMavenRepositoryReader reader = new LocalMavenRepositoryReader(repository);
+        RepositoryIndex index = null;
+        if (useIndex) {
+            index = snapshot == null ? reader.buildIndex() : reader.loadIndex(snapshot);
+        }
+
+        int exitCode = 0;
+        try (BufferedReader in = new BufferedReader(input == null
+                ? new InputStreamReader(System.in, StandardCharsets.UTF_8)
+                : Files.newBufferedReader(input, StandardCharsets.UTF_8));
+             ResolutionWriter out = new ResolutionWriter(new BufferedWriter(
+                     new OutputStreamWriter(System.out, StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE), format)) {
+            List<ArtifactCoordinate> batch = new ArrayList<ArtifactCoordinate>(RESOLVE_BATCH_SIZE);
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                try {
+                    batch.add(ArtifactCoordinate.parse(line));
+                } catch (IllegalArgumentException e) {
+                    System.err.println(e.getMessage());
+                    exitCode = 1;
+                }
+
+                // check whether the batch is full
+                if (batch.size() == RESOLVE_BATCH_SIZE) {
+                    resolveBatch(batch, reader, index, parallelism, out);
+                    batch.clear();
+                }
+            }
+            resolveBatch(batch, reader, index, parallelism, out);
+        }
+
+        return exitCode;
+    }
+
+    /**
+     * Resolves a batch of coordinates and writes a line per coordinate, i.e. also a line per repetition of a
+     * coordinate within the batch.
+     *
+     * @param batch       the coordinates in the order of the input lines
+     * @param reader      the reader of the repository
+     * @param index       the index of the repository or {@code null} if the coordinates are resolved by the reader
+     * @param parallelism the number of threads used by the reader to resolve independent groups
+     * @param out         the writer of the resolutions
+     * @throws IOException if the output could not be written
+     */
+    private static void resolveBatch(List<ArtifactCoordinate> batch, LocalMavenRepositoryReader reader,
+                                     RepositoryIndex index, int parallelism, ResolutionWriter out)
+            throws IOException {
+        Map<ArtifactCoordinate, Resolution> resolutions = index != null ? index.resolveAll(batch)
+                : reader.resolveAll(batch, parallelism);
+        for (ArtifactCoordinate coordinate : batch) {
+            out.write(resolutions.get(coordinate));
+        }
+    }
 }
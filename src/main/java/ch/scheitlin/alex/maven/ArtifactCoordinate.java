@@ -0,0 +1,103 @@
+package ch.scheitlin.alex.maven;
+
+/**
+ * The coordinate of a specific version of an artifact, i.e. its group id, artifact id and version.
+ */
+public final class ArtifactCoordinate {
+    private final String groupId;
+    private final String artifactId;
+    private final String version;
+
+    /**
+     * Creates a new artifact coordinate.
+     *
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @param version    the version of the artifact as specified in the {@code <version></version>} element of the
+     *                   respective pom.xml file of the project
+     */
+    public ArtifactCoordinate(String groupId, String artifactId, String version) {
+        if (groupId == null || artifactId == null || version == null) {
+            throw new IllegalArgumentException("The group id, artifact id and version must not be null.");
+        }
+
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.version = version;
+    }
+
+    /**
+     * Parses a coordinate in the form {@code <groupId>:<artifactId>:<version>}.
+     *
+     * @param coordinate the coordinate to parse
+     * @return the parsed coordinate
+     * @throws IllegalArgumentException if the coordinate does not consist of exactly three non-empty parts
+     */
+    public static ArtifactCoordinate parse(String coordinate) {
+        String[] parts = coordinate.trim().split(":", -1);
+        if (parts.length != 3 || parts[0].isEmpty() || parts[1].isEmpty() || parts[2].isEmpty()) {
+            throw new IllegalArgumentException("Invalid coordinate '" + coordinate
+                    + "', expected <groupId>:<artifactId>:<version>.");
+        }
+
+        return new ArtifactCoordinate(parts[0], parts[1], parts[2]);
+    }
+
+    /**
+     * Gets the id of the group.
+     *
+     * @return the id of the group
+     */
+    public String getGroupId() {
+        return this.groupId;
+    }
+
+    /**
+     * Gets the id of the artifact.
+     *
+     * @return the id of the artifact
+     */
+    public String getArtifactId() {
+        return this.artifactId;
+    }
+
+    /**
+     * Gets the version of the artifact.
+     *
+     * @return the version of the artifact
+     */
+    public String getVersion() {
+        return this.version;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ArtifactCoordinate)) {
+            return false;
+        }
+
+        ArtifactCoordinate other = (ArtifactCoordinate) object;
+        return this.groupId.equals(other.groupId) && this.artifactId.equals(other.artifactId)
+                && this.version.equals(other.version);
+    }
+
+    @Override
+    public int hashCode() {
+        return (this.groupId.hashCode() * 31 + this.artifactId.hashCode()) * 31 + this.version.hashCode();
+    }
+
+    /**
+     * Gets the coordinate in the form {@code <groupId>:<artifactId>:<version>}.
+     *
+     * @return the coordinate as {@code String}
+     */
+    @Override
+    public String toString() {
+        return this.groupId + ":" + this.artifactId + ":" + this.version;
+    }
+}
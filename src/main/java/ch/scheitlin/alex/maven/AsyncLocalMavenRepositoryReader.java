@@ -0,0 +1,760 @@
+package ch.scheitlin.alex.maven;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * <p>Provides the queries of a {@link LocalMavenRepositoryReader} without blocking the calling thread.</p>
+ * <p>
+ * Every query returns a {@link CompletableFuture} and is executed by a dedicated executor, by default a bounded pool of
+ * daemon threads with a bounded queue. If the queue is full, the returned future fails with a
+ * {@link RejectedExecutionException} instead of blocking the caller. Any other executor service can be used as well,
+ * e.g. one starting a virtual thread per task.
+ * </p>
+ * <p>
+ * Identical queries that are in flight at the same time are coalesced: the query is executed only once and its result
+ * is passed to all callers. Every caller gets its own future, so cancelling it only affects this caller. Once all
+ * callers have cancelled their futures, the query itself is cancelled: it is removed from the queue if it has not
+ * been started yet, otherwise its thread gets interrupted.
+ * </p>
+ * <p>
+ * The lazy streams of {@link LocalMavenRepositoryReader} have no asynchronous equivalent, as they are consumed by the
+ * caller anyway.
+ * </p>
+ */
+public class AsyncLocalMavenRepositoryReader implements Closeable {
+    static final int DEFAULT_QUEUE_CAPACITY = 1000;
+
+    private final LocalMavenRepositoryReader reader;
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final Map<List<Object>, Lookup<?>> lookups = new ConcurrentHashMap<List<Object>, Lookup<?>>();
+
+    /**
+     * Creates a new asynchronous reader with its own executor, using as many threads as there are available
+     * processors (but at least four, as the threads mostly wait for the disk) and a queue of
+     * {@value #DEFAULT_QUEUE_CAPACITY} queries.
+     *
+     * @param reader the reader executing the queries
+     */
+    public AsyncLocalMavenRepositoryReader(LocalMavenRepositoryReader reader) {
+        this(reader, createDefaultExecutor(), true);
+    }
+
+    /**
+     * Creates a new asynchronous reader executing the queries by a specific executor. The executor is not shut down
+     * when the reader gets closed.
+     *
+     * @param reader   the reader executing the queries
+     * @param executor the executor to execute the queries
+     */
+    public AsyncLocalMavenRepositoryReader(LocalMavenRepositoryReader reader, ExecutorService executor) {
+        this(reader, executor, false);
+    }
+
+    /**
+     * Creates a new asynchronous reader.
+     *
+     * @param reader       the reader executing the queries
+     * @param executor     the executor to execute the queries
+     * @param ownsExecutor {@code true} if the executor gets shut down when the reader gets closed, {@code false} if
+     *                     not
+     */
+    private AsyncLocalMavenRepositoryReader(LocalMavenRepositoryReader reader, ExecutorService executor,
+                                            boolean ownsExecutor) {
+        this.reader = reader;
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Gets the reader executing the queries.
+     *
+     * @return the underlying reader
+     */
+    public LocalMavenRepositoryReader getReader() {
+        return this.reader;
+    }
+
+    /**
+     * Shuts down the executor if it has been created by this reader. Queries that are already running are completed,
+     * the futures of waiting queries fail with a {@link RejectedExecutionException}. The underlying
+     * {@link LocalMavenRepositoryReader} is not closed.
+     */
+    @Override
+    public void close() {
+        if (this.ownsExecutor) {
+            this.executor.shutdown();
+        }
+
+        RejectedExecutionException closed = new RejectedExecutionException("The reader has been closed.");
+        for (Lookup<?> lookup : this.lookups.values()) {
+            lookup.reject(closed);
+        }
+    }
+
+    /**
+     * Checks asynchronously whether a specific group exists.
+     *
+     * @param groupId the id of the group
+     * @return a future completed with the result of {@link LocalMavenRepositoryReader#doesGroupExist(String)}
+     */
+    public CompletableFuture<Boolean> doesGroupExist(final String groupId) {
+        return submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return reader.doesGroupExist(groupId);
+            }
+        }, "doesGroupExist", groupId);
+    }
+
+    /**
+     * Gets asynchronously the part of a specific group id that does not exist.
+     *
+     * @param groupId the id of the group
+     * @return a future completed with the result of {@link LocalMavenRepositoryReader#getNonExistingSubGroup(String)}
+     */
+    public CompletableFuture<String> getNonExistingSubGroup(final String groupId) {
+        return submit(new Callable<String>() {
+            @Override
+            public String call() {
+                return reader.getNonExistingSubGroup(groupId);
+            }
+        }, "getNonExistingSubGroup", groupId);
+    }
+
+    /**
+     * Gets asynchronously all existing groups whose id starts with a specific prefix.
+     *
+     * @param prefix the prefix the group ids have to start with
+     * @return a future completed with the result of {@link LocalMavenRepositoryReader#getGroupsWithPrefix(String)}
+     */
+    public CompletableFuture<List<String>> getGroupsWithPrefix(final String prefix) {
+        return submit(new Callable<List<String>>() {
+            @Override
+            public List<String> call() {
+                return reader.getGroupsWithPrefix(prefix);
+            }
+        }, "getGroupsWithPrefix", prefix);
+    }
+
+    /**
+     * Gets asynchronously all existing groups similar to a specific group id.
+     *
+     * @param groupId     the id of the group
+     * @param maxDistance the maximum number of inserted, deleted or substituted characters
+     * @return a future completed with the result of
+     * {@link LocalMavenRepositoryReader#getSimilarGroups(String, int)}
+     */
+    public CompletableFuture<List<String>> getSimilarGroups(final String groupId, final int maxDistance) {
+        return submit(new Callable<List<String>>() {
+            @Override
+            public List<String> call() {
+                return reader.getSimilarGroups(groupId, maxDistance);
+            }
+        }, "getSimilarGroups", groupId, maxDistance);
+    }
+
+    /**
+     * Gets asynchronously all existing artifacts of a specific group whose id starts with a specific prefix.
+     *
+     * @param groupId the id of the group
+     * @param prefix  the prefix the artifact ids have to start with
+     * @return a future completed with the result of
+     * {@link LocalMavenRepositoryReader#getArtifactsWithPrefix(String, String)}
+     */
+    public CompletableFuture<List<String>> getArtifactsWithPrefix(final String groupId, final String prefix) {
+        return submit(new Callable<List<String>>() {
+            @Override
+            public List<String> call() {
+                return reader.getArtifactsWithPrefix(groupId, prefix);
+            }
+        }, "getArtifactsWithPrefix", groupId, prefix);
+    }
+
+    /**
+     * Gets asynchronously all existing artifacts of a specific group similar to a specific artifact id.
+     *
+     * @param groupId     the id of the group
+     * @param artifactId  the id of the artifact
+     * @param maxDistance the maximum number of inserted, deleted or substituted characters
+     * @return a future completed with the result of
+     * {@link LocalMavenRepositoryReader#getSimilarArtifacts(String, String, int)}
+     */
+    public CompletableFuture<List<String>> getSimilarArtifacts(final String groupId, final String artifactId,
+                                                               final int maxDistance) {
+        return submit(new Callable<List<String>>() {
+            @Override
+            public List<String> call() {
+                return reader.getSimilarArtifacts(groupId, artifactId, maxDistance);
+            }
+        }, "getSimilarArtifacts", groupId, artifactId, maxDistance);
+    }
+
+    /**
+     * Checks asynchronously whether a specific artifact of a specific group exists.
+     *
+     * @param groupId    the id of the group
+     * @param artifactId the id of the artifact
+     * @return a future completed with the result of
+     * {@link LocalMavenRepositoryReader#doesArtifactExist(String, String)}
+     */
+    public CompletableFuture<Boolean> doesArtifactExist(final String groupId, final String artifactId) {
+        return submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return reader.doesArtifactExist(groupId, artifactId);
+            }
+        }, "doesArtifactExist", groupId, artifactId);
+    }
+
+    /**
+     * Gets asynchronously all existing artifacts of a specific group.
+     *
+     * @param groupId the id of the group
+     * @return a future completed with the result of {@link LocalMavenRepositoryReader#getArtifactsOfGroup(String)}
+     */
+    public CompletableFuture<String[]> getArtifactsOfGroup(final String groupId) {
+        return submit(new Callable<String[]>() {
+            @Override
+            public String[] call() {
+                return reader.getArtifactsOfGroup(groupId);
+            }
+        }, "getArtifactsOfGroup", groupId);
+    }
+
+    /**
+     * Checks asynchronously whether a specific version of a specific artifact of a specific group exists.
+     *
+     * @param groupId    the id of the group
+     * @param artifactId the id of the artifact
+     * @param version    the version of the artifact
+     * @return a future completed with the result of
+     * {@link LocalMavenRepositoryReader#doesVersionExist(String, String, String)}
+     */
+    public CompletableFuture<Boolean> doesVersionExist(final String groupId, final String artifactId,
+                                                       final String version) {
+        return submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return reader.doesVersionExist(groupId, artifactId, version);
+            }
+        }, "doesVersionExist", groupId, artifactId, version);
+    }
+
+    /**
+     * Gets asynchronously all existing versions of a specific artifact of a specific group.
+     *
+     * @param groupId    the id of the group
+     * @param artifactId the id of the artifact
+     * @return a future completed with the result of
+     * {@link LocalMavenRepositoryReader#getArtifactVersions(String, String)}
+     */
+    public CompletableFuture<String[]> getArtifactVersions(final String groupId, final String artifactId) {
+        return submit(new Callable<String[]>() {
+            @Override
+            public String[] call() {
+                return reader.getArtifactVersions(groupId, artifactId);
+            }
+        }, "getArtifactVersions", groupId, artifactId);
+    }
+
+    /**
+     * Gets asynchronously the latest existing version of a specific artifact of a specific group.
+     *
+     * @param groupId    the id of the group
+     * @param artifactId the id of the artifact
+     * @return a future completed with the result of
+     * {@link LocalMavenRepositoryReader#getLatestVersion(String, String)}
+     */
+    public CompletableFuture<String> getLatestVersion(final String groupId, final String artifactId) {
+        return submit(new Callable<String>() {
+            @Override
+            public String call() {
+                return reader.getLatestVersion(groupId, artifactId);
+            }
+        }, "getLatestVersion", groupId, artifactId);
+    }
+
+    /**
+     * Gets asynchronously the latest existing release of a specific artifact of a specific group.
+     *
+     * @param groupId    the id of the group
+     * @param artifactId the id of the artifact
+     * @return a future completed with the result of
+     * {@link LocalMavenRepositoryReader#getLatestRelease(String, String)}
+     */
+    public CompletableFuture<String> getLatestRelease(final String groupId, final String artifactId) {
+        return submit(new Callable<String>() {
+            @Override
+            public String call() {
+                return reader.getLatestRelease(groupId, artifactId);
+            }
+        }, "getLatestRelease", groupId, artifactId);
+    }
+
+    /**
+     * Gets asynchronously all existing versions of a specific artifact of a specific group within a version range.
+     *
+     * @param groupId    the id of the group
+     * @param artifactId the id of the artifact
+     * @param range      the specification of the version range
+     * @return a future completed with the result of
+     * {@link LocalMavenRepositoryReader#getVersionsInRange(String, String, String)}
+     */
+    public CompletableFuture<String[]> getVersionsInRange(final String groupId, final String artifactId,
+                                                          final String range) {
+        return submit(new Callable<String[]>() {
+            @Override
+            public String[] call() {
+                return reader.getVersionsInRange(groupId, artifactId, range);
+            }
+        }, "getVersionsInRange", groupId, artifactId, range);
+    }
+
+    /**
+     * Gets asynchronously the fields of the pom.xml file of a specific version of a specific artifact of a specific
+     * group.
+     *
+     * @param groupId    the id of the group
+     * @param artifactId the id of the artifact
+     * @param version    the version of the artifact
+     * @return a future completed with the result of
+     * {@link LocalMavenRepositoryReader#getPomInfo(String, String, String)}
+     */
+    public CompletableFuture<PomInfo> getPomInfo(final String groupId, final String artifactId,
+                                                 final String version) {
+        return submit(new Callable<PomInfo>() {
+            @Override
+            public PomInfo call() {
+                return reader.getPomInfo(groupId, artifactId, version);
+            }
+        }, "getPomInfo", groupId, artifactId, version);
+    }
+
+    /**
+     * Gets asynchronously the remote repositories the files of a specific version have been downloaded from.
+     *
+     * @param groupId    the id of the group
+     * @param artifactId the id of the artifact
+     * @param version    the version of the artifact
+     * @return a future completed with the result of
+     * {@link LocalMavenRepositoryReader#getRemoteRepositories(String, String, String)}
+     */
+    public CompletableFuture<Map<String, String>> getRemoteRepositories(final String groupId, final String artifactId,
+                                                                        final String version) {
+        return submit(new Callable<Map<String, String>>() {
+            @Override
+            public Map<String, String> call() {
+                return reader.getRemoteRepositories(groupId, artifactId, version);
+            }
+        }, "getRemoteRepositories", groupId, artifactId, version);
+    }
+
+    /**
+     * Computes asynchronously the transitive dependencies of a specific version.
+     *
+     * @param root        the coordinate of the version
+     * @param parallelism the number of threads resolving the dependencies of a level of the dependency graph
+     * @return a future completed with the result of
+     * {@link LocalMavenRepositoryReader#resolveDependencyClosure(ArtifactCoordinate, int)}
+     */
+    public CompletableFuture<DependencyClosure> resolveDependencyClosure(final ArtifactCoordinate root,
+                                                                         final int parallelism) {
+        return submit(new Callable<DependencyClosure>() {
+            @Override
+            public DependencyClosure call() {
+                return reader.resolveDependencyClosure(root, parallelism);
+            }
+        }, "resolveDependencyClosure", root, parallelism);
+    }
+
+    /**
+     * Resolves asynchronously many coordinates of versions of artifacts at once.
+     *
+     * @param coordinates the coordinates to resolve
+     * @return a future completed with the result of {@link LocalMavenRepositoryReader#resolveAll(Collection)}
+     */
+    public CompletableFuture<Map<ArtifactCoordinate, Resolution>> resolveAll(
+            Collection<ArtifactCoordinate> coordinates) {
+        final List<ArtifactCoordinate> copy = new ArrayList<ArtifactCoordinate>(coordinates);
+        return submit(new Callable<Map<ArtifactCoordinate, Resolution>>() {
+            @Override
+            public Map<ArtifactCoordinate, Resolution> call() {
+                return reader.resolveAll(copy);
+            }
+        }, "resolveAll", copy);
+    }
+
+    /**
+     * Resolves asynchronously many coordinates of versions of artifacts at once using a specific number of threads.
+     *
+     * @param coordinates the coordinates to resolve
+     * @param parallelism the number of threads resolving the groups of the coordinates
+     * @return a future completed with the result of {@link LocalMavenRepositoryReader#resolveAll(Collection, int)}
+     */
+    public CompletableFuture<Map<ArtifactCoordinate, Resolution>> resolveAll(
+            Collection<ArtifactCoordinate> coordinates, final int parallelism) {
+        final List<ArtifactCoordinate> copy = new ArrayList<ArtifactCoordinate>(coordinates);
+        return submit(new Callable<Map<ArtifactCoordinate, Resolution>>() {
+            @Override
+            public Map<ArtifactCoordinate, Resolution> call() {
+                return reader.resolveAll(copy, parallelism);
+            }
+        }, "resolveAll", copy, parallelism);
+    }
+
+    /**
+     * Gets asynchronously the coordinates of all existing versions of all artifacts.
+     *
+     * @return a future completed with the result of {@link LocalMavenRepositoryReader#scanAll()}
+     */
+    public CompletableFuture<List<ArtifactCoordinate>> scanAll() {
+        return submit(new Callable<List<ArtifactCoordinate>>() {
+            @Override
+            public List<ArtifactCoordinate> call() {
+                return reader.scanAll();
+            }
+        }, "scanAll");
+    }
+
+    /**
+     * Gets asynchronously the coordinates of all existing versions of all artifacts using a specific number of
+     * threads.
+     *
+     * @param parallelism the number of threads walking the repository
+     * @return a future completed with the result of {@link LocalMavenRepositoryReader#scanAll(int)}
+     */
+    public CompletableFuture<List<ArtifactCoordinate>> scanAll(final int parallelism) {
+        return submit(new Callable<List<ArtifactCoordinate>>() {
+            @Override
+            public List<ArtifactCoordinate> call() {
+                return reader.scanAll(parallelism);
+            }
+        }, "scanAll", parallelism);
+    }
+
+    /**
+     * Takes asynchronously an inventory of all version folders of the local maven repository.
+     *
+     * @param parallelism the number of threads walking the repository
+     * @param consumer    the consumer of the inventories of the version folders, which is called concurrently by
+     *                    several threads and hence must be thread-safe
+     * @return a future completed with the result of {@link LocalMavenRepositoryReader#takeInventory(int, Consumer)}
+     */
+    public CompletableFuture<RepositoryInventory> takeInventory(final int parallelism,
+                                                                final Consumer<VersionInventory> consumer) {
+        return submit(new Callable<RepositoryInventory>() {
+            @Override
+            public RepositoryInventory call() {
+                return reader.takeInventory(parallelism, consumer);
+            }
+        }, "takeInventory", parallelism, consumer);
+    }
+
+    /**
+     * Verifies asynchronously all artifact files of the local maven repository against their checksum files.
+     *
+     * @param parallelism the number of threads used to walk the repository and to verify the files
+     * @param state       the files verified before or {@code null} to verify all files
+     * @return a future completed with the result of
+     * {@link LocalMavenRepositoryReader#verifyChecksums(int, VerificationState)}
+     */
+    public CompletableFuture<VerificationReport> verifyChecksums(final int parallelism,
+                                                                 final VerificationState state) {
+        return submit(new Callable<VerificationReport>() {
+            @Override
+            public VerificationReport call() {
+                return reader.verifyChecksums(parallelism, state);
+            }
+        }, "verifyChecksums", parallelism, state);
+    }
+
+    /**
+     * Gets asynchronously the search over the group ids and artifact ids of the local maven repository.
+     *
+     * @return a future completed with the result of {@link LocalMavenRepositoryReader#getSearch()}
+     */
+    public CompletableFuture<RepositorySearch> getSearch() {
+        return submit(new Callable<RepositorySearch>() {
+            @Override
+            public RepositorySearch call() {
+                return reader.getSearch();
+            }
+        }, "getSearch");
+    }
+
+    /**
+     * Builds asynchronously an in-memory index of the local maven repository.
+     *
+     * @return a future completed with the result of {@link LocalMavenRepositoryReader#buildIndex()}
+     */
+    public CompletableFuture<RepositoryIndex> buildIndex() {
+        return submit(new Callable<RepositoryIndex>() {
+            @Override
+            public RepositoryIndex call() throws Exception {
+                return reader.buildIndex();
+            }
+        }, "buildIndex");
+    }
+
+    /**
+     * Loads asynchronously the index of the local maven repository from a snapshot file.
+     *
+     * @param snapshot the path to the snapshot file
+     * @return a future completed with the result of {@link LocalMavenRepositoryReader#loadIndex(Path)}
+     */
+    public CompletableFuture<RepositoryIndex> loadIndex(final Path snapshot) {
+        return submit(new Callable<RepositoryIndex>() {
+            @Override
+            public RepositoryIndex call() throws Exception {
+                return reader.loadIndex(snapshot);
+            }
+        }, "loadIndex", snapshot);
+    }
+
+    /**
+     * Gets the number of distinct queries that are currently in flight.
+     *
+     * @return the number of queries that are queued or running
+     */
+    int getLookupCount() {
+        return this.lookups.size();
+    }
+
+    /**
+     * Executes a query or joins an identical query that is already in flight.
+     *
+     * @param query     the query to execute
+     * @param method    the name of the query
+     * @param arguments the arguments of the query, which identify it together with its name
+     * @param <T>       the type of the result of the query
+     * @return a future of this caller completed with the result of the query
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> submit(Callable<T> query, String method, Object... arguments) {
+        List<Object> key = new ArrayList<Object>(arguments.length + 1);
+        key.add(method);
+        key.addAll(Arrays.asList(arguments));
+
+        while (true) {
+            // check whether an identical query is in flight
+            Lookup<T> lookup = (Lookup<T>) this.lookups.get(key);
+            if (lookup == null) {
+                Lookup<T> newLookup = new Lookup<T>(key, query);
+                lookup = (Lookup<T>) this.lookups.putIfAbsent(key, newLookup);
+                if (lookup == null) {
+                    CompletableFuture<T> future = newLookup.subscribe();
+                    newLookup.start();
+                    return future;
+                }
+            }
+
+            // -> identical query is in flight, join it unless it has just been cancelled
+            CompletableFuture<T> future = lookup.subscribe();
+            if (future != null) {
+                return future;
+            }
+            this.lookups.remove(key, lookup);
+        }
+    }
+
+    /**
+     * Creates the default executor: a fixed number of daemon threads with a bounded queue.
+     *
+     * @return the default executor
+     */
+    private static ExecutorService createDefaultExecutor() {
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(DEFAULT_QUEUE_CAPACITY), new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "local-maven-repository-reader-" + this.count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * A query in flight together with the futures of all callers waiting for its result.
+     *
+     * @param <T> the type of the result of the query
+     */
+    private class Lookup<T> implements Runnable {
+        private final List<Object> key;
+        private final Callable<T> query;
+        // guarded by this
+        private final List<CompletableFuture<T>> subscribers = new ArrayList<CompletableFuture<T>>();
+        private boolean finished;
+        private boolean running;
+        private Future<?> task;
+
+        /**
+         * Creates a new lookup.
+         *
+         * @param key   the name and the arguments of the query
+         * @param query the query to execute
+         */
+        Lookup(List<Object> key, Callable<T> query) {
+            this.key = key;
+            this.query = query;
+        }
+
+        /**
+         * Adds a caller waiting for the result of the query.
+         *
+         * @return the future of the caller or {@code null} if the lookup has already been finished or cancelled
+         */
+        synchronized CompletableFuture<T> subscribe() {
+            if (this.finished) {
+                return null;
+            }
+
+            CompletableFuture<T> future = new CompletableFuture<T>() {
+                @Override
+                public boolean cancel(boolean mayInterruptIfRunning) {
+                    boolean cancelled = super.cancel(mayInterruptIfRunning);
+                    if (cancelled) {
+                        unsubscribe(this);
+                    }
+                    return cancelled;
+                }
+            };
+            this.subscribers.add(future);
+            return future;
+        }
+
+        /**
+         * Removes a caller that has cancelled its future and cancels the query if no caller is left.
+         *
+         * @param future the cancelled future of the caller
+         */
+        private void unsubscribe(CompletableFuture<T> future) {
+            boolean cancelled = false;
+            Future<?> cancelledTask = null;
+            synchronized (this) {
+                this.subscribers.remove(future);
+                if (this.subscribers.isEmpty() && !this.finished) {
+                    this.finished = true;
+                    cancelled = true;
+                    cancelledTask = this.task;
+                }
+            }
+
+            // check whether the last caller has left before the query finished
+            if (cancelled) {
+                lookups.remove(this.key, this);
+                if (cancelledTask != null) {
+                    cancelledTask.cancel(true);
+                }
+            }
+        }
+
+        /**
+         * Submits the query to the executor.
+         */
+        void start() {
+            try {
+                Future<?> submitted = executor.submit(this);
+                synchronized (this) {
+                    this.task = submitted;
+                    if (this.finished && this.subscribers.isEmpty()) {
+                        submitted.cancel(true);
+                    }
+                }
+            } catch (RejectedExecutionException e) {
+                finish(null, e);
+            }
+        }
+
+        /**
+         * Fails the futures of all callers unless the query is already running or finished. The query is removed
+         * from the queue of the executor if possible, otherwise it is skipped once it gets its turn.
+         *
+         * @param exception the reason why the query is not executed
+         */
+        void reject(RuntimeException exception) {
+            Future<?> rejectedTask;
+            synchronized (this) {
+                if (this.finished || this.running) {
+                    return;
+                }
+                this.finished = true;
+                rejectedTask = this.task;
+            }
+
+            if (rejectedTask != null) {
+                rejectedTask.cancel(false);
+            }
+            finish(null, exception);
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (this.finished) {
+                    return;
+                }
+                this.running = true;
+            }
+
+            try {
+                finish(this.query.call(), null);
+            } catch (Exception e) {
+                finish(null, e);
+            } catch (Error e) {
+                finish(null, e);
+                throw e;
+            }
+        }
+
+        /**
+         * Completes the futures of all remaining callers.
+         *
+         * @param result    the result of the query
+         * @param exception the exception thrown by the query or {@code null} if it succeeded
+         */
+        private void finish(T result, Throwable exception) {
+            // new callers must start a new query from now on
+            lookups.remove(this.key, this);
+
+            List<CompletableFuture<T>> futures;
+            synchronized (this) {
+                this.finished = true;
+                futures = new ArrayList<CompletableFuture<T>>(this.subscribers);
+                this.subscribers.clear();
+            }
+
+            for (CompletableFuture<T> future : futures) {
+                if (exception == null) {
+                    future.complete(result);
+                } else {
+                    future.completeExceptionally(exception);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package ch.scheitlin.alex.maven;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * <p>Resolves many coordinates of versions of artifacts at once.</p>
+ * <p>
+ * The coordinates are sorted and grouped by their group id and artifact id first. Hence the folder of every group and
+ * artifact is only looked up once, no matter how many of the coordinates share it, and groups with a common prefix
+ * (e.g. {@code org.apache.maven} and {@code org.apache.maven.plugins}) are resolved one after another, so the listings
+ * of their common folders are reused.
+ * </p>
+ * <p>
+ * With a parallelism of {@code 1}, all groups are resolved by the calling thread within a single
+ * {@link TraversalContext}. Otherwise every group is resolved by its own task of a {@link ForkJoinPool} with its own
+ * context, sharing the listings of common folders only through the cache of the reader.
+ * </p>
+ */
+class BatchResolver {
+    private final LocalMavenRepositoryReader reader;
+    private final int parallelism;
+
+    /**
+     * Creates a new resolver.
+     *
+     * @param reader      the reader of the local maven repository to resolve the coordinates in
+     * @param parallelism the number of threads used to resolve independent groups
+     */
+    BatchResolver(LocalMavenRepositoryReader reader, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1.");
+        }
+
+        this.reader = reader;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Resolves a collection of coordinates.
+     *
+     * @param coordinates the coordinates to resolve
+     * @return the resolution of every distinct coordinate in the order of the given collection
+     */
+    Map<ArtifactCoordinate, Resolution> resolve(Collection<ArtifactCoordinate> coordinates) {
+        // sort and group the coordinates by group id and artifact id
+        TreeMap<String, TreeMap<String, List<ArtifactCoordinate>>> groups =
+                new TreeMap<String, TreeMap<String, List<ArtifactCoordinate>>>();
+        for (ArtifactCoordinate coordinate : coordinates) {
+            TreeMap<String, List<ArtifactCoordinate>> artifacts = groups.get(coordinate.getGroupId());
+            if (artifacts == null) {
+                artifacts = new TreeMap<String, List<ArtifactCoordinate>>();
+                groups.put(coordinate.getGroupId(), artifacts);
+            }
+            List<ArtifactCoordinate> versions = artifacts.get(coordinate.getArtifactId());
+            if (versions == null) {
+                versions = new ArrayList<ArtifactCoordinate>();
+                artifacts.put(coordinate.getArtifactId(), versions);
+            }
+            versions.add(coordinate);
+        }
+
+        // resolve all groups
+        Map<ArtifactCoordinate, Resolution> resolutions = new HashMap<ArtifactCoordinate, Resolution>();
+        if (this.parallelism == 1) {
+            TraversalContext context = this.reader.createContext();
+            for (Map.Entry<String, TreeMap<String, List<ArtifactCoordinate>>> group : groups.entrySet()) {
+                resolveGroup(context, group.getKey(), group.getValue(), resolutions);
+            }
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+            try {
+                resolutions = pool.invoke(new ResolveTask(groups));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        // restore the order of the given collection
+        Map<ArtifactCoordinate, Resolution> orderedResolutions = new LinkedHashMap<ArtifactCoordinate, Resolution>();
+        for (ArtifactCoordinate coordinate : coordinates) {
+            orderedResolutions.put(coordinate, resolutions.get(coordinate));
+        }
+        return orderedResolutions;
+    }
+
+    /**
+     * Resolves all coordinates of a specific group.
+     *
+     * @param context     the context remembering the already listed directories
+     * @param groupId     the id of the group
+     * @param artifacts   the coordinates to resolve grouped by their artifact id
+     * @param resolutions the map to add the resolutions to
+     */
+    private void resolveGroup(TraversalContext context, String groupId,
+                              Map<String, List<ArtifactCoordinate>> artifacts,
+                              Map<ArtifactCoordinate, Resolution> resolutions) {
+        // check whether the folder of the group exists
+        String nonExistingSubGroup = this.reader.getNonExistingSubGroup(context, groupId);
+        if (nonExistingSubGroup != null) {
+            for (List<ArtifactCoordinate> versions : artifacts.values()) {
+                for (ArtifactCoordinate coordinate : versions) {
+                    resolutions.put(coordinate,
+                            new Resolution(coordinate, ResolutionStatus.MISSING_GROUP, nonExistingSubGroup));
+                }
+            }
+            return;
+        }
+
+        // -> folder of the group exists
+
+        Path groupPath = this.reader.getExpectedGroupPath(groupId);
+        String[] existingArtifacts = context.getDirectories(groupPath);
+        for (Map.Entry<String, List<ArtifactCoordinate>> artifact : artifacts.entrySet()) {
+            // check whether the folder of the artifact exists
+            if (!LocalMavenRepositoryReader.doesArrayContain(existingArtifacts, artifact.getKey())) {
+                for (ArtifactCoordinate coordinate : artifact.getValue()) {
+                    resolutions.put(coordinate, new Resolution(coordinate, ResolutionStatus.MISSING_ARTIFACT, null));
+                }
+                continue;
+            }
+
+            // -> folder of the artifact exists
+
+            Path artifactPath = groupPath.resolve(artifact.getKey());
+            String[] existingVersions = context.getDirectories(artifactPath);
+            for (ArtifactCoordinate coordinate : artifact.getValue()) {
+                resolutions.put(coordinate, new Resolution(coordinate,
+                        resolveVersion(context, artifactPath, existingVersions, coordinate.getVersion()), null));
+            }
+        }
+    }
+
+    /**
+     * Resolves a specific version of an artifact whose folder exists.
+     *
+     * @param context          the context remembering the already listed directories
+     * @param artifactPath     the path to the folder of the artifact
+     * @param existingVersions the sub directories of the folder of the artifact
+     * @param version          the version to resolve
+     * @return the outcome of the resolution
+     */
+    private static ResolutionStatus resolveVersion(TraversalContext context, Path artifactPath,
+                                                   String[] existingVersions, String version) {
+        // check whether the folder of the version exists
+        if (!LocalMavenRepositoryReader.doesArrayContain(existingVersions, version)) {
+            return ResolutionStatus.MISSING_VERSION;
+        }
+
+        // check whether the files in the version folder make up a valid version
+        if (!context.getListing(artifactPath.resolve(version))
+                .isValidVersion(artifactPath.getFileName().toString(), version)) {
+            return ResolutionStatus.LAST_UPDATED_ONLY;
+        }
+
+        return ResolutionStatus.EXISTS;
+    }
+
+    /**
+     * Forks a task for every group and collects their resolutions.
+     */
+    @SuppressWarnings("serial")
+    private class ResolveTask extends RecursiveTask<Map<ArtifactCoordinate, Resolution>> {
+        private final Map<String, TreeMap<String, List<ArtifactCoordinate>>> groups;
+
+        /**
+         * Creates a new task for a specific set of groups.
+         *
+         * @param groups the coordinates to resolve grouped by their group id and artifact id
+         */
+        ResolveTask(Map<String, TreeMap<String, List<ArtifactCoordinate>>> groups) {
+            this.groups = groups;
+        }
+
+        @Override
+        protected Map<ArtifactCoordinate, Resolution> compute() {
+            Map<ArtifactCoordinate, Resolution> resolutions = new HashMap<ArtifactCoordinate, Resolution>();
+
+            // check whether the task is responsible for a single group
+            if (this.groups.size() == 1) {
+                Map.Entry<String, TreeMap<String, List<ArtifactCoordinate>>> group =
+                        this.groups.entrySet().iterator().next();
+                resolveGroup(reader.createContext(), group.getKey(), group.getValue(), resolutions);
+                return resolutions;
+            }
+
+            // -> task is responsible for several groups
+
+            // resolve every group by its own task
+            List<ResolveTask> tasks = new ArrayList<ResolveTask>();
+            for (Map.Entry<String, TreeMap<String, List<ArtifactCoordinate>>> group : this.groups.entrySet()) {
+                ResolveTask task = new ResolveTask(Collections.singletonMap(group.getKey(), group.getValue()));
+                task.fork();
+                tasks.add(task);
+            }
+            for (ResolveTask task : tasks) {
+                resolutions.putAll(task.join());
+            }
+
+            return resolutions;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ch.scheitlin.alex.maven;
+
+/**
+ * The kind of change of a specific version of an artifact between two indexes of a local maven repository.
+ *
+ * @see RepositoryIndex#diff(RepositoryIndex)
+ */
+public enum ChangeType {
+    /**
+     * The version exists now, but did not exist before, e.g. it has been downloaded or a failed download has been
+     * repeated successfully.
+     */
+    ADDED,
+
+    /**
+     * The version existed before, but does not exist anymore, e.g. it has been deleted or only '.lastUpdated' files are
+     * left.
+     */
+    REMOVED,
+
+    /**
+     * The version existed before and exists now, but files have been added to or deleted from its folder, e.g. the
+     * sources have been downloaded.
+     */
+    CHANGED
+}
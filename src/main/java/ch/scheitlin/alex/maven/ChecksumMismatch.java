@@ -0,0 +1,70 @@
+package ch.scheitlin.alex.maven;
+
+import java.nio.file.Path;
+
+/**
+ * A file of the local maven repository whose content does not match the checksum stored in its checksum file (e.g.
+ * {@code junit-4.12.jar.sha1}), as reported by a checksum verification.
+ */
+public final class ChecksumMismatch {
+    private final Path file;
+    private final String algorithm;
+    private final String expected;
+    private final String actual;
+
+    /**
+     * Creates a new mismatch.
+     *
+     * @param file      the path to the file
+     * @param algorithm the name of the algorithm of the checksum, e.g. {@code SHA-1}
+     * @param expected  the checksum stored in the checksum file
+     * @param actual    the checksum of the content of the file or {@code null} if the file could not be read
+     */
+    ChecksumMismatch(Path file, String algorithm, String expected, String actual) {
+        this.file = file;
+        this.algorithm = algorithm;
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    /**
+     * Gets the path to the file.
+     *
+     * @return the path to the file whose content does not match its checksum
+     */
+    public Path getFile() {
+        return this.file;
+    }
+
+    /**
+     * Gets the name of the algorithm of the checksum.
+     *
+     * @return the name of the algorithm, e.g. {@code SHA-1} or {@code SHA-256}
+     */
+    public String getAlgorithm() {
+        return this.algorithm;
+    }
+
+    /**
+     * Gets the checksum stored in the checksum file.
+     *
+     * @return the expected checksum in lower-case hexadecimal digits
+     */
+    public String getExpected() {
+        return this.expected;
+    }
+
+    /**
+     * Gets the checksum of the content of the file.
+     *
+     * @return the actual checksum in lower-case hexadecimal digits or {@code null} if the file could not be read
+     */
+    public String getActual() {
+        return this.actual;
+    }
+
+    @Override
+    public String toString() {
+        return this.file + ": expected " + this.algorithm + " " + this.expected + " but was " + this.actual;
+    }
+}
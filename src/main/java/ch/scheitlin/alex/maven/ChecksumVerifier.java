@@ -0,0 +1,239 @@
+package ch.scheitlin.alex.maven;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * <p>Verifies the files of a local maven repository against the checksums stored next to them.</p>
+ * <p>
+ * The repository is walked by an {@link InventoryScanner}, so the version folders are verified in parallel by the
+ * threads of its fork join pool as soon as they have been listed. Every artifact file is compared with the strongest
+ * checksum file present, i.e. {@code .sha512}, {@code .sha256}, {@code .sha1} or {@code .md5}. Files are read by
+ * mapping them into memory in chunks of at most {@value #CHUNK_SIZE} bytes.
+ * </p>
+ * <p>
+ * If a {@link VerificationState} is given, files whose size and modification time have not changed since they have
+ * been verified successfully are skipped, and every successfully verified file is added to the state.
+ * </p>
+ */
+class ChecksumVerifier {
+    static final int CHUNK_SIZE = 64 * 1024 * 1024;
+
+    private static final String[][] ALGORITHMS = {
+            {".sha512", "SHA-512"},
+            {".sha256", "SHA-256"},
+            {".sha1", "SHA-1"},
+            {".md5", "MD5"}
+    };
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final Path repository;
+    private final int parallelism;
+    private final VerificationState state;
+
+    /**
+     * Creates a new checksum verifier.
+     *
+     * @param repository  the path to the root directory of the local maven repository
+     * @param parallelism the number of threads used to walk the repository and to verify the files
+     * @param state       the files verified before, which is updated by the verification, or {@code null} to verify
+     *                    all files
+     */
+    ChecksumVerifier(Path repository, int parallelism, VerificationState state) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1.");
+        }
+
+        this.repository = repository;
+        this.parallelism = parallelism;
+        this.state = state;
+    }
+
+    /**
+     * Verifies all artifact files of all version folders of the repository.
+     *
+     * @return the mismatches and the statistics of the verification
+     */
+    VerificationReport verify() {
+        final ConcurrentLinkedQueue<ChecksumMismatch> mismatches = new ConcurrentLinkedQueue<ChecksumMismatch>();
+        final AtomicInteger verifiedFiles = new AtomicInteger();
+        final AtomicInteger skippedFiles = new AtomicInteger();
+        final AtomicInteger unverifiableFiles = new AtomicInteger();
+        final AtomicLong verifiedBytes = new AtomicLong();
+
+        long start = System.nanoTime();
+        new InventoryScanner(this.repository, this.parallelism).scan(new Consumer<VersionInventory>() {
+            @Override
+            public void accept(VersionInventory version) {
+                Set<String> names = new HashSet<String>();
+                for (InventoryFile file : version.getFiles()) {
+                    names.add(file.getName());
+                }
+
+                for (InventoryFile file : version.getFiles()) {
+                    // check whether the file is an artifact file that could have a checksum
+                    if (file.getExtension() == null || file.isChecksum() || file.isLastUpdated()) {
+                        continue;
+                    }
+
+                    // -> file is an artifact file
+
+                    String[] algorithm = getStrongestAlgorithm(file.getName(), names);
+                    if (algorithm == null) {
+                        unverifiableFiles.incrementAndGet();
+                        continue;
+                    }
+                    Path path = version.getFolder().resolve(file.getName());
+                    if (state != null && state.isVerified(path, file.getSize(), file.getLastModified())) {
+                        skippedFiles.incrementAndGet();
+                        continue;
+                    }
+
+                    Path checksumFile = version.getFolder().resolve(file.getName() + algorithm[0]);
+                    ChecksumMismatch mismatch = verifyFile(path, checksumFile, algorithm[1]);
+                    verifiedFiles.incrementAndGet();
+                    verifiedBytes.addAndGet(file.getSize());
+                    if (mismatch != null) {
+                        mismatches.add(mismatch);
+                        if (state != null) {
+                            state.remove(path);
+                        }
+                    } else if (state != null) {
+                        state.setVerified(path, file.getSize(), file.getLastModified());
+                    }
+                }
+            }
+        });
+
+        return new VerificationReport(new ArrayList<ChecksumMismatch>(mismatches), verifiedFiles.get(),
+                skippedFiles.get(), unverifiableFiles.get(), verifiedBytes.get(), System.nanoTime() - start);
+    }
+
+    /**
+     * Checks whether a file is a checksum file of any supported algorithm.
+     *
+     * @param name the name of the file
+     * @return {@code true} if the file is a checksum file, {@code false} if not
+     */
+    static boolean isChecksumFile(String name) {
+        for (String[] algorithm : ALGORITHMS) {
+            if (name.endsWith(algorithm[0])) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the strongest algorithm with a checksum file for a specific file.
+     *
+     * @param name  the name of the file
+     * @param names the names of all files of the folder
+     * @return the ending of the checksum file and the name of the algorithm or {@code null} if there is no checksum
+     * file
+     */
+    private static String[] getStrongestAlgorithm(String name, Set<String> names) {
+        for (String[] algorithm : ALGORITHMS) {
+            if (names.contains(name + algorithm[0])) {
+                return algorithm;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Compares the content of a file with the checksum stored in its checksum file.
+     *
+     * @param file         the path to the file
+     * @param checksumFile the path to the checksum file
+     * @param algorithm    the name of the algorithm of the checksum
+     * @return the mismatch or {@code null} if the content matches the checksum
+     */
+    static ChecksumMismatch verifyFile(Path file, Path checksumFile, String algorithm) {
+        String expected;
+        try {
+            expected = readChecksum(checksumFile);
+        } catch (IOException e) {
+            return new ChecksumMismatch(file, algorithm, null, null);
+        }
+
+        String actual;
+        try {
+            actual = computeChecksum(file, algorithm);
+        } catch (IOException e) {
+            return new ChecksumMismatch(file, algorithm, expected, null);
+        }
+
+        return actual.equals(expected) ? null : new ChecksumMismatch(file, algorithm, expected, actual);
+    }
+
+    /**
+     * Reads the checksum stored in a checksum file. Besides the checksum, the file may contain the name of the file
+     * separated by whitespace (like the output of {@code sha1sum}).
+     *
+     * @param checksumFile the path to the checksum file
+     * @return the checksum in lower-case hexadecimal digits
+     * @throws IOException if the checksum file could not be read
+     */
+    static String readChecksum(Path checksumFile) throws IOException {
+        String content = new String(Files.readAllBytes(checksumFile), StandardCharsets.UTF_8).trim();
+        int end = 0;
+        while (end < content.length() && !Character.isWhitespace(content.charAt(end))) {
+            end++;
+        }
+
+        return content.substring(0, end).toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Computes the checksum of the content of a file by mapping it into memory chunk by chunk.
+     *
+     * @param file      the path to the file
+     * @param algorithm the name of the algorithm
+     * @return the checksum in lower-case hexadecimal digits
+     * @throws IOException if the file could not be read
+     */
+    static String computeChecksum(Path file, String algorithm) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Algorithm " + algorithm + " is not supported.", e);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += CHUNK_SIZE) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(CHUNK_SIZE, size - position));
+                digest.update(buffer);
+            }
+        }
+
+        byte[] hash = digest.digest();
+        char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            hex[2 * i] = HEX_DIGITS[(hash[i] >> 4) & 0xF];
+            hex[2 * i + 1] = HEX_DIGITS[hash[i] & 0xF];
+        }
+
+        return new String(hex);
+    }
+}
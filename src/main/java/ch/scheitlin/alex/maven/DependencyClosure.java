@@ -0,0 +1,76 @@
+package ch.scheitlin.alex.maven;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>The transitive dependencies of a root version, computed from the local maven repository only.</p>
+ * <p>
+ * A coordinate is missing if its version folder does not exist (or only contains '.lastUpdated' files), its pom.xml
+ * file cannot be read or the file of the artifact itself (e.g. the jar) is missing. Parents and imported bills of
+ * materials needed to read a pom.xml file are checked as well. If a dependency is declared without a version that
+ * could be determined (e.g. because of an unknown property), it is reported as missing with the declared version.
+ * </p>
+ */
+public final class DependencyClosure {
+    private final ArtifactCoordinate root;
+    private final List<ArtifactCoordinate> coordinates;
+    private final Map<ArtifactCoordinate, ArtifactCoordinate> missing;
+
+    /**
+     * Creates a new closure.
+     *
+     * @param root        the coordinate of the root version
+     * @param coordinates the coordinates of all existing dependencies
+     * @param missing     the missing coordinates and the coordinates requiring them
+     */
+    DependencyClosure(ArtifactCoordinate root, List<ArtifactCoordinate> coordinates,
+                      Map<ArtifactCoordinate, ArtifactCoordinate> missing) {
+        this.root = root;
+        this.coordinates = Collections.unmodifiableList(coordinates);
+        this.missing = Collections.unmodifiableMap(missing);
+    }
+
+    /**
+     * Gets the coordinate of the root version.
+     *
+     * @return the coordinate of the root version
+     */
+    public ArtifactCoordinate getRoot() {
+        return this.root;
+    }
+
+    /**
+     * Gets the coordinates of all dependencies that exist in the local maven repository, not including the root.
+     *
+     * @return the coordinates ordered by their distance to the root
+     */
+    public List<ArtifactCoordinate> getCoordinates() {
+        return this.coordinates;
+    }
+
+    /**
+     * Gets the coordinates of all dependencies, parents and imports that are missing in the local maven repository.
+     *
+     * @return the missing coordinates ordered by their distance to the root, each mapped to the coordinate requiring
+     * it or to {@code null} if the root itself is missing
+     */
+    public Map<ArtifactCoordinate, ArtifactCoordinate> getMissing() {
+        return this.missing;
+    }
+
+    /**
+     * Checks whether everything needed to build the root version exists in the local maven repository.
+     *
+     * @return {@code true} if no coordinate is missing, {@code false} if not
+     */
+    public boolean isComplete() {
+        return this.missing.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return this.root + ": " + this.coordinates.size() + " dependencies, " + this.missing.size() + " missing";
+    }
+}
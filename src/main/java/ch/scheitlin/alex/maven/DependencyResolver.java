@@ -0,0 +1,612 @@
+package ch.scheitlin.alex.maven;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * <p>Computes the transitive dependencies of a version from the pom.xml files in the local maven repository.</p>
+ * <p>
+ * The pom.xml file of every version is turned into an effective model once: the properties, the managed dependencies
+ * and the dependencies of all parents are inherited, bills of materials imported by the dependency management are
+ * merged, properties are replaced and missing versions and scopes of dependencies are taken from the dependency
+ * management. The models are kept by the resolver, so later queries reuse them.
+ * </p>
+ * <p>
+ * The dependency graph is walked level by level, i.e. breadth-first. All versions of a level are resolved in parallel
+ * by a {@link ForkJoinPool}, afterwards the dependencies found are merged in the order of their declaration. Like
+ * maven, the nearest declaration of an artifact wins and later declarations of the same artifact (with any version)
+ * are ignored. The dependency management of the root overrides the versions of all transitive dependencies.
+ * Dependencies with the scope {@code test}, {@code provided} or {@code system} and optional dependencies are only
+ * followed if they are declared by the root itself (except {@code system}, which is never part of the repository).
+ * Exclusions are applied to everything below the dependency declaring them.
+ * </p>
+ */
+class DependencyResolver {
+    private static final int MAXIMUM_INTERPOLATION_DEPTH = 10;
+
+    private final LocalMavenRepositoryReader reader;
+    private final ConcurrentMap<ArtifactCoordinate, Model> models = new ConcurrentHashMap<ArtifactCoordinate, Model>();
+
+    /**
+     * Creates a new resolver.
+     *
+     * @param reader the reader of the local maven repository
+     */
+    DependencyResolver(LocalMavenRepositoryReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Computes the transitive dependencies of a specific version.
+     *
+     * @param root        the coordinate of the version
+     * @param parallelism the number of threads resolving the versions of a level of the dependency graph
+     * @return the existing and the missing dependencies
+     */
+    DependencyClosure resolve(ArtifactCoordinate root, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1.");
+        }
+
+        List<ArtifactCoordinate> coordinates = new ArrayList<ArtifactCoordinate>();
+        Map<ArtifactCoordinate, ArtifactCoordinate> missing =
+                new LinkedHashMap<ArtifactCoordinate, ArtifactCoordinate>();
+
+        // check whether the pom.xml file of the root can be read
+        Model rootModel = this.reader.doesVersionExist(root.getGroupId(), root.getArtifactId(), root.getVersion())
+                ? getModel(root, Collections.<ArtifactCoordinate>emptySet()) : null;
+        if (rootModel == null || !rootModel.exists) {
+            missing.put(root, null);
+            return new DependencyClosure(root, coordinates, missing);
+        }
+
+        // -> root exists
+
+        for (ArtifactCoordinate parent : rootModel.missing) {
+            missing.put(parent, root);
+        }
+        List<Request> level = new ArrayList<Request>();
+        for (PomDependency dependency : rootModel.dependencies) {
+            if (!"system".equals(dependency.getScope())) {
+                level.add(new Request(dependency, root, new HashSet<String>(dependency.getExclusions())));
+            }
+        }
+
+        Set<String> selected = new HashSet<String>();
+        selected.add(root.getGroupId() + ":" + root.getArtifactId());
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            while (!level.isEmpty()) {
+                // the nearest declaration of an artifact wins, the first one within a level
+                List<Request> accepted = new ArrayList<Request>();
+                for (Request request : level) {
+                    if (selected.add(request.dependency.getGroupId() + ":" + request.dependency.getArtifactId())) {
+                        accepted.add(applyRootManagement(rootModel, root, request));
+                    }
+                }
+
+                // resolve all accepted versions of the level in parallel
+                List<Request> next = new ArrayList<Request>();
+                for (Expansion expansion : pool.invoke(new LevelTask(accepted))) {
+                    if (expansion.exists) {
+                        coordinates.add(expansion.coordinate);
+                    } else if (!missing.containsKey(expansion.coordinate)) {
+                        missing.put(expansion.coordinate, expansion.requiredBy);
+                    }
+                    for (ArtifactCoordinate parent : expansion.missingParents) {
+                        if (!missing.containsKey(parent)) {
+                            missing.put(parent, expansion.coordinate);
+                        }
+                    }
+                    next.addAll(expansion.children);
+                }
+                level = next;
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        return new DependencyClosure(root, coordinates, missing);
+    }
+
+    /**
+     * Gets the number of effective models kept by the resolver.
+     *
+     * @return the number of models
+     */
+    int getModelCount() {
+        return this.models.size();
+    }
+
+    /**
+     * Overrides the version of a transitive dependency with the version managed by the root.
+     *
+     * @param rootModel the effective model of the root
+     * @param root      the coordinate of the root
+     * @param request   the request to resolve a dependency
+     * @return the request with the managed version or the request itself if it is not managed by the root
+     */
+    private static Request applyRootManagement(Model rootModel, ArtifactCoordinate root, Request request) {
+        PomDependency managed = rootModel.managed.get(getKey(request.dependency));
+        if (request.requiredBy.equals(root) || managed == null || managed.getVersion() == null) {
+            return request;
+        }
+
+        PomDependency dependency = request.dependency;
+        return new Request(new PomDependency(dependency.getGroupId(), dependency.getArtifactId(),
+                managed.getVersion(), dependency.getType(), dependency.getClassifier(), dependency.getScope(),
+                dependency.isOptional(), dependency.getExclusions()), request.requiredBy, request.exclusions);
+    }
+
+    /**
+     * Resolves the version of a dependency, checks whether it exists and collects its transitive dependencies.
+     *
+     * @param request the request to resolve a dependency
+     * @return the resolved dependency
+     */
+    private Expansion expand(Request request) {
+        PomDependency dependency = request.dependency;
+        String groupId = dependency.getGroupId();
+        String artifactId = dependency.getArtifactId();
+        String version = dependency.getVersion() == null ? "" : dependency.getVersion();
+
+        // check whether the version can be determined
+        if (version.isEmpty() || version.contains("${")) {
+            return Expansion.missing(new ArtifactCoordinate(groupId, artifactId, version), request.requiredBy);
+        }
+        if (version.startsWith("[") || version.startsWith("(")) {
+            String[] versions;
+            try {
+                versions = this.reader.getVersionsInRange(groupId, artifactId, version);
+            } catch (IllegalArgumentException e) {
+                versions = new String[0];
+            }
+            if (versions.length == 0) {
+                return Expansion.missing(new ArtifactCoordinate(groupId, artifactId, version), request.requiredBy);
+            }
+            version = versions[versions.length - 1];
+        }
+
+        // check whether the version, its pom.xml file and its artifact file exist
+        ArtifactCoordinate coordinate = new ArtifactCoordinate(groupId, artifactId, version);
+        if (!this.reader.doesVersionExist(groupId, artifactId, version)) {
+            return Expansion.missing(coordinate, request.requiredBy);
+        }
+        Model model = getModel(coordinate, Collections.<ArtifactCoordinate>emptySet());
+        if (!model.exists || !doesArtifactFileExist(coordinate, dependency)) {
+            return Expansion.missing(coordinate, request.requiredBy);
+        }
+
+        // -> dependency exists, collect its transitive dependencies
+
+        List<Request> children = new ArrayList<Request>();
+        for (PomDependency child : model.dependencies) {
+            String scope = child.getScope();
+            boolean transitive = scope == null || scope.equals("compile") || scope.equals("runtime");
+            if (transitive && !child.isOptional() && !isExcluded(request.exclusions, child)) {
+                Set<String> exclusions = new HashSet<String>(request.exclusions);
+                exclusions.addAll(child.getExclusions());
+                children.add(new Request(child, coordinate, exclusions));
+            }
+        }
+
+        return new Expansion(coordinate, request.requiredBy, true, model.missing, children);
+    }
+
+    /**
+     * Checks whether the file of a dependency exists, e.g. {@code junit-4.12.jar}.
+     *
+     * @param coordinate the coordinate of the dependency with the resolved version
+     * @param dependency the declaration of the dependency
+     * @return {@code true} if the file exists, {@code false} if not
+     */
+    private boolean doesArtifactFileExist(ArtifactCoordinate coordinate, PomDependency dependency) {
+        String type = dependency.getType() == null ? "jar" : dependency.getType();
+        String classifier = dependency.getClassifier();
+        String extension;
+        if (type.equals("test-jar")) {
+            extension = "jar";
+            classifier = classifier == null ? "tests" : classifier;
+        } else if (type.equals("maven-plugin") || type.equals("ejb") || type.equals("ejb-client")
+                || type.equals("bundle") || type.equals("java-source") || type.equals("javadoc")) {
+            extension = "jar";
+        } else {
+            extension = type;
+        }
+
+        String file = coordinate.getArtifactId() + "-" + coordinate.getVersion()
+                + (classifier == null || classifier.isEmpty() ? "" : "-" + classifier) + "." + extension;
+        return Files.isRegularFile(this.reader.getExpectedVersionPath(coordinate.getGroupId(),
+                coordinate.getArtifactId(), coordinate.getVersion()).resolve(file));
+    }
+
+    /**
+     * Checks whether a dependency is excluded.
+     *
+     * @param exclusions the exclusions in the form {@code <groupId>:<artifactId>}, where both parts may be {@code *}
+     * @param dependency the dependency
+     * @return {@code true} if any exclusion matches the dependency, {@code false} if not
+     */
+    static boolean isExcluded(Set<String> exclusions, PomDependency dependency) {
+        for (String exclusion : exclusions) {
+            int colon = exclusion.indexOf(':');
+            String groupId = exclusion.substring(0, colon);
+            String artifactId = exclusion.substring(colon + 1);
+            if ((groupId.equals("*") || groupId.equals(dependency.getGroupId()))
+                    && (artifactId.equals("*") || artifactId.equals(dependency.getArtifactId()))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the effective model of a specific version, building it if it has not been built before.
+     *
+     * @param coordinate the coordinate of the version
+     * @param visiting   the versions whose models are currently built by this thread, to detect cyclic parents
+     * @return the effective model
+     */
+    private Model getModel(ArtifactCoordinate coordinate, Set<ArtifactCoordinate> visiting) {
+        Model model = this.models.get(coordinate);
+        if (model != null) {
+            return model;
+        }
+
+        // build the model outside of the map, as building it needs the models of the parent and imports
+        model = buildModel(coordinate, visiting);
+        Model existing = this.models.putIfAbsent(coordinate, model);
+
+        return existing == null ? model : existing;
+    }
+
+    /**
+     * Builds the effective model of a specific version.
+     *
+     * @param coordinate the coordinate of the version
+     * @param visiting   the versions whose models are currently built by this thread, to detect cyclic parents
+     * @return the effective model
+     */
+    private Model buildModel(ArtifactCoordinate coordinate, Set<ArtifactCoordinate> visiting) {
+        PomInfo pom = this.reader.getPomInfo(coordinate.getGroupId(), coordinate.getArtifactId(),
+                coordinate.getVersion());
+        if (pom == null) {
+            return new Model();
+        }
+
+        Set<ArtifactCoordinate> innerVisiting = new HashSet<ArtifactCoordinate>(visiting);
+        innerVisiting.add(coordinate);
+        Set<ArtifactCoordinate> missing = new LinkedHashSet<ArtifactCoordinate>();
+
+        // inherit from the parent
+        Model parent = null;
+        if (pom.getParent() != null && !innerVisiting.contains(pom.getParent())) {
+            parent = getModel(pom.getParent(), innerVisiting);
+            if (!parent.exists) {
+                missing.add(pom.getParent());
+                parent = null;
+            } else {
+                missing.addAll(parent.missing);
+            }
+        }
+        Map<String, String> properties = new HashMap<String, String>();
+        List<PomDependency> rawManaged = new ArrayList<PomDependency>(pom.getManagedDependencies());
+        List<PomDependency> rawDependencies = new ArrayList<PomDependency>(pom.getDependencies());
+        if (parent != null) {
+            properties.putAll(parent.properties);
+            rawManaged.addAll(parent.rawManaged);
+            rawDependencies.addAll(parent.rawDependencies);
+        }
+        properties.putAll(pom.getProperties());
+        putProjectProperties(properties, pom);
+
+        // the declarations of the project itself come first and win over the inherited ones
+        Map<String, PomDependency> managed = new LinkedHashMap<String, PomDependency>();
+        List<PomDependency> imports = new ArrayList<PomDependency>();
+        for (PomDependency dependency : rawManaged) {
+            PomDependency interpolated = interpolate(dependency, properties);
+            if ("import".equals(interpolated.getScope()) && "pom".equals(interpolated.getType())) {
+                imports.add(interpolated);
+            } else if (interpolated.getGroupId() != null && interpolated.getArtifactId() != null
+                    && !managed.containsKey(getKey(interpolated))) {
+                managed.put(getKey(interpolated), interpolated);
+            }
+        }
+
+        // merge the imported bills of materials after the own declarations
+        for (PomDependency dependency : imports) {
+            if (dependency.getGroupId() == null || dependency.getArtifactId() == null
+                    || dependency.getVersion() == null) {
+                continue;
+            }
+            ArtifactCoordinate bom = new ArtifactCoordinate(dependency.getGroupId(), dependency.getArtifactId(),
+                    dependency.getVersion());
+            Model bomModel = innerVisiting.contains(bom) ? null : getModel(bom, innerVisiting);
+            if (bomModel == null || !bomModel.exists) {
+                missing.add(bom);
+                continue;
+            }
+            missing.addAll(bomModel.missing);
+            for (Map.Entry<String, PomDependency> entry : bomModel.managed.entrySet()) {
+                if (!managed.containsKey(entry.getKey())) {
+                    managed.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        // complete the dependencies with the dependency management
+        Map<String, PomDependency> dependencies = new LinkedHashMap<String, PomDependency>();
+        for (PomDependency dependency : rawDependencies) {
+            PomDependency interpolated = interpolate(dependency, properties);
+            String key = getKey(interpolated);
+            if (interpolated.getGroupId() == null || interpolated.getArtifactId() == null
+                    || dependencies.containsKey(key)) {
+                continue;
+            }
+
+            PomDependency management = managed.get(key);
+            if (management != null) {
+                List<String> exclusions = new ArrayList<String>(interpolated.getExclusions());
+                exclusions.addAll(management.getExclusions());
+                interpolated = new PomDependency(interpolated.getGroupId(), interpolated.getArtifactId(),
+                        interpolated.getVersion() != null ? interpolated.getVersion() : management.getVersion(),
+                        interpolated.getType(), interpolated.getClassifier(),
+                        interpolated.getScope() != null ? interpolated.getScope() : management.getScope(),
+                        interpolated.isOptional(), exclusions);
+            }
+            dependencies.put(key, interpolated);
+        }
+
+        return new Model(properties, rawManaged, rawDependencies, managed,
+                new ArrayList<PomDependency>(dependencies.values()), missing);
+    }
+
+    /**
+     * Adds the built-in properties of a project, e.g. {@code project.version}.
+     *
+     * @param properties the properties to add the built-in properties to
+     * @param pom        the fields of the pom.xml file of the project
+     */
+    private static void putProjectProperties(Map<String, String> properties, PomInfo pom) {
+        ArtifactCoordinate coordinate = pom.getCoordinate();
+        for (String prefix : new String[]{"project.", "pom."}) {
+            properties.put(prefix + "groupId", coordinate.getGroupId());
+            properties.put(prefix + "artifactId", coordinate.getArtifactId());
+            properties.put(prefix + "version", coordinate.getVersion());
+            properties.put(prefix + "packaging", pom.getPackaging());
+            if (pom.getParent() != null) {
+                properties.put(prefix + "parent.groupId", pom.getParent().getGroupId());
+                properties.put(prefix + "parent.artifactId", pom.getParent().getArtifactId());
+                properties.put(prefix + "parent.version", pom.getParent().getVersion());
+            }
+        }
+        if (pom.getParent() != null) {
+            properties.put("parent.groupId", pom.getParent().getGroupId());
+            properties.put("parent.version", pom.getParent().getVersion());
+        }
+    }
+
+    /**
+     * Replaces the properties in the values of a dependency.
+     *
+     * @param dependency the dependency
+     * @param properties the properties by their names
+     * @return the dependency with all known properties replaced
+     */
+    private static PomDependency interpolate(PomDependency dependency, Map<String, String> properties) {
+        return new PomDependency(interpolate(dependency.getGroupId(), properties),
+                interpolate(dependency.getArtifactId(), properties), interpolate(dependency.getVersion(), properties),
+                interpolate(dependency.getType(), properties), interpolate(dependency.getClassifier(), properties),
+                interpolate(dependency.getScope(), properties), dependency.isOptional(), dependency.getExclusions());
+    }
+
+    /**
+     * Replaces the properties (e.g. {@code ${junit.version}}) in a value. Properties referring to other properties
+     * are replaced as well, unknown properties are kept.
+     *
+     * @param value      the value or {@code null}
+     * @param properties the properties by their names
+     * @return the value with all known properties replaced or {@code null} if the value is {@code null}
+     */
+    static String interpolate(String value, Map<String, String> properties) {
+        for (int depth = 0; value != null && value.contains("${") && depth < MAXIMUM_INTERPOLATION_DEPTH; depth++) {
+            StringBuilder builder = new StringBuilder();
+            int position = 0;
+            while (position < value.length()) {
+                int start = value.indexOf("${", position);
+                int end = start < 0 ? -1 : value.indexOf('}', start);
+                if (end < 0) {
+                    builder.append(value, position, value.length());
+                    break;
+                }
+
+                String replacement = properties.get(value.substring(start + 2, end));
+                builder.append(value, position, start);
+                builder.append(replacement != null ? replacement : value.substring(start, end + 1));
+                position = end + 1;
+            }
+
+            String interpolated = builder.toString();
+            if (interpolated.equals(value)) {
+                break;
+            }
+            value = interpolated;
+        }
+
+        return value;
+    }
+
+    /**
+     * Gets the key identifying a dependency within a project.
+     *
+     * @param dependency the dependency
+     * @return the key in the form {@code <groupId>:<artifactId>:<type>:<classifier>}
+     */
+    private static String getKey(PomDependency dependency) {
+        return dependency.getGroupId() + ":" + dependency.getArtifactId() + ":"
+                + (dependency.getType() == null ? "jar" : dependency.getType()) + ":"
+                + (dependency.getClassifier() == null ? "" : dependency.getClassifier());
+    }
+
+    /**
+     * The effective model of a version.
+     */
+    private static class Model {
+        private final boolean exists;
+        private final Map<String, String> properties;
+        private final List<PomDependency> rawManaged;
+        private final List<PomDependency> rawDependencies;
+        private final Map<String, PomDependency> managed;
+        private final List<PomDependency> dependencies;
+        private final Set<ArtifactCoordinate> missing;
+
+        /**
+         * Creates the model of a version whose pom.xml file cannot be read.
+         */
+        Model() {
+            this.exists = false;
+            this.properties = Collections.emptyMap();
+            this.rawManaged = Collections.emptyList();
+            this.rawDependencies = Collections.emptyList();
+            this.managed = Collections.emptyMap();
+            this.dependencies = Collections.emptyList();
+            this.missing = Collections.emptySet();
+        }
+
+        /**
+         * Creates the model of a version.
+         *
+         * @param properties      the properties including the inherited ones
+         * @param rawManaged      the managed dependencies as declared, including the inherited ones
+         * @param rawDependencies the dependencies as declared, including the inherited ones
+         * @param managed         the effective managed dependencies by their keys
+         * @param dependencies    the effective dependencies
+         * @param missing         the missing parents and imported bills of materials
+         */
+        Model(Map<String, String> properties, List<PomDependency> rawManaged, List<PomDependency> rawDependencies,
+              Map<String, PomDependency> managed, List<PomDependency> dependencies, Set<ArtifactCoordinate> missing) {
+            this.exists = true;
+            this.properties = properties;
+            this.rawManaged = rawManaged;
+            this.rawDependencies = rawDependencies;
+            this.managed = managed;
+            this.dependencies = dependencies;
+            this.missing = missing;
+        }
+    }
+
+    /**
+     * A dependency to resolve together with the version requiring it and the exclusions applying to it.
+     */
+    private static class Request {
+        private final PomDependency dependency;
+        private final ArtifactCoordinate requiredBy;
+        private final Set<String> exclusions;
+
+        /**
+         * Creates a new request.
+         *
+         * @param dependency the declaration of the dependency
+         * @param requiredBy the coordinate of the version declaring the dependency
+         * @param exclusions the exclusions applying to the transitive dependencies of the dependency
+         */
+        Request(PomDependency dependency, ArtifactCoordinate requiredBy, Set<String> exclusions) {
+            this.dependency = dependency;
+            this.requiredBy = requiredBy;
+            this.exclusions = exclusions;
+        }
+    }
+
+    /**
+     * A resolved dependency together with its transitive dependencies.
+     */
+    private static class Expansion {
+        private final ArtifactCoordinate coordinate;
+        private final ArtifactCoordinate requiredBy;
+        private final boolean exists;
+        private final Set<ArtifactCoordinate> missingParents;
+        private final List<Request> children;
+
+        /**
+         * Creates a new resolved dependency.
+         *
+         * @param coordinate     the coordinate of the dependency
+         * @param requiredBy     the coordinate of the version declaring the dependency
+         * @param exists         {@code true} if the dependency exists, {@code false} if it is missing
+         * @param missingParents the missing parents and imported bills of materials of the dependency
+         * @param children       the requests to resolve the transitive dependencies
+         */
+        Expansion(ArtifactCoordinate coordinate, ArtifactCoordinate requiredBy, boolean exists,
+                  Set<ArtifactCoordinate> missingParents, List<Request> children) {
+            this.coordinate = coordinate;
+            this.requiredBy = requiredBy;
+            this.exists = exists;
+            this.missingParents = missingParents;
+            this.children = children;
+        }
+
+        /**
+         * Creates a missing dependency.
+         *
+         * @param coordinate the coordinate of the dependency
+         * @param requiredBy the coordinate of the version declaring the dependency
+         * @return the missing dependency
+         */
+        static Expansion missing(ArtifactCoordinate coordinate, ArtifactCoordinate requiredBy) {
+            return new Expansion(coordinate, requiredBy, false, Collections.<ArtifactCoordinate>emptySet(),
+                    Collections.<Request>emptyList());
+        }
+    }
+
+    /**
+     * Resolves all dependencies of a level of the dependency graph in parallel.
+     */
+    @SuppressWarnings("serial")
+    private class LevelTask extends RecursiveTask<List<Expansion>> {
+        private final List<Request> requests;
+
+        /**
+         * Creates a new task for a level.
+         *
+         * @param requests the requests to resolve the dependencies of the level
+         */
+        LevelTask(List<Request> requests) {
+            this.requests = requests;
+        }
+
+        @Override
+        protected List<Expansion> compute() {
+            List<RecursiveTask<Expansion>> tasks = new ArrayList<RecursiveTask<Expansion>>();
+            for (final Request request : this.requests) {
+                tasks.add(new RecursiveTask<Expansion>() {
+                    @Override
+                    protected Expansion compute() {
+                        return expand(request);
+                    }
+                });
+            }
+            invokeAll(tasks);
+
+            // keep the order of the requests
+            List<Expansion> expansions = new ArrayList<Expansion>(tasks.size());
+            for (RecursiveTask<Expansion> task : tasks) {
+                expansions.add(task.join());
+            }
+
+            return expansions;
+        }
+    }
+}
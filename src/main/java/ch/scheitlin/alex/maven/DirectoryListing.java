@@ -0,0 +1,310 @@
+package ch.scheitlin.alex.maven;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>The content of a directory of the local maven repository, split into sub directories and files.</p>
+ * <p>
+ * Whether the files of the directory make up an existing version (see
+ * {@link LocalMavenRepositoryReader#isVersionFolderContentValid(String, String, String[])}) is computed on first
+ * request and remembered together with the listing. The same applies to the sub directories parsed as versions and
+ * sorted in ascending order, which are needed to answer version-aware queries on the folder of an artifact.
+ * </p>
+ */
+class DirectoryListing {
+    static final DirectoryListing EMPTY = new DirectoryListing(new String[]{}, new String[]{});
+
+    private final String[] directories;
+    private final String[] files;
+    private volatile Boolean validVersion;
+    private volatile MavenVersion[] sortedVersions;
+
+    /**
+     * Creates a new directory listing.
+     *
+     * @param directories the names of all sub directories
+     * @param files       the names of all files
+     */
+    DirectoryListing(String[] directories, String[] files) {
+        this.directories = directories;
+        this.files = files;
+    }
+
+    /**
+     * Lists a directory. If the directory does not exist or cannot be read, an empty listing is returned. Entries whose
+     * attributes cannot be read are skipped.
+     *
+     * @param directory the directory to list
+     * @return the listing of the directory
+     */
+    static DirectoryListing read(Path directory) {
+        return read(directory, null);
+    }
+
+    /**
+     * Lists a directory and keeps the attributes of its files, which are read anyway to tell files from directories.
+     * If the directory does not exist or cannot be read, an empty listing is returned. Entries whose attributes cannot
+     * be read are skipped.
+     *
+     * @param directory      the directory to list
+     * @param fileAttributes the list to add the attributes of the files to, in the same order as
+     *                       {@link #getFiles()}, or {@code null} to not keep them
+     * @return the listing of the directory
+     */
+    static DirectoryListing read(Path directory, List<BasicFileAttributes> fileAttributes) {
+        List<String> directories = new ArrayList<String>();
+        List<String> files = new ArrayList<String>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                } catch (IOException e) {
+                    // skip entries that cannot be read (e.g. dangling symbolic links or files deleted in the meantime)
+                    continue;
+                }
+                if (attributes.isDirectory()) {
+                    directories.add(entry.getFileName().toString());
+                } else if (attributes.isRegularFile()) {
+                    files.add(entry.getFileName().toString());
+                    if (fileAttributes != null) {
+                        fileAttributes.add(attributes);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // the same as File.list(): a directory that cannot be read has no content
+            if (fileAttributes != null) {
+                fileAttributes.clear();
+            }
+            return EMPTY;
+        }
+
+        return new DirectoryListing(directories.toArray(new String[0]), files.toArray(new String[0]));
+    }
+
+    /**
+     * <p>
+     * Checks whether the files of a directory make up an existing version without creating a listing (see
+     * {@link LocalMavenRepositoryReader#isVersionFolderContentValid(String, String, String[])}).
+     * </p>
+     * <p>
+     * The directory is read in a single pass. Only the names of the source files and of the files the '.lastUpdated'
+     * files belong to are remembered, which are compared after the pass.
+     * </p>
+     *
+     * @param directory  the directory to check
+     * @param artifactId the id of the artifact, i.e. the name of the parent directory
+     * @param version    the version, i.e. the name of the directory
+     * @return {@code true} if the files make up an existing version, {@code false} if not or if the directory cannot
+     * be read
+     */
+    static boolean isValidVersionFolder(Path directory, String artifactId, String version) {
+        Set<String> sourceFiles = new HashSet<String>();
+        List<String> lastUpdatedSourceFiles = null;
+        boolean hasFileOfVersion = false;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                if (!Files.isRegularFile(entry)) {
+                    continue;
+                }
+
+                String file = entry.getFileName().toString();
+                hasFileOfVersion |= LocalMavenRepositoryReader.isFileOfVersion(artifactId, version, file);
+                if (!file.endsWith(LocalMavenRepositoryReader.LAST_UPDATED_ENDING)) {
+                    sourceFiles.add(file);
+                } else {
+                    if (lastUpdatedSourceFiles == null) {
+                        lastUpdatedSourceFiles = new ArrayList<String>();
+                    }
+                    lastUpdatedSourceFiles.add(LocalMavenRepositoryReader.getSourceFile(file));
+                }
+            }
+        } catch (IOException e) {
+            return false;
+        }
+
+        // check whether there is at least one file of the version and one file that is not a '.lastUpdated' file
+        if (!hasFileOfVersion || sourceFiles.isEmpty()) {
+            return false;
+        }
+
+        // check whether for each '.lastUpdated' file there is also a corresponding source file
+        return lastUpdatedSourceFiles == null || sourceFiles.containsAll(lastUpdatedSourceFiles);
+    }
+
+    /**
+     * <p>Lazily streams the names of all sub directories of a directory.</p>
+     * <p>
+     * The directory is read entry by entry while the stream is consumed, so stopping the stream early (e.g. by
+     * {@code findFirst()}) stops reading the directory. The returned stream must be closed to release the underlying
+     * {@link DirectoryStream}.
+     * </p>
+     *
+     * @param directory the directory to stream the sub directories of
+     * @return a stream of the names of all sub directories or an empty stream if the directory cannot be read
+     */
+    static Stream<String> streamDirectories(Path directory) {
+        final DirectoryStream<Path> entries;
+        try {
+            entries = Files.newDirectoryStream(directory, new DirectoryStream.Filter<Path>() {
+                public boolean accept(Path entry) {
+                    return Files.isDirectory(entry);
+                }
+            });
+        } catch (IOException e) {
+            return Stream.empty();
+        }
+
+        return StreamSupport.stream(entries.spliterator(), false)
+                .map(entry -> entry.getFileName().toString())
+                .onClose(() -> {
+                    try {
+                        entries.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Gets the names of all sub directories.
+     *
+     * @return a {@code String Array} with the names of all sub directories
+     */
+    String[] getDirectories() {
+        return this.directories;
+    }
+
+    /**
+     * Gets the names of all files.
+     *
+     * @return a {@code String Array} with the names of all files
+     */
+    String[] getFiles() {
+        return this.files;
+    }
+
+    /**
+     * Checks whether the files of this directory make up an existing version. As the directory always belongs to the
+     * same artifact and version, the result is remembered regardless of the given ids.
+     *
+     * @param artifactId the id of the artifact, i.e. the name of the parent directory
+     * @param version    the version, i.e. the name of this directory
+     * @return {@code true} if the files make up an existing version, {@code false} if not
+     */
+    boolean isValidVersion(String artifactId, String version) {
+        Boolean valid = this.validVersion;
+        if (valid == null) {
+            valid = LocalMavenRepositoryReader.isVersionFolderContentValid(artifactId, version, this.files);
+            this.validVersion = valid;
+        }
+
+        return valid;
+    }
+
+    /**
+     * Gets the sub directories of the directory parsed as versions and sorted in ascending order. The result is
+     * computed on first request and remembered.
+     *
+     * @return the sorted versions, which must not be modified
+     */
+    MavenVersion[] getSortedVersions() {
+        MavenVersion[] versions = this.sortedVersions;
+        if (versions == null) {
+            versions = new MavenVersion[this.directories.length];
+            for (int i = 0; i < versions.length; i++) {
+                versions[i] = new MavenVersion(this.directories[i]);
+            }
+            Arrays.sort(versions);
+            this.sortedVersions = versions;
+        }
+
+        return versions;
+    }
+
+    /**
+     * Creates a copy of this listing with an additional entry. If the listing already contains the entry, the listing
+     * itself is returned.
+     *
+     * @param name        the name of the entry to add
+     * @param isDirectory {@code true} if the entry is a sub directory, {@code false} if it is a file
+     * @return the listing containing the additional entry
+     */
+    DirectoryListing withEntry(String name, boolean isDirectory) {
+        if (LocalMavenRepositoryReader.doesArrayContain(isDirectory ? this.directories : this.files, name)) {
+            return this;
+        }
+
+        return isDirectory
+                ? new DirectoryListing(append(this.directories, name), this.files)
+                : new DirectoryListing(this.directories, append(this.files, name));
+    }
+
+    /**
+     * Creates a copy of this listing without a specific entry. If the listing does not contain the entry, the listing
+     * itself is returned.
+     *
+     * @param name the name of the sub directory or file to remove
+     * @return the listing not containing the entry
+     */
+    DirectoryListing withoutEntry(String name) {
+        if (!LocalMavenRepositoryReader.doesArrayContain(this.directories, name)
+                && !LocalMavenRepositoryReader.doesArrayContain(this.files, name)) {
+            return this;
+        }
+
+        return new DirectoryListing(remove(this.directories, name), remove(this.files, name));
+    }
+
+    /**
+     * Gets the size of this listing used to limit the size of a {@link ListingCache}.
+     *
+     * @return the number of entries of this listing plus one for the listing itself
+     */
+    int getWeight() {
+        return this.directories.length + this.files.length + 1;
+    }
+
+    /**
+     * Appends a {@code String} to a {@code String Array}.
+     *
+     * @param strings the array to append the value to
+     * @param value   the value to append
+     * @return a new {@code String Array} with all given {@code String}s followed by the specified value
+     */
+    private static String[] append(String[] strings, String value) {
+        String[] result = Arrays.copyOf(strings, strings.length + 1);
+        result[strings.length] = value;
+        return result;
+    }
+
+    /**
+     * Removes all occurrences of a {@code String} from a {@code String Array}.
+     *
+     * @param strings the array to remove the value from
+     * @param value   the value to remove
+     * @return a new {@code String Array} with all given {@code String}s except the specified value
+     */
+    private static String[] remove(String[] strings, String value) {
+        List<String> result = new ArrayList<String>();
+        for (String string : strings) {
+            if (!string.equals(value)) {
+                result.add(string);
+            }
+        }
+        return result.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,98 @@
+package ch.scheitlin.alex.maven;
+
+/**
+ * The disk usage of the version folders of all artifacts of a single group, as reported by an inventory of the local
+ * maven repository. Sub groups are reported separately, e.g. the usage of {@code org.apache} does not include the
+ * usage of {@code org.apache.maven}.
+ */
+public final class GroupUsage {
+    private final String groupId;
+    private long size;
+    private int versionCount;
+    private int fileCount;
+    private int purgeCandidateCount;
+    private long purgeCandidateSize;
+
+    /**
+     * Creates a new, empty usage of a group.
+     *
+     * @param groupId the id of the group
+     */
+    GroupUsage(String groupId) {
+        this.groupId = groupId;
+    }
+
+    /**
+     * Adds the files of a version folder to the usage.
+     *
+     * @param version the inventory of the version folder
+     */
+    synchronized void add(VersionInventory version) {
+        this.size += version.getSize();
+        this.versionCount++;
+        this.fileCount += version.getFiles().size();
+        if (version.isPurgeCandidate()) {
+            this.purgeCandidateCount++;
+            this.purgeCandidateSize += version.getSize();
+        }
+    }
+
+    /**
+     * Gets the id of the group.
+     *
+     * @return the id of the group
+     */
+    public String getGroupId() {
+        return this.groupId;
+    }
+
+    /**
+     * Gets the size of all files of all version folders of the group.
+     *
+     * @return the size in bytes
+     */
+    public synchronized long getSize() {
+        return this.size;
+    }
+
+    /**
+     * Gets the number of version folders of the group, including the ones that are not considered existing.
+     *
+     * @return the number of version folders
+     */
+    public synchronized int getVersionCount() {
+        return this.versionCount;
+    }
+
+    /**
+     * Gets the number of files of all version folders of the group.
+     *
+     * @return the number of files
+     */
+    public synchronized int getFileCount() {
+        return this.fileCount;
+    }
+
+    /**
+     * Gets the number of version folders of the group only containing '.lastUpdated' files.
+     *
+     * @return the number of version folders that can be purged
+     */
+    public synchronized int getPurgeCandidateCount() {
+        return this.purgeCandidateCount;
+    }
+
+    /**
+     * Gets the size of all version folders of the group only containing '.lastUpdated' files.
+     *
+     * @return the size in bytes that can be freed by purging
+     */
+    public synchronized long getPurgeCandidateSize() {
+        return this.purgeCandidateSize;
+    }
+
+    @Override
+    public String toString() {
+        return this.groupId + ": " + getSize() + " bytes";
+    }
+}
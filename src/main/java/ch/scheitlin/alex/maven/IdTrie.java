@@ -0,0 +1,320 @@
+package ch.scheitlin.alex.maven;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * <p>A compressed trie (radix tree) of ids like group ids or artifact ids.</p>
+ * <p>
+ * Every edge of the trie is labeled with a sequence of characters instead of a single character. Chains of nodes with
+ * only one child are merged into a single edge, so ids sharing long prefixes like {@code org.apache.maven.} are stored
+ * only once and a lookup follows only a few edges.
+ * </p>
+ * <p>
+ * Besides exact lookups, the trie supports enumerating all ids starting with a specific prefix and finding all ids
+ * within a bounded edit distance (Levenshtein distance) of a specific id. For the latter, one row of the edit distance
+ * matrix is computed per character along the edges, and a branch is abandoned as soon as all values of the row exceed
+ * the maximum distance, so only a small part of the trie is visited.
+ * </p>
+ * <p>A trie is not thread-safe while ids are added, but may be queried concurrently afterwards.</p>
+ */
+class IdTrie {
+    private final Node root = new Node("");
+    private int size;
+
+    /**
+     * Adds an id to the trie.
+     *
+     * @param id the id to add
+     * @return {@code true} if the id has been added, {@code false} if it was already contained
+     */
+    boolean add(String id) {
+        Node node = this.root;
+        int position = 0;
+        while (true) {
+            // check whether the whole id has been consumed
+            if (position == id.length()) {
+                if (node.isId) {
+                    return false;
+                }
+                node.isId = true;
+                this.size++;
+                return true;
+            }
+
+            // check whether there is an edge starting with the next character
+            Node child = node.children.get(id.charAt(position));
+            if (child == null) {
+                Node leaf = new Node(id.substring(position));
+                leaf.isId = true;
+                node.children.put(id.charAt(position), leaf);
+                this.size++;
+                return true;
+            }
+
+            // -> there is an edge starting with the next character
+
+            // split the edge if the id leaves it in the middle
+            int common = getCommonPrefixLength(child.label, id, position);
+            if (common < child.label.length()) {
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children.put(child.label.charAt(0), child);
+                node.children.put(middle.label.charAt(0), middle);
+                child = middle;
+            }
+
+            node = child;
+            position += common;
+        }
+    }
+
+    /**
+     * Checks whether the trie contains a specific id.
+     *
+     * @param id the id to search for
+     * @return {@code true} if the id is contained, {@code false} if not
+     */
+    boolean contains(String id) {
+        Node node = this.root;
+        int position = 0;
+        while (position < id.length()) {
+            node = node.children.get(id.charAt(position));
+            if (node == null || !id.startsWith(node.label, position)) {
+                return false;
+            }
+            position += node.label.length();
+        }
+
+        return node.isId;
+    }
+
+    /**
+     * Gets the number of ids in the trie.
+     *
+     * @return the number of ids
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Gets all ids starting with a specific prefix.
+     *
+     * @param prefix the prefix the ids have to start with, an empty prefix matches all ids
+     * @return the matching ids in alphabetical order
+     */
+    List<String> findByPrefix(String prefix) {
+        Node node = this.root;
+        StringBuilder path = new StringBuilder();
+        int position = 0;
+        while (position < prefix.length()) {
+            node = node.children.get(prefix.charAt(position));
+            if (node == null) {
+                return new ArrayList<String>();
+            }
+
+            // check whether the prefix ends within the edge or leaves it
+            int common = getCommonPrefixLength(node.label, prefix, position);
+            if (position + common < prefix.length() && common < node.label.length()) {
+                return new ArrayList<String>();
+            }
+
+            path.append(node.label);
+            position += common;
+        }
+
+        List<String> ids = new ArrayList<String>();
+        collect(node, path, ids);
+        return ids;
+    }
+
+    /**
+     * Gets all ids whose edit distance (Levenshtein distance) to a specific id is at most a given maximum.
+     *
+     * @param id          the id to compare with
+     * @param maxDistance the maximum number of inserted, deleted or substituted characters
+     * @return the matching ids ordered by their distance and alphabetically within the same distance
+     */
+    List<String> findSimilar(String id, int maxDistance) {
+        // the edit distances of all prefixes of the id to the empty string
+        int[] row = new int[id.length() + 1];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = i;
+        }
+
+        List<Match> matches = new ArrayList<Match>();
+        if (this.root.isId && row[id.length()] <= maxDistance) {
+            matches.add(new Match("", row[id.length()]));
+        }
+        StringBuilder path = new StringBuilder();
+        for (Node child : this.root.children.values()) {
+            findSimilar(child, id, row, maxDistance, path, matches);
+        }
+
+        // sort the matches by their distance
+        Collections.sort(matches, new Comparator<Match>() {
+            @Override
+            public int compare(Match first, Match second) {
+                return first.distance != second.distance ? Integer.compare(first.distance, second.distance)
+                        : first.id.compareTo(second.id);
+            }
+        });
+
+        List<String> ids = new ArrayList<String>(matches.size());
+        for (Match match : matches) {
+            ids.add(match.id);
+        }
+        return ids;
+    }
+
+    /**
+     * Searches a node and all nodes below it for ids within a bounded edit distance.
+     *
+     * @param node        the node to search
+     * @param id          the id to compare with
+     * @param previousRow the edit distances of all prefixes of the id to the path leading to the node
+     * @param maxDistance the maximum edit distance
+     * @param path        the characters of all edges leading to the node
+     * @param matches     the list to add the matching ids to
+     */
+    private static void findSimilar(Node node, String id, int[] previousRow, int maxDistance, StringBuilder path,
+                                    List<Match> matches) {
+        int length = path.length();
+        int[] row = previousRow;
+        for (int i = 0; i < node.label.length(); i++) {
+            char character = node.label.charAt(i);
+            row = getNextRow(row, id, character);
+            path.append(character);
+
+            // check whether no id below this edge can be within the maximum distance
+            if (getMinimum(row) > maxDistance) {
+                path.setLength(length);
+                return;
+            }
+        }
+
+        if (node.isId && row[id.length()] <= maxDistance) {
+            matches.add(new Match(path.toString(), row[id.length()]));
+        }
+        for (Node child : node.children.values()) {
+            findSimilar(child, id, row, maxDistance, path, matches);
+        }
+        path.setLength(length);
+    }
+
+    /**
+     * Computes the next row of the edit distance matrix after appending a character to the compared path.
+     *
+     * @param previousRow the edit distances of all prefixes of the id to the path
+     * @param id          the id to compare with
+     * @param character   the character appended to the path
+     * @return the edit distances of all prefixes of the id to the extended path
+     */
+    private static int[] getNextRow(int[] previousRow, String id, char character) {
+        int[] row = new int[previousRow.length];
+        row[0] = previousRow[0] + 1;
+        for (int i = 1; i < row.length; i++) {
+            int substitution = previousRow[i - 1] + (id.charAt(i - 1) == character ? 0 : 1);
+            int insertion = row[i - 1] + 1;
+            int deletion = previousRow[i] + 1;
+            row[i] = Math.min(substitution, Math.min(insertion, deletion));
+        }
+
+        return row;
+    }
+
+    /**
+     * Gets the smallest value of an array.
+     *
+     * @param values the values, at least one
+     * @return the smallest value
+     */
+    private static int getMinimum(int[] values) {
+        int minimum = values[0];
+        for (int value : values) {
+            minimum = Math.min(minimum, value);
+        }
+
+        return minimum;
+    }
+
+    /**
+     * Adds all ids of a node and the nodes below it in alphabetical order.
+     *
+     * @param node the node to start with
+     * @param path the characters of all edges leading to the node including the label of the node
+     * @param ids  the list to add the ids to
+     */
+    private static void collect(Node node, StringBuilder path, List<String> ids) {
+        if (node.isId) {
+            ids.add(path.toString());
+        }
+
+        int length = path.length();
+        for (Node child : node.children.values()) {
+            path.append(child.label);
+            collect(child, path, ids);
+            path.setLength(length);
+        }
+    }
+
+    /**
+     * Gets the length of the common prefix of an edge label and the remainder of an id.
+     *
+     * @param label    the label of the edge
+     * @param id       the id
+     * @param position the position within the id to start comparing at
+     * @return the number of leading characters the label and the remainder of the id have in common
+     */
+    private static int getCommonPrefixLength(String label, String id, int position) {
+        int length = Math.min(label.length(), id.length() - position);
+        int common = 0;
+        while (common < length && label.charAt(common) == id.charAt(position + common)) {
+            common++;
+        }
+
+        return common;
+    }
+
+    /**
+     * A node of the trie, reached by an edge labeled with one or more characters.
+     */
+    private static class Node {
+        private final Map<Character, Node> children = new TreeMap<Character, Node>();
+        private String label;
+        private boolean isId;
+
+        /**
+         * Creates a new node.
+         *
+         * @param label the characters of the edge leading to the node
+         */
+        Node(String label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * An id found within a bounded edit distance.
+     */
+    private static class Match {
+        private final String id;
+        private final int distance;
+
+        /**
+         * Creates a new match.
+         *
+         * @param id       the found id
+         * @param distance the edit distance of the found id
+         */
+        Match(String id, int distance) {
+            this.id = id;
+            this.distance = distance;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package ch.scheitlin.alex.maven;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Reads and writes the binary snapshot files of a {@link RepositoryIndex}.</p>
+ * <p>
+ * A snapshot file has the following layout (all numbers in big-endian byte order):
+ * </p>
+ * <ul>
+ * <li>the magic number {@code LMRI} and the version of the format</li>
+ * <li>the time at which the index has been built and the path of the indexed repository</li>
+ * <li>a table of all distinct names of directories, each stored only once (e.g. every {@code 1.0} or {@code maven})
+ * </li>
+ * <li>the nodes in depth-first order, each consisting of the position of its name in the table, the time of the last
+ * modification of its directory, whether it is a version and the number of its children</li>
+ * </ul>
+ * <p>
+ * Snapshots are read into a heap buffer at once and the nodes are decoded straight from it. The file is not mapped
+ * into memory, as a mapped file cannot be replaced on some platforms (e.g. Windows) until the mapping has been garbage
+ * collected, which would make writing the next snapshot fail. All nodes with the same name share the same
+ * {@code String} instance. A snapshot whose nodes are nested more than {@link #MAXIMUM_DEPTH} levels deep is
+ * considered corrupt, as no repository is nested that deeply and reading it could overflow the stack.
+ * </p>
+ */
+class IndexSnapshot {
+    static final int MAGIC = 0x4C4D5249;
+    static final int FORMAT_VERSION = 2;
+    static final int MAXIMUM_DEPTH = 1024;
+
+    /**
+     * Reads the index of a specific repository from a snapshot file.
+     *
+     * @param repository the path to the root directory of the local maven repository
+     * @param snapshot   the path to the snapshot file
+     * @return the index as it was when the snapshot was taken or {@code null} if the snapshot file does not exist, is
+     * corrupt or belongs to another repository
+     */
+    static RepositoryIndex read(Path repository, Path snapshot) {
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+        } catch (IOException e) {
+            return null;
+        }
+
+        try {
+            // check whether the snapshot belongs to the repository
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return null;
+            }
+            long builtAt = buffer.getLong();
+            if (!getRepositoryKey(repository).equals(readString(buffer))) {
+                return null;
+            }
+
+            // -> snapshot belongs to the repository
+
+            int nameCount = buffer.getInt();
+            if (nameCount < 0 || nameCount > buffer.remaining() / 4) {
+                return null;
+            }
+            String[] names = new String[nameCount];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = readString(buffer);
+            }
+            RepositoryIndex.Node root = readNode(buffer, names, 0);
+            if (buffer.hasRemaining()) {
+                return null;
+            }
+
+            return new RepositoryIndex(root, repository, builtAt);
+        } catch (BufferUnderflowException e) {
+            return null;
+        } catch (IndexOutOfBoundsException e) {
+            return null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes an index to a snapshot file. The snapshot is written to a temporary file in the same directory first and
+     * moved to its final location afterwards.
+     *
+     * @param index    the index to write
+     * @param snapshot the path to the snapshot file
+     * @throws IOException if the snapshot file could not be written
+     */
+    static void write(RepositoryIndex index, Path snapshot) throws IOException {
+        Path directory = snapshot.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        // collect the distinct names of all nodes
+        Map<String, Integer> names = new HashMap<String, Integer>();
+        List<String> table = new ArrayList<String>();
+        collectNames(index.getRoot(), names, table);
+
+        Path temporary = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                output.writeLong(index.getBuiltAt());
+                writeString(output, getRepositoryKey(index.getRepository()));
+                output.writeInt(table.size());
+                for (String name : table) {
+                    writeString(output, name);
+                }
+                writeNode(output, index.getRoot(), names);
+            }
+
+            try {
+                Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, snapshot, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Gets the key identifying a repository in a snapshot file.
+     *
+     * @param repository the path to the root directory of the repository
+     * @return the absolute and normalized path of the repository, or its URI (which contains the path to the archive)
+     * if the repository is read from an archive
+     */
+    private static String getRepositoryKey(Path repository) {
+        Path normalized = repository.toAbsolutePath().normalize();
+        return normalized.getFileSystem() == FileSystems.getDefault() ? normalized.toString()
+                : normalized.toUri().toString();
+    }
+
+    /**
+     * Adds the names of a node and all nodes below it to the table of names, if they are not already contained.
+     *
+     * @param node  the node to start with
+     * @param names the position of every name in the table
+     * @param table the table of names
+     */
+    private static void collectNames(RepositoryIndex.Node node, Map<String, Integer> names, List<String> table) {
+        if (!names.containsKey(node.name)) {
+            names.put(node.name, table.size());
+            table.add(node.name);
+        }
+        for (RepositoryIndex.Node child : node.children.values()) {
+            collectNames(child, names, table);
+        }
+    }
+
+    /**
+     * Writes a node and all nodes below it in depth-first order.
+     *
+     * @param output the stream to write to
+     * @param node   the node to write
+     * @param names  the position of every name in the table
+     * @throws IOException if the node could not be written
+     */
+    private static void writeNode(DataOutputStream output, RepositoryIndex.Node node, Map<String, Integer> names)
+            throws IOException {
+        output.writeInt(names.get(node.name));
+        output.writeLong(node.modified);
+        output.writeBoolean(node.isVersion);
+        output.writeInt(node.children.size());
+        for (RepositoryIndex.Node child : node.children.values()) {
+            writeNode(output, child, names);
+        }
+    }
+
+    /**
+     * Reads a node and all nodes below it and determines whether they are artifacts or groups.
+     *
+     * @param buffer the buffer to read from
+     * @param names  the table of names
+     * @param depth  the depth of the node below the root node, {@code 0} for the root node
+     * @return the node that has been read
+     */
+    private static RepositoryIndex.Node readNode(ByteBuffer buffer, String[] names, int depth) {
+        if (depth > MAXIMUM_DEPTH) {
+            throw new IllegalArgumentException("The nodes are nested too deeply.");
+        }
+
+        RepositoryIndex.Node node = new RepositoryIndex.Node(names[buffer.getInt()], buffer.getLong());
+        node.isVersion = buffer.get() != 0;
+
+        int childCount = buffer.getInt();
+        if (childCount < 0) {
+            throw new IllegalArgumentException("Negative number of children.");
+        }
+        for (int i = 0; i < childCount; i++) {
+            RepositoryIndex.Node child = readNode(buffer, names, depth + 1);
+            node.children.put(child.name, child);
+        }
+        node.updateFlags();
+
+        return node;
+    }
+
+    /**
+     * Writes a {@code String} as its length followed by its UTF-8 encoded bytes.
+     *
+     * @param output the stream to write to
+     * @param value  the {@code String} to write
+     * @throws IOException if the {@code String} could not be written
+     */
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Reads a {@code String} written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param buffer the buffer to read from
+     * @return the {@code String} that has been read
+     */
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid length of a string.");
+        }
+
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
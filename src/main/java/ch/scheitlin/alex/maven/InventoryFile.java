@@ -0,0 +1,202 @@
+package ch.scheitlin.alex.maven;
+
+/**
+ * <p>A single file within the folder of a version, as reported by an inventory of the local maven repository.</p>
+ * <p>
+ * The name of an artifact file is made up of {@code <artifactId>-<version>[-<classifier>].<extension>}, e.g.
+ * {@code guava-31.1-jre-sources.jar}. Files of timestamped snapshots contain the timestamp and the build number instead
+ * of {@code SNAPSHOT}. Files not following this pattern (e.g. {@code _remote.repositories}) have neither a classifier
+ * nor an extension.
+ * </p>
+ */
+public final class InventoryFile {
+    private final String name;
+    private final long size;
+    private final long lastModified;
+    private final String classifier;
+    private final String extension;
+    private final boolean sha1Present;
+    private final boolean md5Present;
+
+    /**
+     * Creates a new file of an inventory.
+     *
+     * @param name         the name of the file
+     * @param size         the size of the file in bytes
+     * @param lastModified the time the file has been modified last in milliseconds since the epoch
+     * @param classifier   the classifier of the artifact file or {@code null} if there is none
+     * @param extension    the extension of the artifact file or {@code null} if the file is no artifact file
+     * @param sha1Present  {@code true} if there is a '.sha1' file for this file, {@code false} if not
+     * @param md5Present   {@code true} if there is a '.md5' file for this file, {@code false} if not
+     */
+    InventoryFile(String name, long size, long lastModified, String classifier, String extension, boolean sha1Present,
+                  boolean md5Present) {
+        this.name = name;
+        this.size = size;
+        this.lastModified = lastModified;
+        this.classifier = classifier;
+        this.extension = extension;
+        this.sha1Present = sha1Present;
+        this.md5Present = md5Present;
+    }
+
+    /**
+     * Gets the name of the file.
+     *
+     * @return the name of the file
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the size of the file.
+     *
+     * @return the size of the file in bytes
+     */
+    public long getSize() {
+        return this.size;
+    }
+
+    /**
+     * Gets the time the file has been modified last.
+     *
+     * @return the time in milliseconds since the epoch
+     */
+    public long getLastModified() {
+        return this.lastModified;
+    }
+
+    /**
+     * Gets the classifier of the artifact file, e.g. {@code sources} for {@code junit-4.12-sources.jar}.
+     *
+     * @return the classifier or {@code null} if there is none
+     */
+    public String getClassifier() {
+        return this.classifier;
+    }
+
+    /**
+     * Gets the extension of the artifact file, e.g. {@code jar} for {@code junit-4.12.jar} or {@code jar.sha1} for
+     * {@code junit-4.12.jar.sha1}.
+     *
+     * @return the extension or {@code null} if the file is no artifact file
+     */
+    public String getExtension() {
+        return this.extension;
+    }
+
+    /**
+     * Checks whether there is a '.sha1' checksum file for this file.
+     *
+     * @return {@code true} if there is a '.sha1' file, {@code false} if not
+     */
+    public boolean isSha1Present() {
+        return this.sha1Present;
+    }
+
+    /**
+     * Checks whether there is a '.md5' checksum file for this file.
+     *
+     * @return {@code true} if there is a '.md5' file, {@code false} if not
+     */
+    public boolean isMd5Present() {
+        return this.md5Present;
+    }
+
+    /**
+     * Checks whether the file is a checksum file of another file.
+     *
+     * @return {@code true} if the file ends with '.sha1', '.sha256', '.sha512' or '.md5', {@code false} if not
+     */
+    public boolean isChecksum() {
+        return ChecksumVerifier.isChecksumFile(this.name);
+    }
+
+    /**
+     * Checks whether the file is a '.lastUpdated' file, i.e. a marker of a failed download.
+     *
+     * @return {@code true} if the file ends with '.lastUpdated', {@code false} if not
+     */
+    public boolean isLastUpdated() {
+        return this.name.endsWith(LocalMavenRepositoryReader.LAST_UPDATED_ENDING);
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+
+    /**
+     * Gets the classifier and the extension of a file of a specific version of an artifact.
+     *
+     * @param artifactId the id of the artifact
+     * @param version    the version, i.e. the name of the version folder
+     * @param name       the name of the file
+     * @return the classifier (or {@code null}) and the extension, or {@code null} if the name does not start with the
+     * artifact id and the version
+     */
+    static String[] parseName(String artifactId, String version, String name) {
+        String remainder = stripPrefix(name, artifactId + "-" + version);
+
+        // check whether the file belongs to a timestamped snapshot (e.g. junit-1.0-20240101.123456-1.jar)
+        if (remainder == null && version.endsWith("-SNAPSHOT")) {
+            String baseVersion = version.substring(0, version.length() - "-SNAPSHOT".length());
+            remainder = stripTimestamp(stripPrefix(name, artifactId + "-" + baseVersion + "-"));
+        }
+        if (remainder == null || remainder.isEmpty()) {
+            return null;
+        }
+
+        // -> name consists of [-<classifier>].<extension>
+
+        if (remainder.charAt(0) == '.') {
+            return new String[]{null, remainder.substring(1)};
+        }
+        if (remainder.charAt(0) != '-') {
+            return null;
+        }
+        int dot = remainder.indexOf('.');
+        if (dot < 0) {
+            return new String[]{remainder.substring(1), null};
+        }
+
+        return new String[]{remainder.substring(1, dot), remainder.substring(dot + 1)};
+    }
+
+    /**
+     * Removes a prefix from a name.
+     *
+     * @param name   the name
+     * @param prefix the prefix to remove
+     * @return the name without the prefix or {@code null} if the name does not start with the prefix
+     */
+    private static String stripPrefix(String name, String prefix) {
+        return name.startsWith(prefix) ? name.substring(prefix.length()) : null;
+    }
+
+    /**
+     * Removes the timestamp and the build number of a snapshot (e.g. {@code 20240101.123456-1}) from a name.
+     *
+     * @param name the name starting with the timestamp or {@code null}
+     * @return the name without the timestamp and the build number or {@code null} if there is none
+     */
+    private static String stripTimestamp(String name) {
+        if (name == null || name.length() < 17 || name.charAt(8) != '.' || name.charAt(15) != '-') {
+            return null;
+        }
+        for (int i = 0; i < 15; i++) {
+            if (i != 8 && !Character.isDigit(name.charAt(i))) {
+                return null;
+            }
+        }
+
+        // skip the digits of the build number
+        int end = 16;
+        while (end < name.length() && Character.isDigit(name.charAt(end))) {
+            end++;
+        }
+
+        return end == 16 ? null : name.substring(end);
+    }
+}
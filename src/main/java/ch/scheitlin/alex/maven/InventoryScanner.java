@@ -0,0 +1,167 @@
+package ch.scheitlin.alex.maven;
+
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+
+/**
+ * <p>Takes an inventory of all version folders of a local maven repository.</p>
+ * <p>
+ * The repository is walked like by {@link RepositoryScanner}: every directory is listed by its own task of a
+ * {@link ForkJoinPool}, which forks a new task for each of its sub directories. The size and the modification time of
+ * every file are read while its directory is listed (see {@link DirectoryListing#read(Path, List)}), so every directory
+ * is read exactly once.
+ * </p>
+ * <p>
+ * The inventory of every version folder is passed to a consumer as soon as the folder has been read and is not kept
+ * afterwards. Only the usage per group is aggregated, hence the memory needed does not grow with the number of files
+ * of the repository.
+ * </p>
+ */
+class InventoryScanner {
+    private final Path repository;
+    private final int parallelism;
+
+    /**
+     * Creates a new inventory scanner.
+     *
+     * @param repository  the path to the root directory of the local maven repository
+     * @param parallelism the number of threads used to walk the repository
+     */
+    InventoryScanner(Path repository, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1.");
+        }
+
+        this.repository = repository;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Walks the whole repository and takes the inventory of all version folders.
+     *
+     * @param consumer the consumer of the inventories of the version folders, called concurrently by several threads
+     * @return the usage of the repository aggregated per group
+     */
+    RepositoryInventory scan(Consumer<VersionInventory> consumer) {
+        ConcurrentMap<String, GroupUsage> groups = new ConcurrentHashMap<String, GroupUsage>();
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            pool.invoke(new InventoryTask(this.repository, true, null, null, consumer, groups));
+        } finally {
+            pool.shutdown();
+        }
+
+        return new RepositoryInventory(new TreeMap<String, GroupUsage>(groups));
+    }
+
+    /**
+     * Lists a single directory including the attributes of its files, reports it if it is a version folder and forks a
+     * task for each of its sub directories otherwise.
+     */
+    @SuppressWarnings("serial")
+    private static class InventoryTask extends RecursiveAction {
+        private final Path directory;
+        private final boolean isRoot;
+        private final String groupId;
+        private final String artifactId;
+        private final Consumer<VersionInventory> consumer;
+        private final ConcurrentMap<String, GroupUsage> groups;
+
+        /**
+         * Creates a new task for a specific directory.
+         *
+         * @param directory  the directory to scan
+         * @param isRoot     {@code true} if the directory is the root of the repository, {@code false} if not
+         * @param groupId    the group id made up by all directories above the parent directory or {@code null} if the
+         *                   directory is located less than two levels below the root of the repository
+         * @param artifactId the name of the parent directory or {@code null} if the directory is the root of the
+         *                   repository or located directly within it
+         * @param consumer   the consumer of the inventories of the version folders
+         * @param groups     the usage of the groups found so far
+         */
+        InventoryTask(Path directory, boolean isRoot, String groupId, String artifactId,
+                      Consumer<VersionInventory> consumer, ConcurrentMap<String, GroupUsage> groups) {
+            this.directory = directory;
+            this.isRoot = isRoot;
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.consumer = consumer;
+            this.groups = groups;
+        }
+
+        @Override
+        protected void compute() {
+            List<BasicFileAttributes> fileAttributes = new ArrayList<BasicFileAttributes>();
+            DirectoryListing listing = DirectoryListing.read(this.directory, fileAttributes);
+
+            // check whether the directory is the folder of a version
+            if (this.groupId != null
+                    && LocalMavenRepositoryReader.isVersionFolder(this.artifactId,
+                    this.directory.getFileName().toString(), listing.getFiles())) {
+                report(listing.getFiles(), fileAttributes);
+                return;
+            }
+
+            // -> directory is a group or artifact folder
+
+            // scan all sub directories in parallel
+            String childGroupId = this.artifactId == null ? this.groupId
+                    : RepositoryScanner.joinGroup(this.groupId, this.artifactId);
+            String childArtifactId = this.isRoot ? null : this.directory.getFileName().toString();
+            List<InventoryTask> tasks = new ArrayList<InventoryTask>();
+            for (String subDirectory : listing.getDirectories()) {
+                tasks.add(new InventoryTask(this.directory.resolve(subDirectory), false, childGroupId,
+                        childArtifactId, this.consumer, this.groups));
+            }
+            invokeAll(tasks);
+        }
+
+        /**
+         * Creates the inventory of the version folder, passes it to the consumer and adds it to the usage of its
+         * group.
+         *
+         * @param files          the names of all files of the version folder
+         * @param fileAttributes the attributes of the files in the same order
+         */
+        private void report(String[] files, List<BasicFileAttributes> fileAttributes) {
+            String version = this.directory.getFileName().toString();
+            Set<String> names = new HashSet<String>(Arrays.asList(files));
+
+            List<InventoryFile> inventoryFiles = new ArrayList<InventoryFile>(files.length);
+            for (int i = 0; i < files.length; i++) {
+                String name = files[i];
+                BasicFileAttributes attributes = fileAttributes.get(i);
+                String[] classifierAndExtension = InventoryFile.parseName(this.artifactId, version, name);
+                inventoryFiles.add(new InventoryFile(name, attributes.size(), attributes.lastModifiedTime().toMillis(),
+                        classifierAndExtension == null ? null : classifierAndExtension[0],
+                        classifierAndExtension == null ? null : classifierAndExtension[1],
+                        names.contains(name + ".sha1"), names.contains(name + ".md5")));
+            }
+            VersionInventory inventory = new VersionInventory(
+                    new ArtifactCoordinate(this.groupId, this.artifactId, version), this.directory, inventoryFiles);
+
+            GroupUsage usage = this.groups.get(this.groupId);
+            if (usage == null) {
+                GroupUsage newUsage = new GroupUsage(this.groupId);
+                usage = this.groups.putIfAbsent(this.groupId, newUsage);
+                if (usage == null) {
+                    usage = newUsage;
+                }
+            }
+            usage.add(inventory);
+
+            this.consumer.accept(inventory);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package ch.scheitlin.alex.maven;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>A histogram of latencies in nanoseconds that can be recorded concurrently without locking.</p>
+ * <p>
+ * Like an HdrHistogram, the buckets are log-linear: values below {@value #SUB_BUCKET_COUNT} are counted exactly,
+ * every following power of two is split into {@value #SUB_BUCKET_COUNT} / 2 buckets of equal width. Hence every
+ * percentile is accurate to about 1.6% of its value, while the histogram covers all positive {@code long} values with
+ * a fixed number of counters. Recording a value increments a single counter.
+ * </p>
+ */
+public final class LatencyHistogram {
+    static final int SUB_BUCKET_COUNT = 128;
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS) * HALF_SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds, negative values are recorded as {@code 0}
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        this.counts.incrementAndGet(getIndex(value));
+        this.totalCount.incrementAndGet();
+        this.sum.addAndGet(value);
+
+        // update the maximum unless a higher value has been recorded concurrently
+        long currentMax = this.max.get();
+        while (value > currentMax && !this.max.compareAndSet(currentMax, value)) {
+            currentMax = this.max.get();
+        }
+    }
+
+    /**
+     * Gets the number of recorded latencies.
+     *
+     * @return the number of recorded latencies
+     */
+    public long getCount() {
+        return this.totalCount.get();
+    }
+
+    /**
+     * Gets the highest recorded latency.
+     *
+     * @return the highest latency in nanoseconds or {@code 0} if nothing has been recorded
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Gets the mean of all recorded latencies.
+     *
+     * @return the mean latency in nanoseconds or {@code 0} if nothing has been recorded
+     */
+    public double getMean() {
+        long count = this.totalCount.get();
+        return count == 0 ? 0 : (double) this.sum.get() / count;
+    }
+
+    /**
+     * Gets the latency at a specific percentile, i.e. the latency not exceeded by the given percentage of all
+     * recorded latencies.
+     *
+     * @param percentile the percentile between {@code 0} and {@code 100}, e.g. {@code 99.9}
+     * @return the highest latency in nanoseconds of the bucket containing the percentile, but at most the highest
+     * recorded latency, or {@code 0} if nothing has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("The percentile must be between 0 and 100.");
+        }
+
+        long count = this.totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+
+        // -> at least one latency has been recorded
+
+        long threshold = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            seen += this.counts.get(index);
+            if (seen >= threshold) {
+                return Math.min(getHighestValue(index), getMax());
+            }
+        }
+
+        // -> counters have been incremented concurrently after the total count has been read
+        return getMax();
+    }
+
+    /**
+     * Removes all recorded latencies. Latencies recorded concurrently may be kept partially.
+     */
+    public void reset() {
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            this.counts.set(index, 0);
+        }
+        this.totalCount.set(0);
+        this.sum.set(0);
+        this.max.set(0);
+    }
+
+    /**
+     * Gets the index of the bucket counting a specific value.
+     *
+     * @param value the value, which must not be negative
+     * @return the index of the bucket
+     */
+    static int getIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        // -> value has at least as many bits as a sub bucket, keep its highest bits
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return SUB_BUCKET_COUNT + (shift - 1) * HALF_SUB_BUCKET_COUNT
+                + (int) (value >>> shift) - HALF_SUB_BUCKET_COUNT;
+    }
+
+    /**
+     * Gets the highest value counted by a specific bucket.
+     *
+     * @param index the index of the bucket
+     * @return the highest value of the bucket
+     */
+    static long getHighestValue(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+
+        int shift = (index - SUB_BUCKET_COUNT) / HALF_SUB_BUCKET_COUNT + 1;
+        long subBucket = (index - SUB_BUCKET_COUNT) % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
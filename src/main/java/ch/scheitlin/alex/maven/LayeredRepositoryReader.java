@@ -0,0 +1,461 @@
+package ch.scheitlin.alex.maven;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>Reads an ordered list of local maven repositories as if they were a single one.</p>
+ * <p>
+ * Every repository is a layer with its own {@link LocalMavenRepositoryReader} and hence its own cache, e.g. a read-only
+ * mirror shared by a team and the writable repository of the user. A group, artifact or version exists if it exists in
+ * any layer, and listings contain the entries of all layers without duplicates, ordered by the layer they first occur
+ * in.
+ * </p>
+ * <p>
+ * Layers that rarely change can be indexed with {@link #indexLayer(int, Path)}, after which they are queried from
+ * memory. All other layers are queried in parallel, one thread per layer, and existence checks return as soon as any
+ * layer reports a hit, cancelling the queries of the remaining layers.
+ * </p>
+ */
+public class LayeredRepositoryReader implements Closeable {
+    private final List<LocalMavenRepositoryReader> readers;
+    private final boolean ownsReaders;
+    private final AtomicReferenceArray<RepositoryIndex> indexes;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a new layered reader of specific repositories.
+     *
+     * @param roots the paths to the root directories of the repositories, in the order they are overlaid
+     */
+    public LayeredRepositoryReader(Path... roots) {
+        this(createReaders(roots), true);
+    }
+
+    /**
+     * Creates a new layered reader using specific readers as layers. The readers are not closed when the layered reader
+     * gets closed.
+     *
+     * @param readers the readers of the repositories, in the order they are overlaid
+     */
+    public LayeredRepositoryReader(List<LocalMavenRepositoryReader> readers) {
+        this(new ArrayList<LocalMavenRepositoryReader>(readers), false);
+    }
+
+    /**
+     * Creates a new layered reader.
+     *
+     * @param readers     the readers of the repositories, in the order they are overlaid
+     * @param ownsReaders {@code true} if the readers get closed when the layered reader gets closed, {@code false} if
+     *                    not
+     */
+    private LayeredRepositoryReader(List<LocalMavenRepositoryReader> readers, boolean ownsReaders) {
+        if (readers.isEmpty()) {
+            throw new IllegalArgumentException("At least one repository is required.");
+        }
+
+        this.readers = Collections.unmodifiableList(readers);
+        this.ownsReaders = ownsReaders;
+        this.indexes = new AtomicReferenceArray<RepositoryIndex>(readers.size());
+        this.executor = readers.size() == 1 ? null : Executors.newFixedThreadPool(readers.size(), new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "layered-repository-reader-" + this.count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Gets the number of layers.
+     *
+     * @return the number of overlaid repositories
+     */
+    public int getLayerCount() {
+        return this.readers.size();
+    }
+
+    /**
+     * Gets the reader of a specific layer.
+     *
+     * @param layer the position of the layer, starting with {@code 0}
+     * @return the reader of the layer
+     */
+    public LocalMavenRepositoryReader getReader(int layer) {
+        return this.readers.get(layer);
+    }
+
+    /**
+     * Gets the index of a specific layer.
+     *
+     * @param layer the position of the layer, starting with {@code 0}
+     * @return the index of the layer or {@code null} if the layer is not indexed
+     */
+    public RepositoryIndex getIndex(int layer) {
+        return this.indexes.get(layer);
+    }
+
+    /**
+     * Indexes a specific layer, which is queried from memory afterwards. Changes to the repository of the layer are not
+     * reflected until the layer is indexed again.
+     *
+     * @param layer    the position of the layer, starting with {@code 0}
+     * @param snapshot the path to the snapshot file of the index or {@code null} to build the index from scratch
+     * @return the index of the layer
+     * @throws IOException if the repository could not be walked or the snapshot file could not be written
+     * @see LocalMavenRepositoryReader#loadIndex(Path)
+     */
+    public RepositoryIndex indexLayer(int layer, Path snapshot) throws IOException {
+        LocalMavenRepositoryReader reader = this.readers.get(layer);
+        RepositoryIndex index = snapshot == null ? reader.buildIndex() : reader.loadIndex(snapshot);
+        this.indexes.set(layer, index);
+
+        return index;
+    }
+
+    /**
+     * Removes the index of a specific layer, which is queried from the disk again afterwards.
+     *
+     * @param layer the position of the layer, starting with {@code 0}
+     */
+    public void removeIndex(int layer) {
+        this.indexes.set(layer, null);
+    }
+
+    /**
+     * Stops the threads querying the layers and closes the readers of the layers if they have been created by this
+     * reader.
+     *
+     * @throws IOException if a reader could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+        }
+        if (this.ownsReaders) {
+            for (LocalMavenRepositoryReader reader : this.readers) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Checks whether a specific group exists in any layer.
+     *
+     * @param groupId the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                pom.xml file of the project
+     * @return {@code true} if the specified group exists in any layer, {@code false} if not
+     * @see LocalMavenRepositoryReader#doesGroupExist(String)
+     */
+    public boolean doesGroupExist(final String groupId) {
+        return doesAnyLayerMatch(new LayerQuery<Boolean>() {
+            @Override
+            Boolean query(LocalMavenRepositoryReader reader) {
+                return reader.doesGroupExist(groupId);
+            }
+
+            @Override
+            Boolean query(RepositoryIndex index) {
+                return index.doesGroupExist(groupId);
+            }
+        });
+    }
+
+    /**
+     * Checks whether a specific artifact of a specific group exists in any layer.
+     *
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @return {@code true} if the specified artifact exists in any layer, {@code false} if not
+     * @see LocalMavenRepositoryReader#doesArtifactExist(String, String)
+     */
+    public boolean doesArtifactExist(final String groupId, final String artifactId) {
+        return doesAnyLayerMatch(new LayerQuery<Boolean>() {
+            @Override
+            Boolean query(LocalMavenRepositoryReader reader) {
+                return reader.doesArtifactExist(groupId, artifactId);
+            }
+
+            @Override
+            Boolean query(RepositoryIndex index) {
+                return index.doesArtifactExist(groupId, artifactId);
+            }
+        });
+    }
+
+    /**
+     * Gets the artifacts of a specific group existing in any layer.
+     *
+     * @param groupId the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                pom.xml file of the project
+     * @return {@code String Array} with the distinct artifacts of all layers or an empty {@code String Array} if no
+     * artifacts are available
+     * @see LocalMavenRepositoryReader#getArtifactsOfGroup(String)
+     */
+    public String[] getArtifactsOfGroup(final String groupId) {
+        return merge(queryAllLayers(new LayerQuery<String[]>() {
+            @Override
+            String[] query(LocalMavenRepositoryReader reader) {
+                return reader.getArtifactsOfGroup(groupId);
+            }
+
+            @Override
+            String[] query(RepositoryIndex index) {
+                return index.getArtifactsOfGroup(groupId);
+            }
+        }));
+    }
+
+    /**
+     * Checks whether a specific version of a specific artifact of a specific group exists in any layer.
+     *
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @param version    the version of the artifact as specified in the {@code <version></version>} element of the
+     *                   respective pom.xml file of the project
+     * @return {@code true} if the specified version exists in any layer, {@code false} if not
+     * @see LocalMavenRepositoryReader#doesVersionExist(String, String, String)
+     */
+    public boolean doesVersionExist(final String groupId, final String artifactId, final String version) {
+        return doesAnyLayerMatch(new LayerQuery<Boolean>() {
+            @Override
+            Boolean query(LocalMavenRepositoryReader reader) {
+                return reader.doesVersionExist(groupId, artifactId, version);
+            }
+
+            @Override
+            Boolean query(RepositoryIndex index) {
+                return index.doesVersionExist(groupId, artifactId, version);
+            }
+        });
+    }
+
+    /**
+     * Gets the versions of a specific artifact of a specific group existing in any layer.
+     *
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @return {@code String Array} with the distinct versions of all layers or an empty {@code String Array} if no
+     * versions are available
+     * @see LocalMavenRepositoryReader#getArtifactVersions(String, String)
+     */
+    public String[] getArtifactVersions(final String groupId, final String artifactId) {
+        return merge(queryAllLayers(new LayerQuery<String[]>() {
+            @Override
+            String[] query(LocalMavenRepositoryReader reader) {
+                return reader.getArtifactVersions(groupId, artifactId);
+            }
+
+            @Override
+            String[] query(RepositoryIndex index) {
+                return index.getArtifactVersions(groupId, artifactId);
+            }
+        }));
+    }
+
+    /**
+     * Checks whether a query returns {@code true} for any layer. Indexed layers are checked first by the calling
+     * thread, all other layers in parallel. As soon as a layer returns {@code true}, the queries of the remaining
+     * layers are cancelled.
+     *
+     * @param query the query to execute
+     * @return {@code true} if the query returns {@code true} for any layer, {@code false} if not
+     */
+    private boolean doesAnyLayerMatch(LayerQuery<Boolean> query) {
+        // check the indexed layers first, as they are answered from memory
+        List<LocalMavenRepositoryReader> remaining = new ArrayList<LocalMavenRepositoryReader>();
+        for (int layer = 0; layer < this.readers.size(); layer++) {
+            RepositoryIndex index = this.indexes.get(layer);
+            if (index == null) {
+                remaining.add(this.readers.get(layer));
+            } else if (query.query(index)) {
+                return true;
+            }
+        }
+
+        // -> no indexed layer matches
+
+        if (remaining.size() <= 1) {
+            return !remaining.isEmpty() && query.query(remaining.get(0));
+        }
+
+        CompletionService<Boolean> completionService = new ExecutorCompletionService<Boolean>(this.executor);
+        List<Future<Boolean>> futures = new ArrayList<Future<Boolean>>();
+        try {
+            for (LocalMavenRepositoryReader reader : remaining) {
+                futures.add(completionService.submit(query.toCallable(reader)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                if (getResult(completionService.take())) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying the layers.", e);
+        } finally {
+            for (Future<Boolean> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Executes a query for all layers. Indexed layers are queried by the calling thread, all other layers in parallel.
+     *
+     * @param query the query to execute
+     * @param <T>   the type of the result of the query
+     * @return the results of all layers in the order of the layers
+     */
+    private <T> List<T> queryAllLayers(LayerQuery<T> query) {
+        List<Future<T>> futures = new ArrayList<Future<T>>();
+        try {
+            // start the queries of the layers that are not indexed
+            for (int layer = 0; layer < this.readers.size(); layer++) {
+                futures.add(this.executor == null || this.indexes.get(layer) != null ? null
+                        : this.executor.submit(query.toCallable(this.readers.get(layer))));
+            }
+
+            List<T> results = new ArrayList<T>(this.readers.size());
+            for (int layer = 0; layer < this.readers.size(); layer++) {
+                RepositoryIndex index = this.indexes.get(layer);
+                Future<T> future = futures.get(layer);
+                if (future != null) {
+                    results.add(getResult(future));
+                } else if (index != null) {
+                    results.add(query.query(index));
+                } else {
+                    results.add(query.query(this.readers.get(layer)));
+                }
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying the layers.", e);
+        } finally {
+            for (Future<T> future : futures) {
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for the result of the query of a layer.
+     *
+     * @param future the future of the query
+     * @param <T>    the type of the result of the query
+     * @return the result of the query
+     * @throws InterruptedException if the calling thread has been interrupted while waiting
+     */
+    private static <T> T getResult(Future<T> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Merges the listings of all layers, keeping the first occurrence of every entry.
+     *
+     * @param listings the listings in the order of the layers
+     * @return the distinct entries of all listings
+     */
+    private static String[] merge(List<String[]> listings) {
+        Set<String> merged = new LinkedHashSet<String>();
+        for (String[] listing : listings) {
+            merged.addAll(Arrays.asList(listing));
+        }
+
+        return merged.toArray(new String[0]);
+    }
+
+    /**
+     * Creates a reader for every repository.
+     *
+     * @param roots the paths to the root directories of the repositories
+     * @return the readers in the order of the given paths
+     */
+    private static List<LocalMavenRepositoryReader> createReaders(Path[] roots) {
+        List<LocalMavenRepositoryReader> readers = new ArrayList<LocalMavenRepositoryReader>();
+        for (Path root : roots) {
+            readers.add(new LocalMavenRepositoryReader(root));
+        }
+
+        return readers;
+    }
+
+    /**
+     * A query that can be answered by the reader as well as by the index of a layer.
+     *
+     * @param <T> the type of the result of the query
+     */
+    private abstract static class LayerQuery<T> {
+        /**
+         * Executes the query by the reader of a layer.
+         *
+         * @param reader the reader of the layer
+         * @return the result of the query
+         */
+        abstract T query(LocalMavenRepositoryReader reader);
+
+        /**
+         * Executes the query by the index of a layer.
+         *
+         * @param index the index of the layer
+         * @return the result of the query
+         */
+        abstract T query(RepositoryIndex index);
+
+        /**
+         * Creates a task executing the query by the reader of a layer.
+         *
+         * @param reader the reader of the layer
+         * @return the task
+         */
+        Callable<T> toCallable(final LocalMavenRepositoryReader reader) {
+            return new Callable<T>() {
+                @Override
+                public T call() {
+                    return query(reader);
+                }
+            };
+        }
+    }
+}
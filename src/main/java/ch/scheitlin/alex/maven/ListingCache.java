@@ -0,0 +1,406 @@
+package ch.scheitlin.alex.maven;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * <p>A bounded cache of directory listings with least recently used eviction.</p>
+ * <p>
+ * The size of the cache is not limited by the number of listings but by their weight, i.e. the total number of
+ * directory entries held (see {@link DirectoryListing#getWeight()}). Listings that are older than the configured time
+ * to live are not returned anymore and are read again from the disk.
+ * </p>
+ * <p>
+ * Listings can be updated or invalidated while the repository is being watched (see {@link RepositoryWatcher}). Every
+ * such modification increments a counter. A listing that has been read from the disk before a modification happened
+ * may already be outdated and is therefore only added if the counter did not change in the meantime (see
+ * {@link #put(Path, DirectoryListing, long)}). A second counter is only incremented by modifications that may change
+ * the set of existing groups, artifacts or versions (see {@link #getStructureModificationCount()}), so state derived
+ * from many listings does not need to be rebuilt whenever a single file is added to or removed from a version folder.
+ * </p>
+ * <p>
+ * The cache is shared by all threads using the same reader. Cached listings are looked up in a
+ * {@link ConcurrentHashMap} without locking. The order of eviction is kept in a separate access-ordered map guarded
+ * by a lock, which is only updated by a lookup if the lock is free, so concurrent lookups never wait for each other
+ * (the order of eviction is approximate under contention). Adding, replacing and removing listings takes the lock.
+ * </p>
+ * <p>
+ * If several threads need the listing of the same uncached directory at the same time, only the first one lists the
+ * directory and the others wait for its listing (see {@link #load(Path, Function)}).
+ * </p>
+ */
+class ListingCache {
+    private final long maximumWeight;
+    private final long timeToLiveNanos;
+    private final ConcurrentHashMap<Path, Entry> entries = new ConcurrentHashMap<Path, Entry>();
+    private final ConcurrentHashMap<Path, CompletableFuture<DirectoryListing>> loads =
+            new ConcurrentHashMap<Path, CompletableFuture<DirectoryListing>>();
+    private final ReentrantLock lock = new ReentrantLock();
+    // guarded by the lock
+    private final LinkedHashMap<Path, Entry> order = new LinkedHashMap<Path, Entry>(16, 0.75f, true);
+    private long weight;
+    private volatile long modificationCount;
+    private volatile long structureModificationCount;
+    private volatile RepositoryListener listener;
+
+    /**
+     * Creates a new and empty listing cache.
+     *
+     * @param maximumWeight the maximum number of directory entries to keep in the cache, {@code 0} disables the cache
+     * @param timeToLive    the time a listing is kept in the cache, {@code 0} or less keeps listings until evicted
+     * @param unit          the unit of the time to live
+     */
+    ListingCache(long maximumWeight, long timeToLive, TimeUnit unit) {
+        this.maximumWeight = maximumWeight;
+        this.timeToLiveNanos = timeToLive > 0 ? unit.toNanos(timeToLive) : 0;
+    }
+
+    /**
+     * Sets the listener notified about evicted listings.
+     *
+     * @param listener the listener or {@code null} to notify nobody
+     */
+    void setListener(RepositoryListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Gets the time a listing is kept in the cache.
+     *
+     * @return the time to live in nanoseconds, {@code 0} if listings are kept until evicted
+     */
+    long getTimeToLiveNanos() {
+        return this.timeToLiveNanos;
+    }
+
+    /**
+     * Gets the cached listing of a specific directory.
+     *
+     * @param directory the directory to get the listing of
+     * @return the cached listing or {@code null} if the directory is not cached or its listing has expired
+     */
+    DirectoryListing get(Path directory) {
+        Entry entry = this.entries.get(directory);
+        if (entry == null) {
+            return null;
+        }
+
+        if (this.timeToLiveNanos > 0 && System.nanoTime() - entry.created > this.timeToLiveNanos) {
+            this.lock.lock();
+            try {
+                if (this.entries.get(directory) == entry) {
+                    remove(directory);
+                    notifyEvicted(directory);
+                }
+            } finally {
+                this.lock.unlock();
+            }
+            return null;
+        }
+
+        // mark the listing as recently used unless another thread is modifying the cache
+        if (this.lock.tryLock()) {
+            try {
+                this.order.get(directory);
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        return entry.listing;
+    }
+
+    /**
+     * <p>Gets the listing of a specific directory, loading it if it is not cached.</p>
+     * <p>
+     * Concurrent loads of the same directory are coalesced: only the first thread calls the loader, all other threads
+     * asking for the same directory in the meantime wait for and share its listing. The loaded listing is added to the
+     * cache unless the cache has been modified while loading (see {@link #put(Path, DirectoryListing, long)}).
+     * </p>
+     *
+     * @param directory the directory to get the listing of
+     * @param loader    the function listing a directory, called at most once at a time per directory
+     * @return the cached or loaded listing of the directory
+     */
+    DirectoryListing load(Path directory, Function<Path, DirectoryListing> loader) {
+        DirectoryListing listing = get(directory);
+        if (listing != null) {
+            return listing;
+        }
+
+        // check whether another thread is already loading the directory
+        CompletableFuture<DirectoryListing> load = new CompletableFuture<DirectoryListing>();
+        CompletableFuture<DirectoryListing> pendingLoad = this.loads.putIfAbsent(directory, load);
+        if (pendingLoad != null) {
+            return pendingLoad.join();
+        }
+
+        // -> this thread loads the directory
+        try {
+            // the listing may have been added between the lookup and the start of the load
+            listing = get(directory);
+            if (listing == null) {
+                long modificationCount = this.modificationCount;
+                listing = loader.apply(directory);
+                put(directory, listing, modificationCount);
+            }
+            load.complete(listing);
+            return listing;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            this.loads.remove(directory, load);
+        }
+    }
+
+    /**
+     * Adds the listing of a specific directory to the cache and evicts the least recently used listings if the cache
+     * grows beyond its maximum weight.
+     *
+     * @param directory the listed directory
+     * @param listing   the listing of the directory
+     */
+    void put(Path directory, DirectoryListing listing) {
+        if (listing.getWeight() > this.maximumWeight) {
+            return;
+        }
+
+        this.lock.lock();
+        try {
+            remove(directory);
+            Entry entry = new Entry(listing, System.nanoTime());
+            this.entries.put(directory, entry);
+            this.order.put(directory, entry);
+            this.weight += listing.getWeight();
+
+            // evict the least recently used listings
+            Iterator<Map.Entry<Path, Entry>> iterator = this.order.entrySet().iterator();
+            while (this.weight > this.maximumWeight && iterator.hasNext()) {
+                Map.Entry<Path, Entry> eldest = iterator.next();
+                this.weight -= eldest.getValue().listing.getWeight();
+                this.entries.remove(eldest.getKey());
+                iterator.remove();
+                notifyEvicted(eldest.getKey());
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Notifies the listener (if any) about an evicted listing.
+     *
+     * @param directory the directory whose listing has been evicted
+     */
+    private void notifyEvicted(Path directory) {
+        RepositoryListener listener = this.listener;
+        if (listener != null) {
+            listener.cacheEvicted(directory);
+        }
+    }
+
+    /**
+     * Adds the listing of a specific directory to the cache unless the cache has been modified since the listing was
+     * read from the disk.
+     *
+     * @param directory         the listed directory
+     * @param listing           the listing of the directory
+     * @param modificationCount the modification count of the cache before the directory was listed
+     * @see #getModificationCount()
+     */
+    void put(Path directory, DirectoryListing listing, long modificationCount) {
+        this.lock.lock();
+        try {
+            if (this.modificationCount == modificationCount) {
+                put(directory, listing);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the cached listing of a specific directory without affecting the order of eviction or checking whether
+     * the listing has expired.
+     *
+     * @param directory the directory to get the listing of
+     * @return the cached listing or {@code null} if the directory is not cached
+     */
+    DirectoryListing peek(Path directory) {
+        Entry entry = this.entries.get(directory);
+
+        return entry == null ? null : entry.listing;
+    }
+
+    /**
+     * Replaces the cached listing of a specific directory with an updated listing. The updated listing keeps the
+     * creation time of the replaced listing. If the directory is not cached anymore or its listing has been replaced
+     * in the meantime, nothing is changed.
+     *
+     * @param directory the directory to replace the listing of
+     * @param expected  the listing expected to be cached
+     * @param updated   the updated listing of the directory
+     */
+    void replace(Path directory, DirectoryListing expected, DirectoryListing updated) {
+        this.lock.lock();
+        try {
+            this.modificationCount++;
+
+            Entry entry = this.entries.get(directory);
+            if (entry != null && entry.listing == expected) {
+                this.weight += updated.getWeight() - expected.getWeight();
+                Entry updatedEntry = new Entry(updated, entry.created);
+                this.entries.put(directory, updatedEntry);
+                this.order.put(directory, updatedEntry);
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Marks the set of existing groups, artifacts or versions as modified and the cache as modified, so that listings
+     * that are currently read from the disk are not added anymore.
+     *
+     * @see #getStructureModificationCount()
+     */
+    void markStructureModified() {
+        this.lock.lock();
+        try {
+            this.modificationCount++;
+            this.structureModificationCount++;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the listings of a specific directory and of all directories located within it from the cache.
+     *
+     * @param directory the directory to remove the listings of
+     */
+    void removeTree(Path directory) {
+        this.lock.lock();
+        try {
+            this.modificationCount++;
+            this.structureModificationCount++;
+
+            Iterator<Map.Entry<Path, Entry>> iterator = this.order.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Path, Entry> entry = iterator.next();
+                if (entry.getKey().startsWith(directory)) {
+                    this.weight -= entry.getValue().listing.getWeight();
+                    this.entries.remove(entry.getKey());
+                    iterator.remove();
+                }
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of modifications of the cache by {@link #replace(Path, DirectoryListing, DirectoryListing)},
+     * {@link #removeTree(Path)}, {@link #markStructureModified()} and {@link #clear()}.
+     *
+     * @return the number of modifications
+     */
+    long getModificationCount() {
+        return this.modificationCount;
+    }
+
+    /**
+     * Gets the number of modifications of the cache that may have changed the set of existing groups, artifacts or
+     * versions, i.e. by {@link #removeTree(Path)}, {@link #markStructureModified()} and {@link #clear()}. Replacing a
+     * listing does not count as such a modification.
+     *
+     * @return the number of modifications of the set of existing groups, artifacts or versions
+     */
+    long getStructureModificationCount() {
+        return this.structureModificationCount;
+    }
+
+    /**
+     * Removes the listing of a specific directory from the cache.
+     *
+     * @param directory the directory to remove the listing of
+     */
+    void remove(Path directory) {
+        this.lock.lock();
+        try {
+            Entry entry = this.entries.remove(directory);
+            this.order.remove(directory);
+            if (entry != null) {
+                this.weight -= entry.listing.getWeight();
+            }
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all listings from the cache.
+     */
+    void clear() {
+        this.lock.lock();
+        try {
+            this.modificationCount++;
+            this.structureModificationCount++;
+            this.entries.clear();
+            this.order.clear();
+            this.weight = 0;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of listings in the cache.
+     *
+     * @return the number of listings in the cache
+     */
+    int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Gets the total weight of all listings in the cache.
+     *
+     * @return the number of directory entries held by the cache
+     */
+    long getWeight() {
+        this.lock.lock();
+        try {
+            return this.weight;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * A cached listing together with the time it was added to the cache.
+     */
+    private static class Entry {
+        final DirectoryListing listing;
+        final long created;
+
+        /**
+         * Creates a new cache entry.
+         *
+         * @param listing the cached listing
+         * @param created the value of {@link System#nanoTime()} when the listing was added
+         */
+        Entry(DirectoryListing listing, long created) {
+            this.listing = listing;
+            this.created = created;
+        }
+    }
+}
@@ -1,56 +1,377 @@
 package ch.scheitlin.alex.maven;
 
-import java.io.File;
-import java.io.FilenameFilter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.ProviderNotFoundException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
- * <p>Provides functions to access data from the local maven repository located at the '.m2/repository' folder within the 'user.home' directory.</p>
+ * <p>
+ * Provides functions to access data from a local maven repository, by default located at the '.m2/repository' folder
+ * within the 'user.home' directory.
+ * </p>
  * <p>The following is possible:</p>
  * <ul>
  * <li>check whether a specific group exists or not</li>
  * <li>get the part of a specific groupId that does not exist</li>
+ * <li>find groups and artifacts by prefix or by similarity ("did you mean")</li>
  * <li>check whether a specific artifact (of a group) exists or not</li>
  * <li>get a list of all available artifacts of a specific group</li>
  * <li>check whether a specific version (of a artifact of a group) exists or not</li>
  * <li>get a list of all available versions of a specific artifact</li>
+ * <li>get the latest version, the latest release or all versions within a range of a specific artifact</li>
+ * <li>get the packaging, the parent and the dependencies of a specific version from its pom.xml file</li>
+ * <li>get the remote repositories the files of a specific version have been downloaded from</li>
+ * <li>compute the transitive dependencies of a specific version and find the ones missing locally</li>
+ * <li>resolve many versions (e.g. all dependencies of a project) at once</li>
+ * <li>take an inventory of the files and the disk usage of all versions</li>
+ * <li>verify the files of all versions against their checksums</li>
+ * <li>count the accesses to the file system and the cache and the latency of every query</li>
  * </ul>
+ * <p>
+ * Every reader keeps a bounded cache of the directory listings it has read, so repeated queries can be answered without
+ * touching the disk. Listings are evicted when the cache is full (least recently used first) or when they are older
+ * than the configured time to live.
+ * </p>
+ * <p>
+ * If the repository is modified while the reader is used (e.g. by concurrently running maven builds), the reader can
+ * watch the repository (see {@link #startWatching()}) to keep the cached listings up to date without reading the whole
+ * repository again.
+ * </p>
+ * <p>
+ * A repository packed into a zip archive can be read without extracting it (see {@link #openArchive(Path)}).
+ * </p>
  */
-public class LocalMavenRepositoryReader {
+public class LocalMavenRepositoryReader implements Closeable {
     static final String USER_HOME = System.getProperty("user.home");
-    static final String LOCAL_MAVEN_REPOSITORY = USER_HOME + "\\.m2\\repository";
+    static final String LAST_UPDATED_ENDING = ".lastUpdated";
+    static final String SNAPSHOT_ENDING = "-SNAPSHOT";
+    static final long DEFAULT_MAXIMUM_CACHE_WEIGHT = 1000000;
+    static final long DEFAULT_CACHE_TIME_TO_LIVE_SECONDS = 60;
+
+    private final Path repository;
+    private final FileSystem archive;
+    private final ListingCache cache;
+    private final PomCache pomCache;
+    private final MetadataCache metadataCache;
+    private volatile boolean metadataEnabled;
+    private volatile RepositoryListener listener;
+    private volatile RepositoryWatcher watcher;
+    private final Object searchLock = new Object();
+    private RepositorySearch search;
+    private long searchModificationCount;
+    private long searchCreated;
+    private boolean searchRebuilding;
+    private DependencyResolver dependencyResolver;
+    private long dependencyResolverModificationCount;
+    private long dependencyResolverCreated;
+
+    /**
+     * Creates a new reader for the local maven repository located at the '.m2/repository' folder within the
+     * 'user.home' directory.
+     */
+    public LocalMavenRepositoryReader() {
+        this(getDefaultRepository());
+    }
+
+    /**
+     * Creates a new reader for a local maven repository located at a specific path. Directory listings are cached for
+     * one minute.
+     *
+     * @param repository the path to the root directory of the local maven repository
+     */
+    public LocalMavenRepositoryReader(Path repository) {
+        this(repository, DEFAULT_MAXIMUM_CACHE_WEIGHT, DEFAULT_CACHE_TIME_TO_LIVE_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Creates a new reader for a local maven repository located at a specific path with a specifically configured
+     * cache.
+     *
+     * @param repository         the path to the root directory of the local maven repository
+     * @param maximumCacheWeight the maximum number of directory entries (sub directories and files) to keep in the
+     *                           cache, {@code 0} disables the cache
+     * @param cacheTimeToLive    the time a directory listing is kept in the cache, {@code 0} keeps listings until they
+     *                           get evicted
+     * @param unit               the unit of the time to live
+     */
+    public LocalMavenRepositoryReader(Path repository, long maximumCacheWeight, long cacheTimeToLive, TimeUnit unit) {
+        this(repository, null, maximumCacheWeight, cacheTimeToLive, unit);
+    }
+
+    /**
+     * Creates a new reader for a local maven repository with a specifically configured cache.
+     *
+     * @param repository         the path to the root directory of the local maven repository
+     * @param archive            the file system of the archive containing the repository, which gets closed together
+     *                           with this reader, or {@code null} if the repository is not read from an archive
+     * @param maximumCacheWeight the maximum number of directory entries (sub directories and files) to keep in the
+     *                           cache, {@code 0} disables the cache
+     * @param cacheTimeToLive    the time a directory listing is kept in the cache, {@code 0} keeps listings until they
+     *                           get evicted
+     * @param unit               the unit of the time to live
+     */
+    private LocalMavenRepositoryReader(Path repository, FileSystem archive, long maximumCacheWeight,
+                                       long cacheTimeToLive, TimeUnit unit) {
+        this.repository = repository;
+        this.archive = archive;
+        this.cache = new ListingCache(maximumCacheWeight, cacheTimeToLive, unit);
+        this.pomCache = new PomCache(PomCache.DEFAULT_MAXIMUM_SIZE);
+        this.metadataCache = new MetadataCache(MetadataCache.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a new reader for a local maven repository packed into the root of a zip archive.
+     *
+     * @param archive the path to the zip archive
+     * @return the reader of the repository, which has to be closed to close the archive
+     * @throws IOException if the archive could not be opened or is no zip archive
+     * @see #openArchive(Path, String)
+     */
+    public static LocalMavenRepositoryReader openArchive(Path archive) throws IOException {
+        return openArchive(archive, "/");
+    }
+
+    /**
+     * <p>Creates a new reader for a local maven repository packed into a zip archive, e.g. a frozen snapshot of the
+     * '.m2/repository' folder.</p>
+     * <p>
+     * The archive is never extracted. Its central directory is read once when opening the archive and all existence
+     * checks and listings are answered from it, applying the same rules (e.g. for '.lastUpdated' files) as for a
+     * repository on the disk. Only queries needing the content of a file, e.g. of a pom.xml file, read the respective
+     * entry. As an archive is not modified, cached listings never expire and the archive cannot be watched.
+     * </p>
+     *
+     * @param archive the path to the zip archive
+     * @param root    the path to the root directory of the repository within the archive, e.g. {@code /repository}
+     * @return the reader of the repository, which has to be closed to close the archive
+     * @throws IOException if the archive could not be opened or is no zip archive
+     */
+    public static LocalMavenRepositoryReader openArchive(Path archive, String root) throws IOException {
+        FileSystem fileSystem;
+        try {
+            fileSystem = FileSystems.newFileSystem(archive, (ClassLoader) null);
+        } catch (ProviderNotFoundException e) {
+            throw new IOException("Unsupported archive '" + archive + "', only zip archives can be read.", e);
+        }
+
+        return new LocalMavenRepositoryReader(fileSystem.getPath(root), fileSystem, DEFAULT_MAXIMUM_CACHE_WEIGHT, 0,
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * Gets the path of the local maven repository located at the '.m2/repository' folder within the 'user.home'
+     * directory.
+     *
+     * @return the path of the default local maven repository
+     */
+    public static Path getDefaultRepository() {
+        return Paths.get(LocalMavenRepositoryReader.USER_HOME, ".m2", "repository");
+    }
+
+    /**
+     * Gets the path to the root directory of the local maven repository read by this reader.
+     *
+     * @return the path to the root directory of the local maven repository
+     */
+    public Path getRepository() {
+        return this.repository;
+    }
+
+    /**
+     * Removes all cached directory listings, parsed pom.xml files and metadata files as well as the search, so that
+     * the following queries read the repository from the disk again.
+     */
+    public void clearCache() {
+        this.cache.clear();
+        this.pomCache.clear();
+        this.metadataCache.clear();
+        synchronized (this.searchLock) {
+            this.search = null;
+        }
+    }
+
+    /**
+     * <p>
+     * Enables or disables reading the versions of an artifact from its 'maven-metadata-local.xml' file, which maven
+     * writes when installing a version. Disabled by default.
+     * </p>
+     * <p>
+     * If enabled, a version listed by the metadata file is considered existing without listing its version folder,
+     * so getting the versions of an artifact reads one small file instead of every version folder. The metadata file
+     * is only used if the folder of every version it lists still exists, i.e. no listed version folder has been
+     * deleted since it has been written. Version folders not listed by the metadata file and version folders whose
+     * listing is cached anyway are checked as usual. As files within a version folder are not checked,
+     * a listed version whose files have been deleted or replaced by '.lastUpdated' files is still considered existing.
+     * </p>
+     *
+     * @param metadataEnabled {@code true} to read the metadata files, {@code false} to only inspect the directories
+     */
+    public void setMetadataEnabled(boolean metadataEnabled) {
+        this.metadataEnabled = metadataEnabled;
+    }
+
+    /**
+     * <p>
+     * Sets the listener notified about every directory listing, stat call and file read, every lookup in and eviction
+     * from the cache and the latency of every query of this reader, e.g. a {@link RepositoryMetrics}.
+     * </p>
+     * <p>
+     * Without a listener (the default), the only overhead is checking whether a listener is set. Scans of the whole
+     * repository (like {@link #scanAll(int)} or {@link #takeInventory(int, Consumer)}) do not use the cache and are not
+     * reported.
+     * </p>
+     *
+     * @param listener the listener or {@code null} to notify nobody
+     */
+    public void setListener(RepositoryListener listener) {
+        this.listener = listener;
+        this.cache.setListener(listener);
+    }
+
+    /**
+     * Gets the listener notified about the accesses of this reader to the file system and its cache.
+     *
+     * @return the listener or {@code null} if nobody is notified
+     * @see #setListener(RepositoryListener)
+     */
+    public RepositoryListener getListener() {
+        return this.listener;
+    }
+
+    /**
+     * Checks whether the versions of an artifact are read from its 'maven-metadata-local.xml' file.
+     *
+     * @return {@code true} if the metadata files are read, {@code false} if not
+     * @see #setMetadataEnabled(boolean)
+     */
+    public boolean isMetadataEnabled() {
+        return this.metadataEnabled;
+    }
+
+    /**
+     * <p>
+     * Starts watching the local maven repository for changes. From now on every directory listed by this reader is
+     * watched and its cached listing is updated as soon as a sub directory or file is created or deleted, e.g. if a
+     * new version gets downloaded or a '.lastUpdated' file appears next to a jar.
+     * </p>
+     * <p>All listings cached so far are removed, as they have not been watched.</p>
+     *
+     * @throws IOException if the file system of the repository does not support watching, e.g. if the repository is
+     *                     read from an archive
+     */
+    public synchronized void startWatching() throws IOException {
+        if (this.watcher != null) {
+            return;
+        }
+
+        try {
+            this.watcher = new RepositoryWatcher(this.repository, this.cache);
+        } catch (UnsupportedOperationException e) {
+            throw new IOException("The file system of the repository does not support watching.", e);
+        }
+        this.cache.clear();
+    }
+
+    /**
+     * Checks whether the local maven repository is watched for changes.
+     *
+     * @return {@code true} if the repository is watched, {@code false} if not
+     * @see #startWatching()
+     */
+    public boolean isWatching() {
+        return this.watcher != null;
+    }
+
+    /**
+     * Stops watching the local maven repository for changes. All cached listings are removed, as they are not kept up
+     * to date anymore. If the repository is read from an archive, the archive is closed and the reader cannot be used
+     * anymore.
+     *
+     * @throws IOException if the watcher could not be stopped or the archive could not be closed
+     */
+    public synchronized void close() throws IOException {
+        if (this.archive != null) {
+            this.archive.close();
+        }
+        if (this.watcher == null) {
+            return;
+        }
+
+        this.watcher.close();
+        this.watcher = null;
+        this.cache.clear();
+    }
+
+    /**
+     * Checks whether a specific group exists in the local maven repository.
+     *
+     * @param groupId the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                pom.xml file of the project
+     * @return {@code true} if the specified group exists in the local maven repository, {@code false} if not
+     */
+    public boolean doesGroupExist(String groupId) {
+        long started = startQuery();
+        return completeQuery("doesGroupExist", started, doesGroupExist(createContext(), groupId));
+    }
 
     /**
      * Checks whether a specific group exists in the local maven repository.
      *
+     * @param context the context remembering the already listed directories
      * @param groupId the id of the group as specified in the {@code <groupId></groupId>} element of the respective
      *                pom.xml file of the project
      * @return {@code true} if the specified group exists in the local maven repository, {@code false} if not
      */
-    public static boolean doesGroupExist(String groupId) {
+    boolean doesGroupExist(TraversalContext context, String groupId) {
         // check whether the folder for the group exists
-        if (!doesGroupFolderExist(groupId)) {
+        if (!doesGroupFolderExist(context, groupId)) {
             return false;
         }
 
         // check whether an artifact exists
-        return getArtifactsOfGroup(groupId).length != 0;
+        return getArtifactsOfGroup(context, groupId).length != 0;
+    }
+
+    /**
+     * Gets the part of a specific group id that does not exist in the local maven repository.
+     *
+     * @param groupId the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                pom.xml file of the project
+     * @return the part of the specified group id that does not exist or {@code null} if the group exists
+     */
+    public String getNonExistingSubGroup(String groupId) {
+        long started = startQuery();
+        return completeQuery("getNonExistingSubGroup", started, getNonExistingSubGroup(createContext(), groupId));
     }
 
     /**
      * Gets the part of a specific group id that does not exist in the local maven repository.
      *
+     * @param context the context remembering the already listed directories
      * @param groupId the id of the group as specified in the {@code <groupId></groupId>} element of the respective
      *                pom.xml file of the project
      * @return the part of the specified group id that does not exist or {@code null} if the group exists
      */
-    public static String getNonExistingSubGroup(String groupId) {
-        String groupPath = LocalMavenRepositoryReader.LOCAL_MAVEN_REPOSITORY;
+    String getNonExistingSubGroup(TraversalContext context, String groupId) {
+        Path groupPath = this.repository;
         for (String subGroup : groupId.split("\\.")) {
-            if (doesDirectoryContainSubDirectory(groupPath, subGroup)) {
-                groupPath += "\\" + subGroup;
+            if (doesDirectoryContainSubDirectory(context, groupPath, subGroup)) {
+                groupPath = groupPath.resolve(subGroup);
             } else {
                 return subGroup;
             }
@@ -59,6 +380,127 @@ public class LocalMavenRepositoryReader {
         return null;
     }
 
+    /**
+     * Gets all existing groups whose id starts with a specific prefix, e.g. {@code org.apache.} for all groups below
+     * {@code org.apache}.
+     *
+     * @param prefix the prefix the group ids have to start with
+     * @return the ids of the matching groups in alphabetical order
+     * @see #getSearch()
+     */
+    public List<String> getGroupsWithPrefix(String prefix) {
+        return getSearch().getGroupsWithPrefix(prefix);
+    }
+
+    /**
+     * Gets all existing groups whose id differs from a specific group id by at most a given number of characters,
+     * e.g. to suggest the intended group if {@link #getNonExistingSubGroup(String)} reports a missing group.
+     *
+     * @param groupId     the id of the group as specified in the {@code <groupId></groupId>} element of the
+     *                    respective pom.xml file of the project
+     * @param maxDistance the maximum number of inserted, deleted or substituted characters
+     * @return the ids of the matching groups, the most similar first
+     * @see #getSearch()
+     */
+    public List<String> getSimilarGroups(String groupId, int maxDistance) {
+        return getSearch().getSimilarGroups(groupId, maxDistance);
+    }
+
+    /**
+     * Gets all existing artifacts of a specific group whose id starts with a specific prefix.
+     *
+     * @param groupId the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                pom.xml file of the project
+     * @param prefix  the prefix the artifact ids have to start with
+     * @return the ids of the matching artifacts in alphabetical order or an empty list if the group does not exist
+     * @see #getSearch()
+     */
+    public List<String> getArtifactsWithPrefix(String groupId, String prefix) {
+        return getSearch().getArtifactsWithPrefix(groupId, prefix);
+    }
+
+    /**
+     * Gets all existing artifacts of a specific group whose id differs from a specific artifact id by at most a given
+     * number of characters.
+     *
+     * @param groupId     the id of the group as specified in the {@code <groupId></groupId>} element of the
+     *                    respective pom.xml file of the project
+     * @param artifactId  the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                    respective pom.xml file of the project
+     * @param maxDistance the maximum number of inserted, deleted or substituted characters
+     * @return the ids of the matching artifacts, the most similar first, or an empty list if the group does not exist
+     * @see #getSearch()
+     */
+    public List<String> getSimilarArtifacts(String groupId, String artifactId, int maxDistance) {
+        return getSearch().getSimilarArtifacts(groupId, artifactId, maxDistance);
+    }
+
+    /**
+     * <p>Gets the search over all existing groups and artifacts of the local maven repository.</p>
+     * <p>
+     * The search is built from {@link #scanAll()} when it is needed for the first time and kept like a cached
+     * directory listing: it is built again after the time to live of the cache has passed or, if the repository is
+     * watched, after a group, artifact or version may have been added or removed. As walking the whole repository
+     * takes a while, such a rebuild runs in the background and the previous search is returned until the new one is
+     * ready. Only after {@link #clearCache()} the search is built again right away.
+     * </p>
+     *
+     * @return the search over all existing groups and artifacts
+     */
+    public RepositorySearch getSearch() {
+        synchronized (this.searchLock) {
+            // check whether there is a search to return meanwhile
+            if (this.search == null) {
+                this.searchModificationCount = this.cache.getStructureModificationCount();
+                this.searchCreated = System.nanoTime();
+                this.search = new RepositorySearch(scanAll());
+                return this.search;
+            }
+
+            // check whether the search is still up to date
+            long timeToLive = this.cache.getTimeToLiveNanos();
+            if (!this.searchRebuilding && (this.searchModificationCount != this.cache.getStructureModificationCount()
+                    || (timeToLive > 0 && System.nanoTime() - this.searchCreated > timeToLive))) {
+                this.searchRebuilding = true;
+                rebuildSearch(this.search);
+            }
+
+            return this.search;
+        }
+    }
+
+    /**
+     * Builds the search again on a background thread and replaces the outdated search by it, unless the outdated
+     * search has been dropped or replaced in the meantime.
+     *
+     * @param outdated the search to replace
+     */
+    private void rebuildSearch(final RepositorySearch outdated) {
+        final long modificationCount = this.cache.getStructureModificationCount();
+        final long created = System.nanoTime();
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                RepositorySearch rebuilt = null;
+                try {
+                    rebuilt = new RepositorySearch(scanAll());
+                } finally {
+                    synchronized (searchLock) {
+                        // a failed rebuild keeps the outdated search until the next try
+                        if (rebuilt != null && search == outdated) {
+                            searchModificationCount = modificationCount;
+                            searchCreated = created;
+                            search = rebuilt;
+                        }
+                        searchRebuilding = false;
+                    }
+                }
+            }
+        }, "local-maven-repository-search");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     /**
      * Checks whether a specific artifact of a specific group exists in the local maven repository.
      *
@@ -69,29 +511,63 @@ public class LocalMavenRepositoryReader {
      * @return {@code true} if the specified artifact of the specified group exists in the local maven repository,
      * {@code false} if not
      */
-    public static boolean doesArtifactExist(String groupId, String artifactId) {
+    public boolean doesArtifactExist(String groupId, String artifactId) {
+        long started = startQuery();
+        return completeQuery("doesArtifactExist", started, doesArtifactExist(createContext(), groupId, artifactId));
+    }
+
+    /**
+     * Checks whether a specific artifact of a specific group exists in the local maven repository.
+     *
+     * @param context    the context remembering the already listed directories
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @return {@code true} if the specified artifact of the specified group exists in the local maven repository,
+     * {@code false} if not
+     */
+    boolean doesArtifactExist(TraversalContext context, String groupId, String artifactId) {
         // check whether the folder for the artifact exists
-        if (!doesArtifactFolderExist(groupId, artifactId)) {
+        if (!doesArtifactFolderExist(context, groupId, artifactId)) {
             return false;
         }
 
         // check whether a version exists
-        return getArtifactVersions(groupId, artifactId).length != 0;
+        return getArtifactVersions(context, groupId, artifactId).length != 0;
+    }
+
+    /**
+     * Gets a list of all in the local maven repository existing artifacts of a specific group.
+     *
+     * @param groupId the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                pom.xml file of the project
+     * @return {@code String Array} with all artifacts of the specified group or an empty {@code String Array} if no
+     * artifacts are available
+     */
+    public String[] getArtifactsOfGroup(String groupId) {
+        long started = startQuery();
+        return completeQuery("getArtifactsOfGroup", started, getArtifactsOfGroup(createContext(), groupId));
     }
 
     /**
      * Gets a list of all in the local maven repository existing artifacts of a specific group.
      *
+     * @param context the context remembering the already listed directories
      * @param groupId the id of the group as specified in the {@code <groupId></groupId>} element of the respective
      *                pom.xml file of the project
      * @return {@code String Array} with all artifacts of the specified group or an empty {@code String Array} if no
      * artifacts are available
      */
-    public static String[] getArtifactsOfGroup(String groupId) {
-        String[] expectedArtifacts = getDirectories(getExpectedGroupPath(groupId));
+    String[] getArtifactsOfGroup(TraversalContext context, String groupId) {
+        if (!doesGroupFolderExist(context, groupId)) {
+            return new String[]{};
+        }
+
+        String[] expectedArtifacts = context.getDirectories(getExpectedGroupPath(groupId));
         List<String> artifacts = new ArrayList<String>();
         for (String expectedArtifact : expectedArtifacts) {
-            if (doesArtifactExist(groupId, expectedArtifact)) {
+            if (doesArtifactExist(context, groupId, expectedArtifact)) {
                 artifacts.add(expectedArtifact);
             }
         }
@@ -112,6 +588,10 @@ public class LocalMavenRepositoryReader {
      * The version is only considered existing in the local maven repository if for every file with the ending
      * '.lastUpdated' there is a file with the same name (considered as source file, e.g. jar or pom).
      * </p>
+     * <p>
+     * Furthermore, at least one file has to be named after the artifact and the version (e.g. 'junit-4.12.jar'), so
+     * the folder of an artifact only containing files like 'maven-metadata-central.xml' is not mistaken for a version.
+     * </p>
      *
      * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
      *                   pom.xml file of the project
@@ -122,53 +602,90 @@ public class LocalMavenRepositoryReader {
      * @return {@code true} if the specified version of the specified artifact of the specified group exists in the
      * local maven repository, {@code false} if not
      */
-    public static boolean doesVersionExist(String groupId, String artifactId, String version) {
+    public boolean doesVersionExist(String groupId, String artifactId, String version) {
+        long started = startQuery();
+        return completeQuery("doesVersionExist", started,
+                doesVersionExist(createContext(), groupId, artifactId, version));
+    }
+
+    /**
+     * Checks whether a specific version of specific artifact of a specific group exists in the local maven
+     * repository.
+     *
+     * @param context    the context remembering the already listed directories
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @param version    the version of the artifact as specified in the {@code <version></version>} element of the
+     *                   respective pom.xml file of the project
+     * @return {@code true} if the specified version of the specified artifact of the specified group exists in the
+     * local maven repository, {@code false} if not
+     * @see #doesVersionExist(String, String, String)
+     */
+    boolean doesVersionExist(TraversalContext context, String groupId, String artifactId, String version) {
         // check whether the folder for the version exists
-        if (!doesVersionFolderExist(groupId, artifactId, version)) {
+        if (!doesVersionFolderExist(context, groupId, artifactId, version)) {
             return false;
         }
 
-        // -> folder exists
+        // check whether the files in the version folder make up a valid version
+        return context.getListing(getExpectedVersionPath(groupId, artifactId, version))
+                .isValidVersion(artifactId, version);
+    }
 
+    /**
+     * <p>
+     * Checks whether the files of a version folder make up a version that is considered existing in the local maven
+     * repository.
+     * </p>
+     * <p>
+     * The version is only considered existing if there is at least one file and for every file with the ending
+     * '.lastUpdated' there is a file with the same name (considered as source file, e.g. jar or pom).
+     * </p>
+     *
+     * @param files the names of all files located in the version folder
+     * @return {@code true} if the files make up an existing version, {@code false} if not
+     */
+    static boolean isVersionFolderContentValid(String[] files) {
         // check whether there are some files in the version folder
-        String versionPath = getExpectedVersionPath(groupId, artifactId, version);
-        String[] files = getFiles(versionPath);
         if (files.length == 0) {
             return false;
         }
 
-        // -> folder exists and has at least one file
+        // -> folder has at least one file
 
-        // check whether '.lastUpdated' files are available
-        String fileEnding = ".lastUpdated";
-        String[] lastUpdatedFiles = getStringsWithEnding(files, fileEnding);
+        // count the '.lastUpdated' files (without allocating anything, as most folders do not contain any)
+        int lastUpdatedFiles = 0;
+        for (String file : files) {
+            if (file.endsWith(LAST_UPDATED_ENDING)) {
+                lastUpdatedFiles++;
+            }
+        }
 
-        if (lastUpdatedFiles.length == 0) {
+        if (lastUpdatedFiles == 0) {
             return true;
         }
 
-        // -> folder exists and has at least one file with ending '.lastUpdated'
+        // -> folder has at least one file with ending '.lastUpdated'
 
         // check whether all files are '.lastUpdated' files
-        if (files.length == lastUpdatedFiles.length) {
+        if (files.length == lastUpdatedFiles) {
             return false;
         }
 
-        // -> folder exists and has at least one file with ending '.lastUpdated' and at least on file with a different
+        // -> folder has at least one file with ending '.lastUpdated' and at least on file with a different
         //    ending
 
         // check whether for each '.lastUpdated' file there is also a corresponding source file
-        String[] notLastUpdatedFiles = getStringsWithDifferentEnding(files, fileEnding);
-        for (String lastUpdatedFile : lastUpdatedFiles) {
-            boolean foundSourceFile = false;
-            for (String notLastUpdatedFile : notLastUpdatedFiles) {
-                if (notLastUpdatedFile.equals(lastUpdatedFile.replaceAll("\\.lastUpdated", ""))) {
-                    foundSourceFile = true;
-                    break;
-                }
+        Set<String> sourceFiles = new HashSet<String>(2 * (files.length - lastUpdatedFiles));
+        for (String file : files) {
+            if (!file.endsWith(LAST_UPDATED_ENDING)) {
+                sourceFiles.add(file);
             }
-
-            if (!foundSourceFile) {
+        }
+        for (String file : files) {
+            if (file.endsWith(LAST_UPDATED_ENDING) && !sourceFiles.contains(getSourceFile(file))) {
                 return false;
             }
         }
@@ -176,6 +693,75 @@ public class LocalMavenRepositoryReader {
         return true;
     }
 
+    /**
+     * Checks whether the files of the folder of a specific version make up a version that is considered existing, i.e.
+     * whether the folder contains files of the version (see {@link #isVersionFolder(String, String, String[])}) that
+     * are valid regarding the '.lastUpdated' files (see {@link #isVersionFolderContentValid(String[])}).
+     *
+     * @param artifactId the id of the artifact, i.e. the name of the parent directory of the folder
+     * @param version    the version, i.e. the name of the folder
+     * @param files      the names of all files located in the folder
+     * @return {@code true} if the files make up an existing version, {@code false} if not
+     */
+    static boolean isVersionFolderContentValid(String artifactId, String version, String[] files) {
+        return isVersionFolder(artifactId, version, files) && isVersionFolderContentValid(files);
+    }
+
+    /**
+     * <p>Checks whether a directory contains files of a specific version of a specific artifact.</p>
+     * <p>
+     * Maven names the files of a version after the artifact and the version (e.g. 'junit-4.12.jar'), the files of a
+     * snapshot after the artifact and the version without 'SNAPSHOT' (e.g. 'a-1.0-20200101.120000-1.jar'). The folder
+     * of an artifact contains files like 'maven-metadata-central.xml' instead, which are not named like that even if
+     * the folder of the artifact is mistaken for a version of the artifact named after the group folder above it (e.g.
+     * the folder 'org/apache/maven/maven-core' for version 'maven-core' of the artifact 'org.apache:maven').
+     * </p>
+     *
+     * @param artifactId the id of the artifact, i.e. the name of the parent directory
+     * @param version    the version, i.e. the name of the directory
+     * @param files      the names of all files located in the directory
+     * @return {@code true} if at least one file is named after the artifact and the version, {@code false} if not
+     */
+    static boolean isVersionFolder(String artifactId, String version, String[] files) {
+        for (String file : files) {
+            if (isFileOfVersion(artifactId, version, file)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks whether a file is named after a specific version of a specific artifact.
+     *
+     * @param artifactId the id of the artifact
+     * @param version    the version
+     * @param file       the name of the file
+     * @return {@code true} if the file starts with {@code <artifactId>-<version>} (without 'SNAPSHOT' for snapshots)
+     * and has a suffix, {@code false} if not
+     * @see #isVersionFolder(String, String, String[])
+     */
+    static boolean isFileOfVersion(String artifactId, String version, String file) {
+        int versionLength = version.endsWith(SNAPSHOT_ENDING) ? version.length() - SNAPSHOT_ENDING.length() + 1
+                : version.length();
+        int versionStart = artifactId.length() + 1;
+
+        return file.length() > versionStart + versionLength && file.startsWith(artifactId)
+                && file.charAt(artifactId.length()) == '-'
+                && file.regionMatches(versionStart, version, 0, versionLength);
+    }
+
+    /**
+     * Gets the name of the source file (e.g. jar or pom) a '.lastUpdated' file belongs to.
+     *
+     * @param lastUpdatedFile the name of the '.lastUpdated' file
+     * @return the name of the file without the ending '.lastUpdated'
+     */
+    static String getSourceFile(String lastUpdatedFile) {
+        return lastUpdatedFile.substring(0, lastUpdatedFile.length() - LAST_UPDATED_ENDING.length());
+    }
+
     /**
      * Gets a list of all in the local maven repository existing versions of a specific artifact of a specific group.
      *
@@ -186,26 +772,563 @@ public class LocalMavenRepositoryReader {
      * @return {@code String Array} with all versions of the specified artifact of the specified group or an empty
      * {@code String Array} if no versions are available
      */
-    public static String[] getArtifactVersions(String groupId, String artifactId) {
-        String[] expectedVersions = getDirectories(getExpectedArtifactPath(groupId, artifactId));
+    public String[] getArtifactVersions(String groupId, String artifactId) {
+        long started = startQuery();
+        return completeQuery("getArtifactVersions", started, getArtifactVersions(createContext(), groupId, artifactId));
+    }
+
+    /**
+     * Gets a list of all in the local maven repository existing versions of a specific artifact of a specific group.
+     *
+     * @param context    the context remembering the already listed directories
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @return {@code String Array} with all versions of the specified artifact of the specified group or an empty
+     * {@code String Array} if no versions are available
+     */
+    String[] getArtifactVersions(TraversalContext context, String groupId, String artifactId) {
+        if (!doesArtifactFolderExist(context, groupId, artifactId)) {
+            return new String[]{};
+        }
+
+        Path artifactPath = getExpectedArtifactPath(groupId, artifactId);
+        String[] expectedVersions = context.getDirectories(artifactPath);
+        boolean metadataAvailable = this.metadataEnabled
+                && doesArrayContain(context.getFiles(artifactPath), MetadataParser.LOCAL_METADATA);
+        Set<String> recordedVersions = null;
         List<String> versions = new ArrayList<String>();
         for (String expectedVersion : expectedVersions) {
-            if (doesVersionExist(groupId, artifactId, expectedVersion)) {
+            // check whether the version is listed by the metadata file, which is only read if a version folder would
+            // have to be listed otherwise
+            if (metadataAvailable && !context.isListed(artifactPath.resolve(expectedVersion))) {
+                if (recordedVersions == null) {
+                    recordedVersions = this.metadataCache.getVersions(artifactPath, expectedVersions,
+                            context.getListener());
+                    metadataAvailable = recordedVersions != null;
+                }
+                if (metadataAvailable && recordedVersions.contains(expectedVersion)) {
+                    versions.add(expectedVersion);
+                    continue;
+                }
+            }
+
+            if (doesVersionExist(context, groupId, artifactId, expectedVersion)) {
                 versions.add(expectedVersion);
             }
         }
         return versions.size() == 0 ? new String[]{} : versions.toArray(new String[0]);
     }
 
+    /**
+     * <p>Gets the latest in the local maven repository existing version of a specific artifact of a specific group.</p>
+     * <p>
+     * The versions are ordered like maven orders them (see {@link MavenVersion}), including snapshots. Instead of
+     * validating every version, the versions are checked from the latest to the oldest until an existing one is found.
+     * </p>
+     *
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @return the latest version or {@code null} if no versions are available
+     */
+    public String getLatestVersion(String groupId, String artifactId) {
+        long started = startQuery();
+        return completeQuery("getLatestVersion", started,
+                getLatestVersion(createContext(), groupId, artifactId, false));
+    }
+
+    /**
+     * Gets the latest in the local maven repository existing release (i.e. no snapshot) of a specific artifact of a
+     * specific group.
+     *
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @return the latest release or {@code null} if no releases are available
+     * @see #getLatestVersion(String, String)
+     */
+    public String getLatestRelease(String groupId, String artifactId) {
+        long started = startQuery();
+        return completeQuery("getLatestRelease", started, getLatestVersion(createContext(), groupId, artifactId, true));
+    }
+
+    /**
+     * Gets the latest existing version of a specific artifact of a specific group.
+     *
+     * @param context     the context remembering the already listed directories
+     * @param groupId     the id of the group as specified in the {@code <groupId></groupId>} element of the
+     *                    respective pom.xml file of the project
+     * @param artifactId  the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                    respective pom.xml file of the project
+     * @param releaseOnly {@code true} if snapshots are skipped, {@code false} if not
+     * @return the latest version or {@code null} if no versions are available
+     */
+    String getLatestVersion(TraversalContext context, String groupId, String artifactId, boolean releaseOnly) {
+        if (!doesArtifactFolderExist(context, groupId, artifactId)) {
+            return null;
+        }
+
+        // check the versions from the latest to the oldest until an existing one is found
+        Path artifactPath = getExpectedArtifactPath(groupId, artifactId);
+        MavenVersion[] versions = context.getListing(artifactPath).getSortedVersions();
+        for (int i = versions.length - 1; i >= 0; i--) {
+            if (releaseOnly && versions[i].isSnapshot()) {
+                continue;
+            }
+            if (context.getListing(artifactPath.resolve(versions[i].toString()))
+                    .isValidVersion(artifactId, versions[i].toString())) {
+                return versions[i].toString();
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * <p>
+     * Gets all in the local maven repository existing versions of a specific artifact of a specific group within a
+     * version range, e.g. {@code [1.0,2.0)} (see {@link VersionRange}).
+     * </p>
+     * <p>
+     * The versions of the artifact are kept sorted together with the cached listing of its folder. The bounds of the
+     * range are located by binary search and only the versions within the range are validated.
+     * </p>
+     *
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @param range      the specification of the version range
+     * @return {@code String Array} with all versions within the range in ascending order or an empty
+     * {@code String Array} if no versions are available
+     * @throws IllegalArgumentException if the version range is malformed
+     */
+    public String[] getVersionsInRange(String groupId, String artifactId, String range) {
+        long started = startQuery();
+        return completeQuery("getVersionsInRange", started,
+                getVersionsInRange(createContext(), groupId, artifactId, VersionRange.parse(range)));
+    }
+
+    /**
+     * Gets all existing versions of a specific artifact of a specific group within a version range.
+     *
+     * @param context    the context remembering the already listed directories
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @param range      the version range
+     * @return {@code String Array} with all versions within the range in ascending order or an empty
+     * {@code String Array} if no versions are available
+     */
+    String[] getVersionsInRange(TraversalContext context, String groupId, String artifactId, VersionRange range) {
+        if (!doesArtifactFolderExist(context, groupId, artifactId)) {
+            return new String[]{};
+        }
+
+        // locate the versions within the range
+        Path artifactPath = getExpectedArtifactPath(groupId, artifactId);
+        MavenVersion[] versions = context.getListing(artifactPath).getSortedVersions();
+        boolean[] inRange = new boolean[versions.length];
+        for (VersionRange.Restriction restriction : range.getRestrictions()) {
+            int toIndex = restriction.getToIndex(versions);
+            for (int i = restriction.getFromIndex(versions); i < toIndex; i++) {
+                inRange[i] = true;
+            }
+        }
+
+        // check whether the versions within the range exist
+        List<String> existingVersions = new ArrayList<String>();
+        for (int i = 0; i < versions.length; i++) {
+            if (inRange[i] && context.getListing(artifactPath.resolve(versions[i].toString()))
+                    .isValidVersion(artifactId, versions[i].toString())) {
+                existingVersions.add(versions[i].toString());
+            }
+        }
+        return existingVersions.toArray(new String[0]);
+    }
+
+    /**
+     * <p>
+     * Gets the packaging, the parent, the properties and the declared and managed dependencies of a specific version
+     * of a specific artifact of a specific group, read from its pom.xml file.
+     * </p>
+     * <p>
+     * The pom.xml file is read by a streaming parser that skips the content of the build, reporting and profiles
+     * sections. The result is cached together with the modification time of the file, so the file is only parsed
+     * again after it has been modified.
+     * </p>
+     *
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @param version    the version of the artifact as specified in the {@code <version></version>} element of the
+     *                   respective pom.xml file of the project
+     * @return the fields of the pom.xml file or {@code null} if the version does not exist, has no pom.xml file or
+     * the pom.xml file cannot be parsed
+     */
+    public PomInfo getPomInfo(String groupId, String artifactId, String version) {
+        long started = startQuery();
+        return completeQuery("getPomInfo", started, getPomInfo(createContext(), groupId, artifactId, version));
+    }
+
+    /**
+     * Gets the fields of the pom.xml file of a specific version of a specific artifact of a specific group.
+     *
+     * @param context    the context remembering the already listed directories
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @param version    the version of the artifact as specified in the {@code <version></version>} element of the
+     *                   respective pom.xml file of the project
+     * @return the fields of the pom.xml file or {@code null} if the version does not exist, has no pom.xml file or
+     * the pom.xml file cannot be parsed
+     * @see #getPomInfo(String, String, String)
+     */
+    PomInfo getPomInfo(TraversalContext context, String groupId, String artifactId, String version) {
+        // check whether the version exists
+        if (!doesVersionExist(context, groupId, artifactId, version)) {
+            return null;
+        }
+
+        // -> version exists, its pom.xml file may still be missing (e.g. if only a jar has been installed)
+
+        return this.pomCache.get(getExpectedVersionPath(groupId, artifactId, version)
+                .resolve(artifactId + "-" + version + ".pom"), context.getListener());
+    }
+
+    /**
+     * Gets the remote repositories the files of a specific version have been downloaded from, as recorded by maven in
+     * the '_remote.repositories' file of the version folder.
+     *
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @param version    the version of the artifact as specified in the {@code <version></version>} element of the
+     *                   respective pom.xml file of the project
+     * @return the id of the remote repository (e.g. 'central') by the name of the file (e.g. 'junit-4.12.jar'), an
+     * empty id for files installed locally, or an empty map if the version does not exist or has no
+     * '_remote.repositories' file
+     */
+    public Map<String, String> getRemoteRepositories(String groupId, String artifactId, String version) {
+        long started = startQuery();
+        return completeQuery("getRemoteRepositories", started,
+                getRemoteRepositories(createContext(), groupId, artifactId, version));
+    }
+
+    /**
+     * Gets the remote repositories the files of a specific version have been downloaded from.
+     *
+     * @param context    the context remembering the already listed directories
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @param version    the version of the artifact as specified in the {@code <version></version>} element of the
+     *                   respective pom.xml file of the project
+     * @return the id of the remote repository by the name of the file or an empty map
+     * @see #getRemoteRepositories(String, String, String)
+     */
+    Map<String, String> getRemoteRepositories(TraversalContext context, String groupId, String artifactId,
+                                              String version) {
+        // check whether the version exists and has a '_remote.repositories' file
+        Path versionPath = getExpectedVersionPath(groupId, artifactId, version);
+        if (!doesVersionExist(context, groupId, artifactId, version)
+                || !doesArrayContain(context.getFiles(versionPath), MetadataParser.REMOTE_REPOSITORIES)) {
+            return Collections.emptyMap();
+        }
+
+        // -> file exists
+
+        Path file = versionPath.resolve(MetadataParser.REMOTE_REPOSITORIES);
+        if (context.getListener() != null) {
+            context.getListener().fileRead(file);
+        }
+        try {
+            return Collections.unmodifiableMap(MetadataParser.readRemoteRepositories(file));
+        } catch (IOException e) {
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Computes the transitive dependencies of a specific version from the local maven repository only, resolving the
+     * dependencies of every level of the dependency graph in parallel using as many threads as there are available
+     * processors.
+     *
+     * @param root the coordinate of the version
+     * @return the existing and the missing dependencies of the version
+     * @see #resolveDependencyClosure(ArtifactCoordinate, int)
+     */
+    public DependencyClosure resolveDependencyClosure(ArtifactCoordinate root) {
+        return resolveDependencyClosure(root, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * <p>
+     * Computes the transitive dependencies of a specific version from the local maven repository only, e.g. to check
+     * whether a project can be built offline. Parents, properties, the dependency management and imported bills of
+     * materials are taken into account, conflicting versions are mediated like by maven (the nearest declaration
+     * wins). Profiles are not evaluated.
+     * </p>
+     * <p>
+     * The effective models of the pom.xml files are kept by the reader and reused by later calls, so computing the
+     * closures of several versions sharing dependencies only reads every pom.xml file once. The kept models are
+     * dropped whenever the cache of this reader has been modified or is older than the time to live of the cache.
+     * </p>
+     *
+     * @param root        the coordinate of the version
+     * @param parallelism the number of threads resolving the dependencies of a level of the dependency graph
+     * @return the existing and the missing dependencies of the version
+     */
+    public DependencyClosure resolveDependencyClosure(ArtifactCoordinate root, int parallelism) {
+        long started = startQuery();
+        return completeQuery("resolveDependencyClosure", started, getDependencyResolver().resolve(root, parallelism));
+    }
+
+    /**
+     * Gets the resolver of transitive dependencies, creating a new one if a group, artifact or version may have been
+     * added or removed since the current one has been created.
+     *
+     * @return the resolver of transitive dependencies
+     */
+    synchronized DependencyResolver getDependencyResolver() {
+        // check whether the kept models are still up to date
+        long timeToLive = this.cache.getTimeToLiveNanos();
+        if (this.dependencyResolver == null
+                || this.dependencyResolverModificationCount != this.cache.getStructureModificationCount()
+                || (timeToLive > 0 && System.nanoTime() - this.dependencyResolverCreated > timeToLive)) {
+            this.dependencyResolverModificationCount = this.cache.getStructureModificationCount();
+            this.dependencyResolverCreated = System.nanoTime();
+            this.dependencyResolver = new DependencyResolver(this);
+        }
+
+        return this.dependencyResolver;
+    }
+
+    /**
+     * <p>Lazily streams all in the local maven repository existing artifacts of a specific group.</p>
+     * <p>
+     * In contrast to {@link #getArtifactsOfGroup(String)}, the folder of the group is read entry by entry while the
+     * stream is consumed and an artifact is considered existing as soon as its first existing version has been found.
+     * Hence operations like {@code findFirst()}, {@code anyMatch(...)} or {@code limit(...)} stop reading the
+     * repository as soon as the answer is known. The stream neither uses nor fills the cache of this reader, so its
+     * memory consumption does not depend on the size of the repository.
+     * </p>
+     * <p>The returned stream must be closed, e.g. using a try-with-resources statement.</p>
+     *
+     * @param groupId the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                pom.xml file of the project
+     * @return a stream of the ids of all artifacts of the specified group or an empty stream if the group does not
+     * exist
+     */
+    public Stream<String> streamArtifactsOfGroup(String groupId) {
+        return DirectoryListing.streamDirectories(getExpectedGroupPath(groupId))
+                .filter(artifactId -> {
+                    try (Stream<ArtifactCoordinate> versions = streamArtifactVersions(groupId, artifactId)) {
+                        return versions.findAny().isPresent();
+                    }
+                });
+    }
+
+    /**
+     * <p>
+     * Lazily streams all in the local maven repository existing versions of a specific artifact of a specific group.
+     * </p>
+     * <p>
+     * In contrast to {@link #getArtifactVersions(String, String)}, the folder of the artifact is read entry by entry
+     * while the stream is consumed and each version is validated only when it is reached. Hence operations like
+     * {@code findFirst()}, {@code anyMatch(...)} or {@code limit(...)} stop reading the repository as soon as the
+     * answer is known. The stream neither uses nor fills the cache of this reader.
+     * </p>
+     * <p>The returned stream must be closed, e.g. using a try-with-resources statement.</p>
+     *
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @return a stream of the coordinates of all versions of the specified artifact or an empty stream if the artifact
+     * does not exist
+     */
+    public Stream<ArtifactCoordinate> streamArtifactVersions(String groupId, String artifactId) {
+        Path artifactPath = getExpectedArtifactPath(groupId, artifactId);
+        return DirectoryListing.streamDirectories(artifactPath)
+                .filter(version -> DirectoryListing.isValidVersionFolder(artifactPath.resolve(version), artifactId,
+                        version))
+                .map(version -> new ArtifactCoordinate(groupId, artifactId, version));
+    }
+
+    /**
+     * <p>Resolves many coordinates of versions of artifacts at once, e.g. all dependencies of a project.</p>
+     * <p>
+     * In contrast to calling {@link #doesVersionExist(String, String, String)} for each coordinate, the coordinates
+     * are grouped by their group id and artifact id first, so the folder of every group and artifact is only looked up
+     * once. Besides whether a version exists, the resolution tells why it does not exist.
+     * </p>
+     *
+     * @param coordinates the coordinates to resolve
+     * @return the resolution of every distinct coordinate in the order of the given collection
+     * @see #resolveAll(Collection, int)
+     */
+    public Map<ArtifactCoordinate, Resolution> resolveAll(Collection<ArtifactCoordinate> coordinates) {
+        return resolveAll(coordinates, 1);
+    }
+
+    /**
+     * Resolves many coordinates of versions of artifacts at once, resolving independent groups in parallel.
+     *
+     * @param coordinates the coordinates to resolve
+     * @param parallelism the number of threads used to resolve independent groups, {@code 1} resolves all groups in
+     *                    the calling thread
+     * @return the resolution of every distinct coordinate in the order of the given collection
+     * @see #resolveAll(Collection)
+     */
+    public Map<ArtifactCoordinate, Resolution> resolveAll(Collection<ArtifactCoordinate> coordinates,
+                                                          int parallelism) {
+        long started = startQuery();
+        return completeQuery("resolveAll", started, new BatchResolver(this, parallelism).resolve(coordinates));
+    }
+
+    /**
+     * Gets the coordinates of all existing versions of all artifacts in the local maven repository. The repository is
+     * walked in parallel using as many threads as there are available processors.
+     *
+     * @return the coordinates of all existing versions in no particular order
+     * @see #scanAll(int)
+     */
+    public List<ArtifactCoordinate> scanAll() {
+        return scanAll(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * <p>
+     * Gets the coordinates of all existing versions of all artifacts in the local maven repository. The repository is
+     * walked in parallel by a fork join pool, starting with one task per top-level group directory.
+     * </p>
+     * <p>
+     * A version is considered existing under the same conditions as in
+     * {@link #doesVersionExist(String, String, String)}, i.e. its folder has to contain a file named after the artifact
+     * and the version. The walk does not descend into such folders and neither uses nor fills the cache of this
+     * reader.
+     * </p>
+     *
+     * @param parallelism the number of threads used to walk the repository
+     * @return the coordinates of all existing versions in no particular order
+     */
+    public List<ArtifactCoordinate> scanAll(int parallelism) {
+        return new RepositoryScanner(this.repository, parallelism).scan();
+    }
+
+    /**
+     * <p>
+     * Takes an inventory of all version folders of the local maven repository, e.g. to find large, stale or failed
+     * downloads. The repository is walked in parallel like by {@link #scanAll(int)}, reading the size and the
+     * modification time of every file.
+     * </p>
+     * <p>
+     * The inventory of every version folder (its files with their size, modification time, classifier, extension and
+     * checksum files) is passed to the consumer as soon as the folder has been read. Folders that are not considered
+     * existing are reported as well, folders only containing '.lastUpdated' files are flagged as purge candidates. The
+     * inventories are not kept, only the disk usage per group is returned. The walk neither uses nor fills the cache
+     * of this reader.
+     * </p>
+     *
+     * @param parallelism the number of threads used to walk the repository
+     * @param consumer    the consumer of the inventories of the version folders, which is called concurrently by
+     *                    several threads and hence must be thread-safe
+     * @return the disk usage of the repository aggregated per group
+     */
+    public RepositoryInventory takeInventory(int parallelism, Consumer<VersionInventory> consumer) {
+        return new InventoryScanner(this.repository, parallelism).scan(consumer);
+    }
+
+    /**
+     * <p>
+     * Verifies all artifact files of all version folders of the local maven repository against their checksum files
+     * ({@code .sha512}, {@code .sha256}, {@code .sha1} or {@code .md5}, the strongest one present is used). The
+     * version folders are verified in parallel while the repository is walked like by
+     * {@link #takeInventory(int, Consumer)}. Files are read by mapping them into memory.
+     * </p>
+     * <p>
+     * If a state is given, files that have been verified successfully before and whose size and modification time
+     * have not changed since are skipped. The state is updated with the files verified by this call and can be saved
+     * for the next run.
+     * </p>
+     *
+     * @param parallelism the number of threads used to walk the repository and to verify the files
+     * @param state       the files verified before or {@code null} to verify all files
+     * @return the files whose content does not match their checksum and the throughput of the verification
+     */
+    public VerificationReport verifyChecksums(int parallelism, VerificationState state) {
+        return new ChecksumVerifier(this.repository, parallelism, state).verify();
+    }
+
+    /**
+     * Builds an in-memory index of the local maven repository by walking all its directories once. The index answers
+     * the same queries as this class without accessing the disk again.
+     *
+     * @return the index of the local maven repository
+     * @throws IOException if the local maven repository could not be walked
+     */
+    public RepositoryIndex buildIndex() throws IOException {
+        return RepositoryIndex.build(this.repository);
+    }
+
+    /**
+     * Loads the index of the local maven repository from a snapshot file, which is created if it does not exist yet.
+     * Only the directories modified since the snapshot has been taken are listed again. If anything has changed, the
+     * snapshot file is updated, so the next call starts from the current state of the repository.
+     *
+     * @param snapshot the path to the snapshot file
+     * @return the up to date index of the local maven repository
+     * @throws IOException if the local maven repository could not be walked or the snapshot file could not be written
+     */
+    public RepositoryIndex loadIndex(Path snapshot) throws IOException {
+        RepositoryIndex index = RepositoryIndex.load(this.repository, snapshot);
+        if (index.getRelistedDirectoryCount() != 0) {
+            index.save(snapshot);
+        }
+
+        return index;
+    }
+
+    /**
+     * <p>Gets the versions that have been added, removed or changed since a snapshot of the index has been taken.</p>
+     * <p>
+     * The snapshot file is brought up to date (see {@link #loadIndex(Path)}), so calling this method repeatedly with
+     * the same snapshot file yields a feed of the changes between the calls. Only the directories modified in the
+     * meantime are listed and compared. If the snapshot file does not exist yet, it is created and all existing
+     * versions are reported as added.
+     * </p>
+     *
+     * @param snapshot the path to the snapshot file
+     * @return a stream of the changes
+     * @throws IOException if the local maven repository could not be walked or the snapshot file could not be written
+     * @see RepositoryIndex#diff(RepositoryIndex)
+     */
+    public Stream<RepositoryChange> streamChanges(Path snapshot) throws IOException {
+        RepositoryIndex previous = RepositoryIndex.read(this.repository, snapshot);
+
+        return loadIndex(snapshot).diff(previous);
+    }
+
     /**
      * Checks whether the folder of a specific group exists.
      *
+     * @param context the context remembering the already listed directories
      * @param groupId the id of the group as specified in the {@code <groupId></groupId>} element of the respective
      *                pom.xml file of the project
      * @return {@code true} if the folder exists, {@code false} if not
      */
-    static boolean doesGroupFolderExist(String groupId) {
-        String nonExistingSubGroup = getNonExistingSubGroup(groupId);
+    boolean doesGroupFolderExist(TraversalContext context, String groupId) {
+        String nonExistingSubGroup = getNonExistingSubGroup(context, groupId);
 
         return nonExistingSubGroup == null;
     }
@@ -213,23 +1336,25 @@ public class LocalMavenRepositoryReader {
     /**
      * Checks whether the folder of a specific artifact exists.
      *
+     * @param context    the context remembering the already listed directories
      * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
      *                   pom.xml file of the project
      * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
      *                   respective pom.xml file of the project
      * @return {@code true} if the folder exists, {@code false} if not
      */
-    static boolean doesArtifactFolderExist(String groupId, String artifactId) {
-        if (!doesGroupFolderExist(groupId)) {
+    boolean doesArtifactFolderExist(TraversalContext context, String groupId, String artifactId) {
+        if (!doesGroupFolderExist(context, groupId)) {
             return false;
         }
 
-        return doesDirectoryContainSubDirectory(getExpectedGroupPath(groupId), artifactId);
+        return doesDirectoryContainSubDirectory(context, getExpectedGroupPath(groupId), artifactId);
     }
 
     /**
      * Checks whether the folder of a specific version of a specific artifact exists.
      *
+     * @param context    the context remembering the already listed directories
      * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
      *                   pom.xml file of the project
      * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
@@ -238,12 +1363,12 @@ public class LocalMavenRepositoryReader {
      *                   respective pom.xml file of the project
      * @return {@code true} if the folder exists, {@code false} if not
      */
-    static boolean doesVersionFolderExist(String groupId, String artifactId, String version) {
-        if (!doesArtifactFolderExist(groupId, artifactId)) {
+    boolean doesVersionFolderExist(TraversalContext context, String groupId, String artifactId, String version) {
+        if (!doesArtifactFolderExist(context, groupId, artifactId)) {
             return false;
         }
 
-        return doesDirectoryContainSubDirectory(getExpectedArtifactPath(groupId, artifactId), version);
+        return doesDirectoryContainSubDirectory(context, getExpectedArtifactPath(groupId, artifactId), version);
     }
 
     /**
@@ -254,8 +1379,13 @@ public class LocalMavenRepositoryReader {
      *                pom.xml file of the project
      * @return the expected path to the specified group
      */
-    static String getExpectedGroupPath(String groupId) {
-        return LocalMavenRepositoryReader.LOCAL_MAVEN_REPOSITORY + "\\" + groupId.replaceAll("\\.", "\\\\");
+    Path getExpectedGroupPath(String groupId) {
+        Path groupPath = this.repository;
+        for (String subGroup : groupId.split("\\.")) {
+            groupPath = groupPath.resolve(subGroup);
+        }
+
+        return groupPath;
     }
 
     /**
@@ -268,8 +1398,8 @@ public class LocalMavenRepositoryReader {
      *                   respective pom.xml file of the project
      * @return the expected path to the specified artifact
      */
-    static String getExpectedArtifactPath(String groupId, String artifactId) {
-        return getExpectedGroupPath(groupId) + "\\" + artifactId;
+    Path getExpectedArtifactPath(String groupId, String artifactId) {
+        return getExpectedGroupPath(groupId).resolve(artifactId);
     }
 
     /**
@@ -284,89 +1414,57 @@ public class LocalMavenRepositoryReader {
      *                   respective pom.xml file of the project
      * @return the expected path to the specified version of the specified artifact
      */
-    static String getExpectedVersionPath(String groupId, String artifactId, String version) {
-        return getExpectedArtifactPath(groupId, artifactId) + "\\" + version;
+    Path getExpectedVersionPath(String groupId, String artifactId, String version) {
+        return getExpectedArtifactPath(groupId, artifactId).resolve(version);
     }
 
     /**
-     * Checks whether a directory contains a specific sub directory.
+     * Gets the start time of a query if a listener is set.
      *
-     * @param pathToDirectory the path to the directory to search for a specific sub directory
-     * @param subDirectory    the sub directory to search within the given directory
-     * @return {@code true} if the given directory contains the specified sub directory, {@code false} if not
+     * @return the current value of {@link System#nanoTime()} or {@code 0} if no listener is set
      */
-    private static boolean doesDirectoryContainSubDirectory(String pathToDirectory, String subDirectory) {
-        return doesArrayContain(getDirectories(pathToDirectory), subDirectory);
+    private long startQuery() {
+        return this.listener == null ? 0 : System.nanoTime();
     }
 
     /**
-     * Gets all directories located at a specific path.
+     * Notifies the listener (if any) about a completed query.
      *
-     * @param path the path to get all directories from
-     * @return a {@code String Array} with all directories located at the specified path
+     * @param method  the name of the method of the query
+     * @param started the start time of the query returned by {@link #startQuery()}
+     * @param result  the result of the query
+     * @param <T>     the type of the result
+     * @return the result of the query
      */
-    private static String[] getDirectories(String path) {
-        return new File(path).list(
-                new FilenameFilter() {
-                    public boolean accept(File current, String name) {
-                        return new File(current, name).isDirectory();
-                    }
-                }
-        );
-    }
+    private <T> T completeQuery(String method, long started, T result) {
+        RepositoryListener listener = this.listener;
+        if (listener != null && started != 0) {
+            listener.queryCompleted(method, System.nanoTime() - started);
+        }
 
-    /**
-     * Gets all files located at a specific path.
-     *
-     * @param path the path to get all files from
-     * @return a {@code String Array} with all files located at the specified path
-     */
-    private static String[] getFiles(String path) {
-        return new File(path).list(
-                new FilenameFilter() {
-                    public boolean accept(File current, String name) {
-                        return new File(current, name).isFile();
-                    }
-                }
-        );
+        return result;
     }
 
     /**
-     * Gets all {@code String}s of a {@code String Array} having a specific ending.
+     * Creates a new traversal context for a single query of the local maven repository.
      *
-     * @param strings the {@code String}s to search through
-     * @param ending  the ending a {@code String} needs to have
-     * @return {@code String Array} with all {@code String}s having the specified ending or an empty
-     * {@code String Array} if no {@code String} has the specified ending
+     * @return a new traversal context backed by the cache of this reader
      */
-    static String[] getStringsWithEnding(String[] strings, String ending) {
-        List<String> stringsWithEnding = new ArrayList<String>();
-        for (String string : strings) {
-            if (string.endsWith(ending)) {
-                stringsWithEnding.add(string);
-            }
-        }
-
-        return stringsWithEnding.toArray(new String[0]);
+    TraversalContext createContext() {
+        return new TraversalContext(this.cache, this.watcher, this.listener);
     }
 
     /**
-     * Gets all {@code String}s of a {@code String Array} having not a specific ending.
+     * Checks whether a directory contains a specific sub directory.
      *
-     * @param strings the {@code String}s to search through
-     * @param ending  the ending a {@code String} does not need to have
-     * @return {@code String Array} with all {@code String}s not having the specified ending or an empty
-     * {@code String Array} if all {@code String}s have the specified ending
+     * @param context      the context remembering the already listed directories
+     * @param directory    the directory to search for a specific sub directory
+     * @param subDirectory the sub directory to search within the given directory
+     * @return {@code true} if the given directory contains the specified sub directory, {@code false} if not
      */
-    static String[] getStringsWithDifferentEnding(String[] strings, String ending) {
-        List<String> stringsWithDifferentEnding = new ArrayList<String>();
-        for (String string : strings) {
-            if (!string.endsWith(ending)) {
-                stringsWithDifferentEnding.add(string);
-            }
-        }
-
-        return stringsWithDifferentEnding.toArray(new String[0]);
+    private static boolean doesDirectoryContainSubDirectory(TraversalContext context, Path directory,
+                                                            String subDirectory) {
+        return doesArrayContain(context.getDirectories(directory), subDirectory);
     }
 
     /**
@@ -0,0 +1,420 @@
+package ch.scheitlin.alex.maven;
+
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <p>A version of an artifact, ordered like maven orders versions.</p>
+ * <p>
+ * The ordering follows the semantics of maven's {@code ComparableVersion}. A version is split into numeric and textual
+ * items at every '.', at every '-' and at every transition between digits and letters. Numbers are compared
+ * numerically and qualifiers are ordered as follows:
+ * </p>
+ * <ul>
+ * <li>{@code alpha} (or {@code a} followed by a digit)</li>
+ * <li>{@code beta} (or {@code b} followed by a digit)</li>
+ * <li>{@code milestone} (or {@code m} followed by a digit)</li>
+ * <li>{@code rc} or {@code cr}</li>
+ * <li>{@code snapshot}</li>
+ * <li>no qualifier, {@code ga}, {@code final} or {@code release}</li>
+ * <li>{@code sp}</li>
+ * <li>all other qualifiers in alphabetical order</li>
+ * </ul>
+ * <p>
+ * Trailing zeros and empty qualifiers are ignored, hence {@code 1}, {@code 1.0}, {@code 1.0.0} and {@code 1-ga} are
+ * equal. Qualifiers are case-insensitive.
+ * </p>
+ */
+public final class MavenVersion implements Comparable<MavenVersion> {
+    private static final String SNAPSHOT_ENDING = "-SNAPSHOT";
+
+    private final String value;
+    private final ListItem items;
+
+    /**
+     * Creates a new version by parsing its textual representation.
+     *
+     * @param value the version as specified in the {@code <version></version>} element of the respective pom.xml
+     *              file of the project
+     */
+    public MavenVersion(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("The version must not be null.");
+        }
+
+        this.value = value;
+        this.items = parse(value);
+    }
+
+    /**
+     * Checks whether the version is a snapshot, i.e. it ends with {@code -SNAPSHOT} or is a timestamped snapshot like
+     * {@code 1.0-20240101.123456-1}.
+     *
+     * @return {@code true} if the version is a snapshot, {@code false} if it is a release
+     */
+    public boolean isSnapshot() {
+        if (this.value.regionMatches(true, this.value.length() - SNAPSHOT_ENDING.length(), SNAPSHOT_ENDING, 0,
+                SNAPSHOT_ENDING.length())) {
+            return true;
+        }
+
+        // check whether the version ends with a timestamp and a build number (-yyyyMMdd.HHmmss-n)
+        int buildNumberStart = this.value.lastIndexOf('-');
+        int timestampStart = buildNumberStart > 0 ? this.value.lastIndexOf('-', buildNumberStart - 1) : -1;
+        if (timestampStart < 0 || buildNumberStart == this.value.length() - 1) {
+            return false;
+        }
+        String timestamp = this.value.substring(timestampStart + 1, buildNumberStart);
+        return timestamp.length() == 15 && timestamp.charAt(8) == '.'
+                && isNumeric(timestamp.substring(0, 8)) && isNumeric(timestamp.substring(9))
+                && isNumeric(this.value.substring(buildNumberStart + 1));
+    }
+
+    @Override
+    public int compareTo(MavenVersion other) {
+        return this.items.compareTo(other.items);
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof MavenVersion)) {
+            return false;
+        }
+
+        return compareTo((MavenVersion) object) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return this.items.toString().hashCode();
+    }
+
+    /**
+     * Gets the version as it has been parsed.
+     *
+     * @return the textual representation of the version
+     */
+    @Override
+    public String toString() {
+        return this.value;
+    }
+
+    /**
+     * Checks whether a {@code String} only consists of digits.
+     *
+     * @param value the {@code String} to check
+     * @return {@code true} if the {@code String} is not empty and only consists of digits, {@code false} if not
+     */
+    private static boolean isNumeric(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Splits a version into its items.
+     *
+     * @param version the version to split
+     * @return the items of the version
+     */
+    private static ListItem parse(String version) {
+        version = version.toLowerCase(Locale.ENGLISH);
+
+        ListItem items = new ListItem();
+        ListItem list = items;
+        Deque<ListItem> stack = new ArrayDeque<ListItem>();
+        stack.push(list);
+
+        boolean isDigit = false;
+        int startIndex = 0;
+        for (int i = 0; i < version.length(); i++) {
+            char c = version.charAt(i);
+            if (c == '.') {
+                list.add(i == startIndex ? IntItem.ZERO : parseItem(isDigit, version.substring(startIndex, i)));
+                startIndex = i + 1;
+            } else if (c == '-') {
+                list.add(i == startIndex ? IntItem.ZERO : parseItem(isDigit, version.substring(startIndex, i)));
+                startIndex = i + 1;
+
+                // everything after a '-' is a sub list
+                ListItem subList = new ListItem();
+                list.add(subList);
+                list = subList;
+                stack.push(list);
+            } else if (Character.isDigit(c)) {
+                // check whether a qualifier ends, e.g. 'rc' in 'rc1'
+                if (!isDigit && i > startIndex) {
+                    list.add(new StringItem(version.substring(startIndex, i), true));
+                    startIndex = i;
+
+                    ListItem subList = new ListItem();
+                    list.add(subList);
+                    list = subList;
+                    stack.push(list);
+                }
+                isDigit = true;
+            } else {
+                // check whether a number ends, e.g. '1' in '1rc'
+                if (isDigit && i > startIndex) {
+                    list.add(parseItem(true, version.substring(startIndex, i)));
+                    startIndex = i;
+
+                    ListItem subList = new ListItem();
+                    list.add(subList);
+                    list = subList;
+                    stack.push(list);
+                }
+                isDigit = false;
+            }
+        }
+        if (version.length() > startIndex) {
+            list.add(parseItem(isDigit, version.substring(startIndex)));
+        }
+
+        // remove trailing null items from the innermost list first
+        while (!stack.isEmpty()) {
+            stack.pop().normalize();
+        }
+
+        return items;
+    }
+
+    /**
+     * Parses a single item of a version.
+     *
+     * @param isDigit {@code true} if the item only consists of digits, {@code false} if it is a qualifier
+     * @param value   the item to parse
+     * @return the parsed item
+     */
+    private static Item parseItem(boolean isDigit, String value) {
+        return isDigit ? new IntItem(value) : new StringItem(value, false);
+    }
+
+    /**
+     * A single item of a version.
+     */
+    private interface Item {
+        /**
+         * Compares the item with another item.
+         *
+         * @param item the item to compare with or {@code null} if the other version has no more items
+         * @return a negative number, zero or a positive number if this item is smaller, equal or greater
+         */
+        int compareTo(Item item);
+
+        /**
+         * Checks whether the item is equal to a missing item, e.g. {@code 0} or an empty qualifier.
+         *
+         * @return {@code true} if the item can be ignored at the end of a version, {@code false} if not
+         */
+        boolean isNull();
+    }
+
+    /**
+     * A numeric item of a version.
+     */
+    private static class IntItem implements Item {
+        static final IntItem ZERO = new IntItem("0");
+
+        private final BigInteger value;
+
+        /**
+         * Creates a new numeric item.
+         *
+         * @param value the digits of the item
+         */
+        IntItem(String value) {
+            this.value = new BigInteger(value);
+        }
+
+        @Override
+        public int compareTo(Item item) {
+            if (item == null) {
+                // 1.0 == 1, 1.1 > 1
+                return this.value.signum() == 0 ? 0 : 1;
+            }
+            if (item instanceof IntItem) {
+                return this.value.compareTo(((IntItem) item).value);
+            }
+
+            // 1.1 > 1-sp and 1.1 > 1-1
+            return 1;
+        }
+
+        @Override
+        public boolean isNull() {
+            return this.value.signum() == 0;
+        }
+
+        @Override
+        public String toString() {
+            return this.value.toString();
+        }
+    }
+
+    /**
+     * A textual item (qualifier) of a version.
+     */
+    private static class StringItem implements Item {
+        private static final List<String> QUALIFIERS =
+                Arrays.asList("alpha", "beta", "milestone", "rc", "snapshot", "", "sp");
+        private static final String RELEASE_VERSION_INDEX = String.valueOf(QUALIFIERS.indexOf(""));
+
+        private final String value;
+
+        /**
+         * Creates a new textual item.
+         *
+         * @param value           the qualifier
+         * @param followedByDigit {@code true} if the qualifier is directly followed by a digit (e.g. {@code a1}),
+         *                        which makes single letters an abbreviation of a known qualifier
+         */
+        StringItem(String value, boolean followedByDigit) {
+            if (followedByDigit && value.length() == 1) {
+                switch (value.charAt(0)) {
+                    case 'a':
+                        value = "alpha";
+                        break;
+                    case 'b':
+                        value = "beta";
+                        break;
+                    case 'm':
+                        value = "milestone";
+                        break;
+                    default:
+                        break;
+                }
+            }
+
+            // resolve aliases
+            if (value.equals("ga") || value.equals("final") || value.equals("release")) {
+                value = "";
+            } else if (value.equals("cr")) {
+                value = "rc";
+            }
+            this.value = value;
+        }
+
+        /**
+         * Gets a key of the qualifier that can be compared lexically. Known qualifiers are mapped to their position,
+         * unknown qualifiers are placed after all known qualifiers.
+         *
+         * @param qualifier the qualifier
+         * @return the comparable key of the qualifier
+         */
+        private static String getComparableQualifier(String qualifier) {
+            int index = QUALIFIERS.indexOf(qualifier);
+
+            return index == -1 ? QUALIFIERS.size() + "-" + qualifier : String.valueOf(index);
+        }
+
+        @Override
+        public int compareTo(Item item) {
+            if (item == null) {
+                // 1-rc < 1, 1-ga == 1, 1-sp > 1
+                return getComparableQualifier(this.value).compareTo(RELEASE_VERSION_INDEX);
+            }
+            if (item instanceof StringItem) {
+                return getComparableQualifier(this.value)
+                        .compareTo(getComparableQualifier(((StringItem) item).value));
+            }
+
+            // 1-sp < 1.1 and 1-sp < 1-1
+            return -1;
+        }
+
+        @Override
+        public boolean isNull() {
+            return getComparableQualifier(this.value).compareTo(RELEASE_VERSION_INDEX) == 0;
+        }
+
+        @Override
+        public String toString() {
+            return this.value;
+        }
+    }
+
+    /**
+     * A list of items, i.e. the whole version or the part after a '-' or a transition between digits and letters.
+     */
+    @SuppressWarnings("serial")
+    private static class ListItem extends ArrayList<Item> implements Item {
+        /**
+         * Removes all null items at the end of the list.
+         */
+        void normalize() {
+            for (int i = size() - 1; i >= 0; i--) {
+                Item item = get(i);
+                if (item.isNull()) {
+                    remove(i);
+                } else if (!(item instanceof ListItem)) {
+                    break;
+                }
+            }
+        }
+
+        @Override
+        public int compareTo(Item item) {
+            if (item == null) {
+                // 1-0 == 1, 1-1 > 1, 1-rc < 1
+                return isEmpty() ? 0 : get(0).compareTo(null);
+            }
+            if (item instanceof IntItem) {
+                // 1-1 < 1.1
+                return -1;
+            }
+            if (item instanceof StringItem) {
+                // 1-1 > 1-sp
+                return 1;
+            }
+
+            // compare the lists item by item
+            ListItem other = (ListItem) item;
+            int size = Math.max(size(), other.size());
+            for (int i = 0; i < size; i++) {
+                Item left = i < size() ? get(i) : null;
+                Item right = i < other.size() ? other.get(i) : null;
+
+                int result = left == null ? (right == null ? 0 : -right.compareTo(null)) : left.compareTo(right);
+                if (result != 0) {
+                    return result;
+                }
+            }
+
+            return 0;
+        }
+
+        @Override
+        public boolean isNull() {
+            return isEmpty();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            for (Item item : this) {
+                if (builder.length() > 0) {
+                    builder.append(item instanceof ListItem ? '-' : '.');
+                }
+                builder.append(item);
+            }
+
+            return builder.toString();
+        }
+    }
+}
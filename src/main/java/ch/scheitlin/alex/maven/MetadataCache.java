@@ -0,0 +1,160 @@
+package ch.scheitlin.alex.maven;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Caches the versions listed by the {@code maven-metadata-local.xml} files of a reader.</p>
+ * <p>
+ * Like in the {@link PomCache}, every entry remembers the modification time and the size of the metadata file at
+ * the time it has been read and the file is read again as soon as it has been replaced. Besides, the metadata file is
+ * considered stale (and hence ignored) if it lists a version whose folder does not exist, i.e. if a version folder has
+ * been deleted without maven updating the metadata file. The modification time of the folder of the artifact is not
+ * compared, as maven modifies the folder whenever it replaces a file within it (by renaming a temporary file).
+ * Version folders missing from the metadata file do not make it stale, as they are checked by the reader anyway.
+ * </p>
+ */
+class MetadataCache {
+    static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private final Map<Path, CachedMetadata> entries;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumSize the maximum number of read metadata files to keep
+     */
+    MetadataCache(final int maximumSize) {
+        this.entries = new LinkedHashMap<Path, CachedMetadata>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, CachedMetadata> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the versions listed by the {@code maven-metadata-local.xml} file of an artifact, reading the file if it is
+     * not cached or has been modified since.
+     *
+     * @param artifactPath   the path to the folder of the artifact
+     * @param versionFolders the names of all sub directories of the folder of the artifact
+     * @param listener       the listener notified about reading the file or {@code null} to notify nobody
+     * @return the listed versions or {@code null} if the metadata file does not exist, cannot be parsed or is stale
+     */
+    Set<String> getVersions(Path artifactPath, String[] versionFolders, RepositoryListener listener) {
+        Set<String> versions = getVersions(artifactPath, listener);
+
+        // check whether a listed version folder has been deleted after the metadata file has been written
+        if (versions == null || !new HashSet<String>(Arrays.asList(versionFolders)).containsAll(versions)) {
+            return null;
+        }
+
+        return versions;
+    }
+
+    /**
+     * Gets the versions listed by the {@code maven-metadata-local.xml} file of an artifact without checking whether
+     * they still exist.
+     *
+     * @param artifactPath the path to the folder of the artifact
+     * @param listener     the listener notified about reading the file or {@code null} to notify nobody
+     * @return the listed versions or {@code null} if the metadata file does not exist or cannot be parsed
+     */
+    private Set<String> getVersions(Path artifactPath, RepositoryListener listener) {
+        Path metadata = artifactPath.resolve(MetadataParser.LOCAL_METADATA);
+        BasicFileAttributes attributes;
+        try {
+            if (listener != null) {
+                listener.fileStatted(metadata);
+            }
+            attributes = Files.readAttributes(metadata, BasicFileAttributes.class);
+        } catch (IOException e) {
+            remove(metadata);
+            return null;
+        }
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        // check whether the file has been read since its last modification
+        CachedMetadata entry;
+        synchronized (this) {
+            entry = this.entries.get(metadata);
+        }
+        if (entry != null && entry.lastModified == lastModified && entry.size == attributes.size()) {
+            return entry.versions;
+        }
+
+        // -> file is not cached or has been modified
+
+        Set<String> versions;
+        try {
+            if (listener != null) {
+                listener.fileRead(metadata);
+            }
+            versions = Collections.unmodifiableSet(new HashSet<String>(MetadataParser.readVersions(metadata)));
+        } catch (IOException e) {
+            remove(metadata);
+            return null;
+        }
+        synchronized (this) {
+            this.entries.put(metadata, new CachedMetadata(lastModified, attributes.size(), versions));
+        }
+
+        return versions;
+    }
+
+    /**
+     * Gets the number of cached metadata files.
+     *
+     * @return the number of entries
+     */
+    synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Removes all cached metadata files.
+     */
+    synchronized void clear() {
+        this.entries.clear();
+    }
+
+    /**
+     * Removes a cached metadata file.
+     *
+     * @param metadata the path to the metadata file
+     */
+    private synchronized void remove(Path metadata) {
+        this.entries.remove(metadata);
+    }
+
+    /**
+     * The versions of a metadata file together with the attributes of the file at the time it has been read.
+     */
+    private static class CachedMetadata {
+        private final long lastModified;
+        private final long size;
+        private final Set<String> versions;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param lastModified the modification time of the file in milliseconds since the epoch
+         * @param size         the size of the file in bytes
+         * @param versions     the versions listed by the file
+         */
+        CachedMetadata(long lastModified, long size, Set<String> versions) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.versions = versions;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package ch.scheitlin.alex.maven;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Reads the files maven writes next to the artifacts it installs or downloads.</p>
+ * <ul>
+ * <li>
+ * {@code maven-metadata-local.xml} in the folder of an artifact lists the versions installed by {@code mvn install}.
+ * </li>
+ * <li>
+ * {@code _remote.repositories} in the folder of a version lists the files of the version together with the id of the
+ * remote repository they have been downloaded from (e.g. {@code junit-4.12.jar>central=}). Files installed locally
+ * have an empty repository id.
+ * </li>
+ * </ul>
+ */
+class MetadataParser {
+    static final String LOCAL_METADATA = "maven-metadata-local.xml";
+    static final String REMOTE_REPOSITORIES = "_remote.repositories";
+
+    private static final String VERSIONS = "metadata/versioning/versions";
+    private static final XMLInputFactory FACTORY = PomParser.createFactory();
+
+    /**
+     * Reads the versions listed by a {@code maven-metadata-local.xml} file.
+     *
+     * @param metadata the path to the metadata file
+     * @return the versions in the order of the file
+     * @throws IOException if the file could not be read or is no well-formed metadata file
+     */
+    static List<String> readVersions(Path metadata) throws IOException {
+        try (InputStream input = Files.newInputStream(metadata)) {
+            XMLStreamReader xml = FACTORY.createXMLStreamReader(input);
+            try {
+                return readVersions(xml);
+            } finally {
+                xml.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not parse '" + metadata + "'.", e);
+        }
+    }
+
+    /**
+     * Extracts the versions from a stream of XML events.
+     *
+     * @param xml the stream of XML events positioned before the root element
+     * @return the versions in the order of the stream
+     * @throws XMLStreamException if the XML is not well-formed or the root element is not {@code <metadata>}
+     */
+    private static List<String> readVersions(XMLStreamReader xml) throws XMLStreamException {
+        List<String> versions = new ArrayList<String>();
+
+        // the path of the current element, e.g. metadata/versioning
+        String path = "";
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                if (path.isEmpty() && !name.equals("metadata")) {
+                    throw new XMLStreamException("Root element is <" + name + "> instead of <metadata>.");
+                }
+
+                // check whether the element is a version
+                if (path.equals(VERSIONS) && name.equals("version")) {
+                    versions.add(xml.getElementText().trim());
+                } else {
+                    path = path.isEmpty() ? name : path + "/" + name;
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (path.equals(VERSIONS)) {
+                    // all versions have been read
+                    break;
+                }
+                int slash = path.lastIndexOf('/');
+                path = slash < 0 ? "" : path.substring(0, slash);
+            }
+        }
+
+        return versions;
+    }
+
+    /**
+     * Reads the remote repositories listed by a {@code _remote.repositories} file.
+     *
+     * @param file the path to the {@code _remote.repositories} file
+     * @return the id of the remote repository of every listed file by the name of the file, an empty id if the file
+     * has been installed locally
+     * @throws IOException if the file could not be read
+     */
+    static Map<String, String> readRemoteRepositories(Path file) throws IOException {
+        Map<String, String> repositories = new LinkedHashMap<String, String>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            // check whether the line is an entry, e.g. junit-4.12.jar>central=
+            line = line.trim();
+            int separator = line.indexOf('>');
+            if (line.startsWith("#") || separator <= 0) {
+                continue;
+            }
+
+            String repository = line.substring(separator + 1);
+            if (repository.endsWith("=")) {
+                repository = repository.substring(0, repository.length() - 1);
+            }
+            repositories.put(line.substring(0, separator), repository);
+        }
+
+        return repositories;
+    }
+}
@@ -0,0 +1,133 @@
+package ch.scheitlin.alex.maven;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>Caches the parsed pom.xml files of a reader.</p>
+ * <p>
+ * Every entry is keyed by the path of the pom.xml file and remembers the modification time and the size of the file
+ * at the time it has been parsed. Before an entry is used, the attributes of the file are read again, so a pom.xml
+ * file that has been replaced (e.g. by downloading the version again) is parsed again. The cache holds a limited
+ * number of entries and evicts the least recently used entry first. Files are parsed outside of the lock, hence
+ * concurrent readers only wait for each other while looking up or storing an entry.
+ * </p>
+ */
+class PomCache {
+    static final int DEFAULT_MAXIMUM_SIZE = 10000;
+
+    private final Map<Path, CachedPom> entries;
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maximumSize the maximum number of parsed pom.xml files to keep
+     */
+    PomCache(final int maximumSize) {
+        this.entries = new LinkedHashMap<Path, CachedPom>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, CachedPom> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Gets the parsed content of a pom.xml file, parsing it if it is not cached or has been modified since.
+     *
+     * @param pom      the path to the pom.xml file
+     * @param listener the listener notified about reading the file or {@code null} to notify nobody
+     * @return the parsed content or {@code null} if the file does not exist or cannot be parsed
+     */
+    PomInfo get(Path pom, RepositoryListener listener) {
+        BasicFileAttributes attributes;
+        try {
+            if (listener != null) {
+                listener.fileStatted(pom);
+            }
+            attributes = Files.readAttributes(pom, BasicFileAttributes.class);
+        } catch (IOException e) {
+            remove(pom);
+            return null;
+        }
+        long lastModified = attributes.lastModifiedTime().toMillis();
+
+        // check whether the file has been parsed since its last modification
+        CachedPom entry;
+        synchronized (this) {
+            entry = this.entries.get(pom);
+        }
+        if (entry != null && entry.lastModified == lastModified && entry.size == attributes.size()) {
+            return entry.pomInfo;
+        }
+
+        // -> file is not cached or has been modified
+
+        PomInfo pomInfo;
+        try {
+            if (listener != null) {
+                listener.fileRead(pom);
+            }
+            pomInfo = PomParser.parse(pom);
+        } catch (IOException e) {
+            remove(pom);
+            return null;
+        }
+        synchronized (this) {
+            this.entries.put(pom, new CachedPom(lastModified, attributes.size(), pomInfo));
+        }
+
+        return pomInfo;
+    }
+
+    /**
+     * Gets the number of cached pom.xml files.
+     *
+     * @return the number of entries
+     */
+    synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Removes all cached pom.xml files.
+     */
+    synchronized void clear() {
+        this.entries.clear();
+    }
+
+    /**
+     * Removes a cached pom.xml file.
+     *
+     * @param pom the path to the pom.xml file
+     */
+    private synchronized void remove(Path pom) {
+        this.entries.remove(pom);
+    }
+
+    /**
+     * A parsed pom.xml file together with the attributes of the file at the time it has been parsed.
+     */
+    private static class CachedPom {
+        private final long lastModified;
+        private final long size;
+        private final PomInfo pomInfo;
+
+        /**
+         * Creates a new entry.
+         *
+         * @param lastModified the modification time of the file in milliseconds since the epoch
+         * @param size         the size of the file in bytes
+         * @param pomInfo      the parsed content of the file
+         */
+        CachedPom(long lastModified, long size, PomInfo pomInfo) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.pomInfo = pomInfo;
+        }
+    }
+}
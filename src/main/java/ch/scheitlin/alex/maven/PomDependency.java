@@ -0,0 +1,124 @@
+package ch.scheitlin.alex.maven;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>A dependency declared in the {@code <dependencies></dependencies>} or the
+ * {@code <dependencyManagement></dependencyManagement>} element of a pom.xml file.</p>
+ * <p>
+ * The values are kept as written in the pom.xml file, i.e. properties like {@code ${project.version}} are not
+ * replaced. Elements missing in the pom.xml file are {@code null}.
+ * </p>
+ */
+public final class PomDependency {
+    private final String groupId;
+    private final String artifactId;
+    private final String version;
+    private final String type;
+    private final String classifier;
+    private final String scope;
+    private final boolean optional;
+    private final List<String> exclusions;
+
+    /**
+     * Creates a new dependency.
+     *
+     * @param groupId    the id of the group of the dependency
+     * @param artifactId the id of the artifact of the dependency
+     * @param version    the version or version range of the dependency or {@code null} if it is managed
+     * @param type       the type of the dependency or {@code null} if it is not declared
+     * @param classifier the classifier of the dependency or {@code null} if there is none
+     * @param scope      the scope of the dependency or {@code null} if it is not declared
+     * @param optional   {@code true} if the dependency is optional, {@code false} if not
+     * @param exclusions the excluded transitive dependencies in the form {@code <groupId>:<artifactId>}
+     */
+    PomDependency(String groupId, String artifactId, String version, String type, String classifier, String scope,
+                  boolean optional, List<String> exclusions) {
+        this.groupId = groupId;
+        this.artifactId = artifactId;
+        this.version = version;
+        this.type = type;
+        this.classifier = classifier;
+        this.scope = scope;
+        this.optional = optional;
+        this.exclusions = Collections.unmodifiableList(exclusions);
+    }
+
+    /**
+     * Gets the id of the group of the dependency.
+     *
+     * @return the id of the group
+     */
+    public String getGroupId() {
+        return this.groupId;
+    }
+
+    /**
+     * Gets the id of the artifact of the dependency.
+     *
+     * @return the id of the artifact
+     */
+    public String getArtifactId() {
+        return this.artifactId;
+    }
+
+    /**
+     * Gets the version of the dependency.
+     *
+     * @return the version or version range or {@code null} if the version is managed elsewhere
+     */
+    public String getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Gets the type of the dependency, e.g. {@code jar} or {@code pom}.
+     *
+     * @return the type or {@code null} if it is not declared (which means {@code jar})
+     */
+    public String getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the classifier of the dependency, e.g. {@code tests}.
+     *
+     * @return the classifier or {@code null} if there is none
+     */
+    public String getClassifier() {
+        return this.classifier;
+    }
+
+    /**
+     * Gets the scope of the dependency, e.g. {@code test} or {@code import}.
+     *
+     * @return the scope or {@code null} if it is not declared
+     */
+    public String getScope() {
+        return this.scope;
+    }
+
+    /**
+     * Checks whether the dependency is optional.
+     *
+     * @return {@code true} if the dependency is optional, {@code false} if not
+     */
+    public boolean isOptional() {
+        return this.optional;
+    }
+
+    /**
+     * Gets the transitive dependencies excluded by this dependency.
+     *
+     * @return the excluded dependencies in the form {@code <groupId>:<artifactId>}, where both parts may be {@code *}
+     */
+    public List<String> getExclusions() {
+        return this.exclusions;
+    }
+
+    @Override
+    public String toString() {
+        return this.groupId + ":" + this.artifactId + ":" + this.version;
+    }
+}
@@ -0,0 +1,103 @@
+package ch.scheitlin.alex.maven;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>The fields of a pom.xml file needed to build a dependency graph: the coordinate, the packaging, the parent, the
+ * properties and the declared and managed dependencies.</p>
+ * <p>
+ * The values are kept as written in the pom.xml file, i.e. properties are not replaced and nothing is inherited from
+ * the parent, except for the group id and the version of the project itself, which are taken from the parent if they
+ * are missing.
+ * </p>
+ */
+public final class PomInfo {
+    private final ArtifactCoordinate coordinate;
+    private final String packaging;
+    private final ArtifactCoordinate parent;
+    private final Map<String, String> properties;
+    private final List<PomDependency> dependencies;
+    private final List<PomDependency> managedDependencies;
+
+    /**
+     * Creates new information about a pom.xml file.
+     *
+     * @param coordinate          the coordinate of the project
+     * @param packaging           the packaging of the project
+     * @param parent              the coordinate of the parent or {@code null} if there is none
+     * @param properties          the properties declared in the {@code <properties></properties>} element
+     * @param dependencies        the dependencies declared in the {@code <dependencies></dependencies>} element
+     * @param managedDependencies the dependencies declared in the
+     *                            {@code <dependencyManagement></dependencyManagement>} element
+     */
+    PomInfo(ArtifactCoordinate coordinate, String packaging, ArtifactCoordinate parent, Map<String, String> properties,
+            List<PomDependency> dependencies, List<PomDependency> managedDependencies) {
+        this.coordinate = coordinate;
+        this.packaging = packaging;
+        this.parent = parent;
+        this.properties = Collections.unmodifiableMap(properties);
+        this.dependencies = Collections.unmodifiableList(dependencies);
+        this.managedDependencies = Collections.unmodifiableList(managedDependencies);
+    }
+
+    /**
+     * Gets the coordinate of the project.
+     *
+     * @return the coordinate, with the group id and the version taken from the parent if they are missing
+     */
+    public ArtifactCoordinate getCoordinate() {
+        return this.coordinate;
+    }
+
+    /**
+     * Gets the packaging of the project.
+     *
+     * @return the packaging, {@code jar} if it is not declared
+     */
+    public String getPackaging() {
+        return this.packaging;
+    }
+
+    /**
+     * Gets the coordinate of the parent of the project.
+     *
+     * @return the coordinate of the parent or {@code null} if there is none
+     */
+    public ArtifactCoordinate getParent() {
+        return this.parent;
+    }
+
+    /**
+     * Gets the properties declared by the project.
+     *
+     * @return the properties by their names
+     */
+    public Map<String, String> getProperties() {
+        return this.properties;
+    }
+
+    /**
+     * Gets the dependencies declared by the project, not including the ones of profiles.
+     *
+     * @return the dependencies in the order of the pom.xml file
+     */
+    public List<PomDependency> getDependencies() {
+        return this.dependencies;
+    }
+
+    /**
+     * Gets the dependencies managed by the project, not including the ones of profiles.
+     *
+     * @return the managed dependencies in the order of the pom.xml file
+     */
+    public List<PomDependency> getManagedDependencies() {
+        return this.managedDependencies;
+    }
+
+    @Override
+    public String toString() {
+        return this.coordinate.toString();
+    }
+}
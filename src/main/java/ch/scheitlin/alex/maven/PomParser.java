@@ -0,0 +1,202 @@
+package ch.scheitlin.alex.maven;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>Extracts the fields of a {@link PomInfo} from a pom.xml file using a streaming (StAX) parser.</p>
+ * <p>
+ * No document tree is built. The parser only remembers the path of the current element and the values of the
+ * elements of interest. As maven does not enforce the order of the elements, the whole {@code <project>} element is
+ * read, but the content of the elements {@code <build>}, {@code <reporting>} and {@code <profiles>}, which make up most
+ * of a large pom.xml file, is skipped without looking at the elements it consists of.
+ * </p>
+ */
+class PomParser {
+    private static final String PROJECT = "project";
+    private static final String PARENT = PROJECT + "/parent";
+    private static final String PROPERTIES = PROJECT + "/properties";
+    private static final String DEPENDENCIES = PROJECT + "/dependencies";
+    private static final String DEPENDENCY = DEPENDENCIES + "/dependency";
+    private static final String MANAGED_DEPENDENCY = PROJECT + "/dependencyManagement/dependencies/dependency";
+    private static final String EXCLUSION = "/exclusions/exclusion";
+
+    private static final Set<String> PROJECT_FIELDS =
+            new HashSet<String>(Arrays.asList("groupId", "artifactId", "version", "packaging"));
+    private static final Set<String> PARENT_FIELDS =
+            new HashSet<String>(Arrays.asList("groupId", "artifactId", "version"));
+    private static final Set<String> DEPENDENCY_FIELDS = new HashSet<String>(
+            Arrays.asList("groupId", "artifactId", "version", "type", "classifier", "scope", "optional"));
+    private static final Set<String> EXCLUSION_FIELDS = new HashSet<String>(Arrays.asList("groupId", "artifactId"));
+    private static final Set<String> SKIPPED_ELEMENTS =
+            new HashSet<String>(Arrays.asList("build", "reporting", "profiles"));
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    /**
+     * Parses a pom.xml file.
+     *
+     * @param pom the path to the pom.xml file
+     * @return the extracted fields
+     * @throws IOException if the file could not be read, is no well-formed pom.xml file or misses its coordinate
+     */
+    static PomInfo parse(Path pom) throws IOException {
+        try (InputStream input = Files.newInputStream(pom)) {
+            XMLStreamReader xml = FACTORY.createXMLStreamReader(input);
+            try {
+                return parse(xml);
+            } finally {
+                xml.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not parse '" + pom + "'.", e);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Incomplete coordinate in '" + pom + "'.", e);
+        }
+    }
+
+    /**
+     * Extracts the fields from a stream of XML events.
+     *
+     * @param xml the stream of XML events positioned before the root element
+     * @return the extracted fields
+     * @throws XMLStreamException if the XML is not well-formed or the root element is not {@code <project>}
+     */
+    private static PomInfo parse(XMLStreamReader xml) throws XMLStreamException {
+        Map<String, String> project = new HashMap<String, String>();
+        Map<String, String> parent = new HashMap<String, String>();
+        Map<String, String> properties = new LinkedHashMap<String, String>();
+        List<PomDependency> dependencies = new ArrayList<PomDependency>();
+        List<PomDependency> managedDependencies = new ArrayList<PomDependency>();
+        Map<String, String> dependency = null;
+        List<String> exclusions = null;
+        Map<String, String> exclusion = null;
+
+        // the paths of all open elements, e.g. project/parent
+        List<String> paths = new ArrayList<String>();
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                String context = paths.isEmpty() ? "" : paths.get(paths.size() - 1);
+
+                // check whether the element is a field of interest
+                if (context.equals(PROJECT) && PROJECT_FIELDS.contains(name)) {
+                    project.put(name, xml.getElementText().trim());
+                } else if (context.equals(PARENT) && PARENT_FIELDS.contains(name)) {
+                    parent.put(name, xml.getElementText().trim());
+                } else if (context.equals(PROPERTIES)) {
+                    properties.put(name, xml.getElementText().trim());
+                } else if (dependency != null && DEPENDENCY_FIELDS.contains(name)
+                        && (context.equals(DEPENDENCY) || context.equals(MANAGED_DEPENDENCY))) {
+                    dependency.put(name, xml.getElementText().trim());
+                } else if (exclusion != null && EXCLUSION_FIELDS.contains(name)
+                        && (context.equals(DEPENDENCY + EXCLUSION) || context.equals(MANAGED_DEPENDENCY + EXCLUSION))) {
+                    exclusion.put(name, xml.getElementText().trim());
+                } else {
+                    // -> element contains further elements of interest or is skipped
+
+                    if (paths.isEmpty() && !name.equals(PROJECT)) {
+                        throw new XMLStreamException("Root element is <" + name + "> instead of <project>.");
+                    }
+                    if (context.equals(PROJECT) && SKIPPED_ELEMENTS.contains(name)) {
+                        skipElement(xml);
+                        continue;
+                    }
+                    String path = context.isEmpty() ? name : context + "/" + name;
+                    paths.add(path);
+                    if (path.equals(DEPENDENCY) || path.equals(MANAGED_DEPENDENCY)) {
+                        dependency = new HashMap<String, String>();
+                        exclusions = new ArrayList<String>();
+                    } else if (path.equals(DEPENDENCY + EXCLUSION) || path.equals(MANAGED_DEPENDENCY + EXCLUSION)) {
+                        exclusion = new HashMap<String, String>();
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                String path = paths.remove(paths.size() - 1);
+                if (path.equals(DEPENDENCY) || path.equals(MANAGED_DEPENDENCY)) {
+                    (path.equals(DEPENDENCY) ? dependencies : managedDependencies)
+                            .add(createDependency(dependency, exclusions));
+                    dependency = null;
+                    exclusions = null;
+                } else if (path.equals(DEPENDENCY + EXCLUSION) || path.equals(MANAGED_DEPENDENCY + EXCLUSION)) {
+                    exclusions.add(exclusion.get("groupId") + ":" + exclusion.get("artifactId"));
+                    exclusion = null;
+                } else if (path.equals(PROJECT)) {
+                    // all fields of interest have been read
+                    break;
+                }
+            }
+        }
+
+        ArtifactCoordinate parentCoordinate = parent.isEmpty() ? null
+                : new ArtifactCoordinate(parent.get("groupId"), parent.get("artifactId"), parent.get("version"));
+        String groupId = project.containsKey("groupId") ? project.get("groupId")
+                : parentCoordinate == null ? null : parentCoordinate.getGroupId();
+        String version = project.containsKey("version") ? project.get("version")
+                : parentCoordinate == null ? null : parentCoordinate.getVersion();
+        String packaging = project.containsKey("packaging") ? project.get("packaging") : "jar";
+
+        return new PomInfo(new ArtifactCoordinate(groupId, project.get("artifactId"), version), packaging,
+                parentCoordinate, properties, dependencies, managedDependencies);
+    }
+
+    /**
+     * Skips the content of the current element.
+     *
+     * @param xml the stream of XML events positioned at the start of the element to skip
+     * @throws XMLStreamException if the XML is not well-formed
+     */
+    private static void skipElement(XMLStreamReader xml) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Creates a dependency from the values of its elements.
+     *
+     * @param values     the values of the elements by their names
+     * @param exclusions the excluded dependencies in the form {@code <groupId>:<artifactId>}
+     * @return the dependency
+     */
+    private static PomDependency createDependency(Map<String, String> values, List<String> exclusions) {
+        return new PomDependency(values.get("groupId"), values.get("artifactId"), values.get("version"),
+                values.get("type"), values.get("classifier"), values.get("scope"),
+                "true".equals(values.get("optional")), exclusions);
+    }
+
+    /**
+     * Creates the factory of the streaming parsers. Document type definitions and external entities are not
+     * supported, so parsing never accesses anything but the pom.xml file itself.
+     *
+     * @return the configured factory, which is thread-safe
+     */
+    static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
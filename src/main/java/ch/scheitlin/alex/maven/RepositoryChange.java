@@ -0,0 +1,45 @@
+package ch.scheitlin.alex.maven;
+
+/**
+ * A change of a specific version of an artifact between two indexes of a local maven repository.
+ *
+ * @see RepositoryIndex#diff(RepositoryIndex)
+ */
+public final class RepositoryChange {
+    private final ChangeType type;
+    private final ArtifactCoordinate coordinate;
+
+    /**
+     * Creates a new change.
+     *
+     * @param type       the kind of the change
+     * @param coordinate the coordinate of the changed version
+     */
+    RepositoryChange(ChangeType type, ArtifactCoordinate coordinate) {
+        this.type = type;
+        this.coordinate = coordinate;
+    }
+
+    /**
+     * Gets the kind of the change.
+     *
+     * @return the kind of the change
+     */
+    public ChangeType getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the coordinate of the changed version.
+     *
+     * @return the coordinate of the changed version
+     */
+    public ArtifactCoordinate getCoordinate() {
+        return this.coordinate;
+    }
+
+    @Override
+    public String toString() {
+        return this.type + " " + this.coordinate;
+    }
+}
@@ -0,0 +1,333 @@
+package ch.scheitlin.alex.maven;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.SocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Queries a {@link RepositoryDaemon} running in another process.</p>
+ * <p>
+ * A client holds a single connection and is not thread-safe. Many versions can be checked at once with
+ * {@link #doVersionsExist(Collection)}, which pipelines the requests, i.e. sends up to {@value #PIPELINE_DEPTH}
+ * requests before reading their responses, so a round trip is only needed per batch instead of per version.
+ * </p>
+ */
+public class RepositoryClient implements Closeable {
+    static final int PIPELINE_DEPTH = 1000;
+
+    private final SocketChannel channel;
+    private final BufferedReader in;
+    private final Writer out;
+
+    /**
+     * Connects to a daemon.
+     *
+     * @param address the address the daemon listens on, e.g. {@link RepositoryDaemon#getUnixAddress(Path)}
+     * @throws IOException if the connection could not be established
+     */
+    public RepositoryClient(SocketAddress address) throws IOException {
+        this.channel = UnixSockets.openChannel(address);
+        try {
+            this.channel.connect(address);
+        } catch (IOException e) {
+            this.channel.close();
+            throw e;
+        }
+        this.in = new BufferedReader(new InputStreamReader(Channels.newInputStream(this.channel),
+                StandardCharsets.UTF_8));
+        this.out = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(this.channel),
+                StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Connects to a daemon listening on a Unix domain socket.
+     *
+     * @param socket the path to the socket file
+     * @return the connected client
+     * @throws IOException if the connection could not be established
+     */
+    public static RepositoryClient connect(Path socket) throws IOException {
+        return new RepositoryClient(RepositoryDaemon.getUnixAddress(socket));
+    }
+
+    /**
+     * Checks whether a specific group exists.
+     *
+     * @param groupId the id of the group
+     * @return {@code true} if the group exists, {@code false} if not
+     * @throws IOException if the daemon could not be queried
+     */
+    public boolean doesGroupExist(String groupId) throws IOException {
+        return toBoolean(query(RepositoryDaemon.GROUP_EXISTS, groupId));
+    }
+
+    /**
+     * Gets the part of a specific group id that does not exist.
+     *
+     * @param groupId the id of the group
+     * @return the first sub group that does not exist or {@code null} if the whole group exists
+     * @throws IOException if the daemon could not be queried
+     */
+    public String getNonExistingSubGroup(String groupId) throws IOException {
+        String subGroup = query(RepositoryDaemon.NON_EXISTING_SUB_GROUP, groupId);
+        return subGroup.isEmpty() ? null : subGroup;
+    }
+
+    /**
+     * Checks whether a specific artifact of a specific group exists.
+     *
+     * @param groupId    the id of the group
+     * @param artifactId the id of the artifact
+     * @return {@code true} if the artifact exists, {@code false} if not
+     * @throws IOException if the daemon could not be queried
+     */
+    public boolean doesArtifactExist(String groupId, String artifactId) throws IOException {
+        return toBoolean(query(RepositoryDaemon.ARTIFACT_EXISTS, groupId, artifactId));
+    }
+
+    /**
+     * Gets all existing artifacts of a specific group.
+     *
+     * @param groupId the id of the group
+     * @return the ids of the artifacts or an empty array if there are none
+     * @throws IOException if the daemon could not be queried
+     */
+    public String[] getArtifactsOfGroup(String groupId) throws IOException {
+        return split(query(RepositoryDaemon.ARTIFACTS_OF_GROUP, groupId));
+    }
+
+    /**
+     * Checks whether a specific version of a specific artifact of a specific group exists.
+     *
+     * @param groupId    the id of the group
+     * @param artifactId the id of the artifact
+     * @param version    the version of the artifact
+     * @return {@code true} if the version exists, {@code false} if not
+     * @throws IOException if the daemon could not be queried
+     */
+    public boolean doesVersionExist(String groupId, String artifactId, String version) throws IOException {
+        return toBoolean(query(RepositoryDaemon.VERSION_EXISTS, groupId, artifactId, version));
+    }
+
+    /**
+     * Gets all existing versions of a specific artifact of a specific group.
+     *
+     * @param groupId    the id of the group
+     * @param artifactId the id of the artifact
+     * @return the versions or an empty array if there are none
+     * @throws IOException if the daemon could not be queried
+     */
+    public String[] getArtifactVersions(String groupId, String artifactId) throws IOException {
+        return split(query(RepositoryDaemon.ARTIFACT_VERSIONS, groupId, artifactId));
+    }
+
+    /**
+     * Checks whether many versions exist, pipelining the requests. All coordinates are checked before the first
+     * request is sent, so an invalid coordinate does not leave any request without its response read.
+     *
+     * @param coordinates the coordinates of the versions
+     * @return whether every distinct coordinate exists in the order of the given collection
+     * @throws IOException              if the daemon could not be queried or answered a request with an error
+     * @throws IllegalArgumentException if a coordinate contains whitespace
+     */
+    public Map<ArtifactCoordinate, Boolean> doVersionsExist(Collection<ArtifactCoordinate> coordinates)
+            throws IOException {
+        for (ArtifactCoordinate coordinate : coordinates) {
+            checkArguments(coordinate.getGroupId(), coordinate.getArtifactId(), coordinate.getVersion());
+        }
+
+        Map<ArtifactCoordinate, Boolean> results = new LinkedHashMap<ArtifactCoordinate, Boolean>();
+        List<ArtifactCoordinate> batch = new ArrayList<ArtifactCoordinate>(PIPELINE_DEPTH);
+        for (ArtifactCoordinate coordinate : coordinates) {
+            if (!results.containsKey(coordinate)) {
+                results.put(coordinate, null);
+                batch.add(coordinate);
+            }
+
+            // check whether the pipeline is full
+            if (batch.size() == PIPELINE_DEPTH) {
+                queryBatch(batch, results);
+                batch.clear();
+            }
+        }
+        queryBatch(batch, results);
+
+        return results;
+    }
+
+    /**
+     * Asks the daemon to refresh its index.
+     *
+     * @throws IOException if the daemon could not be queried or failed to refresh its index
+     */
+    public void refresh() throws IOException {
+        query(RepositoryDaemon.REFRESH);
+    }
+
+    /**
+     * Closes the connection.
+     *
+     * @throws IOException if the connection could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Sends the requests checking a batch of versions before reading their responses. The responses of all requests
+     * are read even if one of them is an error, so the following requests get their own responses.
+     *
+     * @param batch   the coordinates of the versions
+     * @param results the map to put the results into
+     * @throws IOException if the daemon could not be queried or answered a request with an error
+     */
+    private void queryBatch(List<ArtifactCoordinate> batch, Map<ArtifactCoordinate, Boolean> results)
+            throws IOException {
+        for (ArtifactCoordinate coordinate : batch) {
+            write(RepositoryDaemon.VERSION_EXISTS, coordinate.getGroupId(), coordinate.getArtifactId(),
+                    coordinate.getVersion());
+        }
+        this.out.flush();
+
+        IOException error = null;
+        for (ArtifactCoordinate coordinate : batch) {
+            String response = readLine();
+
+            // check whether the request could not be answered
+            if (response.startsWith(RepositoryDaemon.ERROR_PREFIX)) {
+                if (error == null) {
+                    error = toException(response);
+                }
+            } else {
+                results.put(coordinate, toBoolean(response));
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Sends a single request and reads its response.
+     *
+     * @param command   the command
+     * @param arguments the arguments of the command
+     * @return the response
+     * @throws IOException if the daemon could not be queried or answered with an error
+     */
+    private String query(String command, String... arguments) throws IOException {
+        write(command, arguments);
+        this.out.flush();
+        return read();
+    }
+
+    /**
+     * Writes a request without flushing it.
+     *
+     * @param command   the command
+     * @param arguments the arguments of the command, which must not contain whitespace
+     * @throws IOException              if the request could not be written
+     * @throws IllegalArgumentException if an argument is empty or contains whitespace, in which case nothing has been
+     *                                  written
+     */
+    private void write(String command, String... arguments) throws IOException {
+        checkArguments(arguments);
+
+        this.out.write(command);
+        for (String argument : arguments) {
+            this.out.write(' ');
+            this.out.write(argument);
+        }
+        this.out.write('\n');
+    }
+
+    /**
+     * Checks whether the arguments of a request can be sent, i.e. are neither empty nor contain whitespace.
+     *
+     * @param arguments the arguments of the request
+     * @throws IllegalArgumentException if an argument is empty or contains whitespace
+     */
+    private static void checkArguments(String... arguments) {
+        for (String argument : arguments) {
+            if (argument.isEmpty() || argument.matches(".*\\s.*")) {
+                throw new IllegalArgumentException("Invalid argument '" + argument + "'.");
+            }
+        }
+    }
+
+    /**
+     * Reads a response.
+     *
+     * @return the response
+     * @throws IOException if the response could not be read or is an error
+     */
+    private String read() throws IOException {
+        String response = readLine();
+        if (response.startsWith(RepositoryDaemon.ERROR_PREFIX)) {
+            throw toException(response);
+        }
+
+        return response;
+    }
+
+    /**
+     * Reads a response, which may be an error.
+     *
+     * @return the response
+     * @throws IOException if the response could not be read
+     */
+    private String readLine() throws IOException {
+        String response = this.in.readLine();
+        if (response == null) {
+            throw new EOFException("The daemon has closed the connection.");
+        }
+
+        return response;
+    }
+
+    /**
+     * Converts an error response to an exception.
+     *
+     * @param response the response starting with the error prefix
+     * @return the exception with the reason given by the daemon
+     */
+    private static IOException toException(String response) {
+        return new IOException(response.substring(RepositoryDaemon.ERROR_PREFIX.length()));
+    }
+
+    /**
+     * Converts the response of a check to a boolean.
+     *
+     * @param response the response
+     * @return {@code true} for {@code 1}, {@code false} otherwise
+     */
+    private static boolean toBoolean(String response) {
+        return response.equals("1");
+    }
+
+    /**
+     * Splits the response of a listing into ids.
+     *
+     * @param response the response
+     * @return the ids
+     */
+    private static String[] split(String response) {
+        return response.isEmpty() ? new String[0] : response.split(" ");
+    }
+}
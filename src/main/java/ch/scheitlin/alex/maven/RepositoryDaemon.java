@@ -0,0 +1,403 @@
+package ch.scheitlin.alex.maven;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.SocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Serves queries of a local maven repository to other processes over a socket.</p>
+ * <p>
+ * The daemon keeps a {@link RepositoryIndex} of the repository in memory, so every query is answered without touching
+ * the disk. The index is refreshed periodically and on request. If a snapshot file is given, the index is loaded from
+ * and saved to it, so a refresh only lists the directories modified since the last one (see
+ * {@link LocalMavenRepositoryReader#loadIndex(Path)}).
+ * </p>
+ * <p>
+ * The daemon listens on a Unix domain socket (which requires Java 16 or later, see {@link #getUnixAddress(Path)}) or
+ * on any TCP address. Every connection is served by its own thread. The protocol is line-based: every request is a
+ * single line consisting of a command and its arguments separated by spaces, every response is a single line. Clients
+ * may pipeline requests, i.e. send many requests before reading the responses, which are sent in the order of the
+ * requests. Responses are only flushed once all requests received so far have been answered.
+ * </p>
+ * <table summary="Commands">
+ * <tr><th>Request</th><th>Response</th></tr>
+ * <tr><td>{@code G <groupId>}</td><td>{@code 1} if the group exists, {@code 0} if not</td></tr>
+ * <tr><td>{@code S <groupId>}</td><td>the part of the group id that does not exist or an empty line</td></tr>
+ * <tr><td>{@code A <groupId> <artifactId>}</td><td>{@code 1} if the artifact exists, {@code 0} if not</td></tr>
+ * <tr><td>{@code AL <groupId>}</td><td>the existing artifacts of the group separated by spaces</td></tr>
+ * <tr><td>{@code V <groupId> <artifactId> <version>}</td><td>{@code 1} if it exists, {@code 0} if not</td></tr>
+ * <tr><td>{@code VL <groupId> <artifactId>}</td><td>the existing versions of the artifact separated by spaces</td></tr>
+ * <tr><td>{@code R}</td><td>{@code 1} after the index has been refreshed</td></tr>
+ * </table>
+ * <p>A request that cannot be answered gets a response starting with {@code !} followed by the reason.</p>
+ * <p>
+ * The daemon does not authenticate its clients. The socket file of a Unix domain socket is therefore restricted to
+ * the owner of the daemon right after binding it, if the file system supports POSIX permissions. A TCP address should
+ * be a loopback address, as anybody able to connect can query the repository and trigger refreshes.
+ * </p>
+ */
+public class RepositoryDaemon implements Closeable {
+    static final String GROUP_EXISTS = "G";
+    static final String NON_EXISTING_SUB_GROUP = "S";
+    static final String ARTIFACT_EXISTS = "A";
+    static final String ARTIFACTS_OF_GROUP = "AL";
+    static final String VERSION_EXISTS = "V";
+    static final String ARTIFACT_VERSIONS = "VL";
+    static final String REFRESH = "R";
+    static final String ERROR_PREFIX = "!";
+
+    private final LocalMavenRepositoryReader reader;
+    private final Path snapshot;
+    private final ServerSocketChannel server;
+    private final SocketAddress address;
+    private final ExecutorService connections;
+    private final ScheduledExecutorService refresher;
+    private final Set<SocketChannel> channels =
+            Collections.newSetFromMap(new ConcurrentHashMap<SocketChannel, Boolean>());
+    private volatile RepositoryIndex index;
+
+    /**
+     * Creates a new daemon, builds the index and binds the socket. The daemon does not accept connections before
+     * {@link #start()} is called.
+     *
+     * @param reader          the reader of the local maven repository to serve
+     * @param address         the address to listen on, e.g. {@link #getUnixAddress(Path)}
+     * @param snapshot        the path to the snapshot file of the index or {@code null} to build the index from scratch
+     *                        on every refresh
+     * @param refreshInterval the time between two refreshes of the index, {@code 0} only refreshes on request
+     * @param unit            the unit of the refresh interval
+     * @throws IOException if the index could not be built or the socket could not be bound
+     */
+    public RepositoryDaemon(LocalMavenRepositoryReader reader, SocketAddress address, Path snapshot,
+                            long refreshInterval, TimeUnit unit) throws IOException {
+        this.reader = reader;
+        this.snapshot = snapshot;
+        this.index = loadIndex();
+
+        // remove the socket file of a daemon that has not been shut down properly
+        if (UnixSockets.isUnixAddress(address)) {
+            deleteSocketFile(UnixSockets.getPath(address));
+        }
+        this.server = UnixSockets.openServerChannel(address);
+        try {
+            this.server.bind(address);
+            if (UnixSockets.isUnixAddress(address)) {
+                restrictToOwner(UnixSockets.getPath(address));
+            }
+        } catch (IOException e) {
+            this.server.close();
+            throw e;
+        }
+        this.address = this.server.getLocalAddress();
+
+        this.connections = Executors.newCachedThreadPool(createThreadFactory("repository-daemon-connection"));
+        this.refresher = Executors.newSingleThreadScheduledExecutor(createThreadFactory("repository-daemon-refresh"));
+        if (refreshInterval > 0) {
+            this.refresher.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        refresh();
+                    } catch (IOException e) {
+                        // keep serving the previous index until the next refresh succeeds
+                    }
+                }
+            }, refreshInterval, refreshInterval, unit);
+        }
+    }
+
+    /**
+     * Creates the address of a Unix domain socket.
+     *
+     * @param socket the path to the socket file
+     * @return the address of the socket
+     * @throws UnsupportedOperationException if Unix domain sockets are not supported, i.e. before Java 16
+     */
+    public static SocketAddress getUnixAddress(Path socket) {
+        return UnixSockets.getAddress(socket);
+    }
+
+    /**
+     * Starts accepting connections in a background thread.
+     */
+    public void start() {
+        Thread acceptor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                accept();
+            }
+        }, "repository-daemon-acceptor");
+        acceptor.start();
+    }
+
+    /**
+     * Gets the address the daemon listens on, e.g. to find out the port if the daemon has been bound to port 0.
+     *
+     * @return the bound address
+     */
+    public SocketAddress getAddress() {
+        return this.address;
+    }
+
+    /**
+     * Gets the index the queries are currently answered from.
+     *
+     * @return the current index
+     */
+    public RepositoryIndex getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Refreshes the index. Queries are answered from the previous index until the refreshed one is available.
+     * Concurrent refreshes are executed one after the other.
+     *
+     * @throws IOException if the repository could not be walked or the snapshot file could not be written
+     */
+    public synchronized void refresh() throws IOException {
+        this.index = loadIndex();
+    }
+
+    /**
+     * Stops accepting connections, closes all open connections and removes the socket file of a Unix domain socket.
+     *
+     * @throws IOException if the socket could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.server.close();
+        this.refresher.shutdownNow();
+        this.connections.shutdownNow();
+        for (SocketChannel channel : this.channels) {
+            channel.close();
+        }
+        if (UnixSockets.isUnixAddress(this.address)) {
+            Files.deleteIfExists(UnixSockets.getPath(this.address));
+        }
+    }
+
+    /**
+     * Accepts connections until the daemon is closed.
+     */
+    private void accept() {
+        while (true) {
+            final SocketChannel channel;
+            try {
+                channel = this.server.accept();
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                // -> failed to accept a single connection, e.g. because of too many open files
+                continue;
+            }
+
+            this.channels.add(channel);
+            try {
+                this.connections.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        serve(channel);
+                    }
+                });
+            } catch (RuntimeException e) {
+                // -> daemon is being closed
+                close(channel);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Answers the requests of a connection until the client closes it.
+     *
+     * @param channel the channel of the connection
+     */
+    private void serve(SocketChannel channel) {
+        try {
+            BufferedReader in = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel),
+                    StandardCharsets.UTF_8));
+            Writer out = new BufferedWriter(new OutputStreamWriter(Channels.newOutputStream(channel),
+                    StandardCharsets.UTF_8));
+            String request;
+            while ((request = in.readLine()) != null) {
+                out.write(answer(request));
+                out.write('\n');
+
+                // flush once all received requests have been answered, so pipelined responses are sent together
+                if (!in.ready()) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // -> connection has been closed by the client or the daemon
+        } finally {
+            close(channel);
+        }
+    }
+
+    /**
+     * Answers a single request.
+     *
+     * @param request the request line
+     * @return the response line without the line break
+     */
+    String answer(String request) {
+        String[] parts = request.trim().split(" +");
+        String command = parts[0];
+        RepositoryIndex index = this.index;
+        try {
+            if (command.equals(GROUP_EXISTS) && parts.length == 2) {
+                return toFlag(index.doesGroupExist(parts[1]));
+            } else if (command.equals(NON_EXISTING_SUB_GROUP) && parts.length == 2) {
+                String subGroup = index.getNonExistingSubGroup(parts[1]);
+                return subGroup == null ? "" : subGroup;
+            } else if (command.equals(ARTIFACT_EXISTS) && parts.length == 3) {
+                return toFlag(index.doesArtifactExist(parts[1], parts[2]));
+            } else if (command.equals(ARTIFACTS_OF_GROUP) && parts.length == 2) {
+                return join(index.getArtifactsOfGroup(parts[1]));
+            } else if (command.equals(VERSION_EXISTS) && parts.length == 4) {
+                return toFlag(index.doesVersionExist(parts[1], parts[2], parts[3]));
+            } else if (command.equals(ARTIFACT_VERSIONS) && parts.length == 3) {
+                return join(index.getArtifactVersions(parts[1], parts[2]));
+            } else if (command.equals(REFRESH) && parts.length == 1) {
+                refresh();
+                return toFlag(true);
+            }
+        } catch (IOException | RuntimeException e) {
+            return toError(e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+        }
+
+        return toError("Unknown request '" + request + "'.");
+    }
+
+    /**
+     * Converts the reason why a request cannot be answered to the response, which has to be a single line.
+     *
+     * @param message the reason, which may span several lines
+     * @return the error prefix followed by the reason with its line breaks replaced by spaces
+     */
+    static String toError(String message) {
+        return ERROR_PREFIX + message.replaceAll("[\\r\\n]+", " ");
+    }
+
+    /**
+     * Loads the index from the snapshot file or builds it if there is no snapshot file.
+     *
+     * @return the up to date index
+     * @throws IOException if the repository could not be walked or the snapshot file could not be written
+     */
+    private RepositoryIndex loadIndex() throws IOException {
+        return this.snapshot == null ? this.reader.buildIndex() : this.reader.loadIndex(this.snapshot);
+    }
+
+    /**
+     * Closes a connection.
+     *
+     * @param channel the channel of the connection
+     */
+    private void close(SocketChannel channel) {
+        this.channels.remove(channel);
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // -> nothing left to do
+        }
+    }
+
+    /**
+     * Deletes a socket file left behind by a daemon. Other files are kept, so binding fails instead.
+     *
+     * @param socket the path to the socket file
+     * @throws IOException if the file could not be deleted
+     */
+    private static void deleteSocketFile(Path socket) throws IOException {
+        if (Files.exists(socket, LinkOption.NOFOLLOW_LINKS)
+                && Files.readAttributes(socket, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS).isOther()) {
+            Files.delete(socket);
+        }
+    }
+
+    /**
+     * Allows only the owner of the daemon to connect to a socket file. File systems without POSIX permissions are left
+     * as they are.
+     *
+     * @param socket the path to the socket file
+     * @throws IOException if the permissions could not be changed
+     */
+    private static void restrictToOwner(Path socket) throws IOException {
+        try {
+            Files.setPosixFilePermissions(socket,
+                    EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE));
+        } catch (UnsupportedOperationException e) {
+            // -> file system does not support POSIX permissions
+        }
+    }
+
+    /**
+     * Converts a boolean to the response of a check.
+     *
+     * @param value the boolean
+     * @return {@code 1} for {@code true}, {@code 0} for {@code false}
+     */
+    private static String toFlag(boolean value) {
+        return value ? "1" : "0";
+    }
+
+    /**
+     * Joins ids to the response of a listing.
+     *
+     * @param ids the ids
+     * @return the ids separated by spaces
+     */
+    private static String join(String[] ids) {
+        StringBuilder builder = new StringBuilder();
+        for (String id : ids) {
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            builder.append(id);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Creates a factory of named daemon threads.
+     *
+     * @param name the name of the threads
+     * @return the thread factory
+     */
+    private static ThreadFactory createThreadFactory(final String name) {
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+}
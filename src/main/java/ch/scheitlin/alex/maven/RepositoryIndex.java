@@ -0,0 +1,760 @@
+package ch.scheitlin.alex.maven;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * <p>An in-memory index of a local maven repository.</p>
+ * <p>
+ * The index is built by walking the repository exactly once. Every directory becomes a node of a tree mirroring the
+ * group, artifact and version folders. While walking, it is determined for every node whether it would be considered
+ * an existing version, artifact or group by {@link LocalMavenRepositoryReader}. Afterwards all queries are answered
+ * from memory by following the path of the given ids through the tree, without touching the disk again.
+ * </p>
+ * <p>
+ * The index is a snapshot. Changes to the repository after the index has been built are not reflected. The index can be
+ * saved to a snapshot file with {@link #save(Path)} and loaded again with {@link #load(Path, Path)}. As the index
+ * keeps the time of the last modification of every directory, only the directories modified in the meantime get
+ * listed again when loading a snapshot.
+ * </p>
+ * <p>
+ * Two indexes of the same repository, e.g. loaded from snapshots taken at different times, can be compared with
+ * {@link #diff(RepositoryIndex)}.
+ * </p>
+ */
+public class RepositoryIndex {
+    /**
+     * Directories modified less than this number of milliseconds before the index has been built may have been
+     * modified again within the granularity of the time stamps of the file system (e.g. two seconds for FAT) and are
+     * therefore always listed again when loading a snapshot.
+     */
+    static final long MODIFICATION_TIME_GRANULARITY_MILLIS = 2000;
+
+    private final Node root;
+    private final Path repository;
+    private final long builtAt;
+    private int relistedDirectoryCount;
+
+    /**
+     * Creates a new index with a specific root node.
+     *
+     * @param root       the node representing the root directory of the repository
+     * @param repository the path to the root directory of the indexed repository
+     * @param builtAt    the time in milliseconds since the epoch at which the walk of the repository has been started
+     */
+    RepositoryIndex(Node root, Path repository, long builtAt) {
+        this.root = root;
+        this.repository = repository;
+        this.builtAt = builtAt;
+    }
+
+    /**
+     * Builds an index of a local maven repository by walking all its directories once.
+     *
+     * @param repository the path to the root directory of the local maven repository
+     * @return the index of the repository or an empty index if the directory does not exist
+     * @throws IOException if the repository could not be walked
+     */
+    public static RepositoryIndex build(Path repository) throws IOException {
+        long builtAt = System.currentTimeMillis();
+        Node root = buildNode(repository, "", null);
+
+        return new RepositoryIndex(root != null ? root : new Node("", 0), repository, builtAt);
+    }
+
+    /**
+     * Loads the index of a local maven repository from a snapshot file and brings it up to date. Only the directories
+     * whose time of the last modification differs from the one in the snapshot are listed again, all others are just
+     * checked for their time of the last modification. If the snapshot file does not exist, is corrupt or belongs to
+     * another repository, the index is built from scratch.
+     *
+     * @param repository the path to the root directory of the local maven repository
+     * @param snapshot   the path to the snapshot file
+     * @return the up to date index of the repository
+     * @throws IOException if the repository could not be walked
+     * @see #save(Path)
+     */
+    public static RepositoryIndex load(Path repository, Path snapshot) throws IOException {
+        RepositoryIndex loaded = IndexSnapshot.read(repository, snapshot);
+        if (loaded == null) {
+            RepositoryIndex index = build(repository);
+            index.relistedDirectoryCount = -1;
+            return index;
+        }
+
+        // bring the loaded index up to date
+        long builtAt = System.currentTimeMillis();
+        RepositoryIndex index = new RepositoryIndex(loaded.root, repository, builtAt);
+        if (!index.revalidate(index.root, repository, null, loaded.builtAt)) {
+            index.root.children.clear();
+            index.root.updateFlags();
+        }
+
+        return index;
+    }
+
+    /**
+     * Reads the index of a local maven repository from a snapshot file as it was when the snapshot was taken, without
+     * bringing it up to date.
+     *
+     * @param repository the path to the root directory of the local maven repository
+     * @param snapshot   the path to the snapshot file
+     * @return the index as it was when the snapshot was taken or {@code null} if the snapshot file does not exist, is
+     * corrupt or belongs to another repository
+     * @see #load(Path, Path)
+     */
+    public static RepositoryIndex read(Path repository, Path snapshot) {
+        return IndexSnapshot.read(repository, snapshot);
+    }
+
+    /**
+     * Saves the index to a snapshot file, which can be loaded again with {@link #load(Path, Path)}. The snapshot is
+     * written to a temporary file first and moved to its final location afterwards, so a concurrently loading process
+     * never sees a partially written snapshot.
+     *
+     * @param snapshot the path to the snapshot file
+     * @throws IOException if the snapshot file could not be written
+     */
+    public void save(Path snapshot) throws IOException {
+        IndexSnapshot.write(this, snapshot);
+    }
+
+    /**
+     * Checks whether a specific group exists in the indexed repository.
+     *
+     * @param groupId the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                pom.xml file of the project
+     * @return {@code true} if the specified group exists in the indexed repository, {@code false} if not
+     * @see LocalMavenRepositoryReader#doesGroupExist(String)
+     */
+    public boolean doesGroupExist(String groupId) {
+        Node group = getGroupNode(groupId);
+
+        return group != null && group.isGroup;
+    }
+
+    /**
+     * Gets the part of a specific group id that does not exist in the indexed repository.
+     *
+     * @param groupId the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                pom.xml file of the project
+     * @return the part of the specified group id that does not exist or {@code null} if the group exists
+     * @see LocalMavenRepositoryReader#getNonExistingSubGroup(String)
+     */
+    public String getNonExistingSubGroup(String groupId) {
+        Node node = this.root;
+        for (String subGroup : groupId.split("\\.")) {
+            node = node.getChild(subGroup);
+            if (node == null) {
+                return subGroup;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Checks whether a specific artifact of a specific group exists in the indexed repository.
+     *
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @return {@code true} if the specified artifact of the specified group exists in the indexed repository,
+     * {@code false} if not
+     * @see LocalMavenRepositoryReader#doesArtifactExist(String, String)
+     */
+    public boolean doesArtifactExist(String groupId, String artifactId) {
+        Node artifact = getArtifactNode(groupId, artifactId);
+
+        return artifact != null && artifact.isArtifact;
+    }
+
+    /**
+     * Gets a list of all in the indexed repository existing artifacts of a specific group.
+     *
+     * @param groupId the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                pom.xml file of the project
+     * @return {@code String Array} with all artifacts of the specified group or an empty {@code String Array} if no
+     * artifacts are available
+     * @see LocalMavenRepositoryReader#getArtifactsOfGroup(String)
+     */
+    public String[] getArtifactsOfGroup(String groupId) {
+        Node group = getGroupNode(groupId);
+        if (group == null || !group.isGroup) {
+            return new String[]{};
+        }
+
+        List<String> artifacts = new ArrayList<String>();
+        for (Node child : group.children.values()) {
+            if (child.isArtifact) {
+                artifacts.add(child.name);
+            }
+        }
+        return artifacts.toArray(new String[0]);
+    }
+
+    /**
+     * Checks whether a specific version of specific artifact of a specific group exists in the indexed repository.
+     *
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @param version    the version of the artifact as specified in the {@code <version></version>} element of the
+     *                   respective pom.xml file of the project
+     * @return {@code true} if the specified version of the specified artifact of the specified group exists in the
+     * indexed repository, {@code false} if not
+     * @see LocalMavenRepositoryReader#doesVersionExist(String, String, String)
+     */
+    public boolean doesVersionExist(String groupId, String artifactId, String version) {
+        Node artifact = getArtifactNode(groupId, artifactId);
+        if (artifact == null) {
+            return false;
+        }
+
+        Node versionNode = artifact.getChild(version);
+        return versionNode != null && versionNode.isVersion;
+    }
+
+    /**
+     * Gets a list of all in the indexed repository existing versions of a specific artifact of a specific group.
+     *
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @return {@code String Array} with all versions of the specified artifact of the specified group or an empty
+     * {@code String Array} if no versions are available
+     * @see LocalMavenRepositoryReader#getArtifactVersions(String, String)
+     */
+    public String[] getArtifactVersions(String groupId, String artifactId) {
+        Node artifact = getArtifactNode(groupId, artifactId);
+        if (artifact == null || !artifact.isArtifact) {
+            return new String[]{};
+        }
+
+        List<String> versions = new ArrayList<String>();
+        for (Node child : artifact.children.values()) {
+            if (child.isVersion) {
+                versions.add(child.name);
+            }
+        }
+        return versions.toArray(new String[0]);
+    }
+
+    /**
+     * Resolves the coordinate of a specific version of an artifact in the indexed repository.
+     *
+     * @param coordinate the coordinate to resolve
+     * @return the resolution of the coordinate
+     * @see LocalMavenRepositoryReader#resolveAll(Collection)
+     */
+    public Resolution resolve(ArtifactCoordinate coordinate) {
+        // check whether the folder of the group exists
+        String nonExistingSubGroup = getNonExistingSubGroup(coordinate.getGroupId());
+        if (nonExistingSubGroup != null) {
+            return new Resolution(coordinate, ResolutionStatus.MISSING_GROUP, nonExistingSubGroup);
+        }
+
+        // check whether the folders of the artifact and the version exist
+        Node artifact = getArtifactNode(coordinate.getGroupId(), coordinate.getArtifactId());
+        if (artifact == null) {
+            return new Resolution(coordinate, ResolutionStatus.MISSING_ARTIFACT, null);
+        }
+        Node version = artifact.getChild(coordinate.getVersion());
+        if (version == null) {
+            return new Resolution(coordinate, ResolutionStatus.MISSING_VERSION, null);
+        }
+
+        return new Resolution(coordinate, version.isVersion ? ResolutionStatus.EXISTS
+                : ResolutionStatus.LAST_UPDATED_ONLY, null);
+    }
+
+    /**
+     * Resolves many coordinates of versions of artifacts in the indexed repository at once.
+     *
+     * @param coordinates the coordinates to resolve
+     * @return the resolution of every distinct coordinate in the order of the given collection
+     * @see LocalMavenRepositoryReader#resolveAll(Collection)
+     */
+    public Map<ArtifactCoordinate, Resolution> resolveAll(Collection<ArtifactCoordinate> coordinates) {
+        Map<ArtifactCoordinate, Resolution> resolutions = new LinkedHashMap<ArtifactCoordinate, Resolution>();
+        for (ArtifactCoordinate coordinate : coordinates) {
+            if (!resolutions.containsKey(coordinate)) {
+                resolutions.put(coordinate, resolve(coordinate));
+            }
+        }
+
+        return resolutions;
+    }
+
+    /**
+     * <p>Lazily streams the versions that have been added, removed or changed since a previous index of the same
+     * repository has been built.</p>
+     * <p>
+     * The indexes are compared by walking both trees at the same time. A subtree is skipped as soon as the latest time
+     * of the last modification of all its directories is the same in both indexes and lies before the previous index
+     * has been built, since a directory whose sub directories or files have been created or deleted gets a new time
+     * of the last modification. Hence the time needed depends on the number of changed subtrees rather than on the
+     * size of the repository. Changes hidden by time stamps that have been set back manually are not detected.
+     * </p>
+     *
+     * @param previous the previous index or {@code null} to report all existing versions as added
+     * @return a stream of the changes, ordered by the path of the version folders
+     */
+    public Stream<RepositoryChange> diff(RepositoryIndex previous) {
+        long changedAfter = previous == null ? Long.MIN_VALUE
+                : previous.builtAt - MODIFICATION_TIME_GRANULARITY_MILLIS;
+        Iterator<RepositoryChange> changes = new ChangeIterator(this.root, previous == null ? null : previous.root,
+                changedAfter);
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(changes,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Gets the node representing the root directory of the repository.
+     *
+     * @return the root node
+     */
+    Node getRoot() {
+        return this.root;
+    }
+
+    /**
+     * Gets the path to the root directory of the indexed repository.
+     *
+     * @return the path to the root directory
+     */
+    Path getRepository() {
+        return this.repository;
+    }
+
+    /**
+     * Gets the time at which the walk of the repository has been started.
+     *
+     * @return the time in milliseconds since the epoch
+     */
+    long getBuiltAt() {
+        return this.builtAt;
+    }
+
+    /**
+     * Gets the number of directories that have been listed again while loading the index from a snapshot.
+     *
+     * @return the number of listed directories, {@code 0} if the index has not been loaded from a snapshot or nothing
+     * has changed and {@code -1} if the index had to be built from scratch
+     */
+    int getRelistedDirectoryCount() {
+        return this.relistedDirectoryCount;
+    }
+
+    /**
+     * Brings the node of a directory and all nodes below it up to date. A directory is only listed again if its time
+     * of the last modification has changed since the snapshot was taken or if it has been modified shortly before.
+     * Sub directories that have been added in the meantime are indexed from scratch.
+     *
+     * @param node       the node to bring up to date
+     * @param directory  the directory represented by the node
+     * @param parentName the name of the parent directory or {@code null} if the directory is the root of the
+     *                   repository
+     * @param takenAt    the time in milliseconds since the epoch at which the snapshot was taken
+     * @return {@code true} if the directory still exists, {@code false} if not
+     * @throws IOException if an added sub directory could not be walked
+     */
+    private boolean revalidate(Node node, Path directory, String parentName, long takenAt) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(directory, BasicFileAttributes.class);
+        } catch (IOException e) {
+            return false;
+        }
+        if (!attributes.isDirectory()) {
+            return false;
+        }
+
+        // check whether the directory has to be listed again
+        long modified = attributes.lastModifiedTime().toMillis();
+        Map<String, Node> added = new HashMap<String, Node>();
+        if (modified != node.modified || modified >= takenAt - MODIFICATION_TIME_GRANULARITY_MILLIS) {
+            this.relistedDirectoryCount++;
+            DirectoryListing listing = DirectoryListing.read(directory);
+            node.modified = modified;
+            node.isVersion = isVersion(parentName, node.name, listing.getFiles());
+
+            Map<String, Node> children = new HashMap<String, Node>();
+            for (String subDirectory : listing.getDirectories()) {
+                Node child = node.getChild(subDirectory);
+                if (child == null) {
+                    child = buildNode(directory.resolve(subDirectory), subDirectory, node.name);
+                    if (child == null) {
+                        continue;
+                    }
+                    added.put(subDirectory, child);
+                }
+                children.put(subDirectory, child);
+            }
+            node.children.clear();
+            node.children.putAll(children);
+        }
+
+        // -> the direct content of the directory is up to date, but its sub directories may have been modified
+        Iterator<Node> iterator = node.children.values().iterator();
+        while (iterator.hasNext()) {
+            Node child = iterator.next();
+            if (!added.containsKey(child.name)
+                    && !revalidate(child, directory.resolve(child.name), node.name, takenAt)) {
+                iterator.remove();
+            }
+        }
+        node.updateFlags();
+
+        return true;
+    }
+
+    /**
+     * Indexes a directory and all its sub directories by walking them once.
+     *
+     * @param directory  the directory to index
+     * @param name       the name of the node of the directory
+     * @param parentName the name of the parent directory or {@code null} if the directory is the root of the
+     *                   repository
+     * @return the node of the directory or {@code null} if the directory does not exist
+     * @throws IOException if the directory could not be walked
+     */
+    private static Node buildNode(Path directory, String name, String parentName) throws IOException {
+        IndexBuilder builder = new IndexBuilder(name, parentName);
+        Files.walkFileTree(directory, builder);
+
+        return builder.root;
+    }
+
+    /**
+     * Checks whether a directory is considered an existing version by {@link LocalMavenRepositoryReader}, i.e. whether
+     * it contains valid files named after the artifact (the name of its parent directory) and the version (its own
+     * name).
+     *
+     * @param parentName the name of the parent directory or {@code null} if the directory is the root of the
+     *                   repository
+     * @param name       the name of the directory
+     * @param files      the names of all files of the directory
+     * @return {@code true} if the directory is an existing version, {@code false} if not
+     * @see LocalMavenRepositoryReader#isVersionFolderContentValid(String, String, String[])
+     */
+    private static boolean isVersion(String parentName, String name, String[] files) {
+        return parentName != null && LocalMavenRepositoryReader.isVersionFolderContentValid(parentName, name, files);
+    }
+
+    /**
+     * Gets the node of a specific group.
+     *
+     * @param groupId the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                pom.xml file of the project
+     * @return the node of the group or {@code null} if the folder of the group does not exist
+     */
+    private Node getGroupNode(String groupId) {
+        Node node = this.root;
+        for (String subGroup : groupId.split("\\.")) {
+            node = node.getChild(subGroup);
+            if (node == null) {
+                return null;
+            }
+        }
+
+        return node;
+    }
+
+    /**
+     * Gets the node of a specific artifact of a specific group.
+     *
+     * @param groupId    the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                   pom.xml file of the project
+     * @param artifactId the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                   respective pom.xml file of the project
+     * @return the node of the artifact or {@code null} if the folder of the artifact does not exist
+     */
+    private Node getArtifactNode(String groupId, String artifactId) {
+        Node group = getGroupNode(groupId);
+
+        return group == null ? null : group.getChild(artifactId);
+    }
+
+    /**
+     * A directory of the indexed repository.
+     */
+    static class Node {
+        final String name;
+        final Map<String, Node> children = new HashMap<String, Node>();
+        long modified;
+        long subtreeModified;
+        boolean isVersion;
+        boolean isArtifact;
+        boolean isGroup;
+
+        /**
+         * Creates a new node for a directory.
+         *
+         * @param name     the name of the directory
+         * @param modified the time of the last modification of the directory in milliseconds since the epoch
+         */
+        Node(String name, long modified) {
+            this.name = name;
+            this.modified = modified;
+        }
+
+        /**
+         * Gets the node of a specific sub directory.
+         *
+         * @param name the name of the sub directory
+         * @return the node of the sub directory or {@code null} if there is no such sub directory
+         */
+        Node getChild(String name) {
+            return this.children.get(name);
+        }
+
+        /**
+         * Determines whether the directory is an artifact or a group based on its sub directories. A directory is an
+         * artifact if it has at least one version and a group if it has at least one artifact. Besides, the latest
+         * time of the last modification of the directory and all directories below it is determined.
+         */
+        void updateFlags() {
+            this.isArtifact = false;
+            this.isGroup = false;
+            this.subtreeModified = this.modified;
+            for (Node child : this.children.values()) {
+                this.isArtifact |= child.isVersion;
+                this.isGroup |= child.isArtifact;
+                this.subtreeModified = Math.max(this.subtreeModified, child.subtreeModified);
+            }
+        }
+    }
+
+    /**
+     * Builds the nodes of an index while walking the repository. The file attributes provided by the walk are used to
+     * distinguish files from directories, so no additional file system calls are needed.
+     */
+    private static class IndexBuilder extends SimpleFileVisitor<Path> {
+        private final String rootName;
+        private final String rootParentName;
+        private final Deque<Node> nodes = new ArrayDeque<Node>();
+        private final Deque<List<String>> files = new ArrayDeque<List<String>>();
+        private Node root;
+
+        /**
+         * Creates a new builder.
+         *
+         * @param rootName       the name of the node of the directory the walk is started at
+         * @param rootParentName the name of the parent directory of the directory the walk is started at or
+         *                       {@code null} if it is the root of the repository
+         */
+        IndexBuilder(String rootName, String rootParentName) {
+            this.rootName = rootName;
+            this.rootParentName = rootParentName;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            Node node;
+            long modified = attrs.lastModifiedTime().toMillis();
+            if (this.nodes.isEmpty()) {
+                node = new Node(this.rootName, modified);
+                this.root = node;
+            } else {
+                node = new Node(dir.getFileName().toString(), modified);
+                this.nodes.peek().children.put(node.name, node);
+            }
+
+            this.nodes.push(node);
+            this.files.push(new ArrayList<String>());
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            if (attrs.isRegularFile() && !this.files.isEmpty()) {
+                this.files.peek().add(file.getFileName().toString());
+            }
+
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException exc) {
+            // skip files and directories that cannot be read
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+            Node node = this.nodes.pop();
+            List<String> filesOfNode = this.files.pop();
+
+            // a directory is a version if it has files named after its artifact and version, an artifact if it has at
+            // least one version and a group if it has at least one artifact
+            String parentName = this.nodes.isEmpty() ? this.rootParentName : this.nodes.peek().name;
+            node.isVersion = isVersion(parentName, node.name, filesOfNode.toArray(new String[0]));
+            node.updateFlags();
+
+            return FileVisitResult.CONTINUE;
+        }
+    }
+
+    /**
+     * Walks the trees of two indexes at the same time and reports the version folders that differ.
+     */
+    private static class ChangeIterator implements Iterator<RepositoryChange> {
+        private final long changedAfter;
+        private final Deque<Frame> frames = new ArrayDeque<Frame>();
+        private RepositoryChange next;
+
+        /**
+         * Creates a new iterator.
+         *
+         * @param current      the root node of the current index
+         * @param previous     the root node of the previous index or {@code null} if there is none
+         * @param changedAfter the time in milliseconds since the epoch after which modified directories are always
+         *                     compared
+         */
+        ChangeIterator(Node current, Node previous, long changedAfter) {
+            this.changedAfter = changedAfter;
+            this.frames.push(new Frame(current, previous, null, null, 0));
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.next == null) {
+                this.next = findNext();
+            }
+
+            return this.next != null;
+        }
+
+        @Override
+        public RepositoryChange next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            RepositoryChange change = this.next;
+            this.next = null;
+            return change;
+        }
+
+        /**
+         * Compares the nodes of the remaining directories until a changed version folder has been found.
+         *
+         * @return the next change or {@code null} if there are no more changes
+         */
+        private RepositoryChange findNext() {
+            while (!this.frames.isEmpty()) {
+                Frame frame = this.frames.pop();
+                Node current = frame.current;
+                Node previous = frame.previous;
+
+                // check whether nothing below the directory has been modified since the previous index has been built
+                if (current != null && previous != null && current.modified == previous.modified
+                        && current.subtreeModified == previous.subtreeModified
+                        && current.subtreeModified < this.changedAfter) {
+                    continue;
+                }
+
+                // -> directory may have changed
+
+                // push the sub directories in reverse order, so they are compared in alphabetical order
+                TreeSet<String> names = new TreeSet<String>();
+                if (current != null) {
+                    names.addAll(current.children.keySet());
+                }
+                if (previous != null) {
+                    names.addAll(previous.children.keySet());
+                }
+                for (String name : names.descendingSet()) {
+                    this.frames.push(new Frame(current == null ? null : current.getChild(name),
+                            previous == null ? null : previous.getChild(name), frame, name, frame.depth + 1));
+                }
+
+                // check whether the directory is a version folder that has changed (i.e. below a group and an artifact)
+                ChangeType type = null;
+                boolean wasVersion = previous != null && previous.isVersion;
+                boolean isVersion = current != null && current.isVersion;
+                if (frame.depth < 3 || (!wasVersion && !isVersion)) {
+                    continue;
+                } else if (!wasVersion) {
+                    type = ChangeType.ADDED;
+                } else if (!isVersion) {
+                    type = ChangeType.REMOVED;
+                } else if (current.modified != previous.modified) {
+                    type = ChangeType.CHANGED;
+                }
+                if (type != null) {
+                    return new RepositoryChange(type, frame.getCoordinate());
+                }
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * A directory to compare, represented by its nodes in both indexes.
+     */
+    private static class Frame {
+        private final Node current;
+        private final Node previous;
+        private final Frame parent;
+        private final String name;
+        private final int depth;
+
+        /**
+         * Creates a new frame.
+         *
+         * @param current  the node of the directory in the current index or {@code null} if it does not exist anymore
+         * @param previous the node of the directory in the previous index or {@code null} if it did not exist
+         * @param parent   the frame of the parent directory or {@code null} for the root directory
+         * @param name     the name of the directory or {@code null} for the root directory
+         * @param depth    the depth of the directory below the root directory, {@code 0} for the root directory
+         */
+        Frame(Node current, Node previous, Frame parent, String name, int depth) {
+            this.current = current;
+            this.previous = previous;
+            this.parent = parent;
+            this.name = name;
+            this.depth = depth;
+        }
+
+        /**
+         * Gets the coordinate of the version represented by this directory.
+         *
+         * @return the coordinate, whose version is the name of this directory, whose artifact id is the name of the
+         * parent directory and whose group id is made up of the names of all other directories
+         */
+        ArtifactCoordinate getCoordinate() {
+            StringBuilder groupId = new StringBuilder();
+            for (Frame group = this.parent.parent; group.parent != null; group = group.parent) {
+                groupId.insert(0, groupId.length() == 0 ? group.name : group.name + ".");
+            }
+
+            return new ArtifactCoordinate(groupId.toString(), this.parent.name, this.name);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package ch.scheitlin.alex.maven;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The disk usage of a local maven repository aggregated per group, as reported by an inventory of the repository. The
+ * files of the single versions are not kept, they are only passed to the consumer of the inventory while the
+ * repository is walked.
+ */
+public final class RepositoryInventory {
+    private final Map<String, GroupUsage> groups;
+
+    /**
+     * Creates a new inventory.
+     *
+     * @param groups the usage of all groups with at least one version folder, by their ids
+     */
+    RepositoryInventory(Map<String, GroupUsage> groups) {
+        this.groups = Collections.unmodifiableMap(groups);
+    }
+
+    /**
+     * Gets the usage of all groups with at least one version folder.
+     *
+     * @return the usage of the groups by their ids in alphabetical order
+     */
+    public Map<String, GroupUsage> getGroups() {
+        return this.groups;
+    }
+
+    /**
+     * Gets the usage of all groups with at least one version folder, the largest first.
+     *
+     * @return the usage of the groups ordered by their size in descending order
+     */
+    public List<GroupUsage> getGroupsBySize() {
+        List<GroupUsage> groups = new ArrayList<GroupUsage>(this.groups.values());
+        Collections.sort(groups, new Comparator<GroupUsage>() {
+            @Override
+            public int compare(GroupUsage left, GroupUsage right) {
+                return Long.compare(right.getSize(), left.getSize());
+            }
+        });
+
+        return groups;
+    }
+
+    /**
+     * Gets the size of all files of all version folders of the repository.
+     *
+     * @return the size in bytes
+     */
+    public long getSize() {
+        long size = 0;
+        for (GroupUsage group : this.groups.values()) {
+            size += group.getSize();
+        }
+
+        return size;
+    }
+
+    /**
+     * Gets the number of version folders of the repository, including the ones that are not considered existing.
+     *
+     * @return the number of version folders
+     */
+    public int getVersionCount() {
+        int count = 0;
+        for (GroupUsage group : this.groups.values()) {
+            count += group.getVersionCount();
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the number of version folders of the repository only containing '.lastUpdated' files.
+     *
+     * @return the number of version folders that can be purged
+     */
+    public int getPurgeCandidateCount() {
+        int count = 0;
+        for (GroupUsage group : this.groups.values()) {
+            count += group.getPurgeCandidateCount();
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,77 @@
+package ch.scheitlin.alex.maven;
+
+import java.nio.file.Path;
+
+/**
+ * <p>Gets notified about the accesses of a {@link LocalMavenRepositoryReader} to the file system and its cache.</p>
+ * <p>
+ * The methods are called synchronously by the threads executing the queries, some of them while the cache is locked.
+ * Implementations must therefore be thread-safe and return quickly, e.g. by only incrementing counters (see
+ * {@link RepositoryMetrics}). All methods do nothing by default, so an implementation only overrides the ones it is
+ * interested in.
+ * </p>
+ *
+ * @see LocalMavenRepositoryReader#setListener(RepositoryListener)
+ */
+public interface RepositoryListener {
+    /**
+     * Called after a directory has been listed. Listing a directory reads the attributes of every entry, so every
+     * entry causes a stat call.
+     *
+     * @param directory the listed directory
+     * @param entries   the number of entries of the directory
+     */
+    default void directoryListed(Path directory, int entries) {
+    }
+
+    /**
+     * Called after the attributes (e.g. the modification time) of a file have been read outside of a listing.
+     *
+     * @param file the file
+     */
+    default void fileStatted(Path file) {
+    }
+
+    /**
+     * Called after the content of a file (e.g. a pom.xml file) has been read.
+     *
+     * @param file the file
+     */
+    default void fileRead(Path file) {
+    }
+
+    /**
+     * Called if the listing of a directory has been found in the cache.
+     *
+     * @param directory the directory
+     */
+    default void cacheHit(Path directory) {
+    }
+
+    /**
+     * Called if the listing of a directory has not been found in the cache and is read from the disk.
+     *
+     * @param directory the directory
+     */
+    default void cacheMissed(Path directory) {
+    }
+
+    /**
+     * Called if the listing of a directory has been evicted from the cache, because the cache was full or the listing
+     * has expired.
+     *
+     * @param directory the directory
+     */
+    default void cacheEvicted(Path directory) {
+    }
+
+    /**
+     * Called after a query of the reader (e.g. {@link LocalMavenRepositoryReader#doesGroupExist(String)}) has
+     * returned.
+     *
+     * @param method the name of the method of the query, e.g. {@code doesGroupExist}
+     * @param nanos  the time the query took in nanoseconds
+     */
+    default void queryCompleted(String method, long nanos) {
+    }
+}
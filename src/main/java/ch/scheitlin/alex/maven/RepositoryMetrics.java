@@ -0,0 +1,207 @@
+package ch.scheitlin.alex.maven;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Counts the accesses of a {@link LocalMavenRepositoryReader} to the file system and its cache.</p>
+ * <p>
+ * Counters are {@link LongAdder}s, so threads recording concurrently do not contend. The latencies of the queries are
+ * recorded per method in a {@link LatencyHistogram}. The metrics can be registered as an MXBean to be monitored over
+ * JMX:
+ * </p>
+ * <pre>{@code
+ * RepositoryMetrics metrics = new RepositoryMetrics();
+ * reader.setListener(metrics);
+ * metrics.register(new ObjectName(RepositoryMetrics.DEFAULT_OBJECT_NAME));
+ * }</pre>
+ */
+public final class RepositoryMetrics implements RepositoryListener, RepositoryMetricsMXBean {
+    public static final String DEFAULT_OBJECT_NAME = "ch.scheitlin.alex.maven:type=RepositoryMetrics";
+
+    private final LongAdder directoryListings = new LongAdder();
+    private final LongAdder fileStats = new LongAdder();
+    private final LongAdder fileReads = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder cacheEvictions = new LongAdder();
+    private final ConcurrentMap<String, LatencyHistogram> latencies =
+            new ConcurrentHashMap<String, LatencyHistogram>();
+
+    @Override
+    public void directoryListed(Path directory, int entries) {
+        this.directoryListings.increment();
+        this.fileStats.add(entries);
+    }
+
+    @Override
+    public void fileStatted(Path file) {
+        this.fileStats.increment();
+    }
+
+    @Override
+    public void fileRead(Path file) {
+        this.fileReads.increment();
+    }
+
+    @Override
+    public void cacheHit(Path directory) {
+        this.cacheHits.increment();
+    }
+
+    @Override
+    public void cacheMissed(Path directory) {
+        this.cacheMisses.increment();
+    }
+
+    @Override
+    public void cacheEvicted(Path directory) {
+        this.cacheEvictions.increment();
+    }
+
+    @Override
+    public void queryCompleted(String method, long nanos) {
+        LatencyHistogram histogram = this.latencies.get(method);
+        if (histogram == null) {
+            LatencyHistogram newHistogram = new LatencyHistogram();
+            histogram = this.latencies.putIfAbsent(method, newHistogram);
+            if (histogram == null) {
+                histogram = newHistogram;
+            }
+        }
+        histogram.record(nanos);
+    }
+
+    /**
+     * Gets the histogram of the latencies of the queries of a specific method.
+     *
+     * @param method the name of the method, e.g. {@code doesGroupExist}
+     * @return the histogram or {@code null} if no query of the method has completed yet
+     */
+    public LatencyHistogram getLatencyHistogram(String method) {
+        return this.latencies.get(method);
+    }
+
+    @Override
+    public long getDirectoryListings() {
+        return this.directoryListings.sum();
+    }
+
+    @Override
+    public long getFileStats() {
+        return this.fileStats.sum();
+    }
+
+    @Override
+    public long getFileReads() {
+        return this.fileReads.sum();
+    }
+
+    @Override
+    public long getCacheHits() {
+        return this.cacheHits.sum();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return this.cacheMisses.sum();
+    }
+
+    @Override
+    public long getCacheEvictions() {
+        return this.cacheEvictions.sum();
+    }
+
+    @Override
+    public double getCacheHitRatio() {
+        long hits = this.cacheHits.sum();
+        long lookups = hits + this.cacheMisses.sum();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public Map<String, Long> getQueryCounts() {
+        Map<String, Long> counts = new TreeMap<String, Long>();
+        for (Map.Entry<String, LatencyHistogram> entry : this.latencies.entrySet()) {
+            counts.put(entry.getKey(), entry.getValue().getCount());
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Long> getMedianLatencyMicros() {
+        return getLatencyMicros(50);
+    }
+
+    @Override
+    public Map<String, Long> getP99LatencyMicros() {
+        return getLatencyMicros(99);
+    }
+
+    @Override
+    public Map<String, Long> getMaxLatencyMicros() {
+        return getLatencyMicros(100);
+    }
+
+    @Override
+    public void reset() {
+        this.directoryListings.reset();
+        this.fileStats.reset();
+        this.fileReads.reset();
+        this.cacheHits.reset();
+        this.cacheMisses.reset();
+        this.cacheEvictions.reset();
+        this.latencies.clear();
+    }
+
+    @Override
+    public String toString() {
+        return getDirectoryListings() + " listings, " + getFileStats() + " stats, " + getFileReads() + " reads, "
+                + getCacheHits() + " cache hits, " + getCacheMisses() + " cache misses, " + getCacheEvictions()
+                + " evictions";
+    }
+
+    /**
+     * Registers the metrics as an MXBean at the platform MBean server.
+     *
+     * @param name the name to register the metrics with, e.g. {@link #DEFAULT_OBJECT_NAME}
+     * @throws JMException if the name is already registered
+     */
+    public void register(ObjectName name) throws JMException {
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+    }
+
+    /**
+     * Unregisters the metrics from the platform MBean server.
+     *
+     * @param name the name the metrics have been registered with
+     * @throws JMException if the name is not registered
+     */
+    public void unregister(ObjectName name) throws JMException {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+    }
+
+    /**
+     * Gets a specific percentile of the latency of the queries per method.
+     *
+     * @param percentile the percentile between {@code 0} and {@code 100}
+     * @return the latency in microseconds by the name of the method
+     */
+    private Map<String, Long> getLatencyMicros(double percentile) {
+        Map<String, Long> latencies = new TreeMap<String, Long>();
+        for (Map.Entry<String, LatencyHistogram> entry : this.latencies.entrySet()) {
+            long nanos = percentile == 100 ? entry.getValue().getMax()
+                    : entry.getValue().getValueAtPercentile(percentile);
+            latencies.put(entry.getKey(), TimeUnit.NANOSECONDS.toMicros(nanos));
+        }
+        return latencies;
+    }
+}
@@ -0,0 +1,91 @@
+package ch.scheitlin.alex.maven;
+
+import java.util.Map;
+
+/**
+ * The management interface of {@link RepositoryMetrics}, e.g. to show the metrics of a reader in a JMX console.
+ */
+public interface RepositoryMetricsMXBean {
+    /**
+     * Gets the number of directories listed.
+     *
+     * @return the number of directory listings
+     */
+    long getDirectoryListings();
+
+    /**
+     * Gets the number of stat calls, i.e. reads of the attributes of a file or directory, including the ones of the
+     * entries of listed directories.
+     *
+     * @return the number of stat calls
+     */
+    long getFileStats();
+
+    /**
+     * Gets the number of files whose content has been read.
+     *
+     * @return the number of file reads
+     */
+    long getFileReads();
+
+    /**
+     * Gets the number of directory listings found in the cache.
+     *
+     * @return the number of cache hits
+     */
+    long getCacheHits();
+
+    /**
+     * Gets the number of directory listings not found in the cache.
+     *
+     * @return the number of cache misses
+     */
+    long getCacheMisses();
+
+    /**
+     * Gets the number of directory listings evicted from the cache.
+     *
+     * @return the number of evictions
+     */
+    long getCacheEvictions();
+
+    /**
+     * Gets the ratio of cache hits to all cache lookups.
+     *
+     * @return the hit ratio between {@code 0} and {@code 1} or {@code 0} if nothing has been looked up
+     */
+    double getCacheHitRatio();
+
+    /**
+     * Gets the number of completed queries per method.
+     *
+     * @return the number of queries by the name of the method
+     */
+    Map<String, Long> getQueryCounts();
+
+    /**
+     * Gets the median latency of the queries per method.
+     *
+     * @return the median latency in microseconds by the name of the method
+     */
+    Map<String, Long> getMedianLatencyMicros();
+
+    /**
+     * Gets the 99th percentile of the latency of the queries per method.
+     *
+     * @return the 99th percentile in microseconds by the name of the method
+     */
+    Map<String, Long> getP99LatencyMicros();
+
+    /**
+     * Gets the highest latency of the queries per method.
+     *
+     * @return the highest latency in microseconds by the name of the method
+     */
+    Map<String, Long> getMaxLatencyMicros();
+
+    /**
+     * Resets all counters and histograms.
+     */
+    void reset();
+}
@@ -0,0 +1,132 @@
+package ch.scheitlin.alex.maven;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * <p>Enumerates all existing versions of all artifacts of a local maven repository.</p>
+ * <p>
+ * The repository is walked by a {@link ForkJoinPool}. Every directory is listed by its own task, which forks a new task
+ * for each of its sub directories. Hence the work is split per top-level group directory first and idle threads steal
+ * the sub directories of large groups from busy threads.
+ * </p>
+ * <p>
+ * A directory is considered to be the folder of a version if it is located at least three levels below the root of the
+ * repository (at least one group folder, the artifact folder and the version folder) and contains a file named after
+ * the artifact and the version (e.g. {@code <artifactId>-<version>.jar}, see
+ * {@link LocalMavenRepositoryReader#isVersionFolder(String, String, String[])}). This distinguishes version folders
+ * from artifact folders, which only contain files like {@code maven-metadata-local.xml}. Like in
+ * {@link LocalMavenRepositoryReader#doesVersionExist(String, String, String)} the version is only considered existing
+ * if its files are valid regarding the '.lastUpdated' files.
+ * </p>
+ */
+class RepositoryScanner {
+    private final Path repository;
+    private final int parallelism;
+
+    /**
+     * Creates a new scanner.
+     *
+     * @param repository  the path to the root directory of the local maven repository
+     * @param parallelism the number of threads used to walk the repository
+     */
+    RepositoryScanner(Path repository, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1.");
+        }
+
+        this.repository = repository;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Walks the whole repository and collects the coordinates of all existing versions.
+     *
+     * @return the coordinates of all existing versions in no particular order
+     */
+    List<ArtifactCoordinate> scan() {
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            return pool.invoke(new ScanTask(this.repository, true, null, null));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Joins a group id and a sub group.
+     *
+     * @param groupId  the group id or {@code null} if there is none
+     * @param subGroup the sub group to append
+     * @return the joined group id
+     */
+    static String joinGroup(String groupId, String subGroup) {
+        return groupId == null ? subGroup : groupId + "." + subGroup;
+    }
+
+    /**
+     * Lists a single directory, collects its coordinate if it is the folder of an existing version and forks a task
+     * for each of its sub directories otherwise.
+     */
+    @SuppressWarnings("serial")
+    private static class ScanTask extends RecursiveTask<List<ArtifactCoordinate>> {
+        private final Path directory;
+        private final boolean isRoot;
+        private final String groupId;
+        private final String artifactId;
+
+        /**
+         * Creates a new task for a specific directory.
+         *
+         * @param directory  the directory to scan
+         * @param isRoot     {@code true} if the directory is the root of the repository, {@code false} if not
+         * @param groupId    the group id made up by all directories above the parent directory or {@code null} if the
+         *                   directory is located less than two levels below the root of the repository
+         * @param artifactId the name of the parent directory or {@code null} if the directory is the root of the
+         *                   repository or located directly within it
+         */
+        ScanTask(Path directory, boolean isRoot, String groupId, String artifactId) {
+            this.directory = directory;
+            this.isRoot = isRoot;
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+        }
+
+        @Override
+        protected List<ArtifactCoordinate> compute() {
+            DirectoryListing listing = DirectoryListing.read(this.directory);
+            List<ArtifactCoordinate> coordinates = new ArrayList<ArtifactCoordinate>();
+
+            // check whether the directory is the folder of a version
+            String version = this.directory.getFileName().toString();
+            if (this.groupId != null
+                    && LocalMavenRepositoryReader.isVersionFolder(this.artifactId, version, listing.getFiles())) {
+                if (listing.isValidVersion(this.artifactId, version)) {
+                    coordinates.add(new ArtifactCoordinate(this.groupId, this.artifactId, version));
+                }
+                return coordinates;
+            }
+
+            // -> directory is a group or artifact folder
+
+            // scan all sub directories in parallel
+            String childGroupId = this.artifactId == null ? this.groupId : joinGroup(this.groupId, this.artifactId);
+            String childArtifactId = this.isRoot ? null : this.directory.getFileName().toString();
+            List<ScanTask> tasks = new ArrayList<ScanTask>();
+            for (String subDirectory : listing.getDirectories()) {
+                Path child = this.directory.resolve(subDirectory);
+                ScanTask task = new ScanTask(child, false, childGroupId, childArtifactId);
+                task.fork();
+                tasks.add(task);
+            }
+            for (ScanTask task : tasks) {
+                coordinates.addAll(task.join());
+            }
+
+            return coordinates;
+        }
+    }
+}
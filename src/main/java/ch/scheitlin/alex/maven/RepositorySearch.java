@@ -0,0 +1,99 @@
+package ch.scheitlin.alex.maven;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Searches the group ids and artifact ids of a local maven repository by prefix or by similarity.</p>
+ * <p>
+ * The ids are kept in compressed tries (see {@link IdTrie}): one for all group ids and one per group for the ids of
+ * its artifacts. Hence all groups below a specific group (e.g. {@code org.apache.}) can be enumerated and
+ * "did you mean" suggestions for mistyped ids can be found without walking the repository again.
+ * </p>
+ * <p>
+ * The search is built from the coordinates of all existing versions, i.e. it only contains groups and artifacts
+ * considered existing by {@link LocalMavenRepositoryReader}. Like {@link RepositoryIndex}, it is a snapshot and does
+ * not reflect changes to the repository after it has been built.
+ * </p>
+ */
+public class RepositorySearch {
+    private final IdTrie groups = new IdTrie();
+    private final Map<String, IdTrie> artifacts = new HashMap<String, IdTrie>();
+
+    /**
+     * Creates a new search over the groups and artifacts of a specific set of coordinates.
+     *
+     * @param coordinates the coordinates of all existing versions, e.g. from
+     *                    {@link LocalMavenRepositoryReader#scanAll()}
+     */
+    public RepositorySearch(Collection<ArtifactCoordinate> coordinates) {
+        for (ArtifactCoordinate coordinate : coordinates) {
+            this.groups.add(coordinate.getGroupId());
+
+            IdTrie artifactsOfGroup = this.artifacts.get(coordinate.getGroupId());
+            if (artifactsOfGroup == null) {
+                artifactsOfGroup = new IdTrie();
+                this.artifacts.put(coordinate.getGroupId(), artifactsOfGroup);
+            }
+            artifactsOfGroup.add(coordinate.getArtifactId());
+        }
+    }
+
+    /**
+     * Gets all existing groups whose id starts with a specific prefix, e.g. {@code org.apache.} for all groups below
+     * {@code org.apache}.
+     *
+     * @param prefix the prefix the group ids have to start with
+     * @return the ids of the matching groups in alphabetical order
+     */
+    public List<String> getGroupsWithPrefix(String prefix) {
+        return this.groups.findByPrefix(prefix);
+    }
+
+    /**
+     * Gets all existing groups whose id differs from a specific group id by at most a given number of characters.
+     *
+     * @param groupId     the id of the group as specified in the {@code <groupId></groupId>} element of the
+     *                    respective pom.xml file of the project
+     * @param maxDistance the maximum number of inserted, deleted or substituted characters
+     * @return the ids of the matching groups, the most similar first
+     */
+    public List<String> getSimilarGroups(String groupId, int maxDistance) {
+        return this.groups.findSimilar(groupId, maxDistance);
+    }
+
+    /**
+     * Gets all existing artifacts of a specific group whose id starts with a specific prefix.
+     *
+     * @param groupId the id of the group as specified in the {@code <groupId></groupId>} element of the respective
+     *                pom.xml file of the project
+     * @param prefix  the prefix the artifact ids have to start with
+     * @return the ids of the matching artifacts in alphabetical order or an empty list if the group does not exist
+     */
+    public List<String> getArtifactsWithPrefix(String groupId, String prefix) {
+        IdTrie artifactsOfGroup = this.artifacts.get(groupId);
+
+        return artifactsOfGroup == null ? new ArrayList<String>() : artifactsOfGroup.findByPrefix(prefix);
+    }
+
+    /**
+     * Gets all existing artifacts of a specific group whose id differs from a specific artifact id by at most a given
+     * number of characters.
+     *
+     * @param groupId     the id of the group as specified in the {@code <groupId></groupId>} element of the
+     *                    respective pom.xml file of the project
+     * @param artifactId  the id of the artifact as specified in the {@code <artifactId></artifactId>} element of the
+     *                    respective pom.xml file of the project
+     * @param maxDistance the maximum number of inserted, deleted or substituted characters
+     * @return the ids of the matching artifacts, the most similar first, or an empty list if the group does not exist
+     */
+    public List<String> getSimilarArtifacts(String groupId, String artifactId, int maxDistance) {
+        IdTrie artifactsOfGroup = this.artifacts.get(groupId);
+
+        return artifactsOfGroup == null ? new ArrayList<String>()
+                : artifactsOfGroup.findSimilar(artifactId, maxDistance);
+    }
+}
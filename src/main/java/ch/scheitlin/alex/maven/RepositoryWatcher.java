@@ -0,0 +1,191 @@
+package ch.scheitlin.alex.maven;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Keeps the cached directory listings of a reader up to date while the repository is modified.</p>
+ * <p>
+ * Every directory that gets listed by the reader is registered at a {@link WatchService}. A background thread waits
+ * for changes of these directories and updates only the affected listings:
+ * </p>
+ * <ul>
+ * <li>
+ * if a sub directory or file is created (e.g. a new version folder or a '.lastUpdated' file next to a jar), it is
+ * added to the cached listing of its directory and the (possibly cached empty) listing of the new entry is removed
+ * </li>
+ * <li>
+ * if a sub directory or file is deleted, it is removed from the cached listing of its directory and the listings of
+ * the deleted directory and all directories within it are removed
+ * </li>
+ * <li>if events of a directory got lost, the listings of the directory and all directories within it are removed</li>
+ * </ul>
+ * <p>
+ * Only the creation or deletion of a directory, lost events and files that make a directory become or cease to be a
+ * version folder mark the set of existing groups, artifacts and versions as modified (see
+ * {@link ListingCache#getStructureModificationCount()}). Other files that are created or deleted within a version
+ * folder (e.g. a downloaded jar next to its pom) only update the listing of the folder.
+ * </p>
+ * <p>
+ * Note that on some platforms the number of directories that can be watched is limited by the operating system (e.g.
+ * 'fs.inotify.max_user_watches' on Linux).
+ * </p>
+ */
+class RepositoryWatcher implements Closeable {
+    private final ListingCache cache;
+    private final WatchService watchService;
+    private final Map<Path, WatchKey> keys = new ConcurrentHashMap<Path, WatchKey>();
+
+    /**
+     * Creates a new watcher and starts its background thread.
+     *
+     * @param repository the path to the root directory of the watched repository
+     * @param cache      the cache to keep up to date
+     * @throws IOException if the file system of the repository does not support watching
+     */
+    RepositoryWatcher(Path repository, ListingCache cache) throws IOException {
+        this.cache = cache;
+        this.watchService = repository.getFileSystem().newWatchService();
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                processEvents();
+            }
+        }, "local-maven-repository-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Starts watching a specific directory. Directories that do not exist are ignored, their creation is noticed by
+     * watching their parent directory.
+     *
+     * @param directory the directory to watch
+     */
+    void register(Path directory) {
+        if (this.keys.containsKey(directory)) {
+            return;
+        }
+
+        try {
+            WatchKey key = directory.register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+            this.keys.put(directory, key);
+        } catch (IOException e) {
+            // the directory does not exist (anymore) or cannot be watched
+        } catch (ClosedWatchServiceException e) {
+            // the watcher has been closed in the meantime
+        }
+    }
+
+    /**
+     * Stops watching the repository and the background thread.
+     *
+     * @throws IOException if the watch service could not be closed
+     */
+    public void close() throws IOException {
+        this.watchService.close();
+        this.keys.clear();
+    }
+
+    /**
+     * Waits for changes of the watched directories and processes them until the watcher is closed.
+     */
+    private void processEvents() {
+        try {
+            while (true) {
+                WatchKey key = this.watchService.take();
+                Path directory = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    processEvent(directory, event);
+                }
+
+                if (!key.reset()) {
+                    // the directory has been deleted or cannot be watched anymore
+                    this.keys.remove(directory);
+                    this.cache.removeTree(directory);
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // the watcher has been closed
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Updates the cached listings affected by a specific change of a directory.
+     *
+     * @param directory the directory that has changed
+     * @param event     the change of the directory
+     */
+    private void processEvent(Path directory, WatchEvent<?> event) {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            this.cache.removeTree(directory);
+            return;
+        }
+
+        Path entry = directory.resolve((Path) event.context());
+        String name = entry.getFileName().toString();
+        DirectoryListing listing = this.cache.peek(directory);
+
+        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE) {
+            boolean isDirectory = Files.isDirectory(entry);
+            if (isDirectory) {
+                // the new directory may have been listed (and cached as empty) before it was created
+                this.cache.removeTree(entry);
+            }
+
+            if (listing == null) {
+                // the new file may have made an uncached directory a version folder and listings of the directory that
+                // are currently read from the disk may not contain it
+                if (!isDirectory) {
+                    this.cache.markStructureModified();
+                }
+            } else if (isDirectory || Files.isRegularFile(entry)) {
+                update(directory, listing, listing.withEntry(name, isDirectory));
+            }
+        } else if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+            if (listing == null || LocalMavenRepositoryReader.doesArrayContain(listing.getDirectories(), name)) {
+                this.cache.removeTree(entry);
+            }
+
+            if (listing != null) {
+                update(directory, listing, listing.withoutEntry(name));
+            }
+        }
+    }
+
+    /**
+     * Replaces the cached listing of a directory by its updated listing and marks the set of existing versions as
+     * modified if the directory has become or ceased to be a version folder.
+     *
+     * @param directory the directory that has changed
+     * @param listing   the cached listing of the directory
+     * @param updated   the listing of the directory including the change
+     */
+    private void update(Path directory, DirectoryListing listing, DirectoryListing updated) {
+        this.cache.replace(directory, listing, updated);
+
+        // check whether the directory can be a version folder (i.e. has a parent directory named after the artifact)
+        Path artifact = directory.getParent();
+        if (artifact == null || artifact.getFileName() == null) {
+            return;
+        }
+
+        // -> directory may be a version folder
+        String artifactId = artifact.getFileName().toString();
+        String version = directory.getFileName().toString();
+        if (listing.isValidVersion(artifactId, version) != updated.isValidVersion(artifactId, version)) {
+            this.cache.markStructureModified();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ch.scheitlin.alex.maven;
+
+/**
+ * The result of resolving the coordinate of a specific version of an artifact in a local maven repository.
+ *
+ * @see LocalMavenRepositoryReader#resolveAll(java.util.Collection)
+ */
+public final class Resolution {
+    private final ArtifactCoordinate coordinate;
+    private final ResolutionStatus status;
+    private final String nonExistingSubGroup;
+
+    /**
+     * Creates a new resolution.
+     *
+     * @param coordinate          the resolved coordinate
+     * @param status              the outcome of the resolution
+     * @param nonExistingSubGroup the part of the group id that does not exist or {@code null} if the status is not
+     *                            {@link ResolutionStatus#MISSING_GROUP}
+     */
+    Resolution(ArtifactCoordinate coordinate, ResolutionStatus status, String nonExistingSubGroup) {
+        this.coordinate = coordinate;
+        this.status = status;
+        this.nonExistingSubGroup = nonExistingSubGroup;
+    }
+
+    /**
+     * Gets the resolved coordinate.
+     *
+     * @return the resolved coordinate
+     */
+    public ArtifactCoordinate getCoordinate() {
+        return this.coordinate;
+    }
+
+    /**
+     * Gets the outcome of the resolution.
+     *
+     * @return the outcome of the resolution
+     */
+    public ResolutionStatus getStatus() {
+        return this.status;
+    }
+
+    /**
+     * Checks whether the version exists in the local maven repository.
+     *
+     * @return {@code true} if the status is {@link ResolutionStatus#EXISTS}, {@code false} if not
+     */
+    public boolean exists() {
+        return this.status == ResolutionStatus.EXISTS;
+    }
+
+    /**
+     * Gets the part of the group id that does not exist, like
+     * {@link LocalMavenRepositoryReader#getNonExistingSubGroup(String)}.
+     *
+     * @return the part of the group id that does not exist or {@code null} if the status is not
+     * {@link ResolutionStatus#MISSING_GROUP}
+     */
+    public String getNonExistingSubGroup() {
+        return this.nonExistingSubGroup;
+    }
+
+    @Override
+    public String toString() {
+        return this.nonExistingSubGroup == null ? this.coordinate + " " + this.status
+                : this.coordinate + " " + this.status + " (" + this.nonExistingSubGroup + ")";
+    }
+}
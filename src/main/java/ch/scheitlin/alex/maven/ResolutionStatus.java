@@ -0,0 +1,35 @@
+package ch.scheitlin.alex.maven;
+
+/**
+ * The outcome of resolving the coordinate of a specific version of an artifact in a local maven repository.
+ *
+ * @see LocalMavenRepositoryReader#resolveAll(java.util.Collection)
+ */
+public enum ResolutionStatus {
+    /**
+     * The version exists in the local maven repository.
+     */
+    EXISTS,
+
+    /**
+     * The folder of the group does not exist. The part of the group id that does not exist is provided by
+     * {@link Resolution#getNonExistingSubGroup()}.
+     */
+    MISSING_GROUP,
+
+    /**
+     * The folder of the group exists, but the folder of the artifact does not.
+     */
+    MISSING_ARTIFACT,
+
+    /**
+     * The folder of the artifact exists, but the folder of the version does not.
+     */
+    MISSING_VERSION,
+
+    /**
+     * The folder of the version exists, but it is empty, contains no file named after the artifact and the version or
+     * contains '.lastUpdated' files of failed downloads without the corresponding source files.
+     */
+    LAST_UPDATED_ONLY
+}
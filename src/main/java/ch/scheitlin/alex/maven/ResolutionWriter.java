@@ -0,0 +1,179 @@
+package ch.scheitlin.alex.maven;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>Writes resolutions in a machine-readable format, one line per resolution.</p>
+ * <p>
+ * Every resolution is written as its group id, artifact id, version, status and the part of the group id that does
+ * not exist. With {@link Format#NDJSON}, every line is a JSON object with these fields, e.g.
+ * {@code {"groupId":"junit","artifactId":"junit","version":"4.12","status":"EXISTS","nonExistingSubGroup":null}}.
+ * With {@link Format#CSV}, a header line is written first and fields are quoted as defined by RFC 4180 if needed.
+ * </p>
+ * <p>
+ * The writer does not buffer on its own, so a {@link java.io.BufferedWriter} should be passed for large outputs.
+ * </p>
+ */
+public class ResolutionWriter implements Closeable, Flushable {
+    static final String[] FIELDS = {"groupId", "artifactId", "version", "status", "nonExistingSubGroup"};
+
+    /**
+     * The format of the written lines.
+     */
+    public enum Format {
+        /**
+         * Newline delimited JSON, i.e. one JSON object per line.
+         */
+        NDJSON,
+
+        /**
+         * Comma separated values with a header line.
+         */
+        CSV
+    }
+
+    private final Writer out;
+    private final Format format;
+    private boolean headerWritten;
+
+    /**
+     * Creates a new writer.
+     *
+     * @param out    the writer to write the lines to
+     * @param format the format of the lines
+     */
+    public ResolutionWriter(Writer out, Format format) {
+        this.out = out;
+        this.format = format;
+    }
+
+    /**
+     * Writes a single resolution.
+     *
+     * @param resolution the resolution to write
+     * @throws IOException if the line could not be written
+     */
+    public void write(Resolution resolution) throws IOException {
+        ArtifactCoordinate coordinate = resolution.getCoordinate();
+        String[] values = {coordinate.getGroupId(), coordinate.getArtifactId(), coordinate.getVersion(),
+                resolution.getStatus().name(), resolution.getNonExistingSubGroup()};
+
+        if (this.format == Format.NDJSON) {
+            writeJson(values);
+        } else {
+            // check whether the header still has to be written
+            if (!this.headerWritten) {
+                writeCsv(FIELDS);
+                this.headerWritten = true;
+            }
+            writeCsv(values);
+        }
+    }
+
+    /**
+     * Writes many resolutions.
+     *
+     * @param resolutions the resolutions to write
+     * @throws IOException if a line could not be written
+     */
+    public void writeAll(Iterable<Resolution> resolutions) throws IOException {
+        for (Resolution resolution : resolutions) {
+            write(resolution);
+        }
+    }
+
+    /**
+     * Flushes the underlying writer.
+     *
+     * @throws IOException if the underlying writer could not be flushed
+     */
+    @Override
+    public void flush() throws IOException {
+        this.out.flush();
+    }
+
+    /**
+     * Closes the underlying writer.
+     *
+     * @throws IOException if the underlying writer could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        this.out.close();
+    }
+
+    /**
+     * Writes a line containing a JSON object with a field for each value.
+     *
+     * @param values the values of the fields, {@code null} values are written as {@code null}
+     * @throws IOException if the line could not be written
+     */
+    private void writeJson(String[] values) throws IOException {
+        this.out.write('{');
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (i > 0) {
+                this.out.write(',');
+            }
+            this.out.write('"');
+            this.out.write(FIELDS[i]);
+            this.out.write("\":");
+            if (values[i] == null) {
+                this.out.write("null");
+            } else {
+                writeJsonString(values[i]);
+            }
+        }
+        this.out.write("}\n");
+    }
+
+    /**
+     * Writes a quoted JSON string, escaping quotes, backslashes and control characters.
+     *
+     * @param value the value of the string
+     * @throws IOException if the string could not be written
+     */
+    private void writeJsonString(String value) throws IOException {
+        this.out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                this.out.write('\\');
+                this.out.write(c);
+            } else if (c < 0x20) {
+                this.out.write(String.format("\\u%04x", (int) c));
+            } else {
+                this.out.write(c);
+            }
+        }
+        this.out.write('"');
+    }
+
+    /**
+     * Writes a line of comma separated values.
+     *
+     * @param values the values, {@code null} values are written as empty fields
+     * @throws IOException if the line could not be written
+     */
+    private void writeCsv(String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                this.out.write(',');
+            }
+            String value = values[i] == null ? "" : values[i];
+
+            // check whether the value has to be quoted
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                this.out.write(value);
+            } else {
+                this.out.write('"');
+                this.out.write(value.replace("\"", "\"\""));
+                this.out.write('"');
+            }
+        }
+        this.out.write('\n');
+    }
+}
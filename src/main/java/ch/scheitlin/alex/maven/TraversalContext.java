@@ -0,0 +1,132 @@
+package ch.scheitlin.alex.maven;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>Remembers the content of all directories of the local maven repository that have been listed during a query.</p>
+ * <p>
+ * A query like {@link LocalMavenRepositoryReader#doesGroupExist(String)} checks every artifact of the group and every
+ * version of these artifacts. Each of these checks starts again at the root of the repository and verifies that all
+ * folders on the way exist. Without remembering the listings, every directory would be listed over and over again. With
+ * a traversal context, every directory is listed at most once per query.
+ * </p>
+ * <p>
+ * Listings are taken from the {@link ListingCache} of the reader if available and added to it after having been read
+ * from the disk. If the repository is watched, every directory gets registered at the {@link RepositoryWatcher} before
+ * it is listed. If another thread is listing the same directory at the same time, its listing is shared instead of
+ * listing the directory again. A traversal context is not thread-safe and is meant to be used for a single query only.
+ * </p>
+ */
+class TraversalContext {
+    private final ListingCache cache;
+    private final RepositoryWatcher watcher;
+    private final RepositoryListener listener;
+    private final Map<Path, DirectoryListing> listings = new HashMap<Path, DirectoryListing>();
+    private int listingCount;
+
+    /**
+     * Creates a new and empty traversal context.
+     *
+     * @param cache    the cache shared by all queries of a reader
+     * @param watcher  the watcher keeping the cache up to date or {@code null} if the repository is not watched
+     * @param listener the listener notified about listings and cache lookups or {@code null} to notify nobody
+     */
+    TraversalContext(ListingCache cache, RepositoryWatcher watcher, RepositoryListener listener) {
+        this.cache = cache;
+        this.watcher = watcher;
+        this.listener = listener;
+    }
+
+    /**
+     * Gets the listener notified about the accesses to the file system.
+     *
+     * @return the listener or {@code null} if nobody is notified
+     */
+    RepositoryListener getListener() {
+        return this.listener;
+    }
+
+    /**
+     * Gets the listing of a specific directory. The directory is only listed if it has neither been listed before by
+     * this context nor is cached.
+     *
+     * @param directory the directory to get the listing of
+     * @return the listing of the directory or an empty listing if the directory does not exist
+     */
+    DirectoryListing getListing(Path directory) {
+        DirectoryListing listing = this.listings.get(directory);
+        if (listing == null) {
+            int listingCount = this.listingCount;
+            listing = this.cache.load(directory, uncachedDirectory -> {
+                // start watching before listing the directory, so no change gets lost
+                if (this.watcher != null) {
+                    this.watcher.register(uncachedDirectory);
+                }
+
+                this.listingCount++;
+                DirectoryListing uncachedListing = DirectoryListing.read(uncachedDirectory);
+                if (this.listener != null) {
+                    this.listener.directoryListed(uncachedDirectory,
+                            uncachedListing.getDirectories().length + uncachedListing.getFiles().length);
+                }
+                return uncachedListing;
+            });
+            this.listings.put(directory, listing);
+
+            // listings shared by other threads loading the same directory count as hits
+            if (this.listener != null) {
+                if (this.listingCount == listingCount) {
+                    this.listener.cacheHit(directory);
+                } else {
+                    this.listener.cacheMissed(directory);
+                }
+            }
+        }
+
+        return listing;
+    }
+
+    /**
+     * Checks whether the listing of a specific directory is available without reading the directory from the disk.
+     *
+     * @param directory the directory to check
+     * @return {@code true} if the directory has been listed by this context or is cached, {@code false} if not
+     */
+    boolean isListed(Path directory) {
+        return this.listings.containsKey(directory) || this.cache.get(directory) != null;
+    }
+
+    /**
+     * Gets all directories located in a specific directory.
+     *
+     * @param directory the directory to get all directories from
+     * @return a {@code String Array} with all directories located in the specified directory or an empty
+     * {@code String Array} if the directory does not exist
+     */
+    String[] getDirectories(Path directory) {
+        return getListing(directory).getDirectories();
+    }
+
+    /**
+     * Gets all files located in a specific directory.
+     *
+     * @param directory the directory to get all files from
+     * @return a {@code String Array} with all files located in the specified directory or an empty
+     * {@code String Array} if the directory does not exist
+     */
+    String[] getFiles(Path directory) {
+        return getListing(directory).getFiles();
+    }
+
+    /**
+     * Gets the number of directory listings that have been read from the disk by this context. Listings read by
+     * other threads and shared with this context are not counted.
+     *
+     * @return the number of directory listings
+     */
+    int getListingCount() {
+        return this.listingCount;
+    }
+}
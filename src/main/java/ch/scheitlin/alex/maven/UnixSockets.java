@@ -0,0 +1,123 @@
+package ch.scheitlin.alex.maven;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+/**
+ * <p>Opens channels of Unix domain sockets.</p>
+ * <p>
+ * Unix domain sockets are supported by {@link SocketChannel} since Java 16, while this library targets Java 8. The
+ * classes and methods added in Java 16 are therefore looked up by reflection, so this library still compiles and runs
+ * on older versions, where opening a Unix domain socket fails with an {@link UnsupportedOperationException}.
+ * </p>
+ */
+class UnixSockets {
+    /**
+     * Creates the address of a Unix domain socket.
+     *
+     * @param socket the path to the socket file
+     * @return the address of the socket
+     * @throws UnsupportedOperationException if Unix domain sockets are not supported by the running Java version
+     */
+    static SocketAddress getAddress(Path socket) {
+        try {
+            return (SocketAddress) Class.forName("java.net.UnixDomainSocketAddress").getMethod("of", Path.class)
+                    .invoke(null, socket);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+            throw unsupported(e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalArgumentException("Invalid socket path '" + socket + "'.", e.getCause());
+        }
+    }
+
+    /**
+     * Checks whether an address is the address of a Unix domain socket.
+     *
+     * @param address the address
+     * @return {@code true} if the address is a Unix domain socket address, {@code false} if not
+     */
+    static boolean isUnixAddress(SocketAddress address) {
+        return address.getClass().getName().equals("java.net.UnixDomainSocketAddress");
+    }
+
+    /**
+     * Gets the path of the socket file of a Unix domain socket address.
+     *
+     * @param address the Unix domain socket address
+     * @return the path to the socket file
+     */
+    static Path getPath(SocketAddress address) {
+        try {
+            return (Path) address.getClass().getMethod("getPath").invoke(address);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw unsupported(e);
+        }
+    }
+
+    /**
+     * Opens an unbound server channel for the family of a specific address.
+     *
+     * @param address the address the channel will be bound to
+     * @return the opened server channel
+     * @throws IOException if the channel could not be opened
+     */
+    static ServerSocketChannel openServerChannel(SocketAddress address) throws IOException {
+        if (!isUnixAddress(address)) {
+            return ServerSocketChannel.open();
+        }
+
+        return (ServerSocketChannel) open(ServerSocketChannel.class);
+    }
+
+    /**
+     * Opens an unconnected channel for the family of a specific address.
+     *
+     * @param address the address the channel will be connected to
+     * @return the opened channel
+     * @throws IOException if the channel could not be opened
+     */
+    static SocketChannel openChannel(SocketAddress address) throws IOException {
+        if (!isUnixAddress(address)) {
+            return SocketChannel.open();
+        }
+
+        return (SocketChannel) open(SocketChannel.class);
+    }
+
+    /**
+     * Calls the static {@code open(ProtocolFamily)} method of a channel class with the Unix protocol family.
+     *
+     * @param channelClass the class of the channel
+     * @return the opened channel
+     * @throws IOException if the channel could not be opened
+     */
+    private static Object open(Class<?> channelClass) throws IOException {
+        try {
+            ProtocolFamily unix = StandardProtocolFamily.valueOf("UNIX");
+            return channelClass.getMethod("open", ProtocolFamily.class).invoke(null, unix);
+        } catch (IllegalArgumentException | NoSuchMethodException | IllegalAccessException e) {
+            throw unsupported(e);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw unsupported(e.getCause());
+        }
+    }
+
+    /**
+     * Creates the exception thrown if Unix domain sockets are not supported.
+     *
+     * @param cause the cause
+     * @return the exception
+     */
+    private static UnsupportedOperationException unsupported(Throwable cause) {
+        return new UnsupportedOperationException("Unix domain sockets require Java 16 or later.", cause);
+    }
+}
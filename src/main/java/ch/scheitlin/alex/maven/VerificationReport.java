@@ -0,0 +1,109 @@
+package ch.scheitlin.alex.maven;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The result of verifying the checksums of the files of a local maven repository.
+ */
+public final class VerificationReport {
+    private final List<ChecksumMismatch> mismatches;
+    private final int verifiedFileCount;
+    private final int skippedFileCount;
+    private final int unverifiableFileCount;
+    private final long verifiedBytes;
+    private final long elapsedNanos;
+
+    /**
+     * Creates a new report.
+     *
+     * @param mismatches            the files whose content does not match their checksum
+     * @param verifiedFileCount     the number of files whose content has been compared with their checksum
+     * @param skippedFileCount      the number of files skipped as they have been verified before
+     * @param unverifiableFileCount the number of files without any checksum file
+     * @param verifiedBytes         the size of all verified files in bytes
+     * @param elapsedNanos          the duration of the verification in nanoseconds
+     */
+    VerificationReport(List<ChecksumMismatch> mismatches, int verifiedFileCount, int skippedFileCount,
+                       int unverifiableFileCount, long verifiedBytes, long elapsedNanos) {
+        this.mismatches = Collections.unmodifiableList(mismatches);
+        this.verifiedFileCount = verifiedFileCount;
+        this.skippedFileCount = skippedFileCount;
+        this.unverifiableFileCount = unverifiableFileCount;
+        this.verifiedBytes = verifiedBytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the files whose content does not match their checksum or that could not be read.
+     *
+     * @return the mismatches in no particular order
+     */
+    public List<ChecksumMismatch> getMismatches() {
+        return this.mismatches;
+    }
+
+    /**
+     * Gets the number of files whose content has been compared with their checksum.
+     *
+     * @return the number of verified files, including the mismatches
+     */
+    public int getVerifiedFileCount() {
+        return this.verifiedFileCount;
+    }
+
+    /**
+     * Gets the number of files that have not been read again, as they have been verified before and their size and
+     * modification time have not changed since.
+     *
+     * @return the number of skipped files
+     */
+    public int getSkippedFileCount() {
+        return this.skippedFileCount;
+    }
+
+    /**
+     * Gets the number of artifact files without any checksum file.
+     *
+     * @return the number of files that could not be verified
+     */
+    public int getUnverifiableFileCount() {
+        return this.unverifiableFileCount;
+    }
+
+    /**
+     * Gets the size of all verified files.
+     *
+     * @return the size in bytes
+     */
+    public long getVerifiedBytes() {
+        return this.verifiedBytes;
+    }
+
+    /**
+     * Gets the duration of the verification, including walking the repository.
+     *
+     * @param unit the unit of the duration
+     * @return the duration in the given unit
+     */
+    public long getElapsedTime(TimeUnit unit) {
+        return unit.convert(this.elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the number of bytes verified per second.
+     *
+     * @return the throughput in megabytes (10^6 bytes) per second
+     */
+    public double getThroughput() {
+        return this.elapsedNanos == 0 ? 0 : this.verifiedBytes * 1000.0 / this.elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d files verified (%.1f MB/s), %d skipped, %d without checksum, %d mismatches",
+                this.verifiedFileCount, getThroughput(), this.skippedFileCount, this.unverifiableFileCount,
+                this.mismatches.size());
+    }
+}
@@ -0,0 +1,181 @@
+package ch.scheitlin.alex.maven;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Remembers the files whose checksums have been verified successfully, to skip them in later verifications.</p>
+ * <p>
+ * A file is identified by its absolute path and is only skipped as long as its size and its modification time are the
+ * same as when it has been verified. The state can be saved to a file and loaded again by the next run. The state is
+ * thread-safe.
+ * </p>
+ */
+public final class VerificationState {
+    static final int MAGIC = 0x4C4D5256;
+    static final int FORMAT_VERSION = 1;
+    private static final int MINIMUM_ENTRY_SIZE = 2 + 8 + 8;
+
+    private final Map<String, long[]> verifiedFiles = new ConcurrentHashMap<String, long[]>();
+
+    /**
+     * Creates a new, empty state.
+     */
+    public VerificationState() {
+    }
+
+    /**
+     * Loads a state from a file. A file whose header matches but whose entries cannot be read (e.g. because it has
+     * been truncated or overwritten) is considered corrupt.
+     *
+     * @param file the path to the file
+     * @return the loaded state or an empty state if the file does not exist or is corrupt
+     * @throws IOException if the file exists but could not be read
+     */
+    public static VerificationState load(Path file) throws IOException {
+        VerificationState state = new VerificationState();
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+                return new VerificationState();
+            }
+
+            // -> file is a state, anything that cannot be read from now on means that it is corrupt
+
+            try {
+                // check whether the file can hold as many entries as it claims to
+                int count = input.readInt();
+                if (count < 0 || count > Files.size(file) / MINIMUM_ENTRY_SIZE) {
+                    return new VerificationState();
+                }
+
+                for (int i = 0; i < count; i++) {
+                    String path = input.readUTF();
+                    state.verifiedFiles.put(path, new long[]{input.readLong(), input.readLong()});
+                }
+            } catch (IOException e) {
+                // the file is truncated or its entries are malformed, start from scratch
+                return new VerificationState();
+            }
+        } catch (NoSuchFileException e) {
+            return new VerificationState();
+        } catch (EOFException e) {
+            // the file is too short to hold a header, start from scratch
+            return new VerificationState();
+        }
+
+        return state;
+    }
+
+    /**
+     * Saves the state to a file. The file is replaced atomically, so a concurrently loaded state is never incomplete.
+     * Files that do not exist anymore are forgotten instead of being saved.
+     *
+     * @param file the path to the file
+     * @throws IOException if the file could not be written
+     */
+    public void save(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            // forget files that have been deleted since they have been verified
+            Map<String, long[]> snapshot = new HashMap<String, long[]>(this.verifiedFiles);
+            Iterator<Map.Entry<String, long[]>> iterator = snapshot.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<String, long[]> entry = iterator.next();
+                if (!Files.exists(Paths.get(entry.getKey()))) {
+                    this.verifiedFiles.remove(entry.getKey(), entry.getValue());
+                    iterator.remove();
+                }
+            }
+
+            try (DataOutputStream output = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                output.writeInt(snapshot.size());
+                for (Map.Entry<String, long[]> entry : snapshot.entrySet()) {
+                    output.writeUTF(entry.getKey());
+                    output.writeLong(entry.getValue()[0]);
+                    output.writeLong(entry.getValue()[1]);
+                }
+            }
+
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Gets the number of files remembered as verified.
+     *
+     * @return the number of files
+     */
+    public int size() {
+        return this.verifiedFiles.size();
+    }
+
+    /**
+     * Checks whether a file has been verified before and has not changed since.
+     *
+     * @param file         the path to the file
+     * @param size         the current size of the file
+     * @param lastModified the current modification time of the file
+     * @return {@code true} if the file can be skipped, {@code false} if it has to be verified
+     */
+    boolean isVerified(Path file, long size, long lastModified) {
+        long[] verified = this.verifiedFiles.get(getKey(file));
+
+        return verified != null && verified[0] == size && verified[1] == lastModified;
+    }
+
+    /**
+     * Remembers a file as verified successfully.
+     *
+     * @param file         the path to the file
+     * @param size         the size of the file at the time of the verification
+     * @param lastModified the modification time of the file at the time of the verification
+     */
+    void setVerified(Path file, long size, long lastModified) {
+        this.verifiedFiles.put(getKey(file), new long[]{size, lastModified});
+    }
+
+    /**
+     * Forgets a file, e.g. because its checksum does not match anymore.
+     *
+     * @param file the path to the file
+     */
+    void remove(Path file) {
+        this.verifiedFiles.remove(getKey(file));
+    }
+
+    /**
+     * Gets the key identifying a file.
+     *
+     * @param file the path to the file
+     * @return the absolute and normalized path to the file
+     */
+    private static String getKey(Path file) {
+        return file.toAbsolutePath().normalize().toString();
+    }
+}
@@ -0,0 +1,123 @@
+package ch.scheitlin.alex.maven;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>The files of the folder of a single version, as reported by an inventory of the local maven repository.</p>
+ * <p>
+ * Besides the version folders of existing versions, the inventory also reports folders that are not considered
+ * existing by {@link LocalMavenRepositoryReader#doesVersionExist(String, String, String)}. Folders only containing
+ * '.lastUpdated' files are left behind by failed downloads and can be deleted without losing anything.
+ * </p>
+ */
+public final class VersionInventory {
+    private final ArtifactCoordinate coordinate;
+    private final Path folder;
+    private final List<InventoryFile> files;
+    private final long size;
+    private final long lastModified;
+    private final boolean valid;
+    private final boolean lastUpdatedOnly;
+
+    /**
+     * Creates a new inventory of a version folder.
+     *
+     * @param coordinate the coordinate of the version
+     * @param folder     the path to the version folder
+     * @param files      all files of the version folder
+     */
+    VersionInventory(ArtifactCoordinate coordinate, Path folder, List<InventoryFile> files) {
+        this.coordinate = coordinate;
+        this.folder = folder;
+        this.files = Collections.unmodifiableList(files);
+
+        long size = 0;
+        long lastModified = 0;
+        boolean lastUpdatedOnly = true;
+        String[] names = new String[files.size()];
+        for (int i = 0; i < names.length; i++) {
+            InventoryFile file = files.get(i);
+            size += file.getSize();
+            lastModified = Math.max(lastModified, file.getLastModified());
+            lastUpdatedOnly &= file.isLastUpdated();
+            names[i] = file.getName();
+        }
+        this.size = size;
+        this.lastModified = lastModified;
+        this.valid = LocalMavenRepositoryReader.isVersionFolderContentValid(names);
+        this.lastUpdatedOnly = lastUpdatedOnly && !files.isEmpty();
+    }
+
+    /**
+     * Gets the coordinate of the version.
+     *
+     * @return the coordinate of the version
+     */
+    public ArtifactCoordinate getCoordinate() {
+        return this.coordinate;
+    }
+
+    /**
+     * Gets the path to the version folder.
+     *
+     * @return the path to the version folder
+     */
+    public Path getFolder() {
+        return this.folder;
+    }
+
+    /**
+     * Gets all files of the version folder.
+     *
+     * @return the files in no particular order
+     */
+    public List<InventoryFile> getFiles() {
+        return this.files;
+    }
+
+    /**
+     * Gets the size of all files of the version folder.
+     *
+     * @return the size in bytes
+     */
+    public long getSize() {
+        return this.size;
+    }
+
+    /**
+     * Gets the time any file of the version folder has been modified last, e.g. to find versions that have not been
+     * downloaded for a long time.
+     *
+     * @return the time in milliseconds since the epoch
+     */
+    public long getLastModified() {
+        return this.lastModified;
+    }
+
+    /**
+     * Checks whether the version is considered existing, i.e. whether its files are valid regarding the '.lastUpdated'
+     * files.
+     *
+     * @return {@code true} if the version exists, {@code false} if not
+     */
+    public boolean isValid() {
+        return this.valid;
+    }
+
+    /**
+     * Checks whether the version folder only contains '.lastUpdated' files, i.e. all downloads have failed and the
+     * folder can be deleted.
+     *
+     * @return {@code true} if the folder is a candidate to be purged, {@code false} if not
+     */
+    public boolean isPurgeCandidate() {
+        return this.lastUpdatedOnly;
+    }
+
+    @Override
+    public String toString() {
+        return this.coordinate.toString();
+    }
+}
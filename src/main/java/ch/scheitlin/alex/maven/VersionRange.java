@@ -0,0 +1,278 @@
+package ch.scheitlin.alex.maven;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>A range of versions in the notation used by maven for dependency versions.</p>
+ * <ul>
+ * <li>{@code [1.0,2.0)}: 1.0 &lt;= x &lt; 2.0</li>
+ * <li>{@code (1.0,2.0]}: 1.0 &lt; x &lt;= 2.0</li>
+ * <li>{@code [1.0,)}: x &gt;= 1.0</li>
+ * <li>{@code (,1.0]}: x &lt;= 1.0</li>
+ * <li>{@code [1.0]}: x == 1.0</li>
+ * <li>{@code (,1.0],[1.2,)}: x &lt;= 1.0 or x &gt;= 1.2 (several ranges separated by commas)</li>
+ * <li>{@code 1.0}: x == 1.0 (a plain version is treated as an exact version)</li>
+ * </ul>
+ * <p>Versions are compared using {@link MavenVersion}.</p>
+ */
+public final class VersionRange {
+    private final String specification;
+    private final List<Restriction> restrictions;
+
+    /**
+     * Creates a new version range.
+     *
+     * @param specification the textual specification of the range
+     * @param restrictions  the restrictions of the range, a version is contained if any restriction contains it
+     */
+    private VersionRange(String specification, List<Restriction> restrictions) {
+        this.specification = specification;
+        this.restrictions = restrictions;
+    }
+
+    /**
+     * Parses the specification of a version range.
+     *
+     * @param specification the specification of the range, e.g. {@code [1.0,2.0)}
+     * @return the parsed version range
+     * @throws IllegalArgumentException if the specification is malformed
+     */
+    public static VersionRange parse(String specification) {
+        String remainder = specification.trim();
+        if (remainder.isEmpty()) {
+            throw new IllegalArgumentException("The version range must not be empty.");
+        }
+
+        // check whether the specification is a plain version
+        List<Restriction> restrictions = new ArrayList<Restriction>();
+        if (remainder.charAt(0) != '[' && remainder.charAt(0) != '(') {
+            MavenVersion version = new MavenVersion(remainder);
+            restrictions.add(new Restriction(version, true, version, true));
+            return new VersionRange(specification, Collections.unmodifiableList(restrictions));
+        }
+
+        // -> specification consists of one or more ranges
+
+        while (!remainder.isEmpty()) {
+            int end = indexOfClosingBracket(remainder);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unbounded version range '" + specification + "'.");
+            }
+            restrictions.add(parseRestriction(specification, remainder.substring(0, end + 1)));
+
+            remainder = remainder.substring(end + 1).trim();
+            if (remainder.startsWith(",")) {
+                remainder = remainder.substring(1).trim();
+                if (remainder.isEmpty()) {
+                    throw new IllegalArgumentException("Missing range after ',' in '" + specification + "'.");
+                }
+            } else if (!remainder.isEmpty()) {
+                throw new IllegalArgumentException("Expected ',' between ranges in '" + specification + "'.");
+            }
+        }
+
+        return new VersionRange(specification, Collections.unmodifiableList(restrictions));
+    }
+
+    /**
+     * Checks whether a specific version is contained in the range.
+     *
+     * @param version the version to check
+     * @return {@code true} if the version is contained, {@code false} if not
+     */
+    public boolean containsVersion(MavenVersion version) {
+        for (Restriction restriction : this.restrictions) {
+            if (restriction.containsVersion(version)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Gets the restrictions of the range. A version is contained in the range if any restriction contains it.
+     *
+     * @return the restrictions in the order of the specification
+     */
+    List<Restriction> getRestrictions() {
+        return this.restrictions;
+    }
+
+    /**
+     * Gets the specification of the range.
+     *
+     * @return the specification as it has been parsed
+     */
+    @Override
+    public String toString() {
+        return this.specification;
+    }
+
+    /**
+     * Gets the position of the first closing bracket.
+     *
+     * @param value the value to search
+     * @return the position of the first ']' or ')' or {@code -1} if there is none
+     */
+    private static int indexOfClosingBracket(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == ']' || value.charAt(i) == ')') {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Parses a single range like {@code [1.0,2.0)}.
+     *
+     * @param specification the whole specification, used for error messages
+     * @param range         the range including its brackets
+     * @return the parsed restriction
+     * @throws IllegalArgumentException if the range is malformed
+     */
+    private static Restriction parseRestriction(String specification, String range) {
+        boolean lowerInclusive = range.charAt(0) == '[';
+        boolean upperInclusive = range.charAt(range.length() - 1) == ']';
+        if (!lowerInclusive && range.charAt(0) != '(') {
+            throw new IllegalArgumentException("Expected '[' or '(' in '" + specification + "'.");
+        }
+        String content = range.substring(1, range.length() - 1).trim();
+
+        // check whether the range is an exact version like [1.0]
+        int comma = content.indexOf(',');
+        if (comma < 0) {
+            if (!lowerInclusive || !upperInclusive || content.isEmpty()) {
+                throw new IllegalArgumentException("Single version must be surrounded by [] in '" + specification
+                        + "'.");
+            }
+            MavenVersion version = new MavenVersion(content);
+            return new Restriction(version, true, version, true);
+        }
+        if (content.indexOf(',', comma + 1) >= 0) {
+            throw new IllegalArgumentException("Too many bounds in '" + specification + "'.");
+        }
+
+        // -> range has a lower and an upper bound, each of them may be missing
+
+        String lower = content.substring(0, comma).trim();
+        String upper = content.substring(comma + 1).trim();
+        MavenVersion lowerBound = lower.isEmpty() ? null : new MavenVersion(lower);
+        MavenVersion upperBound = upper.isEmpty() ? null : new MavenVersion(upper);
+        if ((lowerBound == null && lowerInclusive) || (upperBound == null && upperInclusive)) {
+            throw new IllegalArgumentException("Missing bounds must be exclusive in '" + specification + "'.");
+        }
+        if (lowerBound != null && upperBound != null && lowerBound.compareTo(upperBound) > 0) {
+            throw new IllegalArgumentException("Lower bound is greater than upper bound in '" + specification + "'.");
+        }
+
+        return new Restriction(lowerBound, lowerInclusive, upperBound, upperInclusive);
+    }
+
+    /**
+     * A single range of versions with an optional lower and upper bound.
+     */
+    static class Restriction {
+        private final MavenVersion lowerBound;
+        private final boolean lowerInclusive;
+        private final MavenVersion upperBound;
+        private final boolean upperInclusive;
+
+        /**
+         * Creates a new restriction.
+         *
+         * @param lowerBound     the lower bound or {@code null} if there is none
+         * @param lowerInclusive {@code true} if the lower bound is contained, {@code false} if not
+         * @param upperBound     the upper bound or {@code null} if there is none
+         * @param upperInclusive {@code true} if the upper bound is contained, {@code false} if not
+         */
+        Restriction(MavenVersion lowerBound, boolean lowerInclusive, MavenVersion upperBound,
+                    boolean upperInclusive) {
+            this.lowerBound = lowerBound;
+            this.lowerInclusive = lowerInclusive;
+            this.upperBound = upperBound;
+            this.upperInclusive = upperInclusive;
+        }
+
+        /**
+         * Checks whether a specific version is located between the bounds.
+         *
+         * @param version the version to check
+         * @return {@code true} if the version is contained, {@code false} if not
+         */
+        boolean containsVersion(MavenVersion version) {
+            if (this.lowerBound != null) {
+                int comparison = this.lowerBound.compareTo(version);
+                if (comparison > 0 || (comparison == 0 && !this.lowerInclusive)) {
+                    return false;
+                }
+            }
+            if (this.upperBound != null) {
+                int comparison = this.upperBound.compareTo(version);
+                if (comparison < 0 || (comparison == 0 && !this.upperInclusive)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Gets the position of the first version of a sorted array located above the lower bound.
+         *
+         * @param versions the versions in ascending order
+         * @return the position of the first contained version or the length of the array if there is none
+         */
+        int getFromIndex(MavenVersion[] versions) {
+            if (this.lowerBound == null) {
+                return 0;
+            }
+
+            // binary search for the first version greater than (or equal to) the lower bound
+            int low = 0;
+            int high = versions.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int comparison = versions[middle].compareTo(this.lowerBound);
+                if (comparison < 0 || (comparison == 0 && !this.lowerInclusive)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+
+        /**
+         * Gets the position after the last version of a sorted array located below the upper bound.
+         *
+         * @param versions the versions in ascending order
+         * @return the position after the last contained version or {@code 0} if there is none
+         */
+        int getToIndex(MavenVersion[] versions) {
+            if (this.upperBound == null) {
+                return versions.length;
+            }
+
+            // binary search for the first version greater than (or equal to) the upper bound
+            int low = 0;
+            int high = versions.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                int comparison = versions[middle].compareTo(this.upperBound);
+                if (comparison < 0 || (comparison == 0 && this.upperInclusive)) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+
+            return low;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ArtifactCoordinateTest {
+    @Test
+    public void parse() {
+        // execute methods to be tested
+        ArtifactCoordinate coordinate = ArtifactCoordinate.parse("org.apache.maven.plugins:maven-clean-plugin:2.6.1");
+
+        // assert result
+        Assert.assertEquals("org.apache.maven.plugins", coordinate.getGroupId());
+        Assert.assertEquals("maven-clean-plugin", coordinate.getArtifactId());
+        Assert.assertEquals("2.6.1", coordinate.getVersion());
+        Assert.assertEquals("org.apache.maven.plugins:maven-clean-plugin:2.6.1", coordinate.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_missingVersion() {
+        ArtifactCoordinate.parse("junit:junit");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_emptyPart() {
+        ArtifactCoordinate.parse("junit::4.12");
+    }
+
+    @Test
+    public void equals() {
+        // assign variables with test data
+        ArtifactCoordinate coordinate = new ArtifactCoordinate("junit", "junit", "4.12");
+
+        // assert result
+        Assert.assertEquals(coordinate, ArtifactCoordinate.parse("junit:junit:4.12"));
+        Assert.assertEquals(coordinate.hashCode(), ArtifactCoordinate.parse("junit:junit:4.12").hashCode());
+        Assert.assertNotEquals(coordinate, ArtifactCoordinate.parse("junit:junit:4.13"));
+    }
+}
@@ -0,0 +1,204 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncLocalMavenRepositoryReaderTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LocalMavenRepositoryReader reader;
+    private ExecutorService executor;
+    private CountDownLatch blocker;
+
+    @Before
+    public void createReader() throws IOException {
+        TestRepository repository = TestRepository.createDefault(this.folder.getRoot().toPath());
+        this.reader = new LocalMavenRepositoryReader(repository.getRoot());
+        this.executor = Executors.newSingleThreadExecutor();
+        this.blocker = new CountDownLatch(1);
+    }
+
+    @After
+    public void shutdownExecutor() {
+        this.blocker.countDown();
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void queries() throws Exception {
+        // assign variables with test data
+        AsyncLocalMavenRepositoryReader asyncReader = new AsyncLocalMavenRepositoryReader(this.reader);
+
+        // execute methods to be tested
+        CompletableFuture<Boolean> groupExists = asyncReader.doesGroupExist("org.apache.maven.plugins");
+        CompletableFuture<Boolean> versionExists =
+                asyncReader.doesVersionExist("org.apache.maven.plugins", "maven-clean-plugin", "3.0");
+        CompletableFuture<String[]> versions =
+                asyncReader.getArtifactVersions("org.apache.maven.plugins", "maven-clean-plugin");
+
+        // assert result
+        Assert.assertTrue(groupExists.get(5, TimeUnit.SECONDS));
+        Assert.assertFalse(versionExists.get(5, TimeUnit.SECONDS));
+        Assert.assertArrayEquals(this.reader.getArtifactVersions("org.apache.maven.plugins", "maven-clean-plugin"),
+                versions.get(5, TimeUnit.SECONDS));
+        asyncReader.close();
+    }
+
+    @Test
+    public void queries_shouldCoalesceIdenticalLookups() throws Exception {
+        // assign variables with test data
+        AsyncLocalMavenRepositoryReader asyncReader = new AsyncLocalMavenRepositoryReader(this.reader, this.executor);
+        blockExecutor();
+
+        // execute methods to be tested
+        CompletableFuture<Boolean> first = asyncReader.doesArtifactExist("junit", "junit");
+        CompletableFuture<Boolean> second = asyncReader.doesArtifactExist("junit", "junit");
+        CompletableFuture<Boolean> other = asyncReader.doesArtifactExist("junit", "missing");
+        int lookupCount = asyncReader.getLookupCount();
+        this.blocker.countDown();
+
+        // assert result
+        Assert.assertEquals(2, lookupCount);
+        Assert.assertNotSame(first, second);
+        Assert.assertTrue(first.get(5, TimeUnit.SECONDS));
+        Assert.assertTrue(second.get(5, TimeUnit.SECONDS));
+        Assert.assertFalse(other.get(5, TimeUnit.SECONDS));
+        Assert.assertEquals(0, asyncReader.getLookupCount());
+    }
+
+    @Test
+    public void cancel_shouldKeepLookupOfOtherCallers() throws Exception {
+        // assign variables with test data
+        AsyncLocalMavenRepositoryReader asyncReader = new AsyncLocalMavenRepositoryReader(this.reader, this.executor);
+        blockExecutor();
+        CompletableFuture<String> first = asyncReader.getNonExistingSubGroup("org.apache.maven.p");
+        CompletableFuture<String> second = asyncReader.getNonExistingSubGroup("org.apache.maven.p");
+
+        // execute methods to be tested
+        first.cancel(true);
+        int lookupCount = asyncReader.getLookupCount();
+        this.blocker.countDown();
+
+        // assert result
+        Assert.assertEquals(1, lookupCount);
+        Assert.assertTrue(first.isCancelled());
+        Assert.assertEquals("p", second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void cancel_shouldCancelLookupWithoutCallers() throws Exception {
+        // assign variables with test data
+        AsyncLocalMavenRepositoryReader asyncReader = new AsyncLocalMavenRepositoryReader(this.reader, this.executor);
+        blockExecutor();
+        CompletableFuture<String[]> cancelled = asyncReader.getArtifactsOfGroup("junit");
+
+        // execute methods to be tested
+        cancelled.cancel(true);
+        int lookupCount = asyncReader.getLookupCount();
+        CompletableFuture<String[]> next = asyncReader.getArtifactsOfGroup("junit");
+        this.blocker.countDown();
+
+        // assert result
+        Assert.assertEquals(0, lookupCount);
+        Assert.assertArrayEquals(new String[]{"junit"}, next.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void queries_shouldFailWhenRejected() throws Exception {
+        // assign variables with test data
+        AsyncLocalMavenRepositoryReader asyncReader = new AsyncLocalMavenRepositoryReader(this.reader, this.executor);
+        this.executor.shutdown();
+
+        // execute methods to be tested
+        CompletableFuture<Boolean> future = asyncReader.doesGroupExist("junit");
+
+        // assert result
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            Assert.fail("Expected the query to be rejected.");
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+        Assert.assertEquals(0, asyncReader.getLookupCount());
+    }
+
+    @Test
+    public void close_shouldFailWaitingQueries() throws Exception {
+        // assign variables with test data
+        AsyncLocalMavenRepositoryReader asyncReader = new AsyncLocalMavenRepositoryReader(this.reader, this.executor);
+        blockExecutor();
+        List<CompletableFuture<Boolean>> futures = new ArrayList<CompletableFuture<Boolean>>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(asyncReader.doesVersionExist("junit", "junit", "1." + i));
+        }
+
+        // execute methods to be tested
+        asyncReader.close();
+
+        // assert result
+        for (CompletableFuture<Boolean> future : futures) {
+            Assert.assertTrue(future.isCompletedExceptionally());
+            try {
+                future.get();
+                Assert.fail("Expected the query to fail.");
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof RejectedExecutionException);
+            }
+        }
+        Assert.assertEquals(0, asyncReader.getLookupCount());
+    }
+
+    @Test
+    public void close_shouldCompleteAllFuturesOfOwnExecutor() throws Exception {
+        // assign variables with test data
+        AsyncLocalMavenRepositoryReader asyncReader = new AsyncLocalMavenRepositoryReader(this.reader);
+        List<CompletableFuture<Boolean>> futures = new ArrayList<CompletableFuture<Boolean>>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(asyncReader.doesVersionExist("junit", "junit", "1." + i));
+        }
+
+        // execute methods to be tested
+        asyncReader.close();
+
+        // assert result
+        for (CompletableFuture<Boolean> future : futures) {
+            try {
+                Assert.assertFalse(future.get(5, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof RejectedExecutionException);
+            }
+        }
+    }
+
+    /**
+     * Occupies the single thread of the executor until the blocker is released, so submitted queries stay queued.
+     */
+    private void blockExecutor() {
+        this.executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blocker.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+    }
+}
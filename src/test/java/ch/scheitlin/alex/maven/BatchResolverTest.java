@@ -0,0 +1,81 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class BatchResolverTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private LocalMavenRepositoryReader reader;
+    private List<ArtifactCoordinate> coordinates;
+
+    @Before
+    public void createReader() throws IOException {
+        TestRepository repository = TestRepository.createDefault(this.folder.getRoot().toPath());
+        this.reader = new LocalMavenRepositoryReader(repository.getRoot());
+        this.coordinates = Arrays.asList(
+                ArtifactCoordinate.parse("org.apache.maven.plugins:maven-clean-plugin:2.6.1"),
+                ArtifactCoordinate.parse("junit:junit:4.12"),
+                ArtifactCoordinate.parse("org.apache.maven.plugins:maven-clean-plugin:3.0"),
+                ArtifactCoordinate.parse("org.apache.maven.plugins:maven-clean-plugin:4.0"),
+                ArtifactCoordinate.parse("org.apache.maven.plugins:maven-missing-plugin:1.0"),
+                ArtifactCoordinate.parse("org.apache.maven.p:maven-clean-plugin:2.5"),
+                ArtifactCoordinate.parse("junit:junit:4.12")
+        );
+    }
+
+    @Test
+    public void resolve() {
+        // execute methods to be tested
+        Map<ArtifactCoordinate, Resolution> resolutions = new BatchResolver(this.reader, 1).resolve(this.coordinates);
+
+        // assert result
+        Assert.assertEquals(6, resolutions.size());
+        Assert.assertEquals(ResolutionStatus.EXISTS, resolutions.get(this.coordinates.get(0)).getStatus());
+        Assert.assertEquals(ResolutionStatus.EXISTS, resolutions.get(this.coordinates.get(1)).getStatus());
+        Assert.assertEquals(ResolutionStatus.LAST_UPDATED_ONLY, resolutions.get(this.coordinates.get(2)).getStatus());
+        Assert.assertEquals(ResolutionStatus.MISSING_VERSION, resolutions.get(this.coordinates.get(3)).getStatus());
+        Assert.assertEquals(ResolutionStatus.MISSING_ARTIFACT, resolutions.get(this.coordinates.get(4)).getStatus());
+        Assert.assertEquals(ResolutionStatus.MISSING_GROUP, resolutions.get(this.coordinates.get(5)).getStatus());
+        Assert.assertEquals("p", resolutions.get(this.coordinates.get(5)).getNonExistingSubGroup());
+        Assert.assertNull(resolutions.get(this.coordinates.get(4)).getNonExistingSubGroup());
+    }
+
+    @Test
+    public void resolve_shouldKeepOrder() {
+        // execute methods to be tested
+        Map<ArtifactCoordinate, Resolution> resolutions = new BatchResolver(this.reader, 1).resolve(this.coordinates);
+
+        // assert result
+        Assert.assertEquals(this.coordinates.subList(0, 6), new ArrayList<ArtifactCoordinate>(resolutions.keySet()));
+    }
+
+    @Test
+    public void resolve_parallel() {
+        // execute methods to be tested
+        Map<ArtifactCoordinate, Resolution> sequential = new BatchResolver(this.reader, 1).resolve(this.coordinates);
+        Map<ArtifactCoordinate, Resolution> parallel = new BatchResolver(this.reader, 4).resolve(this.coordinates);
+
+        // assert result
+        Assert.assertEquals(new ArrayList<ArtifactCoordinate>(sequential.keySet()),
+                new ArrayList<ArtifactCoordinate>(parallel.keySet()));
+        for (ArtifactCoordinate coordinate : this.coordinates) {
+            Assert.assertEquals(sequential.get(coordinate).getStatus(), parallel.get(coordinate).getStatus());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void resolve_invalidParallelism() {
+        new BatchResolver(this.reader, 0);
+    }
+}
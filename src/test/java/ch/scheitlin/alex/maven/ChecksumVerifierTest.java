@@ -0,0 +1,175 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ChecksumVerifierTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TestRepository repository;
+    private Path junit;
+
+    @Before
+    public void createRepository() throws IOException {
+        this.repository = new TestRepository(this.folder.getRoot().toPath().resolve("repository"));
+        this.junit = this.repository.addVersion("junit", "junit", "4.12");
+        Files.write(this.junit.resolve("junit-4.12.jar"), "junit".getBytes(StandardCharsets.UTF_8));
+        Files.write(this.junit.resolve("junit-4.12.jar.sha1"),
+                "e1b8f15c1a10ed6c3bdbd4fa4e2fb6e3c0b9a2f8".getBytes(StandardCharsets.UTF_8));
+        Files.write(this.junit.resolve("junit-4.12.pom"), "pom".getBytes(StandardCharsets.UTF_8));
+        Files.write(this.junit.resolve("junit-4.12.pom.sha1"),
+                (ChecksumVerifier.computeChecksum(this.junit.resolve("junit-4.12.pom"), "SHA-1") + "  junit-4.12.pom")
+                        .getBytes(StandardCharsets.UTF_8));
+        Files.write(this.junit.resolve("junit-4.12-sources.jar"), new byte[]{});
+    }
+
+    @Test
+    public void computeChecksum() throws IOException {
+        // assign variables with test data
+        Path file = this.folder.newFile().toPath();
+        Files.write(file, "abc".getBytes(StandardCharsets.UTF_8));
+
+        // execute methods to be tested
+        String sha1 = ChecksumVerifier.computeChecksum(file, "SHA-1");
+        String sha256 = ChecksumVerifier.computeChecksum(file, "SHA-256");
+
+        // assert result
+        Assert.assertEquals("a9993e364706816aba3e25717850c26c9cd0d89d", sha1);
+        Assert.assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", sha256);
+    }
+
+    @Test
+    public void verify() {
+        // execute methods to be tested
+        VerificationReport report = new ChecksumVerifier(this.repository.getRoot(), 2, null).verify();
+
+        // assert result
+        Assert.assertEquals(2, report.getVerifiedFileCount());
+        Assert.assertEquals(1, report.getUnverifiableFileCount());
+        Assert.assertEquals(0, report.getSkippedFileCount());
+        Assert.assertEquals(8, report.getVerifiedBytes());
+        Assert.assertEquals(1, report.getMismatches().size());
+        ChecksumMismatch mismatch = report.getMismatches().get(0);
+        Assert.assertEquals(this.junit.resolve("junit-4.12.jar"), mismatch.getFile());
+        Assert.assertEquals("SHA-1", mismatch.getAlgorithm());
+        Assert.assertEquals("e1b8f15c1a10ed6c3bdbd4fa4e2fb6e3c0b9a2f8", mismatch.getExpected());
+    }
+
+    @Test
+    public void verify_shouldPreferStrongestChecksum() throws IOException {
+        // assign variables with test data
+        Path jar = this.junit.resolve("junit-4.12.jar");
+        Files.write(this.junit.resolve("junit-4.12.jar.sha256"),
+                ChecksumVerifier.computeChecksum(jar, "SHA-256").toUpperCase().getBytes(StandardCharsets.UTF_8));
+
+        // execute methods to be tested
+        VerificationReport report = new ChecksumVerifier(this.repository.getRoot(), 1, null).verify();
+
+        // assert result
+        Assert.assertTrue(report.getMismatches().isEmpty());
+    }
+
+    @Test
+    public void verify_incremental() throws IOException {
+        // assign variables with test data
+        VerificationState state = new VerificationState();
+        Path stateFile = this.folder.getRoot().toPath().resolve("state").resolve("verified.bin");
+
+        // execute methods to be tested
+        VerificationReport first = new ChecksumVerifier(this.repository.getRoot(), 1, state).verify();
+        state.save(stateFile);
+        VerificationReport second =
+                new ChecksumVerifier(this.repository.getRoot(), 1, VerificationState.load(stateFile)).verify();
+
+        // assert result
+        Assert.assertEquals(1, state.size());
+        Assert.assertEquals(2, first.getVerifiedFileCount());
+        Assert.assertEquals(1, second.getVerifiedFileCount());
+        Assert.assertEquals(1, second.getSkippedFileCount());
+        Assert.assertEquals(1, second.getMismatches().size());
+    }
+
+    @Test
+    public void load_missingOrCorruptFile() throws IOException {
+        // assign variables with test data
+        Path corrupt = this.folder.newFile().toPath();
+        Files.write(corrupt, new byte[]{1, 2, 3});
+
+        // execute methods to be tested
+        VerificationState missingState = VerificationState.load(this.folder.getRoot().toPath().resolve("missing"));
+        VerificationState corruptState = VerificationState.load(corrupt);
+
+        // assert result
+        Assert.assertEquals(0, missingState.size());
+        Assert.assertEquals(0, corruptState.size());
+    }
+
+    @Test
+    public void load_corruptEntries() throws IOException {
+        // assign variables with test data
+        Path malformedPath = writeState(1, new byte[]{0, 2, (byte) 0xC0, 0});
+        Path negativeCount = writeState(-1, new byte[]{});
+        Path hugeCount = writeState(Integer.MAX_VALUE, new byte[]{0, 1, 'a'});
+
+        // execute methods to be tested and assert result
+        Assert.assertEquals(0, VerificationState.load(malformedPath).size());
+        Assert.assertEquals(0, VerificationState.load(negativeCount).size());
+        Assert.assertEquals(0, VerificationState.load(hugeCount).size());
+    }
+
+    @Test
+    public void save_shouldForgetDeletedFiles() throws IOException {
+        // assign variables with test data
+        VerificationState state = new VerificationState();
+        Path stateFile = this.folder.getRoot().toPath().resolve("verified.bin");
+        Path existing = this.folder.newFile().toPath();
+        Path deleted = this.folder.newFile().toPath();
+        state.setVerified(existing, 0, 0);
+        state.setVerified(deleted, 0, 0);
+        Files.delete(deleted);
+
+        // execute methods to be tested
+        state.save(stateFile);
+        VerificationState loaded = VerificationState.load(stateFile);
+
+        // assert result
+        Assert.assertEquals(1, state.size());
+        Assert.assertEquals(1, loaded.size());
+        Assert.assertTrue(loaded.isVerified(existing, 0, 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void verify_invalidParallelism() {
+        new ChecksumVerifier(this.folder.getRoot().toPath(), 0, null);
+    }
+
+    /**
+     * Writes a state file with a valid header.
+     *
+     * @param count   the number of entries to claim
+     * @param entries the raw bytes of the entries
+     * @return the path to the written file
+     * @throws IOException if the file could not be written
+     */
+    private Path writeState(int count, byte[] entries) throws IOException {
+        Path file = this.folder.newFile().toPath();
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(file))) {
+            output.writeInt(VerificationState.MAGIC);
+            output.writeInt(VerificationState.FORMAT_VERSION);
+            output.writeInt(count);
+            output.write(entries);
+        }
+
+        return file;
+    }
+}
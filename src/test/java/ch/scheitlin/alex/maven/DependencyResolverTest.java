@@ -0,0 +1,214 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class DependencyResolverTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TestRepository repository;
+    private LocalMavenRepositoryReader reader;
+
+    @Before
+    public void setUp() throws IOException {
+        this.repository = new TestRepository(this.folder.getRoot().toPath());
+        this.reader = new LocalMavenRepositoryReader(this.repository.getRoot());
+    }
+
+    @Test
+    public void resolve() throws IOException {
+        // assign variables with test data
+        addPom("g", "parent", "1", "pom", "<packaging>pom</packaging>"
+                + "<properties><lib.version>1</lib.version></properties>"
+                + "<dependencyManagement><dependencies>"
+                + dependency("g", "lib", "${lib.version}", "<scope>runtime</scope>")
+                + "</dependencies></dependencyManagement>");
+        addPom("g", "app", "1", "jar", "<parent><groupId>g</groupId><artifactId>parent</artifactId>"
+                + "<version>1</version></parent>"
+                + "<dependencies>" + dependency("g", "lib", null, "") + "</dependencies>");
+        addPom("g", "lib", "1", "jar", "<dependencies>"
+                + dependency("g", "util", "${project.version}", "")
+                + dependency("g", "test", "1", "<scope>test</scope>")
+                + dependency("g", "optional", "1", "<optional>true</optional>")
+                + "</dependencies>");
+        addPom("g", "util", "1", "jar", "");
+
+        // execute methods to be tested
+        DependencyClosure closure = this.reader.resolveDependencyClosure(ArtifactCoordinate.parse("g:app:1"), 2);
+
+        // assert result
+        Assert.assertEquals(Arrays.asList(ArtifactCoordinate.parse("g:lib:1"), ArtifactCoordinate.parse("g:util:1")),
+                closure.getCoordinates());
+        Assert.assertTrue(closure.isComplete());
+    }
+
+    @Test
+    public void resolve_missing() throws IOException {
+        // assign variables with test data
+        addPom("g", "app", "1", "jar", "<parent><groupId>g</groupId><artifactId>parent</artifactId>"
+                + "<version>1</version></parent>"
+                + "<dependencies>"
+                + dependency("g", "absent", "1", "")
+                + dependency("g", "unknown", "${unknown.version}", "")
+                + dependency("g", "lib", "1", "")
+                + "</dependencies>");
+        addPom("g", "lib", "1", "jar", "<dependencies>" + dependency("g", "util", "1", "") + "</dependencies>");
+        addPom("g", "util", "1", null, "");
+
+        // execute methods to be tested
+        DependencyClosure closure = this.reader.resolveDependencyClosure(ArtifactCoordinate.parse("g:app:1"), 1);
+
+        // assert result
+        Map<ArtifactCoordinate, ArtifactCoordinate> expected = new HashMap<ArtifactCoordinate, ArtifactCoordinate>();
+        expected.put(ArtifactCoordinate.parse("g:parent:1"), ArtifactCoordinate.parse("g:app:1"));
+        expected.put(ArtifactCoordinate.parse("g:absent:1"), ArtifactCoordinate.parse("g:app:1"));
+        expected.put(new ArtifactCoordinate("g", "unknown", "${unknown.version}"), ArtifactCoordinate.parse("g:app:1"));
+        expected.put(ArtifactCoordinate.parse("g:util:1"), ArtifactCoordinate.parse("g:lib:1"));
+        Assert.assertEquals(expected, closure.getMissing());
+        Assert.assertEquals(Arrays.asList(ArtifactCoordinate.parse("g:lib:1")), closure.getCoordinates());
+        Assert.assertFalse(closure.isComplete());
+    }
+
+    @Test
+    public void resolve_rootMissing() {
+        // execute methods to be tested
+        DependencyClosure closure = this.reader.resolveDependencyClosure(ArtifactCoordinate.parse("g:app:1"), 1);
+
+        // assert result
+        Assert.assertTrue(closure.getCoordinates().isEmpty());
+        Assert.assertTrue(closure.getMissing().containsKey(ArtifactCoordinate.parse("g:app:1")));
+        Assert.assertNull(closure.getMissing().get(ArtifactCoordinate.parse("g:app:1")));
+    }
+
+    @Test
+    public void resolve_mediation() throws IOException {
+        // assign variables with test data
+        addPom("g", "app", "1", "jar", "<dependencyManagement><dependencies>"
+                + dependency("g", "managed", "3", "")
+                + "</dependencies></dependencyManagement>"
+                + "<dependencies>"
+                + dependency("g", "a", "1", "<exclusions><exclusion><groupId>x</groupId><artifactId>*</artifactId>"
+                + "</exclusion></exclusions>")
+                + dependency("g", "b", "1", "")
+                + "</dependencies>");
+        addPom("g", "a", "1", "jar", "<dependencies>"
+                + dependency("x", "excluded", "1", "")
+                + dependency("g", "c", "1", "")
+                + "</dependencies>");
+        addPom("g", "b", "1", "jar", "<dependencies>"
+                + dependency("g", "c", "2", "")
+                + dependency("g", "managed", "1", "")
+                + "</dependencies>");
+        addPom("g", "c", "1", "jar", "");
+        addPom("g", "managed", "3", "jar", "");
+
+        // execute methods to be tested
+        DependencyClosure closure = this.reader.resolveDependencyClosure(ArtifactCoordinate.parse("g:app:1"), 2);
+
+        // assert result
+        Assert.assertEquals(Arrays.asList(ArtifactCoordinate.parse("g:a:1"), ArtifactCoordinate.parse("g:b:1"),
+                ArtifactCoordinate.parse("g:c:1"), ArtifactCoordinate.parse("g:managed:3")),
+                closure.getCoordinates());
+        Assert.assertTrue(closure.isComplete());
+    }
+
+    @Test
+    public void resolve_importAndRange() throws IOException {
+        // assign variables with test data
+        addPom("g", "bom", "1", "pom", "<packaging>pom</packaging><dependencyManagement><dependencies>"
+                + dependency("g", "lib", "[1,2)", "")
+                + "</dependencies></dependencyManagement>");
+        addPom("g", "app", "1", "jar", "<dependencyManagement><dependencies>"
+                + dependency("g", "bom", "1", "<type>pom</type><scope>import</scope>")
+                + "</dependencies></dependencyManagement>"
+                + "<dependencies>" + dependency("g", "lib", null, "") + "</dependencies>");
+        addPom("g", "lib", "1.0", "jar", "");
+        addPom("g", "lib", "1.5", "jar", "");
+        addPom("g", "lib", "2.0", "jar", "");
+
+        // execute methods to be tested
+        DependencyClosure closure = this.reader.resolveDependencyClosure(ArtifactCoordinate.parse("g:app:1"), 1);
+
+        // assert result
+        Assert.assertEquals(Arrays.asList(ArtifactCoordinate.parse("g:lib:1.5")), closure.getCoordinates());
+        Assert.assertTrue(closure.isComplete());
+    }
+
+    @Test
+    public void resolve_shouldReuseModels() throws IOException {
+        // assign variables with test data
+        addPom("g", "app", "1", "jar", "<dependencies>" + dependency("g", "lib", "1", "") + "</dependencies>");
+        addPom("g", "other", "1", "jar", "<dependencies>" + dependency("g", "lib", "1", "") + "</dependencies>");
+        addPom("g", "lib", "1", "jar", "");
+
+        // execute methods to be tested
+        this.reader.resolveDependencyClosure(ArtifactCoordinate.parse("g:app:1"), 1);
+        DependencyResolver resolver = this.reader.getDependencyResolver();
+        this.reader.resolveDependencyClosure(ArtifactCoordinate.parse("g:other:1"), 1);
+
+        // assert result
+        Assert.assertSame(resolver, this.reader.getDependencyResolver());
+        Assert.assertEquals(3, resolver.getModelCount());
+    }
+
+    @Test
+    public void interpolate() {
+        // assign variables with test data
+        Map<String, String> properties = new HashMap<String, String>();
+        properties.put("a", "${b}.0");
+        properties.put("b", "1");
+        properties.put("cycle", "${cycle}");
+
+        // assert result
+        Assert.assertEquals("v1.0-1", DependencyResolver.interpolate("v${a}-${b}", properties));
+        Assert.assertEquals("${unknown}-1", DependencyResolver.interpolate("${unknown}-${b}", properties));
+        Assert.assertEquals("${cycle}", DependencyResolver.interpolate("${cycle}", properties));
+        Assert.assertNull(DependencyResolver.interpolate(null, properties));
+    }
+
+    /**
+     * Creates a version with a pom.xml file and optionally an artifact file.
+     *
+     * @param groupId    the id of the group
+     * @param artifactId the id of the artifact
+     * @param version    the version of the artifact
+     * @param extension  the extension of the artifact file or {@code null} to only create the pom.xml file
+     * @param content    the elements of the pom.xml file following its coordinate
+     * @throws IOException if the files could not be created
+     */
+    private void addPom(String groupId, String artifactId, String version, String extension, String content)
+            throws IOException {
+        Path versionPath = extension == null || extension.equals("pom")
+                ? this.repository.addVersion(groupId, artifactId, version)
+                : this.repository.addVersion(groupId, artifactId, version, extension);
+        Files.write(versionPath.resolve(artifactId + "-" + version + ".pom"), ("<project>"
+                + "<groupId>" + groupId + "</groupId><artifactId>" + artifactId + "</artifactId>"
+                + "<version>" + version + "</version>" + content + "</project>").getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates the {@code <dependency></dependency>} element of a pom.xml file.
+     *
+     * @param groupId    the id of the group
+     * @param artifactId the id of the artifact
+     * @param version    the version or {@code null} to omit the version
+     * @param content    further elements of the dependency
+     * @return the element
+     */
+    private static String dependency(String groupId, String artifactId, String version, String content) {
+        return "<dependency><groupId>" + groupId + "</groupId><artifactId>" + artifactId + "</artifactId>"
+                + (version == null ? "" : "<version>" + version + "</version>") + content + "</dependency>";
+    }
+}
@@ -0,0 +1,124 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+
+public class DirectoryListingTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TestRepository repository;
+
+    @Before
+    public void createRepository() throws IOException {
+        this.repository = TestRepository.createDefault(this.folder.getRoot().toPath());
+    }
+
+    @Test
+    public void read() {
+        // assign variables with test data
+        Path artifact = this.repository.getRoot().resolve("junit").resolve("junit");
+
+        // execute methods to be tested
+        DirectoryListing listing = DirectoryListing.read(artifact);
+
+        // assert result
+        Assert.assertArrayEquals(new String[]{"4.12"}, listing.getDirectories());
+        Assert.assertEquals(0, listing.getFiles().length);
+    }
+
+    @Test
+    public void read_shouldSkipDanglingSymbolicLink() throws IOException {
+        // assign variables with test data
+        Path artifact = this.repository.getRoot().resolve("junit").resolve("junit");
+        try {
+            Files.createSymbolicLink(artifact.resolve("dangling"), artifact.resolve("missing"));
+        } catch (UnsupportedOperationException | IOException e) {
+            Assume.assumeNoException(e);
+        }
+
+        // execute methods to be tested
+        DirectoryListing listing = DirectoryListing.read(artifact);
+
+        // assert result
+        Assert.assertArrayEquals(new String[]{"4.12"}, listing.getDirectories());
+        Assert.assertEquals(0, listing.getFiles().length);
+    }
+
+    @Test
+    public void read_shouldKeepFileAttributes() throws IOException {
+        // assign variables with test data
+        Path version = this.repository.getRoot().resolve("junit").resolve("junit").resolve("4.12");
+        Files.write(version.resolve("junit-4.12.jar"), new byte[]{1, 2, 3});
+        List<BasicFileAttributes> fileAttributes = new ArrayList<BasicFileAttributes>();
+
+        // execute methods to be tested
+        DirectoryListing listing = DirectoryListing.read(version, fileAttributes);
+
+        // assert result
+        Assert.assertEquals(listing.getFiles().length, fileAttributes.size());
+        for (int i = 0; i < listing.getFiles().length; i++) {
+            Assert.assertEquals(Files.size(version.resolve(listing.getFiles()[i])), fileAttributes.get(i).size());
+        }
+    }
+
+    @Test
+    public void read_nonExistingDirectory() {
+        // execute methods to be tested
+        DirectoryListing listing = DirectoryListing.read(this.repository.getRoot().resolve("missing"));
+
+        // assert result
+        Assert.assertSame(DirectoryListing.EMPTY, listing);
+    }
+
+    @Test
+    public void isValidVersionFolder() throws IOException {
+        // assign variables with test data
+        String artifactId = "maven-clean-plugin";
+        Path artifact = this.repository.addArtifact("org.apache.maven.plugins", artifactId);
+
+        // execute methods to be tested and assert result
+        Assert.assertTrue(DirectoryListing.isValidVersionFolder(artifact.resolve("2.6.1"), artifactId, "2.6.1"));
+        Assert.assertFalse(DirectoryListing.isValidVersionFolder(artifact.resolve("3.0"), artifactId, "3.0"));
+        Assert.assertFalse(DirectoryListing.isValidVersionFolder(artifact.resolve("9"), artifactId, "9"));
+    }
+
+    @Test
+    public void withEntry() {
+        // assign variables with test data
+        DirectoryListing listing = new DirectoryListing(new String[]{"a"}, new String[]{"b"});
+
+        // execute methods to be tested
+        DirectoryListing updated = listing.withEntry("c", false);
+
+        // assert result
+        Assert.assertArrayEquals(new String[]{"a"}, updated.getDirectories());
+        Assert.assertArrayEquals(new String[]{"b", "c"}, updated.getFiles());
+        Assert.assertSame(listing, listing.withEntry("a", true));
+    }
+
+    @Test
+    public void withoutEntry() {
+        // assign variables with test data
+        DirectoryListing listing = new DirectoryListing(new String[]{"a"}, new String[]{"b"});
+
+        // execute methods to be tested
+        DirectoryListing updated = listing.withoutEntry("a");
+
+        // assert result
+        Assert.assertEquals(0, updated.getDirectories().length);
+        Assert.assertArrayEquals(new String[]{"b"}, updated.getFiles());
+        Assert.assertSame(listing, listing.withoutEntry("c"));
+    }
+}
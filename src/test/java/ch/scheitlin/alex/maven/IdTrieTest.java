@@ -0,0 +1,97 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class IdTrieTest {
+    private IdTrie trie;
+
+    @Before
+    public void createTrie() {
+        this.trie = new IdTrie();
+        for (String id : new String[]{"org.apache.maven", "org.apache.maven.plugins", "org.apache.commons", "junit",
+                "org.junit", "org.apache"}) {
+            this.trie.add(id);
+        }
+    }
+
+    @Test
+    public void add() {
+        // execute methods to be tested
+        boolean added = this.trie.add("org.apache.maven.shared");
+        boolean addedAgain = this.trie.add("org.apache.maven.shared");
+
+        // assert result
+        Assert.assertTrue(added);
+        Assert.assertFalse(addedAgain);
+        Assert.assertEquals(7, this.trie.size());
+    }
+
+    @Test
+    public void contains() {
+        Assert.assertTrue(this.trie.contains("org.apache.maven"));
+        Assert.assertTrue(this.trie.contains("org.apache"));
+        Assert.assertTrue(this.trie.contains("junit"));
+        Assert.assertFalse(this.trie.contains("org.apache.mav"));
+        Assert.assertFalse(this.trie.contains("org"));
+        Assert.assertFalse(this.trie.contains("org.apache.maven.plugins.x"));
+    }
+
+    @Test
+    public void findByPrefix() {
+        // assign variables with test data
+        List<String> expectedIds = Arrays.asList("org.apache.commons", "org.apache.maven", "org.apache.maven.plugins");
+
+        // execute methods to be tested
+        List<String> actualIds = this.trie.findByPrefix("org.apache.");
+
+        // assert result
+        Assert.assertEquals(expectedIds, actualIds);
+    }
+
+    @Test
+    public void findByPrefix_prefixEndsWithinEdge() {
+        Assert.assertEquals(Arrays.asList("org.apache.maven", "org.apache.maven.plugins"),
+                this.trie.findByPrefix("org.apache.ma"));
+        Assert.assertEquals(Arrays.asList("junit"), this.trie.findByPrefix("j"));
+    }
+
+    @Test
+    public void findByPrefix_noMatch() {
+        Assert.assertTrue(this.trie.findByPrefix("org.apache.x").isEmpty());
+        Assert.assertTrue(this.trie.findByPrefix("org.apache.maven.plugins.x").isEmpty());
+    }
+
+    @Test
+    public void findByPrefix_emptyPrefix() {
+        Assert.assertEquals(6, this.trie.findByPrefix("").size());
+    }
+
+    @Test
+    public void findSimilar() {
+        // assign variables with test data
+        List<String> expectedIds = Arrays.asList("org.apache.maven.plugins", "org.apache.maven");
+
+        // execute methods to be tested
+        List<String> actualIds = this.trie.findSimilar("org.apache.maven.plugin", 7);
+
+        // assert result
+        Assert.assertEquals(expectedIds, actualIds);
+    }
+
+    @Test
+    public void findSimilar_typo() {
+        Assert.assertEquals(Arrays.asList("junit"), this.trie.findSimilar("jnuit", 2));
+        Assert.assertEquals(Arrays.asList("org.junit"), this.trie.findSimilar("org.junti", 2));
+        Assert.assertTrue(this.trie.findSimilar("jnuit", 1).isEmpty());
+    }
+
+    @Test
+    public void findSimilar_exactMatch() {
+        Assert.assertEquals(Arrays.asList("org.apache"), this.trie.findSimilar("org.apache", 0));
+    }
+}
@@ -0,0 +1,32 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InventoryFileTest {
+    @Test
+    public void parseName() {
+        Assert.assertArrayEquals(new String[]{null, "jar"}, InventoryFile.parseName("junit", "4.12", "junit-4.12.jar"));
+        Assert.assertArrayEquals(new String[]{"sources", "jar"},
+                InventoryFile.parseName("junit", "4.12", "junit-4.12-sources.jar"));
+        Assert.assertArrayEquals(new String[]{null, "jar.sha1"},
+                InventoryFile.parseName("junit", "4.12", "junit-4.12.jar.sha1"));
+        Assert.assertArrayEquals(new String[]{null, "tar.gz"},
+                InventoryFile.parseName("dist", "1.0", "dist-1.0.tar.gz"));
+    }
+
+    @Test
+    public void parseName_timestampedSnapshot() {
+        Assert.assertArrayEquals(new String[]{null, "jar"},
+                InventoryFile.parseName("junit", "5.0-SNAPSHOT", "junit-5.0-SNAPSHOT.jar"));
+        Assert.assertArrayEquals(new String[]{"tests", "jar"},
+                InventoryFile.parseName("junit", "5.0-SNAPSHOT", "junit-5.0-20240101.123456-12-tests.jar"));
+    }
+
+    @Test
+    public void parseName_noArtifactFile() {
+        Assert.assertNull(InventoryFile.parseName("junit", "4.12", "_remote.repositories"));
+        Assert.assertNull(InventoryFile.parseName("junit", "4.12", "junit-4.13.jar"));
+        Assert.assertNull(InventoryFile.parseName("junit", "5.0-SNAPSHOT", "junit-5.0-2024.jar"));
+    }
+}
@@ -0,0 +1,142 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+public class InventoryScannerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void scan() throws IOException {
+        // assign variables with test data
+        TestRepository repository = TestRepository.createDefault(this.folder.getRoot().toPath());
+        Path junit = repository.addVersion("junit", "junit", "4.12", "jar.sha1");
+        Files.write(junit.resolve("junit-4.12.jar"), new byte[100]);
+        Files.write(junit.resolve("junit-4.12-sources.jar"), new byte[50]);
+        final Map<ArtifactCoordinate, VersionInventory> versions =
+                new ConcurrentHashMap<ArtifactCoordinate, VersionInventory>();
+
+        // execute methods to be tested
+        RepositoryInventory inventory = new InventoryScanner(repository.getRoot(), 4).scan(
+                new Consumer<VersionInventory>() {
+                    @Override
+                    public void accept(VersionInventory version) {
+                        versions.put(version.getCoordinate(), version);
+                    }
+                });
+
+        // assert result
+        Assert.assertEquals(6, versions.size());
+        Assert.assertEquals(6, inventory.getVersionCount());
+
+        VersionInventory junitVersion = versions.get(ArtifactCoordinate.parse("junit:junit:4.12"));
+        Assert.assertEquals(4, junitVersion.getFiles().size());
+        Assert.assertEquals(150, junitVersion.getSize());
+        Assert.assertTrue(junitVersion.isValid());
+        Assert.assertFalse(junitVersion.isPurgeCandidate());
+        for (InventoryFile file : junitVersion.getFiles()) {
+            if (file.getName().equals("junit-4.12.jar")) {
+                Assert.assertTrue(file.isSha1Present());
+                Assert.assertFalse(file.isMd5Present());
+                Assert.assertEquals(100, file.getSize());
+            } else if (file.getName().equals("junit-4.12-sources.jar")) {
+                Assert.assertEquals("sources", file.getClassifier());
+                Assert.assertEquals("jar", file.getExtension());
+                Assert.assertFalse(file.isSha1Present());
+            }
+        }
+
+        Assert.assertEquals(150, inventory.getGroups().get("junit").getSize());
+        Assert.assertEquals(150, inventory.getSize());
+        Assert.assertEquals("junit", inventory.getGroupsBySize().get(0).getGroupId());
+    }
+
+    @Test
+    public void scan_shouldFlagPurgeCandidates() throws IOException {
+        // assign variables with test data
+        TestRepository repository = TestRepository.createDefault(this.folder.getRoot().toPath());
+        final Map<ArtifactCoordinate, VersionInventory> versions =
+                new ConcurrentHashMap<ArtifactCoordinate, VersionInventory>();
+
+        // execute methods to be tested
+        RepositoryInventory inventory = new InventoryScanner(repository.getRoot(), 1).scan(
+                new Consumer<VersionInventory>() {
+                    @Override
+                    public void accept(VersionInventory version) {
+                        versions.put(version.getCoordinate(), version);
+                    }
+                });
+
+        // assert result
+        Assert.assertEquals(3, inventory.getPurgeCandidateCount());
+        Assert.assertEquals(2, inventory.getGroups().get("org.apache.maven.plugins").getPurgeCandidateCount());
+        Assert.assertEquals(1, inventory.getGroups().get("org.failed").getPurgeCandidateCount());
+        Assert.assertTrue(versions.get(ArtifactCoordinate.parse("org.failed:failed:1.0")).isPurgeCandidate());
+        Assert.assertFalse(versions.get(ArtifactCoordinate.parse("org.failed:failed:1.0")).isValid());
+
+        // an obsolete '.lastUpdated' file next to its source file does not make the version a purge candidate
+        VersionInventory obsolete =
+                versions.get(ArtifactCoordinate.parse("org.apache.maven.plugins:maven-clean-plugin:2.6.1"));
+        Assert.assertTrue(obsolete.isValid());
+        Assert.assertFalse(obsolete.isPurgeCandidate());
+    }
+
+    @Test
+    public void scan_shouldSkipDanglingSymbolicLink() throws IOException {
+        // assign variables with test data
+        TestRepository repository = TestRepository.createDefault(this.folder.getRoot().toPath());
+        Path junit = repository.addVersion("junit", "junit", "4.12", "jar", "pom");
+        try {
+            Files.createSymbolicLink(junit.resolve("dangling"), junit.resolve("missing"));
+        } catch (UnsupportedOperationException | IOException e) {
+            Assume.assumeNoException(e);
+        }
+        final Map<ArtifactCoordinate, VersionInventory> versions =
+                new ConcurrentHashMap<ArtifactCoordinate, VersionInventory>();
+
+        // execute methods to be tested
+        new InventoryScanner(repository.getRoot(), 2).scan(new Consumer<VersionInventory>() {
+            @Override
+            public void accept(VersionInventory version) {
+                versions.put(version.getCoordinate(), version);
+            }
+        });
+
+        // assert result
+        VersionInventory junitVersion = versions.get(ArtifactCoordinate.parse("junit:junit:4.12"));
+        Assert.assertNotNull(junitVersion);
+        Assert.assertEquals(2, junitVersion.getFiles().size());
+    }
+
+    @Test
+    public void scan_nonExistingRepository() {
+        // execute methods to be tested
+        RepositoryInventory inventory = new InventoryScanner(this.folder.getRoot().toPath().resolve("missing"), 2)
+                .scan(new Consumer<VersionInventory>() {
+                    @Override
+                    public void accept(VersionInventory version) {
+                        Assert.fail("No version expected.");
+                    }
+                });
+
+        // assert result
+        Assert.assertTrue(inventory.getGroups().isEmpty());
+        Assert.assertEquals(0, inventory.getSize());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void scan_invalidParallelism() {
+        new InventoryScanner(this.folder.getRoot().toPath(), 0);
+    }
+}
@@ -0,0 +1,53 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+    @Test
+    public void getValueAtPercentile() {
+        // assign variables with test data
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // execute methods to be tested
+        for (long value = 1; value <= 100000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        // assert result
+        Assert.assertEquals(100000, histogram.getCount());
+        Assert.assertEquals(100000000, histogram.getMax());
+        Assert.assertEquals(50000500, histogram.getMean(), 0.001);
+        Assert.assertEquals(50000000, histogram.getValueAtPercentile(50), 50000000 / 64);
+        Assert.assertEquals(99000000, histogram.getValueAtPercentile(99), 99000000 / 64);
+        Assert.assertEquals(100000000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void getValueAtPercentile_empty() {
+        // assign variables with test data
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+        histogram.reset();
+
+        // assert result
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    @Test
+    public void getIndex_shouldCoverAllValues() {
+        // assign variables with test data
+        long[] values = {0, 1, 127, 128, 129, 255, 256, 1000000007, Long.MAX_VALUE};
+
+        // assert result
+        int previousIndex = -1;
+        for (long value : values) {
+            int index = LatencyHistogram.getIndex(value);
+            Assert.assertTrue(index >= previousIndex);
+            Assert.assertTrue(LatencyHistogram.getHighestValue(index) >= value);
+            Assert.assertTrue(index == 0 || LatencyHistogram.getHighestValue(index - 1) < value);
+            previousIndex = index;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class LayeredRepositoryReaderTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TestRepository mirror;
+    private TestRepository user;
+    private LayeredRepositoryReader reader;
+
+    @Before
+    public void createReader() throws IOException {
+        this.mirror = TestRepository.createDefault(this.folder.getRoot().toPath().resolve("mirror"));
+        this.user = new TestRepository(this.folder.getRoot().toPath().resolve("user"));
+        this.user.addVersion("junit", "junit", "4.12", "jar", "pom");
+        this.user.addVersion("junit", "junit", "4.13", "jar", "pom");
+        this.user.addVersion("org.apache.maven.plugins", "maven-jar-plugin", "3.0", "jar", "pom");
+        this.user.addVersion("org.user", "user", "1.0", "jar");
+        this.reader = new LayeredRepositoryReader(this.mirror.getRoot(), this.user.getRoot());
+    }
+
+    @After
+    public void closeReader() throws IOException {
+        this.reader.close();
+    }
+
+    @Test
+    public void doesGroupExist() {
+        Assert.assertTrue(this.reader.doesGroupExist("org.apache.maven.plugins"));
+        Assert.assertTrue(this.reader.doesGroupExist("org.user"));
+        Assert.assertFalse(this.reader.doesGroupExist("org.failed"));
+    }
+
+    @Test
+    public void doesArtifactExist() {
+        Assert.assertTrue(this.reader.doesArtifactExist("org.apache.maven.plugins", "maven-clean-plugin"));
+        Assert.assertTrue(this.reader.doesArtifactExist("org.apache.maven.plugins", "maven-jar-plugin"));
+        Assert.assertFalse(this.reader.doesArtifactExist("org.apache.maven.plugins", "maven-empty-plugin"));
+    }
+
+    @Test
+    public void doesVersionExist() {
+        Assert.assertTrue(this.reader.doesVersionExist("org.apache.maven.plugins", "maven-clean-plugin", "2.5"));
+        Assert.assertTrue(this.reader.doesVersionExist("org.user", "user", "1.0"));
+        Assert.assertTrue(this.reader.doesVersionExist("junit", "junit", "4.13"));
+        Assert.assertFalse(this.reader.doesVersionExist("org.apache.maven.plugins", "maven-clean-plugin", "3.0"));
+        Assert.assertFalse(this.reader.doesVersionExist("org.failed", "failed", "1.0"));
+    }
+
+    @Test
+    public void getArtifactsOfGroup_shouldMerge() {
+        // execute methods to be tested
+        String[] artifacts = this.reader.getArtifactsOfGroup("org.apache.maven.plugins");
+
+        // assert result
+        Assert.assertArrayEquals(new String[]{"maven-clean-plugin", "maven-jar-plugin"}, artifacts);
+    }
+
+    @Test
+    public void getArtifactVersions_shouldMergeWithoutDuplicates() {
+        // execute methods to be tested
+        String[] versions = this.reader.getArtifactVersions("junit", "junit");
+
+        // assert result
+        Assert.assertArrayEquals(new String[]{"4.12", "4.13"}, versions);
+    }
+
+    @Test
+    public void indexLayer() throws IOException {
+        // assign variables with test data
+        this.reader.indexLayer(0, null);
+        this.mirror.addVersion("org.mirror", "mirror", "1.0", "jar");
+
+        // execute methods to be tested
+        boolean existsBeforeIndexing = this.reader.doesVersionExist("org.mirror", "mirror", "1.0");
+        this.reader.indexLayer(0, this.folder.getRoot().toPath().resolve("mirror.snapshot"));
+        boolean existsAfterIndexing = this.reader.doesVersionExist("org.mirror", "mirror", "1.0");
+
+        // assert result
+        Assert.assertFalse(existsBeforeIndexing);
+        Assert.assertTrue(existsAfterIndexing);
+        Assert.assertNotNull(this.reader.getIndex(0));
+        Assert.assertNull(this.reader.getIndex(1));
+        Assert.assertTrue(this.reader.doesVersionExist("org.user", "user", "1.0"));
+        Assert.assertArrayEquals(new String[]{"4.12", "4.13"}, this.reader.getArtifactVersions("junit", "junit"));
+    }
+
+    @Test
+    public void removeIndex() throws IOException {
+        // assign variables with test data
+        this.reader.indexLayer(0, null);
+        this.mirror.addVersion("org.mirror", "mirror", "1.0", "jar");
+
+        // execute methods to be tested
+        this.reader.removeIndex(0);
+
+        // assert result
+        Assert.assertTrue(this.reader.doesVersionExist("org.mirror", "mirror", "1.0"));
+    }
+
+    @Test
+    public void singleLayer() throws IOException {
+        // assign variables with test data
+        LocalMavenRepositoryReader userReader = new LocalMavenRepositoryReader(this.user.getRoot());
+
+        // execute methods to be tested
+        try (LayeredRepositoryReader singleLayerReader = new LayeredRepositoryReader(
+                Collections.singletonList(userReader))) {
+            // assert result
+            Assert.assertEquals(1, singleLayerReader.getLayerCount());
+            Assert.assertTrue(singleLayerReader.doesVersionExist("org.user", "user", "1.0"));
+            Assert.assertFalse(singleLayerReader.doesVersionExist("org.apache.maven.plugins", "maven-clean-plugin",
+                    "2.5"));
+            Assert.assertArrayEquals(new String[]{"4.12", "4.13"}, sorted(singleLayerReader.getArtifactVersions(
+                    "junit", "junit")));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noLayers() {
+        new LayeredRepositoryReader(new Path[0]);
+    }
+
+    /**
+     * Sorts an array.
+     *
+     * @param array the array to sort
+     * @return the sorted array
+     */
+    private static String[] sorted(String[] array) {
+        Arrays.sort(array);
+        return array;
+    }
+}
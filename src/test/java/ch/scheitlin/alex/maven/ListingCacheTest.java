@@ -0,0 +1,145 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ListingCacheTest {
+    @Test
+    public void put_shouldEvictLeastRecentlyUsed() {
+        // assign variables with test data
+        ListingCache cache = new ListingCache(6, 0, TimeUnit.SECONDS);
+        Path first = Paths.get("first");
+        Path second = Paths.get("second");
+        Path third = Paths.get("third");
+        DirectoryListing listing = new DirectoryListing(new String[]{"a"}, new String[]{"b"});
+
+        // execute methods to be tested
+        cache.put(first, listing);
+        cache.put(second, listing);
+        cache.get(first);
+        cache.put(third, listing);
+
+        // assert result
+        Assert.assertSame(listing, cache.get(first));
+        Assert.assertNull(cache.get(second));
+        Assert.assertSame(listing, cache.get(third));
+        Assert.assertEquals(6, cache.getWeight());
+    }
+
+    @Test
+    public void put_disabledCache() {
+        // assign variables with test data
+        ListingCache cache = new ListingCache(0, 0, TimeUnit.SECONDS);
+        Path directory = Paths.get("directory");
+
+        // execute methods to be tested
+        cache.put(directory, DirectoryListing.EMPTY);
+
+        // assert result
+        Assert.assertNull(cache.get(directory));
+        Assert.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void remove() {
+        // assign variables with test data
+        ListingCache cache = new ListingCache(100, 0, TimeUnit.SECONDS);
+        Path directory = Paths.get("directory");
+        cache.put(directory, DirectoryListing.EMPTY);
+
+        // execute methods to be tested
+        cache.remove(directory);
+
+        // assert result
+        Assert.assertNull(cache.get(directory));
+        Assert.assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    public void load_shouldListOnlyOnceForConcurrentCallers() throws InterruptedException {
+        // assign variables with test data
+        final ListingCache cache = new ListingCache(100, 0, TimeUnit.SECONDS);
+        final Path directory = Paths.get("directory");
+        final AtomicInteger listingCount = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final Set<DirectoryListing> listings = Collections.newSetFromMap(
+                new ConcurrentHashMap<DirectoryListing, Boolean>());
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 16; i++) {
+            threads.add(new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    listings.add(cache.load(directory, uncachedDirectory -> {
+                        listingCount.incrementAndGet();
+                        sleepUninterruptibly(50);
+                        return new DirectoryListing(new String[]{"a"}, new String[]{});
+                    }));
+                }
+            });
+        }
+
+        // execute methods to be tested
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // assert result
+        Assert.assertEquals(1, listingCount.get());
+        Assert.assertEquals(1, listings.size());
+        Assert.assertSame(listings.iterator().next(), cache.get(directory));
+    }
+
+    @Test
+    public void load_shouldRetryAfterFailure() {
+        // assign variables with test data
+        ListingCache cache = new ListingCache(100, 0, TimeUnit.SECONDS);
+        Path directory = Paths.get("directory");
+        try {
+            cache.load(directory, uncachedDirectory -> {
+                throw new IllegalStateException("failed");
+            });
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        // execute methods to be tested
+        DirectoryListing listing = cache.load(directory, uncachedDirectory -> DirectoryListing.EMPTY);
+
+        // assert result
+        Assert.assertSame(DirectoryListing.EMPTY, listing);
+    }
+
+    /**
+     * Sleeps without being interruptible.
+     *
+     * @param milliseconds the time to sleep
+     */
+    private static void sleepUninterruptibly(long milliseconds) {
+        try {
+            Thread.sleep(milliseconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,19 +1,53 @@
 package ch.scheitlin.alex.maven;
 
 import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 public class LocalMavenRepositoryReaderTest {
-    /*
-    // This tests won't succeed in every environment because either different artifacts and versions are available or
-    // the .m2 directory is not located at the same path.
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TestRepository repository;
+    private LocalMavenRepositoryReader reader;
+
+    @Before
+    public void createReader() throws IOException {
+        this.repository = TestRepository.createDefault(this.folder.newFolder().toPath());
+        this.reader = new LocalMavenRepositoryReader(this.repository.getRoot());
+    }
+
     @Test
     public void doesGroupExist_shouldExist() {
         // assign variables with test data
         String groupId = "org.apache.maven.plugins";
 
         // execute methods to be tested
-        boolean result = LocalMavenRepositoryReader.doesGroupExist(groupId);
+        boolean result = this.reader.doesGroupExist(groupId);
 
         // assert result
         Assert.assertTrue(result);
@@ -25,7 +59,19 @@ public class LocalMavenRepositoryReaderTest {
         String groupId = "org.apache.maven.p";
 
         // execute methods to be tested
-        boolean result = LocalMavenRepositoryReader.doesGroupExist(groupId);
+        boolean result = this.reader.doesGroupExist(groupId);
+
+        // assert result
+        Assert.assertFalse(result);
+    }
+
+    @Test
+    public void doesGroupExist_onlyLastUpdatedFiles() {
+        // assign variables with test data
+        String groupId = "org.failed";
+
+        // execute methods to be tested
+        boolean result = this.reader.doesGroupExist(groupId);
 
         // assert result
         Assert.assertFalse(result);
@@ -38,7 +84,7 @@ public class LocalMavenRepositoryReaderTest {
         String expectedSubGroup = "p";
 
         // execute methods to be tested
-        String actualSubGroup = LocalMavenRepositoryReader.getNonExistingSubGroup(groupId);
+        String actualSubGroup = this.reader.getNonExistingSubGroup(groupId);
 
         // assert result
         Assert.assertEquals(expectedSubGroup, actualSubGroup);
@@ -50,12 +96,93 @@ public class LocalMavenRepositoryReaderTest {
         String groupId = "org.apache.maven.plugins";
 
         // execute methods to be tested
-        String actualSubGroup = LocalMavenRepositoryReader.getNonExistingSubGroup(groupId);
+        String actualSubGroup = this.reader.getNonExistingSubGroup(groupId);
 
         // assert result
         Assert.assertNull(actualSubGroup);
     }
 
+    @Test
+    public void getGroupsWithPrefix() {
+        // assign variables with test data
+        String prefix = "org.";
+
+        // execute methods to be tested
+        List<String> groups = this.reader.getGroupsWithPrefix(prefix);
+
+        // assert result
+        Assert.assertEquals(Arrays.asList("org.apache.maven.plugins"), groups);
+    }
+
+    @Test
+    public void getSimilarGroups() {
+        // assign variables with test data
+        String groupId = "org.apache.maven.plugin";
+
+        // execute methods to be tested
+        List<String> groups = this.reader.getSimilarGroups(groupId, 2);
+
+        // assert result
+        Assert.assertEquals(Arrays.asList("org.apache.maven.plugins"), groups);
+    }
+
+    @Test
+    public void getSimilarArtifacts() {
+        // assign variables with test data
+        String groupId = "org.apache.maven.plugins";
+        String artifactId = "maven-clear-plugin";
+
+        // execute methods to be tested
+        List<String> artifacts = this.reader.getSimilarArtifacts(groupId, artifactId, 2);
+
+        // assert result
+        Assert.assertEquals(Arrays.asList("maven-clean-plugin"), artifacts);
+        Assert.assertEquals(Arrays.asList("maven-clean-plugin"),
+                this.reader.getArtifactsWithPrefix(groupId, "maven-"));
+    }
+
+    @Test
+    public void getSearch_shouldBeRebuiltAfterClearingCache() throws IOException {
+        // assign variables with test data
+        RepositorySearch search = this.reader.getSearch();
+        this.repository.addVersion("org.apache.maven.plugins", "maven-jar-plugin", "3.0", "jar");
+
+        // execute methods to be tested
+        RepositorySearch cachedSearch = this.reader.getSearch();
+        this.reader.clearCache();
+        RepositorySearch rebuiltSearch = this.reader.getSearch();
+
+        // assert result
+        Assert.assertSame(search, cachedSearch);
+        Assert.assertEquals(Arrays.asList("maven-clean-plugin", "maven-jar-plugin"),
+                rebuiltSearch.getArtifactsWithPrefix("org.apache.maven.plugins", ""));
+    }
+
+    @Test
+    public void getSearch_shouldBeRebuiltInBackground() throws IOException, InterruptedException {
+        // assign variables with test data
+        LocalMavenRepositoryReader expiringReader = new LocalMavenRepositoryReader(this.repository.getRoot(),
+                1000, 1, TimeUnit.MILLISECONDS);
+        RepositorySearch search = expiringReader.getSearch();
+        this.repository.addVersion("org.apache.maven.plugins", "maven-jar-plugin", "3.0", "jar");
+        Thread.sleep(10);
+
+        // execute methods to be tested
+        RepositorySearch outdatedSearch = expiringReader.getSearch();
+        RepositorySearch rebuiltSearch = outdatedSearch;
+        long deadline = System.currentTimeMillis() + 10000;
+        while (rebuiltSearch == outdatedSearch && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            rebuiltSearch = expiringReader.getSearch();
+        }
+
+        // assert result
+        Assert.assertSame(search, outdatedSearch);
+        Assert.assertNotSame(outdatedSearch, rebuiltSearch);
+        Assert.assertEquals(Arrays.asList("maven-clean-plugin", "maven-jar-plugin"),
+                rebuiltSearch.getArtifactsWithPrefix("org.apache.maven.plugins", ""));
+    }
+
     @Test
     public void doesArtifactExist_shouldExist() {
         // assign variables with test data
@@ -63,7 +190,7 @@ public class LocalMavenRepositoryReaderTest {
         String artifactId = "maven-clean-plugin";
 
         // execute methods to be tested
-        boolean result = LocalMavenRepositoryReader.doesArtifactExist(groupId, artifactId);
+        boolean result = this.reader.doesArtifactExist(groupId, artifactId);
 
         // assert result
         Assert.assertTrue(result);
@@ -76,12 +203,37 @@ public class LocalMavenRepositoryReaderTest {
         String artifactId = "m";
 
         // execute methods to be tested
-        boolean result = LocalMavenRepositoryReader.doesArtifactExist(groupId, artifactId);
+        boolean result = this.reader.doesArtifactExist(groupId, artifactId);
 
         // assert result
         Assert.assertFalse(result);
     }
 
+    @Test
+    public void getArtifactsOfGroup() {
+        // assign variables with test data
+        String groupId = "org.apache.maven.plugins";
+        String[] expectedArtifacts = {"maven-clean-plugin"};
+
+        // execute methods to be tested
+        String[] actualArtifacts = this.reader.getArtifactsOfGroup(groupId);
+
+        // assert result
+        Assert.assertArrayEquals(expectedArtifacts, actualArtifacts);
+    }
+
+    @Test
+    public void getArtifactsOfGroup_nonExistingGroup() {
+        // assign variables with test data
+        String groupId = "org.p";
+
+        // execute methods to be tested
+        String[] artifacts = this.reader.getArtifactsOfGroup(groupId);
+
+        // assert result
+        Assert.assertEquals(0, artifacts.length);
+    }
+
     @Test
     public void doesVersionExist_shouldExist() {
         // assign variables with test data
@@ -90,7 +242,7 @@ public class LocalMavenRepositoryReaderTest {
         String version = "2.6.1";
 
         // execute methods to be tested
-        boolean result = LocalMavenRepositoryReader.doesVersionExist(groupId, artifactId, version);
+        boolean result = this.reader.doesVersionExist(groupId, artifactId, version);
 
         // assert result
         Assert.assertTrue(result);
@@ -104,21 +256,391 @@ public class LocalMavenRepositoryReaderTest {
         String version = "-1";
 
         // execute methods to be tested
-        boolean result = LocalMavenRepositoryReader.doesVersionExist(groupId, artifactId, version);
+        boolean result = this.reader.doesVersionExist(groupId, artifactId, version);
 
         // assert result
         Assert.assertFalse(result);
     }
-    */
+
+    @Test
+    public void doesVersionExist_onlyLastUpdatedFiles() {
+        // assign variables with test data
+        String groupId = "org.apache.maven.plugins";
+        String artifactId = "maven-clean-plugin";
+        String version = "3.0";
+
+        // execute methods to be tested
+        boolean result = this.reader.doesVersionExist(groupId, artifactId, version);
+
+        // assert result
+        Assert.assertFalse(result);
+    }
+
+    @Test
+    public void getArtifactVersions() {
+        // assign variables with test data
+        String groupId = "org.apache.maven.plugins";
+        String artifactId = "maven-clean-plugin";
+        String[] expectedVersions = {"2.5", "2.6.1"};
+
+        // execute methods to be tested
+        String[] actualVersions = this.reader.getArtifactVersions(groupId, artifactId);
+
+        // assert result
+        Arrays.sort(actualVersions);
+        Assert.assertArrayEquals(expectedVersions, actualVersions);
+    }
+
+    @Test
+    public void getLatestVersion() throws IOException {
+        // assign variables with test data
+        this.repository.addVersion("org.apache.maven.plugins", "maven-clean-plugin", "2.10", "jar");
+        this.repository.addVersion("org.apache.maven.plugins", "maven-clean-plugin", "3.1-SNAPSHOT", "jar");
+
+        // execute methods to be tested
+        String latestVersion = this.reader.getLatestVersion("org.apache.maven.plugins", "maven-clean-plugin");
+        String latestRelease = this.reader.getLatestRelease("org.apache.maven.plugins", "maven-clean-plugin");
+
+        // assert result
+        Assert.assertEquals("3.1-SNAPSHOT", latestVersion);
+        Assert.assertEquals("2.10", latestRelease);
+    }
+
+    @Test
+    public void getLatestVersion_onlyLastUpdatedFiles() {
+        // execute methods to be tested
+        String latestVersion = this.reader.getLatestVersion("org.apache.maven.plugins", "maven-jar-plugin");
+
+        // assert result
+        Assert.assertNull(latestVersion);
+        Assert.assertNull(this.reader.getLatestRelease("org.failed", "failed"));
+        Assert.assertNull(this.reader.getLatestVersion("org.missing", "missing"));
+    }
+
+    @Test
+    public void getVersionsInRange() throws IOException {
+        // assign variables with test data
+        this.repository.addVersion("org.apache.maven.plugins", "maven-clean-plugin", "2.10", "jar");
+        this.repository.addVersion("org.apache.maven.plugins", "maven-clean-plugin", "3.0", "pom");
+        String[] expectedVersions = {"2.6.1", "2.10", "3.0"};
+
+        // execute methods to be tested
+        String[] actualVersions = this.reader.getVersionsInRange("org.apache.maven.plugins", "maven-clean-plugin",
+                "(2.5,3.0]");
+
+        // assert result
+        Assert.assertArrayEquals(expectedVersions, actualVersions);
+    }
+
+    @Test
+    public void getPomInfo() throws IOException {
+        // assign variables with test data
+        Path pom = this.repository.addVersion("junit", "junit", "4.12").resolve("junit-4.12.pom");
+        Files.write(pom, ("<project><groupId>junit</groupId><artifactId>junit</artifactId><version>4.12</version>"
+                + "<dependencies><dependency><groupId>org.hamcrest</groupId><artifactId>hamcrest-core</artifactId>"
+                + "<version>1.3</version></dependency></dependencies></project>").getBytes(StandardCharsets.UTF_8));
+
+        // execute methods to be tested
+        PomInfo pomInfo = this.reader.getPomInfo("junit", "junit", "4.12");
+        PomInfo cachedPomInfo = this.reader.getPomInfo("junit", "junit", "4.12");
+
+        // assert result
+        Assert.assertEquals(ArtifactCoordinate.parse("junit:junit:4.12"), pomInfo.getCoordinate());
+        Assert.assertEquals("hamcrest-core", pomInfo.getDependencies().get(0).getArtifactId());
+        Assert.assertSame(pomInfo, cachedPomInfo);
+    }
+
+    @Test
+    public void getPomInfo_shouldParseModifiedFileAgain() throws IOException {
+        // assign variables with test data
+        Path pom = this.repository.addVersion("junit", "junit", "4.12").resolve("junit-4.12.pom");
+        Files.write(pom, ("<project><groupId>junit</groupId><artifactId>junit</artifactId><version>4.12</version>"
+                + "</project>").getBytes(StandardCharsets.UTF_8));
+        PomInfo pomInfo = this.reader.getPomInfo("junit", "junit", "4.12");
+        Files.write(pom, ("<project><groupId>junit</groupId><artifactId>junit</artifactId><version>4.12</version>"
+                + "<packaging>pom</packaging></project>").getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(pom, FileTime.fromMillis(Files.getLastModifiedTime(pom).toMillis() + 10000));
+
+        // execute methods to be tested
+        PomInfo modifiedPomInfo = this.reader.getPomInfo("junit", "junit", "4.12");
+
+        // assert result
+        Assert.assertEquals("jar", pomInfo.getPackaging());
+        Assert.assertEquals("pom", modifiedPomInfo.getPackaging());
+    }
+
+    @Test
+    public void getPomInfo_nonExistingVersion() {
+        // execute methods to be tested
+        PomInfo invalidVersion = this.reader.getPomInfo("org.failed", "failed", "1.0");
+        PomInfo missingVersion = this.reader.getPomInfo("junit", "junit", "5.0");
+
+        // assert result
+        Assert.assertNull(invalidVersion);
+        Assert.assertNull(missingVersion);
+    }
+
+    @Test
+    public void getArtifactVersions_shouldReadMetadata() throws IOException {
+        // assign variables with test data
+        this.repository.addVersion("org.local", "local", "1.0", "jar", "pom");
+        this.repository.addVersion("org.local", "local", "2.0", "jar", "pom");
+        writeLocalMetadata("org.local", "local", 1000, "1.0", "2.0");
+
+        // execute methods to be tested
+        TraversalContext withoutMetadata = this.reader.createContext();
+        String[] versionsWithoutMetadata = this.reader.getArtifactVersions(withoutMetadata, "org.local", "local");
+        this.reader.clearCache();
+        this.reader.setMetadataEnabled(true);
+        TraversalContext withMetadata = this.reader.createContext();
+        String[] versionsWithMetadata = this.reader.getArtifactVersions(withMetadata, "org.local", "local");
+
+        // assert result
+        Arrays.sort(versionsWithMetadata);
+        Assert.assertArrayEquals(new String[]{"1.0", "2.0"}, versionsWithMetadata);
+        Assert.assertEquals(versionsWithoutMetadata.length, versionsWithMetadata.length);
+        Assert.assertEquals(withoutMetadata.getListingCount() - 2, withMetadata.getListingCount());
+    }
+
+    @Test
+    public void getArtifactVersions_shouldIgnoreStaleMetadata() throws IOException {
+        // assign variables with test data
+        this.repository.addVersion("org.local", "local", "1.0", "jar", "pom");
+        this.repository.addVersion("org.local", "local", "2.0", "jar.lastUpdated");
+        writeLocalMetadata("org.local", "local", 1000, "1.0", "2.0", "3.0");
+        this.reader.setMetadataEnabled(true);
+
+        // execute methods to be tested
+        String[] versions = this.reader.getArtifactVersions("org.local", "local");
+
+        // assert result
+        Assert.assertArrayEquals(new String[]{"1.0"}, versions);
+    }
+
+    @Test
+    public void getArtifactVersions_shouldReadMetadataOlderThanArtifactFolder() throws IOException {
+        // assign variables with test data
+        this.repository.addVersion("org.local", "local", "1.0", "jar", "pom");
+        this.repository.addVersion("org.local", "local", "2.0", "jar", "pom");
+        this.repository.addVersion("org.local", "local", "3.0", "jar.lastUpdated");
+        writeLocalMetadata("org.local", "local", -1000, "1.0", "2.0");
+        this.reader.setMetadataEnabled(true);
+
+        // execute methods to be tested
+        TraversalContext context = this.reader.createContext();
+        String[] versions = this.reader.getArtifactVersions(context, "org.local", "local");
+
+        // assert result
+        Arrays.sort(versions);
+        Assert.assertArrayEquals(new String[]{"1.0", "2.0"}, versions);
+        // -> the folders of the listed versions have not been listed
+        Assert.assertEquals(5, context.getListingCount());
+    }
+
+    @Test
+    public void getRemoteRepositories() throws IOException {
+        // assign variables with test data
+        Path versionPath = this.repository.addVersion("junit", "junit", "4.12");
+        Files.write(versionPath.resolve(MetadataParser.REMOTE_REPOSITORIES), ("#NOTE: internal file\n"
+                + "junit-4.12.jar>central=\n"
+                + "junit-4.12.pom>=\n").getBytes(StandardCharsets.UTF_8));
+
+        // execute methods to be tested
+        Map<String, String> repositories = this.reader.getRemoteRepositories("junit", "junit", "4.12");
+        Map<String, String> missing = this.reader.getRemoteRepositories("org.apache.maven.plugins",
+                "maven-clean-plugin", "2.5");
+
+        // assert result
+        Assert.assertEquals(2, repositories.size());
+        Assert.assertEquals("central", repositories.get("junit-4.12.jar"));
+        Assert.assertEquals("", repositories.get("junit-4.12.pom"));
+        Assert.assertTrue(missing.isEmpty());
+    }
+
+    @Test
+    public void streamArtifactsOfGroup() {
+        // assign variables with test data
+        String groupId = "org.apache.maven.plugins";
+        String[] expectedArtifacts = {"maven-clean-plugin"};
+
+        // execute methods to be tested
+        String[] actualArtifacts;
+        try (Stream<String> artifacts = this.reader.streamArtifactsOfGroup(groupId)) {
+            actualArtifacts = artifacts.toArray(String[]::new);
+        }
+
+        // assert result
+        Assert.assertArrayEquals(expectedArtifacts, actualArtifacts);
+    }
+
+    @Test
+    public void streamArtifactsOfGroup_nonExistingGroup() {
+        // execute methods to be tested
+        long count;
+        try (Stream<String> artifacts = this.reader.streamArtifactsOfGroup("org.apache.maven.p")) {
+            count = artifacts.count();
+        }
+
+        // assert result
+        Assert.assertEquals(0, count);
+    }
+
+    @Test
+    public void streamArtifactVersions() {
+        // assign variables with test data
+        String groupId = "org.apache.maven.plugins";
+        String artifactId = "maven-clean-plugin";
+        String[] expectedVersions = {"2.5", "2.6.1"};
+
+        // execute methods to be tested
+        String[] actualVersions;
+        try (Stream<ArtifactCoordinate> versions = this.reader.streamArtifactVersions(groupId, artifactId)) {
+            actualVersions = versions.map(ArtifactCoordinate::getVersion).sorted().toArray(String[]::new);
+        }
+
+        // assert result
+        Assert.assertArrayEquals(expectedVersions, actualVersions);
+    }
+
+    @Test
+    public void streamArtifactVersions_anyMatch() {
+        // assign variables with test data
+        String groupId = "org.apache.maven.plugins";
+        String artifactId = "maven-clean-plugin";
+
+        // execute methods to be tested
+        boolean anyVersion2;
+        boolean anyVersion3;
+        try (Stream<ArtifactCoordinate> versions = this.reader.streamArtifactVersions(groupId, artifactId)) {
+            anyVersion2 = versions.anyMatch(coordinate -> coordinate.getVersion().startsWith("2."));
+        }
+        try (Stream<ArtifactCoordinate> versions = this.reader.streamArtifactVersions(groupId, artifactId)) {
+            anyVersion3 = versions.anyMatch(coordinate -> coordinate.getVersion().startsWith("3."));
+        }
+
+        // assert result (version 3.0 only has a '.lastUpdated' file)
+        Assert.assertTrue(anyVersion2);
+        Assert.assertFalse(anyVersion3);
+    }
+
+    @Test
+    public void doesVersionExist_shouldAnswerFromCache() {
+        // assign variables with test data
+        String groupId = "junit";
+        String artifactId = "junit";
+        String version = "4.12";
+        this.reader.doesVersionExist(groupId, artifactId, version);
+
+        // execute methods to be tested
+        TraversalContext context = this.reader.createContext();
+        boolean result = this.reader.doesVersionExist(context, groupId, artifactId, version);
+
+        // assert result
+        Assert.assertTrue(result);
+        Assert.assertEquals(0, context.getListingCount());
+    }
+
+    @Test
+    public void doesVersionExist_shouldExpireCache() throws InterruptedException {
+        // assign variables with test data
+        LocalMavenRepositoryReader expiringReader = new LocalMavenRepositoryReader(this.repository.getRoot(),
+                1000, 1, TimeUnit.MILLISECONDS);
+        expiringReader.doesVersionExist("junit", "junit", "4.12");
+        Thread.sleep(10);
+
+        // execute methods to be tested
+        TraversalContext context = expiringReader.createContext();
+        expiringReader.doesVersionExist(context, "junit", "junit", "4.12");
+
+        // assert result
+        Assert.assertTrue(context.getListingCount() > 0);
+    }
+
+    @Test
+    public void clearCache() throws IOException {
+        // assign variables with test data
+        Assert.assertFalse(this.reader.doesVersionExist("junit", "junit", "5.0"));
+        this.repository.addVersion("junit", "junit", "5.0", "jar");
+
+        // execute methods to be tested
+        this.reader.clearCache();
+
+        // assert result
+        Assert.assertTrue(this.reader.doesVersionExist("junit", "junit", "5.0"));
+    }
+
+    @Test
+    public void doesGroupExist_shouldListEachDirectoryOnlyOnce() throws IOException {
+        // assign variables with test data
+        TestRepository testRepository = new TestRepository(this.folder.newFolder().toPath());
+        int artifacts = 20;
+        int versions = 10;
+        for (int artifact = 0; artifact < artifacts; artifact++) {
+            for (int version = 0; version < versions; version++) {
+                testRepository.addVersion("org.example", "artifact" + artifact, "1." + version, "jar", "pom");
+            }
+        }
+        // root, org, example, the artifacts and their versions
+        int directories = 3 + artifacts + artifacts * versions;
+
+        // execute methods to be tested
+        LocalMavenRepositoryReader reader = new LocalMavenRepositoryReader(testRepository.getRoot());
+        TraversalContext context = reader.createContext();
+        boolean result = reader.doesGroupExist(context, "org.example");
+
+        // assert result (every directory is listed at most once for sub directories and once for files)
+        Assert.assertTrue(result);
+        Assert.assertTrue(context.getListingCount() <= 2 * directories);
+    }
+
+    @Test
+    public void concurrentQueries_shouldAnswerConsistently() throws Exception {
+        // assign variables with test data
+        final LocalMavenRepositoryReader sharedReader = new LocalMavenRepositoryReader(this.repository.getRoot(), 20, 0,
+                TimeUnit.SECONDS);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+
+        // execute methods to be tested
+        for (int i = 0; i < 64; i++) {
+            final boolean clearCache = i % 8 == 0;
+            results.add(executor.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    boolean consistent = true;
+                    for (int j = 0; j < 100; j++) {
+                        if (clearCache) {
+                            sharedReader.clearCache();
+                        }
+                        consistent &= sharedReader.doesGroupExist("org.apache.maven.plugins");
+                        consistent &= !sharedReader.doesGroupExist("org.failed");
+                        consistent &= sharedReader.doesVersionExist("junit", "junit", "4.12");
+                        consistent &= !sharedReader.doesVersionExist("org.apache.maven.plugins",
+                                "maven-clean-plugin", "3.0");
+                        consistent &= sharedReader.getArtifactVersions("org.apache.maven.plugins",
+                                "maven-clean-plugin").length == 2;
+                    }
+                    return consistent;
+                }
+            }));
+        }
+        executor.shutdown();
+
+        // assert result
+        for (Future<Boolean> result : results) {
+            Assert.assertTrue(result.get(30, TimeUnit.SECONDS));
+        }
+    }
 
     @Test
     public void getExpectedGroupPath() {
         // assign variables with test data
         String groupId = "org.apache.maven.plugins";
-        String expectedGroupPath = LocalMavenRepositoryReader.LOCAL_MAVEN_REPOSITORY + "\\org\\apache\\maven\\plugins";
+        Path expectedGroupPath = this.repository.getRoot().resolve("org").resolve("apache").resolve("maven")
+                .resolve("plugins");
 
         // execute methods to be tested
-        String actualGroupPath = LocalMavenRepositoryReader.getExpectedGroupPath(groupId);
+        Path actualGroupPath = this.reader.getExpectedGroupPath(groupId);
 
         // assert result
         Assert.assertEquals(expectedGroupPath, actualGroupPath);
@@ -130,10 +652,11 @@ public class LocalMavenRepositoryReaderTest {
         // assign variables with test data
         String groupId = "org.apache.maven.plugins";
         String artifactId = "maven-clean-plugin";
-        String expectedArtifactPath = LocalMavenRepositoryReader.LOCAL_MAVEN_REPOSITORY + "\\org\\apache\\maven\\plugins\\maven-clean-plugin";
+        Path expectedArtifactPath = this.repository.getRoot().resolve("org").resolve("apache").resolve("maven")
+                .resolve("plugins").resolve("maven-clean-plugin");
 
         // execute methods to be tested
-        String actualArtifactPath = LocalMavenRepositoryReader.getExpectedArtifactPath(groupId, artifactId);
+        Path actualArtifactPath = this.reader.getExpectedArtifactPath(groupId, artifactId);
 
         // assert result
         Assert.assertEquals(expectedArtifactPath, actualArtifactPath);
@@ -145,75 +668,107 @@ public class LocalMavenRepositoryReaderTest {
         String groupId = "org.apache.maven.plugins";
         String artifactId = "maven-clean-plugin";
         String version = "2.6.1";
-        String expectedVersionPath = LocalMavenRepositoryReader.LOCAL_MAVEN_REPOSITORY + "\\org\\apache\\maven\\plugins\\maven-clean-plugin\\2.6.1";
+        Path expectedVersionPath = this.repository.getRoot().resolve("org").resolve("apache").resolve("maven")
+                .resolve("plugins").resolve("maven-clean-plugin").resolve("2.6.1");
 
         // execute methods to be tested
-        String actualVersionPath = LocalMavenRepositoryReader.getExpectedVersionPath(groupId, artifactId, version);
+        Path actualVersionPath = this.reader.getExpectedVersionPath(groupId, artifactId, version);
 
         // assert result
         Assert.assertEquals(expectedVersionPath, actualVersionPath);
     }
 
     @Test
-    public void getStringsWithEnding_containsOne() {
+    public void isVersionFolderContentValid_noLastUpdatedFiles() {
         // assign variables with test data
-        String[] strings = {"file.a", "file.b", "file.c"};
-        String ending = "a";
-        String[] expectedStrings = { "file.a" };    // in same order as they occur
+        String[] files = {"artifact-1.0.jar", "artifact-1.0.pom", "artifact-1.0.jar.sha1"};
 
         // execute methods to be tested
-        String[] actualStrings = LocalMavenRepositoryReader.getStringsWithEnding(strings, ending);
+        boolean result = LocalMavenRepositoryReader.isVersionFolderContentValid(files);
 
         // assert result
-        Assert.assertEquals(expectedStrings.length, actualStrings.length);
-        for (int i = 0 ; i < expectedStrings.length; i++) {
-            Assert.assertEquals(expectedStrings[i], actualStrings[i]);
-        }
+        Assert.assertTrue(result);
     }
 
     @Test
-    public void getStringsWithEnding_containsNone() {
+    public void isVersionFolderContentValid_noFiles() {
         // assign variables with test data
-        String[] strings = {"file.a", "file.b", "file.c"};
-        String ending = "d";
-        String[] expectedStrings = {};
+        String[] files = {};
 
         // execute methods to be tested
-        String[] actualStrings = LocalMavenRepositoryReader.getStringsWithEnding(strings, ending);
+        boolean result = LocalMavenRepositoryReader.isVersionFolderContentValid(files);
 
         // assert result
-        Assert.assertEquals(expectedStrings.length, actualStrings.length);
+        Assert.assertFalse(result);
     }
 
     @Test
-    public void getStringsWithDifferentEnding_containsOne() {
+    public void isVersionFolderContentValid_onlyLastUpdatedFiles() {
         // assign variables with test data
-        String[] strings = {"file.a", "file.a", "file.b"};
-        String ending = "a";
-        String[] expectedStrings = { "file.b" };    // in same order as they occur
+        String[] files = {"artifact-1.0.jar.lastUpdated", "artifact-1.0.pom.lastUpdated"};
 
         // execute methods to be tested
-        String[] actualStrings = LocalMavenRepositoryReader.getStringsWithDifferentEnding(strings, ending);
+        boolean result = LocalMavenRepositoryReader.isVersionFolderContentValid(files);
 
         // assert result
-        Assert.assertEquals(expectedStrings.length, actualStrings.length);
-        for (int i = 0 ; i < expectedStrings.length; i++) {
-            Assert.assertEquals(expectedStrings[i], actualStrings[i]);
-        }
+        Assert.assertFalse(result);
+    }
+
+    @Test
+    public void isVersionFolderContentValid_lastUpdatedFileWithSourceFile() {
+        // assign variables with test data
+        String[] files = {"artifact-1.0.jar.lastUpdated", "artifact-1.0.pom", "artifact-1.0.jar"};
+
+        // execute methods to be tested
+        boolean result = LocalMavenRepositoryReader.isVersionFolderContentValid(files);
+
+        // assert result
+        Assert.assertTrue(result);
+    }
+
+    @Test
+    public void isVersionFolderContentValid_lastUpdatedFileWithoutSourceFile() {
+        // assign variables with test data
+        String[] files = {"artifact-1.0.jar.lastUpdated", "artifact-1.0.pom"};
+
+        // execute methods to be tested
+        boolean result = LocalMavenRepositoryReader.isVersionFolderContentValid(files);
+
+        // assert result
+        Assert.assertFalse(result);
+    }
+
+    @Test
+    public void isVersionFolder() {
+        // assign variables with test data
+        String[] files = {"maven-metadata-central.xml", "maven-core-3.0.jar"};
+        String[] snapshotFiles = {"maven-metadata-local.xml", "maven-core-3.1-20200101.120000-1.jar"};
+
+        // execute methods to be tested and assert result
+        Assert.assertTrue(LocalMavenRepositoryReader.isVersionFolder("maven-core", "3.0", files));
+        Assert.assertTrue(LocalMavenRepositoryReader.isVersionFolder("maven-core", "3.1-SNAPSHOT", snapshotFiles));
+        Assert.assertFalse(LocalMavenRepositoryReader.isVersionFolder("maven-core", "3.1", files));
+        Assert.assertFalse(LocalMavenRepositoryReader.isVersionFolder("maven", "maven-core", files));
     }
 
     @Test
-    public void getStringsWithDifferentEnding_containsNone() {
+    public void doesVersionExist_artifactFolderWithMetadata() throws IOException {
         // assign variables with test data
-        String[] strings = {"file.a", "file.a", "file.a"};
-        String ending = "a";
-        String[] expectedStrings = {};
+        this.repository.addVersion("org.apache.maven", "maven-core", "3.0", "jar", "pom");
+        Files.write(this.repository.addArtifact("org.apache.maven", "maven-core").resolve("maven-metadata-central.xml"),
+                new byte[]{});
 
         // execute methods to be tested
-        String[] actualStrings = LocalMavenRepositoryReader.getStringsWithDifferentEnding(strings, ending);
+        boolean artifactFolderExists = this.reader.doesVersionExist("org.apache", "maven", "maven-core");
+        boolean versionExists = this.reader.doesVersionExist("org.apache.maven", "maven-core", "3.0");
+        List<ArtifactCoordinate> coordinates = this.reader.scanAll();
 
         // assert result
-        Assert.assertEquals(expectedStrings.length, actualStrings.length);
+        Assert.assertFalse(artifactFolderExists);
+        Assert.assertFalse(this.reader.doesArtifactExist("org.apache", "maven"));
+        Assert.assertTrue(versionExists);
+        Assert.assertTrue(coordinates.contains(ArtifactCoordinate.parse("org.apache.maven:maven-core:3.0")));
+        Assert.assertFalse(coordinates.contains(ArtifactCoordinate.parse("org.apache:maven:maven-core")));
     }
 
     @Test
@@ -254,4 +809,161 @@ public class LocalMavenRepositoryReaderTest {
         // assert result
         Assert.assertFalse(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void doesVersionExist_danglingSymbolicLinkNextToVersion() throws IOException {
+        // assign variables with test data
+        Path artifact = this.repository.getRoot().resolve("junit").resolve("junit");
+        try {
+            Files.createSymbolicLink(artifact.resolve("dangling"), artifact.resolve("missing"));
+        } catch (UnsupportedOperationException | IOException e) {
+            Assume.assumeNoException(e);
+        }
+
+        // execute methods to be tested
+        boolean artifactExists = this.reader.doesArtifactExist("junit", "junit");
+        boolean versionExists = this.reader.doesVersionExist("junit", "junit", "4.12");
+
+        // assert result
+        Assert.assertTrue(artifactExists);
+        Assert.assertTrue(versionExists);
+    }
+
+    @Test
+    public void openArchive() throws IOException {
+        // assign variables with test data
+        Path archive = this.folder.getRoot().toPath().resolve("repository.zip");
+        writeArchive(archive, "", true);
+
+        // execute methods to be tested
+        try (LocalMavenRepositoryReader archiveReader = LocalMavenRepositoryReader.openArchive(archive)) {
+            // assert result
+            Assert.assertTrue(archiveReader.doesGroupExist("org.apache.maven.plugins"));
+            Assert.assertFalse(archiveReader.doesGroupExist("org.failed"));
+            Assert.assertEquals("p", archiveReader.getNonExistingSubGroup("org.apache.maven.p"));
+            Assert.assertArrayEquals(new String[]{"maven-clean-plugin"},
+                    archiveReader.getArtifactsOfGroup("org.apache.maven.plugins"));
+            Assert.assertTrue(archiveReader.doesVersionExist("org.apache.maven.plugins", "maven-clean-plugin",
+                    "2.6.1"));
+            Assert.assertFalse(archiveReader.doesVersionExist("org.apache.maven.plugins", "maven-clean-plugin",
+                    "3.0"));
+            String[] versions = archiveReader.getArtifactVersions("org.apache.maven.plugins", "maven-clean-plugin");
+            Arrays.sort(versions);
+            Assert.assertArrayEquals(new String[]{"2.5", "2.6.1"}, versions);
+            Assert.assertTrue(archiveReader.buildIndex().doesVersionExist("junit", "junit", "4.12"));
+        }
+    }
+
+    @Test
+    public void openArchive_withRootAndWithoutDirectoryEntries() throws IOException {
+        // assign variables with test data
+        Path archive = this.folder.getRoot().toPath().resolve("repository.zip");
+        writeArchive(archive, "repository/", false);
+
+        // execute methods to be tested
+        try (LocalMavenRepositoryReader archiveReader = LocalMavenRepositoryReader.openArchive(archive,
+                "/repository")) {
+            // assert result
+            Assert.assertTrue(archiveReader.doesVersionExist("junit", "junit", "4.12"));
+            Assert.assertFalse(archiveReader.doesVersionExist("org.apache.maven.plugins", "maven-jar-plugin", "2.4"));
+            Assert.assertFalse(archiveReader.doesArtifactExist("org.apache.maven.plugins", "maven-jar-plugin"));
+        }
+    }
+
+    @Test
+    public void openArchive_shouldNotBeWatched() throws IOException {
+        // assign variables with test data
+        Path archive = this.folder.getRoot().toPath().resolve("repository.zip");
+        writeArchive(archive, "", true);
+
+        // execute methods to be tested
+        try (LocalMavenRepositoryReader archiveReader = LocalMavenRepositoryReader.openArchive(archive)) {
+            archiveReader.startWatching();
+            Assert.fail("Archives must not be watched.");
+        } catch (IOException e) {
+            // assert result
+            Assert.assertFalse(e.getMessage().startsWith("Unsupported archive"));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void openArchive_noArchive() throws IOException {
+        // assign variables with test data
+        Path file = this.folder.newFile("repository.tar").toPath();
+        Files.write(file, new byte[]{1, 2, 3});
+
+        // execute methods to be tested
+        LocalMavenRepositoryReader.openArchive(file);
+    }
+
+    /**
+     * Writes the 'maven-metadata-local.xml' file of an artifact.
+     *
+     * @param groupId    the id of the group
+     * @param artifactId the id of the artifact
+     * @param offset     the offset of the modification time of the file to the one of the artifact folder in
+     *                   milliseconds
+     * @param versions   the versions to list
+     * @throws IOException if the file could not be written
+     */
+    private void writeLocalMetadata(String groupId, String artifactId, long offset, String... versions)
+            throws IOException {
+        StringBuilder content = new StringBuilder("<metadata><groupId>" + groupId + "</groupId><artifactId>"
+                + artifactId + "</artifactId><versioning><versions>");
+        for (String version : versions) {
+            content.append("<version>").append(version).append("</version>");
+        }
+        content.append("</versions></versioning></metadata>");
+
+        Path artifactPath = this.repository.addArtifact(groupId, artifactId);
+        Path metadata = artifactPath.resolve(MetadataParser.LOCAL_METADATA);
+        Files.write(metadata, content.toString().getBytes(StandardCharsets.UTF_8));
+        FileTime folderLastModified = FileTime.fromMillis(Files.getLastModifiedTime(artifactPath).toMillis());
+        Files.setLastModifiedTime(metadata, FileTime.fromMillis(folderLastModified.toMillis() + offset));
+        Files.setLastModifiedTime(artifactPath, folderLastModified);
+    }
+
+    /**
+     * Packs the test repository into a zip archive.
+     *
+     * @param archive          the path to the archive to create
+     * @param prefix           the prefix of the names of all entries, e.g. {@code repository/}
+     * @param directoryEntries {@code true} to add an entry for every directory, {@code false} to only add the files
+     * @throws IOException if the archive could not be written
+     */
+    private void writeArchive(Path archive, final String prefix, final boolean directoryEntries) throws IOException {
+        final Path root = this.repository.getRoot();
+        try (final ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(archive))) {
+            Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes)
+                        throws IOException {
+                    if (directoryEntries && !directory.equals(root)) {
+                        out.putNextEntry(new ZipEntry(prefix + getEntryName(root, directory) + "/"));
+                        out.closeEntry();
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                    out.putNextEntry(new ZipEntry(prefix + getEntryName(root, file)));
+                    Files.copy(file, out);
+                    out.closeEntry();
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+    }
+
+    /**
+     * Gets the name of the zip entry of a file or directory.
+     *
+     * @param root the root directory of the archive
+     * @param path the path to the file or directory
+     * @return the relative path with '/' as separator
+     */
+    private static String getEntryName(Path root, Path path) {
+        return root.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/");
+    }
+}
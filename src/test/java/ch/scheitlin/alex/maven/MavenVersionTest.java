@@ -0,0 +1,70 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class MavenVersionTest {
+    @Test
+    public void compareTo_shouldOrderVersions() {
+        // assign variables with test data
+        String[] orderedVersions = {"1-alpha1", "1-alpha2", "1-beta1", "1-m1", "1-rc1", "1-SNAPSHOT", "1", "1-sp",
+                "1-abc", "1-1", "1.1", "1.2-SNAPSHOT", "1.2", "1.10", "2.0-a1", "2.0", "10"};
+        List<MavenVersion> expectedVersions = toVersions(orderedVersions);
+        List<MavenVersion> actualVersions = toVersions(orderedVersions);
+
+        // execute methods to be tested
+        Collections.reverse(actualVersions);
+        Collections.sort(actualVersions);
+
+        // assert result
+        Assert.assertEquals(Arrays.toString(orderedVersions), actualVersions.toString());
+        Assert.assertEquals(expectedVersions, actualVersions);
+    }
+
+    @Test
+    public void equals_shouldIgnoreTrailingZerosAndReleaseQualifiers() {
+        // assign variables with test data
+        MavenVersion version = new MavenVersion("1");
+
+        // assert result
+        Assert.assertEquals(version, new MavenVersion("1.0"));
+        Assert.assertEquals(version, new MavenVersion("1.0.0"));
+        Assert.assertEquals(version, new MavenVersion("1-ga"));
+        Assert.assertEquals(version, new MavenVersion("1.0-FINAL"));
+        Assert.assertEquals(version.hashCode(), new MavenVersion("1.0-final").hashCode());
+        Assert.assertEquals(new MavenVersion("1-cr1"), new MavenVersion("1-RC1"));
+        Assert.assertNotEquals(version, new MavenVersion("1.0.1"));
+    }
+
+    @Test
+    public void isSnapshot() {
+        Assert.assertTrue(new MavenVersion("1.0-SNAPSHOT").isSnapshot());
+        Assert.assertTrue(new MavenVersion("1.0-20240101.123456-1").isSnapshot());
+        Assert.assertFalse(new MavenVersion("1.0").isSnapshot());
+        Assert.assertFalse(new MavenVersion("1.0-rc-1").isSnapshot());
+        Assert.assertFalse(new MavenVersion("20240101.123456-1").isSnapshot());
+    }
+
+    @Test
+    public void toString_shouldKeepOriginalValue() {
+        Assert.assertEquals("1.0-RC1", new MavenVersion("1.0-RC1").toString());
+    }
+
+    /**
+     * Parses a list of versions.
+     *
+     * @param values the versions to parse
+     * @return the parsed versions in the same order
+     */
+    private static List<MavenVersion> toVersions(String[] values) {
+        MavenVersion[] versions = new MavenVersion[values.length];
+        for (int i = 0; i < values.length; i++) {
+            versions[i] = new MavenVersion(values[i]);
+        }
+        return Arrays.asList(versions);
+    }
+}
@@ -0,0 +1,124 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class PomParserTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void parse() throws IOException {
+        // assign variables with test data
+        Path pom = writePom("<project xmlns=\"http://maven.apache.org/POM/4.0.0\">"
+                + "<modelVersion>4.0.0</modelVersion>"
+                + "<parent><groupId>org.example</groupId><artifactId>parent</artifactId><version>1.0</version></parent>"
+                + "<artifactId>child</artifactId>"
+                + "<packaging>bundle</packaging>"
+                + "<properties><junit.version> 4.12 </junit.version></properties>"
+                + "<dependencyManagement><dependencies><dependency>"
+                + "<groupId>org.hamcrest</groupId><artifactId>hamcrest-core</artifactId><version>1.3</version>"
+                + "</dependency></dependencies></dependencyManagement>"
+                + "<dependencies><dependency>"
+                + "<groupId>junit</groupId><artifactId>junit</artifactId><version>${junit.version}</version>"
+                + "<scope>test</scope><optional>true</optional>"
+                + "<exclusions><exclusion><groupId>x</groupId><artifactId>y</artifactId></exclusion></exclusions>"
+                + "</dependency></dependencies>"
+                + "</project>");
+
+        // execute methods to be tested
+        PomInfo pomInfo = PomParser.parse(pom);
+
+        // assert result
+        Assert.assertEquals(ArtifactCoordinate.parse("org.example:child:1.0"), pomInfo.getCoordinate());
+        Assert.assertEquals(ArtifactCoordinate.parse("org.example:parent:1.0"), pomInfo.getParent());
+        Assert.assertEquals("bundle", pomInfo.getPackaging());
+        Assert.assertEquals("4.12", pomInfo.getProperties().get("junit.version"));
+        Assert.assertEquals(1, pomInfo.getManagedDependencies().size());
+        Assert.assertEquals("hamcrest-core", pomInfo.getManagedDependencies().get(0).getArtifactId());
+        Assert.assertEquals(1, pomInfo.getDependencies().size());
+        PomDependency dependency = pomInfo.getDependencies().get(0);
+        Assert.assertEquals("junit", dependency.getGroupId());
+        Assert.assertEquals("${junit.version}", dependency.getVersion());
+        Assert.assertEquals("test", dependency.getScope());
+        Assert.assertTrue(dependency.isOptional());
+        Assert.assertNull(dependency.getType());
+        Assert.assertEquals(Arrays.asList("x:y"), dependency.getExclusions());
+    }
+
+    @Test
+    public void parse_shouldSkipBuild() throws IOException {
+        // assign variables with test data
+        Path pom = writePom("<project><groupId>g</groupId><artifactId>a</artifactId><version>1</version>"
+                + "<dependencies/>"
+                + "<build><plugins><plugin><artifactId>plugin</artifactId><dependencies><dependency>"
+                + "<groupId>x</groupId><artifactId>y</artifactId><version>1</version>"
+                + "</dependency></dependencies></plugin></plugins></build>"
+                + "</project>");
+
+        // execute methods to be tested
+        PomInfo pomInfo = PomParser.parse(pom);
+
+        // assert result
+        Assert.assertEquals("a", pomInfo.getCoordinate().getArtifactId());
+        Assert.assertEquals("jar", pomInfo.getPackaging());
+        Assert.assertNull(pomInfo.getParent());
+        Assert.assertTrue(pomInfo.getDependencies().isEmpty());
+    }
+
+    @Test
+    public void parse_reorderedSections() throws IOException {
+        // assign variables with test data
+        Path pom = writePom("<project><groupId>g</groupId><artifactId>a</artifactId>"
+                + "<dependencies><dependency><groupId>junit</groupId><artifactId>junit</artifactId>"
+                + "<version>${junit.version}</version></dependency></dependencies>"
+                + "<build><plugins/></build>"
+                + "<dependencyManagement><dependencies><dependency>"
+                + "<groupId>org.hamcrest</groupId><artifactId>hamcrest-core</artifactId><version>1.3</version>"
+                + "</dependency></dependencies></dependencyManagement>"
+                + "<properties><junit.version>4.12</junit.version></properties>"
+                + "<version>1</version>"
+                + "</project>");
+
+        // execute methods to be tested
+        PomInfo pomInfo = PomParser.parse(pom);
+
+        // assert result
+        Assert.assertEquals("1", pomInfo.getCoordinate().getVersion());
+        Assert.assertEquals("4.12", pomInfo.getProperties().get("junit.version"));
+        Assert.assertEquals(1, pomInfo.getDependencies().size());
+        Assert.assertEquals(1, pomInfo.getManagedDependencies().size());
+        Assert.assertEquals("hamcrest-core", pomInfo.getManagedDependencies().get(0).getArtifactId());
+    }
+
+    @Test(expected = IOException.class)
+    public void parse_noProject() throws IOException {
+        PomParser.parse(writePom("<settings><groupId>g</groupId></settings>"));
+    }
+
+    @Test(expected = IOException.class)
+    public void parse_incompleteCoordinate() throws IOException {
+        PomParser.parse(writePom("<project><artifactId>a</artifactId></project>"));
+    }
+
+    /**
+     * Writes a pom.xml file with a specific content.
+     *
+     * @param content the content of the file
+     * @return the path to the file
+     * @throws IOException if the file could not be written
+     */
+    private Path writePom(String content) throws IOException {
+        Path pom = this.folder.newFile().toPath();
+        Files.write(pom, content.getBytes(StandardCharsets.UTF_8));
+        return pom;
+    }
+}
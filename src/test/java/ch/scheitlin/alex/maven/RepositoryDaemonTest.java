@@ -0,0 +1,266 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class RepositoryDaemonTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TestRepository repository;
+    private RepositoryDaemon daemon;
+
+    @Before
+    public void setUp() throws IOException {
+        this.repository = TestRepository.createDefault(this.folder.newFolder().toPath());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (this.daemon != null) {
+            this.daemon.close();
+        }
+    }
+
+    @Test
+    public void queries() throws IOException {
+        // assign variables with test data
+        startDaemon(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+        // execute methods to be tested
+        try (RepositoryClient client = new RepositoryClient(this.daemon.getAddress())) {
+            // assert result
+            Assert.assertTrue(client.doesGroupExist("org.apache.maven.plugins"));
+            Assert.assertFalse(client.doesGroupExist("org.failed"));
+            Assert.assertEquals("p", client.getNonExistingSubGroup("org.apache.maven.p"));
+            Assert.assertNull(client.getNonExistingSubGroup("junit"));
+            Assert.assertTrue(client.doesArtifactExist("junit", "junit"));
+            Assert.assertArrayEquals(new String[]{"maven-clean-plugin"},
+                    client.getArtifactsOfGroup("org.apache.maven.plugins"));
+            Assert.assertTrue(client.doesVersionExist("junit", "junit", "4.12"));
+            Assert.assertFalse(client.doesVersionExist("org.failed", "failed", "1.0"));
+            Assert.assertArrayEquals(new String[]{"4.12"}, client.getArtifactVersions("junit", "junit"));
+            Assert.assertEquals(0, client.getArtifactVersions("junit", "missing").length);
+        }
+    }
+
+    @Test
+    public void doVersionsExist_shouldPipelineRequests() throws IOException {
+        // assign variables with test data
+        startDaemon(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        List<ArtifactCoordinate> coordinates = new ArrayList<ArtifactCoordinate>();
+        for (int i = 0; i < 2 * RepositoryClient.PIPELINE_DEPTH + 1; i++) {
+            coordinates.add(new ArtifactCoordinate("junit", "junit", i == 0 ? "4.12" : "1." + i));
+        }
+
+        // execute methods to be tested
+        Map<ArtifactCoordinate, Boolean> results;
+        try (RepositoryClient client = new RepositoryClient(this.daemon.getAddress())) {
+            results = client.doVersionsExist(coordinates);
+        }
+
+        // assert result
+        Assert.assertEquals(coordinates.size(), results.size());
+        Assert.assertTrue(results.get(ArtifactCoordinate.parse("junit:junit:4.12")));
+        Assert.assertFalse(results.get(ArtifactCoordinate.parse("junit:junit:1.1")));
+        Assert.assertFalse(results.containsValue(null));
+    }
+
+    @Test
+    public void doVersionsExist_invalidCoordinateShouldKeepConnectionUsable() throws IOException {
+        // assign variables with test data
+        startDaemon(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        List<ArtifactCoordinate> coordinates = Arrays.asList(ArtifactCoordinate.parse("junit:junit:4.12"),
+                ArtifactCoordinate.parse("bad group:x:1"));
+
+        try (RepositoryClient client = new RepositoryClient(this.daemon.getAddress())) {
+            // execute methods to be tested
+            try {
+                client.doVersionsExist(coordinates);
+                Assert.fail("Expected the coordinate to be rejected.");
+            } catch (IllegalArgumentException e) {
+                // -> expected
+            }
+
+            // assert result
+            Assert.assertFalse(client.doesGroupExist("does.not.exist"));
+            Assert.assertTrue(client.doesGroupExist("junit"));
+        }
+    }
+
+    @Test
+    public void doVersionsExist_errorResponseShouldKeepConnectionUsable() throws IOException {
+        // assign variables with test data
+        final ServerSocketChannel server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        Thread fakeDaemon = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                // answers requests containing 'broken' with an error, containing 'missing' with 0 and others with 1
+                try (SocketChannel channel = server.accept()) {
+                    BufferedReader in = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel),
+                            StandardCharsets.UTF_8));
+                    Writer out = new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8);
+                    String request;
+                    while ((request = in.readLine()) != null) {
+                        out.write(request.contains("broken") ? RepositoryDaemon.ERROR_PREFIX + "broken"
+                                : request.contains("missing") ? "0" : "1");
+                        out.write('\n');
+                        out.flush();
+                    }
+                } catch (IOException e) {
+                    // -> connection has been closed by the client
+                }
+            }
+        });
+        fakeDaemon.setDaemon(true);
+        fakeDaemon.start();
+        List<ArtifactCoordinate> coordinates = Arrays.asList(ArtifactCoordinate.parse("junit:junit:4.12"),
+                ArtifactCoordinate.parse("broken:broken:1"), ArtifactCoordinate.parse("junit:junit:4.13"));
+
+        try (RepositoryClient client = new RepositoryClient(server.getLocalAddress())) {
+            // execute methods to be tested
+            try {
+                client.doVersionsExist(coordinates);
+                Assert.fail("Expected the error response to be reported.");
+            } catch (IOException e) {
+                Assert.assertEquals("broken", e.getMessage());
+            }
+
+            // assert result
+            Assert.assertFalse(client.doesGroupExist("missing"));
+        } finally {
+            server.close();
+        }
+    }
+
+    @Test
+    public void refresh() throws IOException {
+        // assign variables with test data
+        startDaemon(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+        try (RepositoryClient client = new RepositoryClient(this.daemon.getAddress())) {
+            boolean before = client.doesVersionExist("junit", "junit", "5.0");
+            this.repository.addVersion("junit", "junit", "5.0", "jar");
+
+            // execute methods to be tested
+            client.refresh();
+
+            // assert result
+            Assert.assertFalse(before);
+            Assert.assertTrue(client.doesVersionExist("junit", "junit", "5.0"));
+        }
+    }
+
+    @Test
+    public void answer_unknownRequest() throws IOException {
+        // assign variables with test data
+        startDaemon(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+
+        // execute methods to be tested
+        String unknown = this.daemon.answer("X junit");
+        String missingArgument = this.daemon.answer("V junit junit");
+
+        // assert result
+        Assert.assertTrue(unknown.startsWith(RepositoryDaemon.ERROR_PREFIX));
+        Assert.assertTrue(missingArgument.startsWith(RepositoryDaemon.ERROR_PREFIX));
+    }
+
+    @Test
+    public void toError_shouldBeSingleLine() {
+        // execute methods to be tested
+        String error = RepositoryDaemon.toError("first line\r\nsecond line\nthird line");
+
+        // assert result
+        Assert.assertEquals(RepositoryDaemon.ERROR_PREFIX + "first line second line third line", error);
+    }
+
+    @Test
+    public void unixSocket() throws IOException {
+        // assign variables with test data
+        Path socket = this.folder.getRoot().toPath().resolve("daemon.sock");
+        SocketAddress address;
+        try {
+            address = RepositoryDaemon.getUnixAddress(socket);
+        } catch (UnsupportedOperationException e) {
+            Assume.assumeNoException(e);
+            return;
+        }
+        startDaemon(address);
+
+        // execute methods to be tested
+        boolean exists;
+        try (RepositoryClient client = RepositoryClient.connect(socket)) {
+            exists = client.doesArtifactExist("junit", "junit");
+        }
+        boolean socketExists = Files.exists(socket);
+        this.daemon.close();
+
+        // assert result
+        Assert.assertTrue(exists);
+        Assert.assertTrue(socketExists);
+        Assert.assertFalse(Files.exists(socket));
+    }
+
+    @Test
+    public void unixSocket_shouldOnlyBeAccessibleByOwner() throws IOException {
+        // assign variables with test data
+        Path socket = this.folder.getRoot().toPath().resolve("daemon.sock");
+        Assume.assumeTrue(Files.getFileAttributeView(this.folder.getRoot().toPath(), PosixFileAttributeView.class)
+                != null);
+        SocketAddress address;
+        try {
+            address = RepositoryDaemon.getUnixAddress(socket);
+        } catch (UnsupportedOperationException e) {
+            Assume.assumeNoException(e);
+            return;
+        }
+
+        // execute methods to be tested
+        startDaemon(address);
+
+        // assert result
+        Assert.assertEquals(EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE),
+                Files.getPosixFilePermissions(socket));
+    }
+
+    /**
+     * Starts a daemon serving the test repository.
+     *
+     * @param address the address to listen on
+     * @throws IOException if the daemon could not be started
+     */
+    private void startDaemon(SocketAddress address) throws IOException {
+        this.daemon = new RepositoryDaemon(new LocalMavenRepositoryReader(this.repository.getRoot()), address, null,
+                0, TimeUnit.SECONDS);
+        this.daemon.start();
+    }
+}
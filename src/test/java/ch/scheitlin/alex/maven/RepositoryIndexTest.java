@@ -0,0 +1,392 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class RepositoryIndexTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TestRepository repository;
+    private RepositoryIndex index;
+
+    @Before
+    public void buildIndex() throws IOException {
+        this.repository = TestRepository.createDefault(this.folder.getRoot().toPath().resolve("repository"));
+        this.index = RepositoryIndex.build(this.repository.getRoot());
+    }
+
+    @Test
+    public void doesGroupExist_shouldExist() {
+        Assert.assertTrue(this.index.doesGroupExist("org.apache.maven.plugins"));
+        Assert.assertTrue(this.index.doesGroupExist("junit"));
+    }
+
+    @Test
+    public void doesGroupExist_shouldNotExist() {
+        Assert.assertFalse(this.index.doesGroupExist("org.apache.maven"));
+        Assert.assertFalse(this.index.doesGroupExist("org.apache.maven.p"));
+        Assert.assertFalse(this.index.doesGroupExist("org.failed"));
+    }
+
+    @Test
+    public void getNonExistingSubGroup_shouldGetSubGroup() {
+        // assign variables with test data
+        String groupId = "org.apache.maven.p";
+        String expectedSubGroup = "p";
+
+        // execute methods to be tested
+        String actualSubGroup = this.index.getNonExistingSubGroup(groupId);
+
+        // assert result
+        Assert.assertEquals(expectedSubGroup, actualSubGroup);
+    }
+
+    @Test
+    public void getNonExistingSubGroup_shouldNotGetSubGroup() {
+        Assert.assertNull(this.index.getNonExistingSubGroup("org.apache.maven.plugins"));
+    }
+
+    @Test
+    public void doesArtifactExist_shouldExist() {
+        Assert.assertTrue(this.index.doesArtifactExist("org.apache.maven.plugins", "maven-clean-plugin"));
+    }
+
+    @Test
+    public void doesArtifactExist_shouldNotExist() {
+        Assert.assertFalse(this.index.doesArtifactExist("org.apache.maven.plugins", "m"));
+        Assert.assertFalse(this.index.doesArtifactExist("org.apache.maven.plugins", "maven-jar-plugin"));
+        Assert.assertFalse(this.index.doesArtifactExist("org.apache.maven.plugins", "maven-empty-plugin"));
+    }
+
+    @Test
+    public void getArtifactsOfGroup() {
+        // execute methods to be tested
+        String[] artifacts = this.index.getArtifactsOfGroup("org.apache.maven.plugins");
+
+        // assert result
+        Assert.assertArrayEquals(new String[]{"maven-clean-plugin"}, artifacts);
+    }
+
+    @Test
+    public void getArtifactsOfGroup_nonExistingGroup() {
+        Assert.assertEquals(0, this.index.getArtifactsOfGroup("org.apache.maven.p").length);
+    }
+
+    @Test
+    public void doesVersionExist_shouldExist() {
+        Assert.assertTrue(this.index.doesVersionExist("org.apache.maven.plugins", "maven-clean-plugin", "2.5"));
+        Assert.assertTrue(this.index.doesVersionExist("org.apache.maven.plugins", "maven-clean-plugin", "2.6.1"));
+    }
+
+    @Test
+    public void doesVersionExist_shouldNotExist() {
+        Assert.assertFalse(this.index.doesVersionExist("org.apache.maven.plugins", "maven-clean-plugin", "3.0"));
+        Assert.assertFalse(this.index.doesVersionExist("org.apache.maven.plugins", "maven-clean-plugin", "-1"));
+        Assert.assertFalse(this.index.doesVersionExist("org.apache.maven.plugins", "m", "-1"));
+    }
+
+    @Test
+    public void getArtifactVersions() {
+        // execute methods to be tested
+        String[] versions = this.index.getArtifactVersions("org.apache.maven.plugins", "maven-clean-plugin");
+
+        // assert result
+        Arrays.sort(versions);
+        Assert.assertArrayEquals(new String[]{"2.5", "2.6.1"}, versions);
+    }
+
+    @Test
+    public void build_nonExistingRepository() throws IOException {
+        // execute methods to be tested
+        RepositoryIndex emptyIndex = RepositoryIndex.build(this.folder.getRoot().toPath().resolve("missing"));
+
+        // assert result
+        Assert.assertFalse(emptyIndex.doesGroupExist("junit"));
+        Assert.assertEquals("junit", emptyIndex.getNonExistingSubGroup("junit"));
+    }
+
+    @Test
+    public void load_unchangedRepository() throws IOException {
+        // assign variables with test data
+        Path snapshot = this.folder.getRoot().toPath().resolve("index.snapshot");
+        backdateDirectories(this.repository.getRoot());
+        RepositoryIndex.build(this.repository.getRoot()).save(snapshot);
+
+        // execute methods to be tested
+        RepositoryIndex loadedIndex = RepositoryIndex.load(this.repository.getRoot(), snapshot);
+
+        // assert result
+        Assert.assertEquals(0, loadedIndex.getRelistedDirectoryCount());
+        Assert.assertTrue(loadedIndex.doesGroupExist("org.apache.maven.plugins"));
+        Assert.assertFalse(loadedIndex.doesGroupExist("org.failed"));
+        String[] versions = loadedIndex.getArtifactVersions("org.apache.maven.plugins", "maven-clean-plugin");
+        Arrays.sort(versions);
+        Assert.assertArrayEquals(new String[]{"2.5", "2.6.1"}, versions);
+    }
+
+    @Test
+    public void load_changedRepository() throws IOException {
+        // assign variables with test data
+        Path snapshot = this.folder.getRoot().toPath().resolve("index.snapshot");
+        backdateDirectories(this.repository.getRoot());
+        RepositoryIndex.build(this.repository.getRoot()).save(snapshot);
+        this.repository.addVersion("org.apache.maven.plugins", "maven-jar-plugin", "3.0", "jar", "pom");
+        Path version = this.repository.getRoot().resolve("junit").resolve("junit").resolve("4.12");
+        Files.delete(version.resolve("junit-4.12.jar"));
+        Files.delete(version.resolve("junit-4.12.pom"));
+        Files.delete(version);
+
+        // execute methods to be tested
+        RepositoryIndex loadedIndex = RepositoryIndex.load(this.repository.getRoot(), snapshot);
+
+        // assert result
+        // -> listed again: maven-jar-plugin, 3.0 (added) and junit/junit (removed version)
+        Assert.assertEquals(2, loadedIndex.getRelistedDirectoryCount());
+        Assert.assertTrue(loadedIndex.doesVersionExist("org.apache.maven.plugins", "maven-jar-plugin", "3.0"));
+        Assert.assertTrue(loadedIndex.doesArtifactExist("org.apache.maven.plugins", "maven-jar-plugin"));
+        Assert.assertFalse(loadedIndex.doesVersionExist("junit", "junit", "4.12"));
+        Assert.assertFalse(loadedIndex.doesGroupExist("junit"));
+    }
+
+    @Test
+    public void load_corruptSnapshot() throws IOException {
+        // assign variables with test data
+        Path snapshot = this.folder.getRoot().toPath().resolve("index.snapshot");
+        this.index.save(snapshot);
+        byte[] bytes = Files.readAllBytes(snapshot);
+        Files.write(snapshot, Arrays.copyOf(bytes, bytes.length / 2));
+
+        // execute methods to be tested
+        RepositoryIndex loadedIndex = RepositoryIndex.load(this.repository.getRoot(), snapshot);
+
+        // assert result
+        Assert.assertEquals(-1, loadedIndex.getRelistedDirectoryCount());
+        Assert.assertTrue(loadedIndex.doesVersionExist("junit", "junit", "4.12"));
+    }
+
+    @Test
+    public void load_deeplyNestedSnapshot() throws IOException {
+        // assign variables with test data
+        Path snapshot = this.folder.getRoot().toPath().resolve("index.snapshot");
+        byte[] key = this.repository.getRoot().toAbsolutePath().normalize().toString().getBytes(StandardCharsets.UTF_8);
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(snapshot)))) {
+            output.writeInt(IndexSnapshot.MAGIC);
+            output.writeInt(IndexSnapshot.FORMAT_VERSION);
+            output.writeLong(System.currentTimeMillis());
+            output.writeInt(key.length);
+            output.write(key);
+            output.writeInt(1);
+            output.writeInt(1);
+            output.writeByte('a');
+            // every node has a single child, far more nested than the stack allows
+            for (int i = 0; i < 100000; i++) {
+                output.writeInt(0);
+                output.writeLong(0);
+                output.writeBoolean(false);
+                output.writeInt(i < 99999 ? 1 : 0);
+            }
+        }
+
+        // execute methods to be tested
+        RepositoryIndex loadedIndex = RepositoryIndex.load(this.repository.getRoot(), snapshot);
+
+        // assert result
+        Assert.assertEquals(-1, loadedIndex.getRelistedDirectoryCount());
+        Assert.assertTrue(loadedIndex.doesVersionExist("junit", "junit", "4.12"));
+    }
+
+    @Test
+    public void load_snapshotOfOtherRepository() throws IOException {
+        // assign variables with test data
+        Path snapshot = this.folder.getRoot().toPath().resolve("index.snapshot");
+        this.index.save(snapshot);
+        TestRepository otherRepository = new TestRepository(this.folder.getRoot().toPath().resolve("other"));
+        otherRepository.addVersion("org.other", "other", "1.0", "jar");
+
+        // execute methods to be tested
+        RepositoryIndex loadedIndex = RepositoryIndex.load(otherRepository.getRoot(), snapshot);
+
+        // assert result
+        Assert.assertEquals(-1, loadedIndex.getRelistedDirectoryCount());
+        Assert.assertTrue(loadedIndex.doesGroupExist("org.other"));
+        Assert.assertFalse(loadedIndex.doesGroupExist("junit"));
+    }
+
+    @Test
+    public void resolveAll_shouldMatchReader() {
+        // assign variables with test data
+        List<ArtifactCoordinate> coordinates = Arrays.asList(
+                ArtifactCoordinate.parse("org.apache.maven.plugins:maven-clean-plugin:2.6.1"),
+                ArtifactCoordinate.parse("org.apache.maven.plugins:maven-clean-plugin:3.0"),
+                ArtifactCoordinate.parse("org.apache.maven.plugins:maven-clean-plugin:4.0"),
+                ArtifactCoordinate.parse("org.apache.maven.plugins:maven-missing-plugin:1.0"),
+                ArtifactCoordinate.parse("org.apache.maven.p:maven-clean-plugin:2.5"),
+                ArtifactCoordinate.parse("junit:junit:4.12")
+        );
+        LocalMavenRepositoryReader reader = new LocalMavenRepositoryReader(this.repository.getRoot());
+
+        // execute methods to be tested
+        Map<ArtifactCoordinate, Resolution> expected = reader.resolveAll(coordinates);
+        Map<ArtifactCoordinate, Resolution> actual = this.index.resolveAll(coordinates);
+
+        // assert result
+        Assert.assertEquals(new ArrayList<ArtifactCoordinate>(expected.keySet()),
+                new ArrayList<ArtifactCoordinate>(actual.keySet()));
+        for (ArtifactCoordinate coordinate : coordinates) {
+            Assert.assertEquals(expected.get(coordinate).getStatus(), actual.get(coordinate).getStatus());
+            Assert.assertEquals(expected.get(coordinate).getNonExistingSubGroup(),
+                    actual.get(coordinate).getNonExistingSubGroup());
+        }
+    }
+
+    @Test
+    public void diff_shouldReportChanges() throws IOException {
+        // assign variables with test data
+        backdateDirectories(this.repository.getRoot());
+        RepositoryIndex previous = RepositoryIndex.build(this.repository.getRoot());
+        this.repository.addVersion("org.apache.maven.plugins", "maven-clean-plugin", "2.7", "jar", "pom");
+        this.repository.addVersion("org.apache.maven.plugins", "maven-clean-plugin", "3.0", "pom");
+        this.repository.addVersion("org.apache.maven.plugins", "maven-clean-plugin", "2.5", "sources.jar");
+        Path version = this.repository.getRoot().resolve("junit").resolve("junit").resolve("4.12");
+        Files.delete(version.resolve("junit-4.12.jar"));
+        Files.delete(version.resolve("junit-4.12.pom"));
+        Files.delete(version);
+        RepositoryIndex current = RepositoryIndex.build(this.repository.getRoot());
+
+        // execute methods to be tested
+        List<String> changes = current.diff(previous).map(Object::toString).collect(Collectors.toList());
+
+        // assert result
+        Assert.assertEquals(Arrays.asList(
+                "REMOVED junit:junit:4.12",
+                "CHANGED org.apache.maven.plugins:maven-clean-plugin:2.5",
+                "ADDED org.apache.maven.plugins:maven-clean-plugin:2.7",
+                "ADDED org.apache.maven.plugins:maven-clean-plugin:3.0"
+        ), changes);
+    }
+
+    @Test
+    public void diff_unchangedRepository() throws IOException {
+        // assign variables with test data
+        Path snapshot = this.folder.getRoot().toPath().resolve("index.snapshot");
+        backdateDirectories(this.repository.getRoot());
+        RepositoryIndex.build(this.repository.getRoot()).save(snapshot);
+        RepositoryIndex previous = RepositoryIndex.read(this.repository.getRoot(), snapshot);
+
+        // execute methods to be tested
+        long changeCount = RepositoryIndex.load(this.repository.getRoot(), snapshot).diff(previous).count();
+
+        // assert result
+        Assert.assertEquals(0, changeCount);
+    }
+
+    @Test
+    public void diff_withoutPreviousIndex() {
+        // execute methods to be tested
+        List<String> changes = this.index.diff(null).map(Object::toString).collect(Collectors.toList());
+
+        // assert result
+        Assert.assertEquals(Arrays.asList(
+                "ADDED junit:junit:4.12",
+                "ADDED org.apache.maven.plugins:maven-clean-plugin:2.5",
+                "ADDED org.apache.maven.plugins:maven-clean-plugin:2.6.1"
+        ), changes);
+    }
+
+    @Test
+    public void diff_artifactFolderWithMetadata() throws IOException {
+        // assign variables with test data
+        Path artifact = this.repository.addArtifact("org.apache.maven.plugins", "maven-clean-plugin");
+        Files.write(artifact.resolve("maven-metadata-central.xml"), new byte[]{});
+        RepositoryIndex index = RepositoryIndex.build(this.repository.getRoot());
+
+        // execute methods to be tested
+        List<String> changes = index.diff(null).map(Object::toString).collect(Collectors.toList());
+
+        // assert result
+        Assert.assertEquals(Arrays.asList(
+                "ADDED junit:junit:4.12",
+                "ADDED org.apache.maven.plugins:maven-clean-plugin:2.5",
+                "ADDED org.apache.maven.plugins:maven-clean-plugin:2.6.1"
+        ), changes);
+        Assert.assertFalse(index.doesVersionExist("org.apache.maven", "plugins", "maven-clean-plugin"));
+    }
+
+    @Test
+    public void diff_refreshedMetadataOfArtifact() throws IOException {
+        // assign variables with test data
+        Path artifact = this.repository.addArtifact("org.apache.maven.plugins", "maven-clean-plugin");
+        Files.write(artifact.resolve("maven-metadata-central.xml"), new byte[]{});
+        backdateDirectories(this.repository.getRoot());
+        RepositoryIndex previous = RepositoryIndex.build(this.repository.getRoot());
+        // refresh the metadata like maven does by renaming a temporary file, which modifies the artifact folder
+        Path temporaryFile = Files.write(artifact.resolve("maven-metadata-central.xml.tmp"), new byte[]{1});
+        Files.move(temporaryFile, artifact.resolve("maven-metadata-central.xml"),
+                StandardCopyOption.REPLACE_EXISTING);
+        RepositoryIndex current = RepositoryIndex.build(this.repository.getRoot());
+
+        // execute methods to be tested
+        long changeCount = current.diff(previous).count();
+
+        // assert result
+        Assert.assertEquals(0, changeCount);
+    }
+
+    @Test
+    public void streamChanges_shouldFeedChangesBetweenCalls() throws IOException {
+        // assign variables with test data
+        Path snapshot = this.folder.getRoot().toPath().resolve("index.snapshot");
+        LocalMavenRepositoryReader reader = new LocalMavenRepositoryReader(this.repository.getRoot());
+        backdateDirectories(this.repository.getRoot());
+
+        // execute methods to be tested
+        long initialChangeCount = reader.streamChanges(snapshot).count();
+        long unchangedChangeCount = reader.streamChanges(snapshot).count();
+        this.repository.addVersion("junit", "junit", "4.13", "jar", "pom");
+        List<String> changes = reader.streamChanges(snapshot).map(Object::toString).collect(Collectors.toList());
+
+        // assert result
+        Assert.assertEquals(3, initialChangeCount);
+        Assert.assertEquals(0, unchangedChangeCount);
+        Assert.assertEquals(Arrays.asList("ADDED junit:junit:4.13"), changes);
+    }
+
+    /**
+     * Sets the time of the last modification of all directories to one hour ago, so they are not considered to have
+     * been modified shortly before an index is built.
+     *
+     * @param root the directory to start with
+     * @throws IOException if the time of the last modification could not be set
+     */
+    private static void backdateDirectories(Path root) throws IOException {
+        final FileTime time = FileTime.fromMillis(System.currentTimeMillis() - 3600 * 1000);
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult postVisitDirectory(Path directory, IOException exception) throws IOException {
+                Files.setLastModifiedTime(directory, time);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,133 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+public class RepositoryMetricsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path root;
+    private RepositoryMetrics metrics;
+
+    @Before
+    public void setUp() throws IOException {
+        this.root = TestRepository.createDefault(this.folder.getRoot().toPath()).getRoot();
+        this.metrics = new RepositoryMetrics();
+    }
+
+    @Test
+    public void doesGroupExist_shouldCountListingsAndCacheLookups() {
+        // assign variables with test data
+        LocalMavenRepositoryReader reader = new LocalMavenRepositoryReader(this.root);
+        reader.setListener(this.metrics);
+
+        // execute methods to be tested
+        reader.doesGroupExist("junit");
+        long listings = this.metrics.getDirectoryListings();
+        reader.doesGroupExist("junit");
+
+        // assert result
+        // -> root, junit, junit/junit and junit/junit/4.12
+        Assert.assertEquals(4, listings);
+        Assert.assertEquals(4, this.metrics.getDirectoryListings());
+        Assert.assertEquals(4, this.metrics.getCacheMisses());
+        Assert.assertEquals(4, this.metrics.getCacheHits());
+        Assert.assertEquals(0.5, this.metrics.getCacheHitRatio(), 0.001);
+        Assert.assertTrue(this.metrics.getFileStats() >= 4);
+        Assert.assertEquals(Long.valueOf(2), this.metrics.getQueryCounts().get("doesGroupExist"));
+        Assert.assertEquals(2, this.metrics.getLatencyHistogram("doesGroupExist").getCount());
+    }
+
+    @Test
+    public void getPomInfo_shouldCountFileAccesses() {
+        // assign variables with test data
+        LocalMavenRepositoryReader reader = new LocalMavenRepositoryReader(this.root);
+        reader.setListener(this.metrics);
+
+        reader.doesVersionExist("junit", "junit", "4.12");
+        this.metrics.reset();
+
+        // execute methods to be tested
+        reader.getPomInfo("junit", "junit", "4.12");
+
+        // assert result
+        // -> all listings are cached, the empty pom.xml file of the test repository is statted and read
+        Assert.assertEquals(0, this.metrics.getDirectoryListings());
+        Assert.assertEquals(1, this.metrics.getFileStats());
+        Assert.assertEquals(1, this.metrics.getFileReads());
+    }
+
+    @Test
+    public void getRemoteRepositories_shouldCountQuery() {
+        // assign variables with test data
+        LocalMavenRepositoryReader reader = new LocalMavenRepositoryReader(this.root);
+        reader.setListener(this.metrics);
+
+        // execute methods to be tested
+        reader.getRemoteRepositories("junit", "junit", "4.12");
+
+        // assert result
+        Assert.assertEquals(Long.valueOf(1), this.metrics.getQueryCounts().get("getRemoteRepositories"));
+        Assert.assertEquals(1, this.metrics.getLatencyHistogram("getRemoteRepositories").getCount());
+    }
+
+    @Test
+    public void cacheEvicted() {
+        // assign variables with test data
+        LocalMavenRepositoryReader reader = new LocalMavenRepositoryReader(this.root, 5, 0, TimeUnit.SECONDS);
+        reader.setListener(this.metrics);
+
+        // execute methods to be tested
+        reader.doesGroupExist("org.apache.maven.plugins");
+
+        // assert result
+        Assert.assertTrue(this.metrics.getCacheEvictions() > 0);
+    }
+
+    @Test
+    public void setListener_null() {
+        // assign variables with test data
+        LocalMavenRepositoryReader reader = new LocalMavenRepositoryReader(this.root);
+        reader.setListener(this.metrics);
+        reader.setListener(null);
+
+        // execute methods to be tested
+        reader.doesGroupExist("junit");
+
+        // assert result
+        Assert.assertNull(reader.getListener());
+        Assert.assertEquals(0, this.metrics.getDirectoryListings());
+        Assert.assertTrue(this.metrics.getQueryCounts().isEmpty());
+    }
+
+    @Test
+    public void register() throws JMException {
+        // assign variables with test data
+        ObjectName name = new ObjectName(RepositoryMetrics.DEFAULT_OBJECT_NAME + ",name=test");
+        this.metrics.directoryListed(this.root, 3);
+
+        // execute methods to be tested
+        this.metrics.register(name);
+        try {
+            Object listings = ManagementFactory.getPlatformMBeanServer().getAttribute(name, "DirectoryListings");
+            Object stats = ManagementFactory.getPlatformMBeanServer().getAttribute(name, "FileStats");
+
+            // assert result
+            Assert.assertEquals(1L, listings);
+            Assert.assertEquals(3L, stats);
+        } finally {
+            this.metrics.unregister(name);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class RepositoryScannerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void scan() throws IOException {
+        // assign variables with test data
+        TestRepository repository = TestRepository.createDefault(this.folder.getRoot().toPath());
+        Files.write(repository.addArtifact("junit", "junit").resolve("maven-metadata-local.xml"), new byte[]{});
+        Set<ArtifactCoordinate> expectedCoordinates = new HashSet<ArtifactCoordinate>(Arrays.asList(
+                ArtifactCoordinate.parse("org.apache.maven.plugins:maven-clean-plugin:2.5"),
+                ArtifactCoordinate.parse("org.apache.maven.plugins:maven-clean-plugin:2.6.1"),
+                ArtifactCoordinate.parse("junit:junit:4.12")
+        ));
+
+        // execute methods to be tested
+        List<ArtifactCoordinate> actualCoordinates = new RepositoryScanner(repository.getRoot(), 4).scan();
+
+        // assert result
+        Assert.assertEquals(expectedCoordinates.size(), actualCoordinates.size());
+        Assert.assertEquals(expectedCoordinates, new HashSet<ArtifactCoordinate>(actualCoordinates));
+    }
+
+    @Test
+    public void scan_artifactIdWithDots() throws IOException {
+        // assign variables with test data
+        TestRepository repository = new TestRepository(this.folder.getRoot().toPath());
+        repository.addVersion("jakarta.ws.rs", "jakarta.ws.rs-api", "3.1.0", "jar");
+
+        // execute methods to be tested
+        List<ArtifactCoordinate> coordinates = new RepositoryScanner(repository.getRoot(), 1).scan();
+
+        // assert result
+        Assert.assertEquals(Arrays.asList(ArtifactCoordinate.parse("jakarta.ws.rs:jakarta.ws.rs-api:3.1.0")),
+                coordinates);
+    }
+
+    @Test
+    public void scan_artifactFolderNamedLikeVersionOfGroup() throws IOException {
+        // assign variables with test data
+        TestRepository repository = new TestRepository(this.folder.getRoot().toPath());
+        repository.addVersion("org.apache.maven", "maven-core", "3.0", "jar");
+        Files.write(repository.addArtifact("org.apache.maven", "maven-core").resolve("maven-metadata-central.xml"),
+                new byte[]{});
+
+        // execute methods to be tested
+        List<ArtifactCoordinate> coordinates = new RepositoryScanner(repository.getRoot(), 1).scan();
+
+        // assert result
+        Assert.assertEquals(Arrays.asList(ArtifactCoordinate.parse("org.apache.maven:maven-core:3.0")), coordinates);
+    }
+
+    @Test
+    public void scan_nonExistingRepository() {
+        // execute methods to be tested
+        List<ArtifactCoordinate> coordinates = new RepositoryScanner(
+                this.folder.getRoot().toPath().resolve("missing"), 2).scan();
+
+        // assert result
+        Assert.assertTrue(coordinates.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void scan_invalidParallelism() {
+        new RepositoryScanner(this.folder.getRoot().toPath(), 0);
+    }
+}
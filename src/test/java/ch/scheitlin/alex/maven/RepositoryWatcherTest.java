@@ -0,0 +1,209 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+public class RepositoryWatcherTest {
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TestRepository repository;
+    private LocalMavenRepositoryReader reader;
+
+    @Before
+    public void startWatching() throws IOException {
+        this.repository = TestRepository.createDefault(this.folder.getRoot().toPath());
+        this.reader = new LocalMavenRepositoryReader(this.repository.getRoot(), 1000000, 0, TimeUnit.SECONDS);
+        this.reader.startWatching();
+    }
+
+    @After
+    public void stopWatching() throws IOException {
+        this.reader.close();
+    }
+
+    @Test
+    public void doesVersionExist_newVersion() throws Exception {
+        // assign variables with test data
+        Assert.assertFalse(this.reader.doesVersionExist("junit", "junit", "4.13"));
+
+        // execute methods to be tested
+        this.repository.addVersion("junit", "junit", "4.13", "jar", "pom");
+
+        // assert result
+        Assert.assertTrue(awaitVersion("junit", "junit", "4.13", true));
+    }
+
+    @Test
+    public void doesVersionExist_newLastUpdatedFile() throws Exception {
+        // assign variables with test data
+        Path version = this.repository.addVersion("junit", "junit", "4.13", "jar");
+        Assert.assertTrue(this.reader.doesVersionExist("junit", "junit", "4.13"));
+
+        // execute methods to be tested
+        Files.write(version.resolve("junit-4.13.pom.lastUpdated"), new byte[]{});
+
+        // assert result
+        Assert.assertTrue(awaitVersion("junit", "junit", "4.13", false));
+    }
+
+    @Test
+    public void doesVersionExist_deletedVersion() throws Exception {
+        // assign variables with test data
+        Path version = this.repository.addVersion("junit", "junit", "4.13", "jar");
+        Assert.assertTrue(this.reader.doesVersionExist("junit", "junit", "4.13"));
+
+        // execute methods to be tested
+        Files.delete(version.resolve("junit-4.13.jar"));
+        Files.delete(version);
+
+        // assert result
+        Assert.assertTrue(awaitVersion("junit", "junit", "4.13", false));
+    }
+
+    @Test
+    public void doesGroupExist_newGroup() throws Exception {
+        // assign variables with test data
+        Assert.assertFalse(this.reader.doesGroupExist("org.example"));
+        Assert.assertEquals(0, this.reader.getArtifactsOfGroup("org.example.sub").length);
+
+        // execute methods to be tested
+        this.repository.addVersion("org.example.sub", "example", "1.0", "jar");
+
+        // assert result
+        Assert.assertTrue(awaitVersion("org.example.sub", "example", "1.0", true));
+        Assert.assertArrayEquals(new String[]{"example"}, this.reader.getArtifactsOfGroup("org.example.sub"));
+    }
+
+    @Test
+    public void doesVersionExist_unchangedListingsStayCached() throws Exception {
+        // assign variables with test data
+        this.reader.doesVersionExist("org.apache.maven.plugins", "maven-clean-plugin", "2.5");
+        this.repository.addVersion("junit", "junit", "4.13", "jar");
+        Assert.assertTrue(awaitVersion("junit", "junit", "4.13", true));
+
+        // execute methods to be tested
+        TraversalContext context = this.reader.createContext();
+        boolean result = this.reader.doesVersionExist(context, "org.apache.maven.plugins", "maven-clean-plugin", "2.5");
+
+        // assert result
+        Assert.assertTrue(result);
+        Assert.assertEquals(0, context.getListingCount());
+    }
+
+    @Test
+    public void watch_newFileOfVersionShouldOnlyUpdateListing() throws Exception {
+        // assign variables with test data
+        Path version = this.repository.getRoot().resolve("junit").resolve("junit").resolve("4.12");
+        ListingCache cache = new ListingCache(1000000, 0, TimeUnit.SECONDS);
+        cache.put(version, DirectoryListing.read(version));
+        long structureModificationCount = cache.getStructureModificationCount();
+
+        // execute methods to be tested
+        try (RepositoryWatcher watcher = new RepositoryWatcher(this.repository.getRoot(), cache)) {
+            watcher.register(version);
+            Files.write(version.resolve("junit-4.12-sources.jar"), new byte[]{});
+            Assert.assertTrue(awaitFile(cache, version, "junit-4.12-sources.jar"));
+        }
+
+        // assert result
+        Assert.assertEquals(structureModificationCount, cache.getStructureModificationCount());
+    }
+
+    @Test
+    public void watch_newLastUpdatedFileShouldModifyStructure() throws Exception {
+        // assign variables with test data
+        Path version = this.repository.addVersion("junit", "junit", "4.13", "jar");
+        ListingCache cache = new ListingCache(1000000, 0, TimeUnit.SECONDS);
+        cache.put(version, DirectoryListing.read(version));
+        long structureModificationCount = cache.getStructureModificationCount();
+
+        // execute methods to be tested
+        try (RepositoryWatcher watcher = new RepositoryWatcher(this.repository.getRoot(), cache)) {
+            watcher.register(version);
+            Files.write(version.resolve("junit-4.13.pom.lastUpdated"), new byte[]{});
+            Assert.assertTrue(awaitStructureModification(cache, structureModificationCount));
+        }
+
+        // assert result
+        Assert.assertEquals(structureModificationCount + 1, cache.getStructureModificationCount());
+        Assert.assertTrue(awaitFile(cache, version, "junit-4.13.pom.lastUpdated"));
+    }
+
+    /**
+     * Waits until the watcher has marked the set of existing groups, artifacts or versions as modified.
+     *
+     * @param cache                      the cache updated by the watcher
+     * @param structureModificationCount the structure modification count of the cache before the change
+     * @return {@code true} if the count changed before the timeout, {@code false} if not
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static boolean awaitStructureModification(ListingCache cache, long structureModificationCount)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (cache.getStructureModificationCount() != structureModificationCount) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+
+        return false;
+    }
+
+    /**
+     * Waits until the watcher has added a specific file to the cached listing of a directory.
+     *
+     * @param cache     the cache updated by the watcher
+     * @param directory the directory containing the file
+     * @param file      the name of the file
+     * @return {@code true} if the file was added before the timeout, {@code false} if not
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static boolean awaitFile(ListingCache cache, Path directory, String file) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            DirectoryListing listing = cache.peek(directory);
+            if (listing != null && LocalMavenRepositoryReader.doesArrayContain(listing.getFiles(), file)) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+
+        return false;
+    }
+
+    /**
+     * Waits until the watcher has updated the cache such that a specific version is (not) found.
+     *
+     * @param groupId    the id of the group
+     * @param artifactId the id of the artifact
+     * @param version    the version of the artifact
+     * @param exists     whether the version is expected to exist or not
+     * @return {@code true} if the reader returned the expected result before the timeout, {@code false} if not
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private boolean awaitVersion(String groupId, String artifactId, String version, boolean exists)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            if (this.reader.doesVersionExist(groupId, artifactId, version) == exists) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,70 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+public class ResolutionWriterTest {
+    private final List<Resolution> resolutions = Arrays.asList(
+            new Resolution(ArtifactCoordinate.parse("junit:junit:4.12"), ResolutionStatus.EXISTS, null),
+            new Resolution(ArtifactCoordinate.parse("org.apache.maven.p:maven-clean-plugin:2.5"),
+                    ResolutionStatus.MISSING_GROUP, "p")
+    );
+
+    @Test
+    public void write_ndjson() throws IOException {
+        // assign variables with test data
+        StringWriter out = new StringWriter();
+        String expected = "{\"groupId\":\"junit\",\"artifactId\":\"junit\",\"version\":\"4.12\","
+                + "\"status\":\"EXISTS\",\"nonExistingSubGroup\":null}\n"
+                + "{\"groupId\":\"org.apache.maven.p\",\"artifactId\":\"maven-clean-plugin\",\"version\":\"2.5\","
+                + "\"status\":\"MISSING_GROUP\",\"nonExistingSubGroup\":\"p\"}\n";
+
+        // execute methods to be tested
+        ResolutionWriter writer = new ResolutionWriter(out, ResolutionWriter.Format.NDJSON);
+        writer.writeAll(this.resolutions);
+        writer.flush();
+
+        // assert result
+        Assert.assertEquals(expected, out.toString());
+    }
+
+    @Test
+    public void write_csv() throws IOException {
+        // assign variables with test data
+        StringWriter out = new StringWriter();
+        String expected = "groupId,artifactId,version,status,nonExistingSubGroup\n"
+                + "junit,junit,4.12,EXISTS,\n"
+                + "org.apache.maven.p,maven-clean-plugin,2.5,MISSING_GROUP,p\n";
+
+        // execute methods to be tested
+        ResolutionWriter writer = new ResolutionWriter(out, ResolutionWriter.Format.CSV);
+        writer.writeAll(this.resolutions);
+        writer.flush();
+
+        // assert result
+        Assert.assertEquals(expected, out.toString());
+    }
+
+    @Test
+    public void write_shouldEscape() throws IOException {
+        // assign variables with test data
+        Resolution resolution = new Resolution(new ArtifactCoordinate("a\"b", "c,d", "e\\f"),
+                ResolutionStatus.MISSING_VERSION, null);
+        StringWriter json = new StringWriter();
+        StringWriter csv = new StringWriter();
+
+        // execute methods to be tested
+        new ResolutionWriter(json, ResolutionWriter.Format.NDJSON).write(resolution);
+        new ResolutionWriter(csv, ResolutionWriter.Format.CSV).write(resolution);
+
+        // assert result
+        Assert.assertTrue(json.toString().startsWith("{\"groupId\":\"a\\\"b\",\"artifactId\":\"c,d\","
+                + "\"version\":\"e\\\\f\""));
+        Assert.assertTrue(csv.toString().endsWith("\"a\"\"b\",\"c,d\",e\\f,MISSING_VERSION,\n"));
+    }
+}
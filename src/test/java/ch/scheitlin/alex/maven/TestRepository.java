@@ -0,0 +1,94 @@
+package ch.scheitlin.alex.maven;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Creates the folders and files of a local maven repository for testing purposes.
+ */
+class TestRepository {
+    private final Path root;
+
+    /**
+     * Creates a new test repository.
+     *
+     * @param root the path to the root directory of the repository
+     */
+    TestRepository(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Creates a test repository with the following content:
+     * <ul>
+     * <li>org.apache.maven.plugins:maven-clean-plugin:2.5 (jar and pom)</li>
+     * <li>org.apache.maven.plugins:maven-clean-plugin:2.6.1 (jar, pom and an obsolete '.lastUpdated' file)</li>
+     * <li>org.apache.maven.plugins:maven-clean-plugin:3.0 (only a '.lastUpdated' file)</li>
+     * <li>org.apache.maven.plugins:maven-jar-plugin:2.4 (only a '.lastUpdated' file)</li>
+     * <li>org.apache.maven.plugins:maven-empty-plugin (no versions)</li>
+     * <li>junit:junit:4.12 (jar and pom)</li>
+     * <li>org.failed:failed:1.0 (only a '.lastUpdated' file)</li>
+     * </ul>
+     *
+     * @param root the path to the root directory of the repository
+     * @return the created test repository
+     * @throws IOException if the folders or files could not be created
+     */
+    static TestRepository createDefault(Path root) throws IOException {
+        TestRepository repository = new TestRepository(root);
+        repository.addVersion("org.apache.maven.plugins", "maven-clean-plugin", "2.5", "jar", "pom");
+        repository.addVersion("org.apache.maven.plugins", "maven-clean-plugin", "2.6.1", "jar", "pom",
+                "jar.lastUpdated");
+        repository.addVersion("org.apache.maven.plugins", "maven-clean-plugin", "3.0", "pom.lastUpdated");
+        repository.addVersion("org.apache.maven.plugins", "maven-jar-plugin", "2.4", "jar.lastUpdated");
+        repository.addArtifact("org.apache.maven.plugins", "maven-empty-plugin");
+        repository.addVersion("junit", "junit", "4.12", "jar", "pom");
+        repository.addVersion("org.failed", "failed", "1.0", "pom.lastUpdated");
+        return repository;
+    }
+
+    /**
+     * Gets the path to the root directory of the repository.
+     *
+     * @return the path to the root directory
+     */
+    Path getRoot() {
+        return this.root;
+    }
+
+    /**
+     * Creates the folder of a specific artifact without any versions.
+     *
+     * @param groupId    the id of the group
+     * @param artifactId the id of the artifact
+     * @return the path to the folder of the artifact
+     * @throws IOException if the folder could not be created
+     */
+    Path addArtifact(String groupId, String artifactId) throws IOException {
+        Path artifact = this.root;
+        for (String subGroup : groupId.split("\\.")) {
+            artifact = artifact.resolve(subGroup);
+        }
+        return Files.createDirectories(artifact.resolve(artifactId));
+    }
+
+    /**
+     * Creates the folder of a specific version with a file for each of the given extensions, e.g. {@code jar} creates
+     * the file {@code <artifactId>-<version>.jar}.
+     *
+     * @param groupId    the id of the group
+     * @param artifactId the id of the artifact
+     * @param version    the version of the artifact
+     * @param extensions the extensions of the files to create in the version folder
+     * @return the path to the folder of the version
+     * @throws IOException if the folder or the files could not be created
+     */
+    Path addVersion(String groupId, String artifactId, String version, String... extensions) throws IOException {
+        Path versionPath = Files.createDirectories(addArtifact(groupId, artifactId).resolve(version));
+        for (String extension : extensions) {
+            Files.write(versionPath.resolve(artifactId + "-" + version + "." + extension), new byte[]{});
+        }
+        return versionPath;
+    }
+}
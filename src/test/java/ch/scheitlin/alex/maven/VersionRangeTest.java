@@ -0,0 +1,66 @@
+package ch.scheitlin.alex.maven;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class VersionRangeTest {
+    @Test
+    public void containsVersion_boundedRange() {
+        // assign variables with test data
+        VersionRange range = VersionRange.parse("[1.0,2.0)");
+
+        // assert result
+        Assert.assertTrue(range.containsVersion(new MavenVersion("1.0")));
+        Assert.assertTrue(range.containsVersion(new MavenVersion("1.9.9")));
+        Assert.assertTrue(range.containsVersion(new MavenVersion("2.0-SNAPSHOT")));
+        Assert.assertFalse(range.containsVersion(new MavenVersion("0.9")));
+        Assert.assertFalse(range.containsVersion(new MavenVersion("2.0")));
+    }
+
+    @Test
+    public void containsVersion_unboundedRanges() {
+        // assign variables with test data
+        VersionRange range = VersionRange.parse("(,1.0], [1.2,)");
+
+        // assert result
+        Assert.assertTrue(range.containsVersion(new MavenVersion("0.1")));
+        Assert.assertTrue(range.containsVersion(new MavenVersion("1.0")));
+        Assert.assertFalse(range.containsVersion(new MavenVersion("1.1")));
+        Assert.assertTrue(range.containsVersion(new MavenVersion("1.2")));
+        Assert.assertTrue(range.containsVersion(new MavenVersion("99")));
+    }
+
+    @Test
+    public void containsVersion_exactVersion() {
+        Assert.assertTrue(VersionRange.parse("[1.0]").containsVersion(new MavenVersion("1")));
+        Assert.assertFalse(VersionRange.parse("[1.0]").containsVersion(new MavenVersion("1.0.1")));
+        Assert.assertTrue(VersionRange.parse("1.0").containsVersion(new MavenVersion("1.0")));
+    }
+
+    @Test
+    public void getIndices_shouldUseBinarySearch() {
+        // assign variables with test data
+        MavenVersion[] versions = {new MavenVersion("0.9"), new MavenVersion("1.0"), new MavenVersion("1.5"),
+                new MavenVersion("2.0"), new MavenVersion("2.1")};
+        VersionRange.Restriction restriction = VersionRange.parse("(1.0,2.0]").getRestrictions().get(0);
+
+        // assert result
+        Assert.assertEquals(2, restriction.getFromIndex(versions));
+        Assert.assertEquals(4, restriction.getToIndex(versions));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_unclosedRange() {
+        VersionRange.parse("[1.0,2.0");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_inclusiveMissingBound() {
+        VersionRange.parse("[,1.0]");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_reversedBounds() {
+        VersionRange.parse("[2.0,1.0]");
+    }
+}